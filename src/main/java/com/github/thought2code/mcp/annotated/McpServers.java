@@ -2,59 +2,106 @@ package com.github.thought2code.mcp.annotated;
 
 import com.github.thought2code.mcp.annotated.configuration.McpConfigurationLoader;
 import com.github.thought2code.mcp.annotated.configuration.McpServerConfiguration;
+import com.github.thought2code.mcp.annotated.configuration.McpServerHttp;
+import com.github.thought2code.mcp.annotated.configuration.McpServerJson;
+import com.github.thought2code.mcp.annotated.context.McpServerContext;
 import com.github.thought2code.mcp.annotated.enums.ServerMode;
 import com.github.thought2code.mcp.annotated.exception.McpServerException;
+import com.github.thought2code.mcp.annotated.instance.InstanceProvider;
 import com.github.thought2code.mcp.annotated.reflect.ReflectionsProvider;
+import com.github.thought2code.mcp.annotated.server.JettyHttpServer;
+import com.github.thought2code.mcp.annotated.server.McpInProcessServer;
 import com.github.thought2code.mcp.annotated.server.McpServer;
+import com.github.thought2code.mcp.annotated.server.McpServerBase;
+import com.github.thought2code.mcp.annotated.server.McpServerHandle;
 import com.github.thought2code.mcp.annotated.server.McpSseServer;
 import com.github.thought2code.mcp.annotated.server.McpStdioServer;
 import com.github.thought2code.mcp.annotated.server.McpStreamableServer;
+import com.github.thought2code.mcp.annotated.server.McpWebSocketServer;
 import com.github.thought2code.mcp.annotated.server.component.ResourceBundleProvider;
 import com.github.thought2code.mcp.annotated.util.JacksonHelper;
 import io.modelcontextprotocol.server.McpSyncServer;
 import io.modelcontextprotocol.util.Assert;
-import java.util.Objects;
+import java.util.ResourceBundle;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.eclipse.jetty.util.thread.ThreadPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Singleton class that provides methods to start and manage MCP (Model Context Protocol) servers.
+ * The class that provides methods to start and manage MCP (Model Context Protocol) servers.
  *
  * <p>This class serves as the main entry point for starting MCP servers in different modes. It
- * follows the singleton design pattern and provides convenient methods for starting servers in
- * STDIO, SSE, or STREAMABLE modes, either programmatically or through configuration files.
+ * provides convenient methods for starting servers in STDIO, SSE, STREAMABLE, WEBSOCKET or
+ * IN_PROCESS modes, either programmatically or through configuration files.
  *
- * <p>The class supports three server modes:
+ * <p>The class supports five server modes:
  *
  * <ul>
  *   <li>STDIO - Standard input/output communication (default for CLI tools)
  *   <li>SSE - Server-Sent Events for HTTP-based real-time communication
  *   <li>STREAMABLE - HTTP streaming for web applications
+ *   <li>WEBSOCKET - Full-duplex JSON-RPC over one WebSocket connection per client
+ *   <li>IN_PROCESS - Direct connection of clients running in the same JVM
  * </ul>
  *
  * <p>Before starting a server, the class must be initialized by calling {@link #run(Class,
  * String[])} with the main application class. This initializes reflection scanning and resource
  * bundles for i18n support.
  *
+ * <p>Starting a server does not block the calling thread: each start method returns a {@link
+ * McpServerHandle} to wait for, stop or inspect the server. Several servers can run in the same
+ * JVM, each with its own configuration, component instances and statistics. The scan index of a
+ * base package and, unless disabled in their HTTP server configuration, the thread pool of the
+ * HTTP-based servers are shared by all of them.
+ *
  * @author codeboyzhou
  * @see McpServer
  * @see McpStdioServer
  * @see McpSseServer
  * @see McpStreamableServer
+ * @see McpWebSocketServer
  * @see McpServerConfiguration
  */
 public final class McpServers {
 
   private static final Logger log = LoggerFactory.getLogger(McpServers.class);
 
-  /** The singleton instance of McpServers. */
-  private static McpServers servers;
+  /** The time to wait for the threads of the shared HTTP thread pool to stop, in milliseconds. */
+  private static final long HTTP_THREAD_POOL_STOP_TIMEOUT = 5000;
+
+  /** The lock guarding the shared HTTP thread pool. */
+  private static final Object HTTP_THREAD_POOL_LOCK = new Object();
+
+  /** The thread pool shared by the running HTTP-based servers, or null if none is running. */
+  private static QueuedThreadPool httpThreadPool;
+
+  /** The number of running HTTP-based servers using the shared thread pool. */
+  private static int httpThreadPoolUsers;
 
-  /** Private constructor to prevent instantiation of this singleton class. */
-  private McpServers() {}
+  /** The scan index of the annotated components. */
+  private final ReflectionsProvider reflections;
+
+  /** The resource bundle for i18n support, or null if i18n is not enabled. */
+  private final ResourceBundle bundle;
+
+  /** The instance provider of the started servers, or null to use the discovered one. */
+  private volatile InstanceProvider instanceProvider;
+
+  /**
+   * Private constructor, use {@link #run(Class, String[])} to create instances.
+   *
+   * @param reflections the scan index of the annotated components
+   * @param bundle the resource bundle for i18n support, or null if i18n is not enabled
+   */
+  private McpServers(ReflectionsProvider reflections, ResourceBundle bundle) {
+    this.reflections = reflections;
+    this.bundle = bundle;
+  }
 
   /**
-   * Initializes the McpServers singleton with the specified main class.
+   * Initializes a new McpServers with the specified main class.
    *
    * <p>This method must be called before starting any MCP server. It performs necessary
    * initialization tasks including:
@@ -66,30 +113,46 @@ public final class McpServers {
    *
    * <p>The main class is used to determine the base package for reflection scanning and to check
    * for the {@link com.github.thought2code.mcp.annotated.annotation.McpI18nEnabled} annotation for
-   * i18n configuration.
+   * i18n configuration. The scan of a base package is done once and shared by all the instances
+   * initialized with main classes of the same base package.
    *
    * @param mainClass the main application class used for initialization
    * @param args command line arguments (currently not used but reserved for future use)
-   * @return the singleton instance of McpServers
+   * @return a new instance of McpServers
    * @throws NullPointerException if mainClass is null
-   * @see ReflectionsProvider#initializeReflectionsInstance(Class)
+   * @see ReflectionsProvider#of(Class)
    * @see ResourceBundleProvider#loadResourceBundle(Class)
    */
   public static McpServers run(Class<?> mainClass, String[] args) {
-    if (servers != null) {
-      log.warn("{} is already initialized", mainClass.getSimpleName());
-      return servers;
-    }
-
     log.info("Initializing {} with args: {}", mainClass.getSimpleName(), args);
-    ReflectionsProvider.initializeReflectionsInstance(mainClass);
-    ResourceBundleProvider.loadResourceBundle(mainClass);
-    servers = new McpServers();
+    ReflectionsProvider reflections = ReflectionsProvider.of(mainClass);
+    ResourceBundle bundle = ResourceBundleProvider.loadResourceBundle(mainClass);
+    McpServers servers = new McpServers(reflections, bundle);
     log.info("{} initialized successfully", mainClass.getSimpleName());
 
     return servers;
   }
 
+  /**
+   * Installs the provider of the instances of the component classes of the servers started next,
+   * for example from a dependency injection container.
+   *
+   * <pre>{@code
+   * McpServers.run(MyMcpServer.class, args)
+   *     .withInstanceProvider(injector::getInstance)
+   *     .startStreamableServer(configuration);
+   * }</pre>
+   *
+   * @param instanceProvider the instance provider, or null to use the provider discovered with
+   *     {@link java.util.ServiceLoader}
+   * @return this instance
+   * @see InstanceProvider
+   */
+  public McpServers withInstanceProvider(InstanceProvider instanceProvider) {
+    this.instanceProvider = instanceProvider;
+    return this;
+  }
+
   /**
    * Starts an MCP server in STDIO mode with the specified configuration.
    *
@@ -100,13 +163,14 @@ public final class McpServers {
    * through standard streams.
    *
    * @param configuration the builder containing server configuration settings
+   * @return the handle of the started server
    * @throws NullPointerException if configuration is null
    * @see ServerMode#STDIO
    * @see McpStdioServer
    * @see McpServerConfiguration.Builder
    */
-  public void startStdioServer(McpServerConfiguration.Builder configuration) {
-    doStartServer(configuration.mode(ServerMode.STDIO).build());
+  public McpServerHandle startStdioServer(McpServerConfiguration.Builder configuration) {
+    return doStartServer(configuration.mode(ServerMode.STDIO).build());
   }
 
   /**
@@ -119,13 +183,14 @@ public final class McpServers {
    * communication.
    *
    * @param configuration the builder containing server configuration settings
+   * @return the handle of the started server
    * @throws NullPointerException if configuration is null
    * @see ServerMode#SSE
    * @see McpSseServer
    * @see McpServerConfiguration.Builder
    */
-  public void startSseServer(McpServerConfiguration.Builder configuration) {
-    doStartServer(configuration.mode(ServerMode.SSE).build());
+  public McpServerHandle startSseServer(McpServerConfiguration.Builder configuration) {
+    return doStartServer(configuration.mode(ServerMode.SSE).build());
   }
 
   /**
@@ -138,13 +203,55 @@ public final class McpServers {
    * communication.
    *
    * @param configuration the builder containing server configuration settings
+   * @return the handle of the started server
    * @throws NullPointerException if configuration is null
    * @see ServerMode#STREAMABLE
    * @see McpStreamableServer
    * @see McpServerConfiguration.Builder
    */
-  public void startStreamableServer(McpServerConfiguration.Builder configuration) {
-    doStartServer(configuration.mode(ServerMode.STREAMABLE).build());
+  public McpServerHandle startStreamableServer(McpServerConfiguration.Builder configuration) {
+    return doStartServer(configuration.mode(ServerMode.STREAMABLE).build());
+  }
+
+  /**
+   * Starts an MCP server in WEBSOCKET mode with the specified configuration.
+   *
+   * <p>This method configures and starts a server that exchanges the JSON-RPC messages over one
+   * full-duplex WebSocket connection per client. The mode is set to WEBSOCKET before starting.
+   *
+   * <p>WEBSOCKET mode avoids the cost of an HTTP request per message, which suits clients issuing
+   * many small calls.
+   *
+   * @param configuration the builder containing server configuration settings
+   * @return the handle of the started server
+   * @throws NullPointerException if configuration is null
+   * @see ServerMode#WEBSOCKET
+   * @see McpWebSocketServer
+   * @see McpServerConfiguration.Builder
+   */
+  public McpServerHandle startWebSocketServer(McpServerConfiguration.Builder configuration) {
+    return doStartServer(configuration.mode(ServerMode.WEBSOCKET).build());
+  }
+
+  /**
+   * Starts an MCP server in IN_PROCESS mode with the specified configuration.
+   *
+   * <p>This method configures and starts a server embedded in the same JVM as its clients, which
+   * are connected to it with {@link McpServerHandle#connectInProcess()}. The mode is set to
+   * IN_PROCESS before starting.
+   *
+   * <p>IN_PROCESS mode passes the requests and results by reference, without serialization, which
+   * makes it the fastest mode for embedded agents, integration tests and benchmarks.
+   *
+   * @param configuration the builder containing server configuration settings
+   * @return the handle of the started server
+   * @throws NullPointerException if configuration is null
+   * @see ServerMode#IN_PROCESS
+   * @see McpInProcessServer
+   * @see McpServerConfiguration.Builder
+   */
+  public McpServerHandle startInProcessServer(McpServerConfiguration.Builder configuration) {
+    return doStartServer(configuration.mode(ServerMode.IN_PROCESS).build());
   }
 
   /**
@@ -155,16 +262,17 @@ public final class McpServers {
    * settings including mode, port, and other parameters.
    *
    * @param configFileName the path to the configuration file
+   * @return the handle of the started server
    * @throws IllegalArgumentException if configFileName is null
    * @throws McpServerException if the configuration file cannot be loaded or is invalid
    * @see McpConfigurationLoader
    * @see McpServerConfiguration
    */
-  public void startServer(String configFileName) {
+  public McpServerHandle startServer(String configFileName) {
     Assert.notNull(configFileName, "configFileName must not be null");
     log.info("Starting MCP server with configuration file: {}", configFileName);
     McpConfigurationLoader configLoader = new McpConfigurationLoader(configFileName);
-    doStartServer(configLoader.loadConfig());
+    return doStartServer(configLoader.loadConfig());
   }
 
   /**
@@ -174,14 +282,15 @@ public final class McpServers {
    * file in the classpath or working directory) and starts the server according to the loaded
    * configuration.
    *
+   * @return the handle of the started server
    * @throws McpServerException if the default configuration cannot be loaded or is invalid
    * @see McpConfigurationLoader
    * @see McpServerConfiguration
    */
-  public void startServer() {
+  public McpServerHandle startServer() {
     log.info("Starting MCP server with default configuration");
     McpConfigurationLoader configLoader = new McpConfigurationLoader();
-    doStartServer(configLoader.loadConfig());
+    return doStartServer(configLoader.loadConfig());
   }
 
   /**
@@ -192,42 +301,130 @@ public final class McpServers {
    *
    * <ol>
    *   <li>Checks if the server is enabled in the configuration
-   *   <li>Creates the appropriate server instance based on mode (STDIO, SSE, or STREAMABLE)
-   *   <li>Creates the sync server instance
-   *   <li>Registers all components (tools, resources, prompts) with the server
-   *   <li>Starts the HTTP server if the mode is SSE or STREAMABLE
+   *   <li>Creates the context of the server, acquiring the shared HTTP thread pool if the mode is
+   *       SSE, STREAMABLE or WEBSOCKET and the thread pool is shared
+   *   <li>Creates the appropriate server instance based on mode (STDIO, SSE, STREAMABLE, WEBSOCKET
+   *       or IN_PROCESS)
+   *   <li>Starts the server, see {@link McpServerBase#start()}
    * </ol>
    *
    * <p>If the server is disabled in the configuration, this method logs a warning message and
-   * returns without starting any server.
+   * returns a stopped handle without starting any server.
    *
    * @param configuration the server configuration containing mode and other settings
+   * @return the handle of the started server
    * @see McpServerConfiguration
    * @see McpServer
    * @see McpSyncServer
    * @see ServerMode
    */
-  private void doStartServer(McpServerConfiguration configuration) {
+  private McpServerHandle doStartServer(McpServerConfiguration configuration) {
     log.info("Starting MCP server with config: {}", JacksonHelper.toJsonString(configuration));
-    if (configuration.enabled()) {
-      McpServer mcpServer = null;
-      switch (configuration.mode()) {
-        case STDIO -> mcpServer = new McpStdioServer(configuration);
-        case SSE -> mcpServer = new McpSseServer(configuration);
-        case STREAMABLE -> mcpServer = new McpStreamableServer(configuration);
-      }
+    if (!configuration.enabled()) {
+      log.warn("MCP server is disabled, please check your configuration file.");
+      McpServerContext context = new McpServerContext(reflections, bundle, null);
+      return McpServerHandle.disabled(configuration, context);
+    }
+
+    final McpServerJson json =
+        configuration.json() == null ? McpServerJson.builder().build() : configuration.json();
+    McpServerHttp httpConfiguration = httpConfigurationOf(configuration);
+    final boolean shared = httpConfiguration != null && httpConfiguration.sharedThreadPool();
+    ThreadPool threadPool = shared ? acquireHttpThreadPool(httpConfiguration) : null;
+    McpServerContext context = new McpServerContext(reflections, bundle, threadPool, json);
+    context.instances().setInstanceProvider(instanceProvider);
+
+    // the shared thread pool is released once, after the HTTP server of this server is stopped
+    final AtomicBoolean released = new AtomicBoolean(!shared);
+    final Runnable release =
+        () -> {
+          if (released.compareAndSet(false, true)) {
+            releaseHttpThreadPool();
+          }
+        };
 
-      Objects.requireNonNull(mcpServer, "mcpServer must not be null");
-      McpSyncServer mcpSyncServer = mcpServer.createSyncServer();
-      mcpServer.registerComponents(mcpSyncServer);
+    McpServerHandle handle;
+    try {
+      McpServerBase mcpServer =
+          switch (configuration.mode()) {
+            case STDIO -> new McpStdioServer(configuration, context);
+            case SSE -> new McpSseServer(configuration, context);
+            case STREAMABLE -> new McpStreamableServer(configuration, context);
+            case WEBSOCKET -> new McpWebSocketServer(configuration, context);
+            case IN_PROCESS -> new McpInProcessServer(configuration, context);
+          };
+      handle = mcpServer.start();
+    } catch (RuntimeException e) {
+      context.releaseJvmGlobals();
+      release.run();
+      throw e;
+    }
+    return handle.whenStopped(release);
+  }
 
-      if (mcpServer instanceof McpSseServer sseServer) {
-        sseServer.startHttpServer();
-      } else if (mcpServer instanceof McpStreamableServer streamableServer) {
-        streamableServer.startHttpServer();
+  /**
+   * Returns the HTTP server configuration of the specified server configuration.
+   *
+   * @param configuration the server configuration
+   * @return the HTTP server configuration, the default one if missing, or null in STDIO and
+   *     IN_PROCESS modes
+   */
+  private static McpServerHttp httpConfigurationOf(McpServerConfiguration configuration) {
+    final ServerMode mode = configuration.mode();
+    McpServerHttp http =
+        switch (mode) {
+          case STDIO, IN_PROCESS -> null;
+          case SSE -> configuration.sse().http();
+          case STREAMABLE -> configuration.streamable().http();
+          case WEBSOCKET -> configuration.websocket().http();
+        };
+    if (http == null && mode != ServerMode.STDIO && mode != ServerMode.IN_PROCESS) {
+      return McpServerHttp.builder().build();
+    }
+    return http;
+  }
+
+  /**
+   * Returns the thread pool shared by the HTTP-based servers, starting it for the first server with
+   * its thread settings.
+   *
+   * @param http the HTTP server configuration of the server
+   * @return the started shared thread pool
+   * @throws McpServerException if the thread pool cannot be started
+   */
+  private static ThreadPool acquireHttpThreadPool(McpServerHttp http) {
+    synchronized (HTTP_THREAD_POOL_LOCK) {
+      if (httpThreadPool == null) {
+        QueuedThreadPool threadPool = JettyHttpServer.createThreadPool(http);
+        threadPool.setStopTimeout(HTTP_THREAD_POOL_STOP_TIMEOUT);
+        try {
+          threadPool.start();
+        } catch (Exception e) {
+          throw new McpServerException("Failed to start the HTTP thread pool", e);
+        }
+        httpThreadPool = threadPool;
+      }
+      httpThreadPoolUsers++;
+      return httpThreadPool;
+    }
+  }
+
+  /**
+   * Releases the shared HTTP thread pool, stopping it when the last server using it stops. The
+   * threads still busy after the stop timeout are left to finish on their own.
+   */
+  private static void releaseHttpThreadPool() {
+    synchronized (HTTP_THREAD_POOL_LOCK) {
+      if (--httpThreadPoolUsers > 0 || httpThreadPool == null) {
+        return;
+      }
+      try {
+        httpThreadPool.stop();
+      } catch (Exception e) {
+        log.error("Error stopping the HTTP thread pool", e);
+      } finally {
+        httpThreadPool = null;
       }
-    } else {
-      log.warn("MCP server is disabled, please check your configuration file.");
     }
   }
 }
@@ -0,0 +1,61 @@
+package com.github.thought2code.mcp.annotated.annotation;
+
+import com.github.thought2code.mcp.annotated.enums.InstanceScope;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation is used to specify the scope of the instances of a class declaring MCP (Model
+ * Context Protocol) tool, prompt, resource or completion methods.
+ *
+ * <p>Without this annotation, a single instance of the class is shared by all its component
+ * methods, see {@link InstanceScope#SINGLETON}. A class that is not thread-safe can be pooled, so
+ * that each instance is used by one request at a time:
+ *
+ * <pre>{@code
+ * @McpComponentScope(value = InstanceScope.POOLED, maxPoolSize = 4)
+ * public class MyMcpTools {
+ *     // Tool methods...
+ * }
+ * }</pre>
+ *
+ * @author codeboyzhou
+ * @see InstanceScope
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface McpComponentScope {
+  /**
+   * The scope of the instances of the annotated class.
+   *
+   * @return the scope of the instances
+   */
+  InstanceScope value() default InstanceScope.SINGLETON;
+
+  /**
+   * The maximum number of pooled instances, only used by {@link InstanceScope#POOLED}. Requests
+   * wait for an instance to be returned when all of them are in use, at most {@link
+   * #poolAcquireTimeout()}.
+   *
+   * @return the maximum number of pooled instances
+   */
+  int maxPoolSize() default 8;
+
+  /**
+   * The maximum time in milliseconds a request waits for a pooled instance when all of them are in
+   * use, only used by {@link InstanceScope#POOLED}. The request fails once it elapses.
+   *
+   * @return the maximum time in milliseconds to wait for a pooled instance
+   */
+  long poolAcquireTimeout() default 30_000L;
+
+  /**
+   * The idle time in milliseconds after which the instance of a session is evicted, only used by
+   * {@link InstanceScope#SESSION}.
+   *
+   * @return the idle time in milliseconds after which the instance of a session is evicted
+   */
+  long sessionIdleTimeout() default 1_800_000L;
+}
@@ -0,0 +1,265 @@
+package com.github.thought2code.mcp.annotated.cache;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.github.thought2code.mcp.annotated.metrics.McpServerMetrics;
+import io.modelcontextprotocol.spec.McpSchema;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache of the serialized {@code tools/list}, {@code prompts/list}, {@code resources/list} and
+ * {@code resources/templates/list} results.
+ *
+ * <p>The MCP SDK answers every list request with a new result holding the components registered
+ * with the server, and the transports serialize it again for every session, the input and output
+ * schemas of every tool included. This cache serializes a list result once and keeps it as UTF-8
+ * bytes, which the JSON generators of the transports write as they are for the next results listing
+ * the same components.
+ *
+ * <p>A cached result is served only if it was serialized in the current registry generation and
+ * lists the very same component instances, in the same order, with the same cursor. Each server has
+ * its own cache, held by its context and registered with the JSON mapper of its transport, so the
+ * servers running in the same JVM never serve the list results of one another. The generation is
+ * advanced by {@link #invalidate()} whenever components are registered, which the server does once
+ * its components are registered; the applications registering components dynamically, or
+ * registering localized components again for another locale, call {@code
+ * McpServerHandle.invalidateListResults()} after doing so. The results with metadata are never
+ * cached.
+ *
+ * <p>The following counters are registered in {@link McpServerMetrics}, summed over the servers:
+ *
+ * <ul>
+ *   <li>{@code mcp.list-cache.hits}: the list results served from the cache
+ *   <li>{@code mcp.list-cache.misses}: the list results serialized
+ *   <li>{@code mcp.list-cache.served-bytes}: the bytes served from the cache
+ * </ul>
+ *
+ * @author codeboyzhou
+ */
+public final class ListResultCache {
+
+  /** The list results served from the cache. */
+  private static final LongAdder HITS = McpServerMetrics.counter("mcp.list-cache.hits");
+
+  /** The list results serialized. */
+  private static final LongAdder MISSES = McpServerMetrics.counter("mcp.list-cache.misses");
+
+  /** The bytes served from the cache. */
+  private static final LongAdder SERVED_BYTES =
+      McpServerMetrics.counter("mcp.list-cache.served-bytes");
+
+  /** The registry generation, advanced whenever components are registered. */
+  private final AtomicLong generation = new AtomicLong();
+
+  /** The cached list results keyed by result type and cursor. */
+  private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+
+  /** Constructs a new empty {@link ListResultCache}. */
+  public ListResultCache() {
+    // the entries are cached as the list results are serialized
+  }
+
+  /**
+   * Advances the registry generation, so that the list results cached so far are serialized again.
+   */
+  public void invalidate() {
+    generation.incrementAndGet();
+    entries.clear();
+  }
+
+  /**
+   * Returns the Jackson module serving the list results from this cache.
+   *
+   * @return the Jackson module to register with the JSON mapper of the transport of the server
+   */
+  public Module module() {
+    SimpleModule module = new SimpleModule("ListResultCache");
+    module.setSerializerModifier(
+        new BeanSerializerModifier() {
+          @Override
+          public JsonSerializer<?> modifySerializer(
+              SerializationConfig config,
+              BeanDescription description,
+              JsonSerializer<?> serializer) {
+            return isListResult(description.getBeanClass())
+                ? new CachingSerializer(serializer)
+                : serializer;
+          }
+        });
+    return module;
+  }
+
+  /**
+   * Returns whether the specified type is a list result of the MCP SDK.
+   *
+   * @param type the type to check
+   * @return true if the type is a list result
+   */
+  private static boolean isListResult(Class<?> type) {
+    return type == McpSchema.ListToolsResult.class
+        || type == McpSchema.ListPromptsResult.class
+        || type == McpSchema.ListResourcesResult.class
+        || type == McpSchema.ListResourceTemplatesResult.class;
+  }
+
+  /**
+   * Returns the view of a list result.
+   *
+   * @param value the list result
+   * @return the view of the list result
+   */
+  private static ListView viewOf(Object value) {
+    if (value instanceof McpSchema.ListToolsResult result) {
+      return new ListView(result.tools(), result.nextCursor(), result.meta());
+    }
+    if (value instanceof McpSchema.ListPromptsResult result) {
+      return new ListView(result.prompts(), result.nextCursor(), result.meta());
+    }
+    if (value instanceof McpSchema.ListResourcesResult result) {
+      return new ListView(result.resources(), result.nextCursor(), result.meta());
+    }
+    final McpSchema.ListResourceTemplatesResult result =
+        (McpSchema.ListResourceTemplatesResult) value;
+    return new ListView(result.resourceTemplates(), result.nextCursor(), result.meta());
+  }
+
+  /**
+   * Returns whether two lists hold the very same instances in the same order.
+   *
+   * @param cached the list of a cached result
+   * @param items the list of the result to serialize
+   * @return true if the lists hold the same instances
+   */
+  private static boolean sameItems(List<?> cached, List<?> items) {
+    if (cached.size() != items.size()) {
+      return false;
+    }
+    for (int i = 0; i < items.size(); i++) {
+      if (cached.get(i) != items.get(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * The components, cursor and metadata of a list result.
+   *
+   * @param items the listed components
+   * @param cursor the cursor of the next page, or null
+   * @param meta the metadata of the result, or null
+   */
+  private record ListView(List<?> items, String cursor, Map<String, Object> meta) {}
+
+  /**
+   * The key of a cached list result.
+   *
+   * @param type the type of the list result
+   * @param cursor the cursor of the next page, or null
+   */
+  private record Key(Class<?> type, String cursor) {}
+
+  /**
+   * A cached list result.
+   *
+   * @param generation the registry generation the result was serialized in
+   * @param items the components listed by the result
+   * @param json the serialized result
+   * @param size the size of the serialized result in UTF-8 bytes
+   */
+  private record Entry(long generation, List<?> items, SerializedString json, int size) {}
+
+  /** Serializer of a list result, serving it from the cache when possible. */
+  private final class CachingSerializer extends StdSerializer<Object>
+      implements ContextualSerializer, ResolvableSerializer {
+
+    private static final long serialVersionUID = 1L;
+
+    /** The serializer of the list result the MCP SDK would use. */
+    private final JsonSerializer<Object> delegate;
+
+    /**
+     * Constructs a new {@link CachingSerializer}.
+     *
+     * @param delegate the serializer of the list result the MCP SDK would use
+     */
+    @SuppressWarnings("unchecked")
+    CachingSerializer(JsonSerializer<?> delegate) {
+      super(Object.class);
+      this.delegate = (JsonSerializer<Object>) delegate;
+    }
+
+    @Override
+    public void resolve(SerializerProvider provider) throws JsonMappingException {
+      if (delegate instanceof ResolvableSerializer resolvable) {
+        resolvable.resolve(provider);
+      }
+    }
+
+    @Override
+    public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property)
+        throws JsonMappingException {
+      if (delegate instanceof ContextualSerializer contextual) {
+        return new CachingSerializer(contextual.createContextual(provider, property));
+      }
+      return this;
+    }
+
+    @Override
+    public void serialize(Object value, JsonGenerator generator, SerializerProvider provider)
+        throws IOException {
+      final ListView view = viewOf(value);
+      if (view.meta() != null
+          || generator instanceof TokenBuffer
+          || generator.canWriteBinaryNatively()
+          || !(generator.getCodec() instanceof ObjectMapper mapper)) {
+        delegate.serialize(value, generator, provider);
+        return;
+      }
+
+      final Key key = new Key(value.getClass(), view.cursor());
+      final Entry cached = entries.get(key);
+      if (cached != null
+          && cached.generation() == generation.get()
+          && sameItems(cached.items(), view.items())) {
+        generator.writeRawValue(cached.json());
+        HITS.increment();
+        SERVED_BYTES.add(cached.size());
+        return;
+      }
+
+      final long current = generation.get();
+      final StringWriter writer = new StringWriter();
+      try (JsonGenerator buffer = mapper.getFactory().createGenerator(writer)) {
+        delegate.serialize(value, buffer, provider);
+      }
+      final SerializedString json = new SerializedString(writer.toString());
+      final int size = json.asUnquotedUTF8().length;
+      if (current == generation.get()) {
+        entries.put(key, new Entry(current, List.copyOf(view.items()), json, size));
+      }
+      generator.writeRawValue(json);
+      MISSES.increment();
+    }
+  }
+}
@@ -9,8 +9,8 @@ import com.github.thought2code.mcp.annotated.util.StringHelper;
  *
  * <p>This class provides static methods to perform comprehensive validation of MCP server
  * configuration objects, ensuring that all required fields are present and properly configured. It
- * validates both base configuration properties and mode-specific settings for SSE and STREAMABLE
- * server modes.
+ * validates both base configuration properties and mode-specific settings for SSE, STREAMABLE and
+ * WEBSOCKET server modes.
  *
  * @see McpServerConfiguration
  * @author codeboyzhou
@@ -34,7 +34,7 @@ public final class McpConfigurationChecker {
    *   <li>Basic server information (enabled, mode, name, version, type, instructions)
    *   <li>Timeout and capabilities settings
    *   <li>Change notification configuration
-   *   <li>Mode-specific settings (SSE or STREAMABLE)
+   *   <li>Mode-specific settings (SSE, STREAMABLE or WEBSOCKET)
    * </ul>
    *
    * @param configuration the MCP server configuration to validate
@@ -74,6 +74,15 @@ public final class McpConfigurationChecker {
       checkNull("keep-alive-interval", configuration.streamable().keepAliveInterval());
       checkNull("port", configuration.streamable().port());
     }
+    if (configuration.mode() == ServerMode.WEBSOCKET) {
+      checkNull("websocket", configuration.websocket());
+      checkBlank("endpoint", configuration.websocket().endpoint());
+      checkNull("port", configuration.websocket().port());
+      checkNull("max-pending-requests", configuration.websocket().maxPendingRequests());
+      checkNull("ping-interval", configuration.websocket().pingInterval());
+      checkNull("max-message-size", configuration.websocket().maxMessageSize());
+      checkNull("cbor-encoding", configuration.websocket().cborEncoding());
+    }
   }
 
   /**
@@ -50,7 +50,7 @@ public record McpConfigurationLoader(String configFileName) {
     if (StringHelper.isBlank(profile)) {
       log.info("No profile specified in configuration file: {}", configFileName);
       McpConfigurationChecker.check(baseConfig);
-      return baseConfig;
+      return McpConfigurationMerger.withDefaults(baseConfig);
     }
 
     final String profileConfigFileName = configFileName.replace(".yml", "-" + profile + ".yml");
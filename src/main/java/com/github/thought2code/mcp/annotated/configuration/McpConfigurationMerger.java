@@ -3,6 +3,7 @@ package com.github.thought2code.mcp.annotated.configuration;
 import com.github.thought2code.mcp.annotated.enums.ServerMode;
 import com.github.thought2code.mcp.annotated.exception.McpServerConfigurationException;
 import com.github.thought2code.mcp.annotated.util.StringHelper;
+import java.util.function.Function;
 
 /**
  * Utility class for merging MCP server configurations.
@@ -36,7 +37,8 @@ public final class McpConfigurationMerger {
    *   <li>Basic server information (enabled, name, version, type, instructions)
    *   <li>Timeout and capabilities settings
    *   <li>Change notification configuration
-   *   <li>Mode-specific settings (SSE or STREAMABLE)
+   *   <li>Mode-specific settings (SSE, STREAMABLE or WEBSOCKET)
+   *   <li>Optional feature settings (cost accounting)
    * </ul>
    *
    * @param base the base configuration containing default values
@@ -61,7 +63,37 @@ public final class McpConfigurationMerger {
         mergeCapabilities(base.capabilities(), profile.capabilities()),
         mergeChangeNotification(base.changeNotification(), profile.changeNotification()),
         mergeSSE(mode, base.sse(), profile.sse()),
-        mergeStreamable(mode, base.streamable(), profile.streamable()));
+        mergeStreamable(mode, base.streamable(), profile.streamable()),
+        mergeCostAccounting(base.costAccounting(), profile.costAccounting()),
+        mergeSlowCall(base.slowCall(), profile.slowCall()),
+        mergeTracing(base.tracing(), profile.tracing()),
+        mergeJournal(base.journal(), profile.journal()),
+        mergeLifecycle(base.lifecycle(), profile.lifecycle()),
+        mergeStdio(base.stdio(), profile.stdio()),
+        mergeWebSocket(mode, base.websocket(), profile.websocket()),
+        mergeBatch(base.batch(), profile.batch()),
+        mergeJson(base.json(), profile.json()),
+        mergeToolResult(base.toolResult(), profile.toolResult()),
+        mergePagination(base.pagination(), profile.pagination()),
+        mergeDiscovery(base.discovery(), profile.discovery()),
+        mergeSpill(base.spill(), profile.spill()),
+        mergeStreaming(base.streaming(), profile.streaming()),
+        mergeResultPagination(base.resultPagination(), profile.resultPagination()));
+  }
+
+  /**
+   * Fills the missing settings of the optional configuration sections with default values.
+   *
+   * <p>This method is used for a configuration that has no profile. It merges the configuration
+   * with itself, so all the configured values are kept as is and only the optional settings that
+   * are missing fall back to their default values.
+   *
+   * @param configuration the configuration to fill with default values
+   * @return a new {@link McpServerConfiguration} instance with the default values filled
+   * @throws McpServerConfigurationException if required configuration properties are missing
+   */
+  public static McpServerConfiguration withDefaults(McpServerConfiguration configuration) {
+    return merge(configuration, configuration);
   }
 
   /**
@@ -282,7 +314,9 @@ public final class McpConfigurationMerger {
     McpConfigurationChecker.checkBlank("sse.base-url", baseUrl);
     McpConfigurationChecker.checkNull("sse.port", port);
 
-    return new McpServerSSE(messageEndpoint, endpoint, baseUrl, port);
+    McpServerHttp http =
+        mergeHttp(base == null ? null : base.http(), profile == null ? null : profile.http());
+    return new McpServerSSE(messageEndpoint, endpoint, baseUrl, port, http);
   }
 
   /**
@@ -348,6 +382,405 @@ public final class McpConfigurationMerger {
     McpConfigurationChecker.checkNull("streamable.keep-alive-interval", keepAliveInterval);
     McpConfigurationChecker.checkNull("streamable.port", port);
 
-    return new McpServerStreamable(mcpEndpoint, disallowDelete, keepAliveInterval, port);
+    McpServerHttp http =
+        mergeHttp(base == null ? null : base.http(), profile == null ? null : profile.http());
+    return new McpServerStreamable(mcpEndpoint, disallowDelete, keepAliveInterval, port, http);
+  }
+
+  /**
+   * Merges HTTP server configurations.
+   *
+   * <p>The HTTP server configuration is optional, each setting missing from both the base and the
+   * profile configuration falls back to the default value of {@link McpServerHttp.Builder}.
+   *
+   * @param base the base HTTP server configuration
+   * @param profile the profile HTTP server configuration
+   * @return a new merged {@link McpServerHttp} instance
+   */
+  private static McpServerHttp mergeHttp(McpServerHttp base, McpServerHttp profile) {
+    McpServerHttp defaults = McpServerHttp.builder().build();
+    return new McpServerHttp(
+        mergeOptional(base, profile, defaults, McpServerHttp::minThreads),
+        mergeOptional(base, profile, defaults, McpServerHttp::maxThreads),
+        mergeOptional(base, profile, defaults, McpServerHttp::reservedThreads),
+        mergeOptional(base, profile, defaults, McpServerHttp::acceptors),
+        mergeOptional(base, profile, defaults, McpServerHttp::selectors),
+        mergeOptional(base, profile, defaults, McpServerHttp::idleTimeout),
+        mergeOptional(base, profile, defaults, McpServerHttp::outputBufferSize),
+        mergeOptional(base, profile, defaults, McpServerHttp::acceptQueueSize),
+        mergeOptional(base, profile, defaults, McpServerHttp::http2Cleartext),
+        mergeOptional(base, profile, defaults, McpServerHttp::sharedThreadPool),
+        mergeOptional(base, profile, defaults, McpServerHttp::tcpEnabled),
+        mergeOptional(base, profile, defaults, McpServerHttp::unixSocketPath),
+        mergeCompression(
+            base == null ? null : base.compression(),
+            profile == null ? null : profile.compression()));
+  }
+
+  /**
+   * Merges response compression configurations.
+   *
+   * <p>The response compression configuration is optional, each setting missing from both the base
+   * and the profile configuration falls back to the default value of {@link
+   * McpServerCompression.Builder}.
+   *
+   * @param base the base response compression configuration
+   * @param profile the profile response compression configuration
+   * @return a new merged {@link McpServerCompression} instance
+   */
+  private static McpServerCompression mergeCompression(
+      McpServerCompression base, McpServerCompression profile) {
+    McpServerCompression defaults = McpServerCompression.builder().build();
+    return new McpServerCompression(
+        mergeOptional(base, profile, defaults, McpServerCompression::enabled),
+        mergeOptional(base, profile, defaults, McpServerCompression::minSize),
+        mergeOptional(base, profile, defaults, McpServerCompression::mimeTypes),
+        mergeOptional(base, profile, defaults, McpServerCompression::level));
+  }
+
+  /**
+   * Merges cost accounting configurations.
+   *
+   * <p>The cost accounting configuration is optional, each setting missing from both the base and
+   * the profile configuration falls back to the default value of {@link
+   * McpServerCostAccounting.Builder}.
+   *
+   * @param base the base cost accounting configuration
+   * @param profile the profile cost accounting configuration
+   * @return a new merged {@link McpServerCostAccounting} instance
+   */
+  private static McpServerCostAccounting mergeCostAccounting(
+      McpServerCostAccounting base, McpServerCostAccounting profile) {
+
+    McpServerCostAccounting defaults = McpServerCostAccounting.builder().build();
+    return new McpServerCostAccounting(
+        mergeOptional(base, profile, defaults, McpServerCostAccounting::enabled),
+        mergeOptional(base, profile, defaults, McpServerCostAccounting::sampleRate),
+        mergeOptional(base, profile, defaults, McpServerCostAccounting::topN),
+        mergeOptional(base, profile, defaults, McpServerCostAccounting::reportUri));
+  }
+
+  /**
+   * Merges slow-call capture configurations.
+   *
+   * <p>The slow-call capture configuration is optional, each setting missing from both the base and
+   * the profile configuration falls back to the default value of {@link McpServerSlowCall.Builder}.
+   *
+   * @param base the base slow-call capture configuration
+   * @param profile the profile slow-call capture configuration
+   * @return a new merged {@link McpServerSlowCall} instance
+   */
+  private static McpServerSlowCall mergeSlowCall(
+      McpServerSlowCall base, McpServerSlowCall profile) {
+
+    McpServerSlowCall defaults = McpServerSlowCall.builder().build();
+    return new McpServerSlowCall(
+        mergeOptional(base, profile, defaults, McpServerSlowCall::enabled),
+        mergeOptional(base, profile, defaults, McpServerSlowCall::threshold),
+        mergeOptional(base, profile, defaults, McpServerSlowCall::thresholds),
+        mergeOptional(base, profile, defaults, McpServerSlowCall::bufferSize),
+        mergeOptional(base, profile, defaults, McpServerSlowCall::sampleInterval),
+        mergeOptional(base, profile, defaults, McpServerSlowCall::maxSamples),
+        mergeOptional(base, profile, defaults, McpServerSlowCall::redactedArguments),
+        mergeOptional(base, profile, defaults, McpServerSlowCall::resourceUri),
+        mergeOptional(base, profile, defaults, McpServerSlowCall::httpEndpoint));
+  }
+
+  /**
+   * Merges tracing configurations.
+   *
+   * <p>The tracing configuration is optional, each setting missing from both the base and the
+   * profile configuration falls back to the default value of {@link McpServerTracing.Builder}.
+   *
+   * @param base the base tracing configuration
+   * @param profile the profile tracing configuration
+   * @return a new merged {@link McpServerTracing} instance
+   */
+  private static McpServerTracing mergeTracing(McpServerTracing base, McpServerTracing profile) {
+    McpServerTracing defaults = McpServerTracing.builder().build();
+    return new McpServerTracing(
+        mergeOptional(base, profile, defaults, McpServerTracing::enabled),
+        mergeOptional(base, profile, defaults, McpServerTracing::sampleRatio),
+        mergeOptional(base, profile, defaults, McpServerTracing::exporter),
+        mergeOptional(base, profile, defaults, McpServerTracing::memoryCapacity),
+        mergeOptional(base, profile, defaults, McpServerTracing::file),
+        mergeOptional(base, profile, defaults, McpServerTracing::queueSize),
+        mergeOptional(base, profile, defaults, McpServerTracing::exportInterval));
+  }
+
+  /**
+   * Merges traffic journal configurations.
+   *
+   * <p>The traffic journal configuration is optional, each setting missing from both the base and
+   * the profile configuration falls back to the default value of {@link McpServerJournal.Builder}.
+   *
+   * @param base the base traffic journal configuration
+   * @param profile the profile traffic journal configuration
+   * @return a new merged {@link McpServerJournal} instance
+   */
+  private static McpServerJournal mergeJournal(McpServerJournal base, McpServerJournal profile) {
+    McpServerJournal defaults = McpServerJournal.builder().build();
+    return new McpServerJournal(
+        mergeOptional(base, profile, defaults, McpServerJournal::enabled),
+        mergeOptional(base, profile, defaults, McpServerJournal::file),
+        mergeOptional(base, profile, defaults, McpServerJournal::queueSize),
+        mergeOptional(base, profile, defaults, McpServerJournal::flushInterval));
+  }
+
+  /**
+   * Merges lifecycle configurations.
+   *
+   * <p>The lifecycle configuration is optional, each setting missing from both the base and the
+   * profile configuration falls back to the default value of {@link McpServerLifecycle.Builder}.
+   *
+   * @param base the base lifecycle configuration
+   * @param profile the profile lifecycle configuration
+   * @return a new merged {@link McpServerLifecycle} instance
+   */
+  private static McpServerLifecycle mergeLifecycle(
+      McpServerLifecycle base, McpServerLifecycle profile) {
+
+    McpServerLifecycle defaults = McpServerLifecycle.builder().build();
+    return new McpServerLifecycle(
+        mergeOptional(base, profile, defaults, McpServerLifecycle::drainTimeout),
+        mergeOptional(base, profile, defaults, McpServerLifecycle::readyEndpoint),
+        mergeOptional(base, profile, defaults, McpServerLifecycle::liveEndpoint));
+  }
+
+  /**
+   * Merges STDIO mode configurations.
+   *
+   * <p>The STDIO mode configuration is optional, each setting missing from both the base and the
+   * profile configuration falls back to the default value of {@link McpServerStdio.Builder}.
+   *
+   * @param base the base STDIO mode configuration
+   * @param profile the profile STDIO mode configuration
+   * @return a new merged {@link McpServerStdio} instance
+   */
+  private static McpServerStdio mergeStdio(McpServerStdio base, McpServerStdio profile) {
+    McpServerStdio defaults = McpServerStdio.builder().build();
+    return new McpServerStdio(
+        mergeOptional(base, profile, defaults, McpServerStdio::nioTransport),
+        mergeOptional(base, profile, defaults, McpServerStdio::bufferSize),
+        mergeOptional(base, profile, defaults, McpServerStdio::workerThreads),
+        mergeOptional(base, profile, defaults, McpServerStdio::maxPendingRequests));
+  }
+
+  /**
+   * Merges WebSocket server configurations.
+   *
+   * <p>This method only processes WebSocket configurations when the server mode is WEBSOCKET. The
+   * WebSocket configuration is optional, each setting missing from both the base and the profile
+   * configuration falls back to the default value of {@link McpServerWebSocket.Builder}.
+   *
+   * @param mode the server mode to determine if WebSocket merging should be performed
+   * @param base the base WebSocket server configuration
+   * @param profile the profile WebSocket server configuration
+   * @return a new merged {@link McpServerWebSocket} instance, or null if mode is not WEBSOCKET
+   */
+  private static McpServerWebSocket mergeWebSocket(
+      ServerMode mode, McpServerWebSocket base, McpServerWebSocket profile) {
+
+    if (mode != ServerMode.WEBSOCKET) {
+      return null;
+    }
+
+    McpServerWebSocket defaults = McpServerWebSocket.builder().build();
+    McpServerHttp http =
+        mergeHttp(base == null ? null : base.http(), profile == null ? null : profile.http());
+    return new McpServerWebSocket(
+        mergeOptional(base, profile, defaults, McpServerWebSocket::endpoint),
+        mergeOptional(base, profile, defaults, McpServerWebSocket::port),
+        mergeOptional(base, profile, defaults, McpServerWebSocket::maxPendingRequests),
+        mergeOptional(base, profile, defaults, McpServerWebSocket::pingInterval),
+        mergeOptional(base, profile, defaults, McpServerWebSocket::maxMessageSize),
+        mergeOptional(base, profile, defaults, McpServerWebSocket::cborEncoding),
+        http);
+  }
+
+  /**
+   * Merges JSON-RPC batch configurations.
+   *
+   * <p>The JSON-RPC batch configuration is optional, each setting missing from both the base and
+   * the profile configuration falls back to the default value of {@link McpServerBatch.Builder}.
+   *
+   * @param base the base JSON-RPC batch configuration
+   * @param profile the profile JSON-RPC batch configuration
+   * @return a new merged {@link McpServerBatch} instance
+   */
+  private static McpServerBatch mergeBatch(McpServerBatch base, McpServerBatch profile) {
+    McpServerBatch defaults = McpServerBatch.builder().build();
+    return new McpServerBatch(
+        mergeOptional(base, profile, defaults, McpServerBatch::maxSize),
+        mergeOptional(base, profile, defaults, McpServerBatch::maxParallelCalls));
+  }
+
+  /**
+   * Merges JSON mapper configurations.
+   *
+   * <p>The JSON mapper configuration is optional, each setting missing from both the base and the
+   * profile configuration falls back to the default value of {@link McpServerJson.Builder}.
+   *
+   * @param base the base JSON mapper configuration
+   * @param profile the profile JSON mapper configuration
+   * @return a new merged {@link McpServerJson} instance
+   */
+  private static McpServerJson mergeJson(McpServerJson base, McpServerJson profile) {
+    McpServerJson defaults = McpServerJson.builder().build();
+    return new McpServerJson(
+        mergeOptional(base, profile, defaults, McpServerJson::modules),
+        mergeOptional(base, profile, defaults, McpServerJson::blackbird),
+        mergeOptional(base, profile, defaults, McpServerJson::bufferRecycling));
+  }
+
+  /**
+   * Merges tool result configurations.
+   *
+   * <p>The tool result configuration is optional, each setting missing from both the base and the
+   * profile configuration falls back to the default value of {@link McpServerToolResult.Builder}.
+   *
+   * @param base the base tool result configuration
+   * @param profile the profile tool result configuration
+   * @return a new merged {@link McpServerToolResult} instance
+   */
+  private static McpServerToolResult mergeToolResult(
+      McpServerToolResult base, McpServerToolResult profile) {
+
+    McpServerToolResult defaults = McpServerToolResult.builder().build();
+    return new McpServerToolResult(
+        mergeOptional(base, profile, defaults, McpServerToolResult::textContent),
+        mergeOptional(base, profile, defaults, McpServerToolResult::summaryLength));
+  }
+
+  /**
+   * Merges listing pagination configurations.
+   *
+   * <p>The listing pagination configuration is optional, each setting missing from both the base
+   * and the profile configuration falls back to the default value of {@link
+   * McpServerPagination.Builder}.
+   *
+   * @param base the base listing pagination configuration
+   * @param profile the profile listing pagination configuration
+   * @return a new merged {@link McpServerPagination} instance
+   */
+  private static McpServerPagination mergePagination(
+      McpServerPagination base, McpServerPagination profile) {
+
+    McpServerPagination defaults = McpServerPagination.builder().build();
+    return new McpServerPagination(
+        mergeOptional(base, profile, defaults, McpServerPagination::enabled),
+        mergeOptional(base, profile, defaults, McpServerPagination::pageSize));
+  }
+
+  /**
+   * Merges tool discovery configurations.
+   *
+   * <p>The tool discovery configuration is optional, each setting missing from both the base and
+   * the profile configuration falls back to the default value of {@link
+   * McpServerDiscovery.Builder}.
+   *
+   * @param base the base tool discovery configuration
+   * @param profile the profile tool discovery configuration
+   * @return a new merged {@link McpServerDiscovery} instance
+   */
+  private static McpServerDiscovery mergeDiscovery(
+      McpServerDiscovery base, McpServerDiscovery profile) {
+
+    McpServerDiscovery defaults = McpServerDiscovery.builder().build();
+    return new McpServerDiscovery(
+        mergeOptional(base, profile, defaults, McpServerDiscovery::enabled),
+        mergeOptional(base, profile, defaults, McpServerDiscovery::searchToolName),
+        mergeOptional(base, profile, defaults, McpServerDiscovery::maxResults));
+  }
+
+  /**
+   * Merges result spill configurations.
+   *
+   * <p>The result spill configuration is optional, each setting missing from both the base and the
+   * profile configuration falls back to the default value of {@link McpServerSpill.Builder}.
+   *
+   * @param base the base result spill configuration
+   * @param profile the profile result spill configuration
+   * @return a new merged {@link McpServerSpill} instance
+   */
+  private static McpServerSpill mergeSpill(McpServerSpill base, McpServerSpill profile) {
+    McpServerSpill defaults = McpServerSpill.builder().build();
+    return new McpServerSpill(
+        mergeOptional(base, profile, defaults, McpServerSpill::enabled),
+        mergeOptional(base, profile, defaults, McpServerSpill::threshold),
+        mergeOptional(base, profile, defaults, McpServerSpill::summaryLength),
+        mergeOptional(base, profile, defaults, McpServerSpill::pageSize),
+        mergeOptional(base, profile, defaults, McpServerSpill::maxStorage),
+        mergeOptional(base, profile, defaults, McpServerSpill::ttl),
+        mergeOptional(base, profile, defaults, McpServerSpill::directory),
+        mergeOptional(base, profile, defaults, McpServerSpill::uriPrefix));
+  }
+
+  /**
+   * Merges streaming tool result configurations.
+   *
+   * <p>The streaming tool result configuration is optional, each setting missing from both the base
+   * and the profile configuration falls back to the default value of {@link
+   * McpServerStreaming.Builder}.
+   *
+   * @param base the base streaming tool result configuration
+   * @param profile the profile streaming tool result configuration
+   * @return a new merged {@link McpServerStreaming} instance
+   */
+  private static McpServerStreaming mergeStreaming(
+      McpServerStreaming base, McpServerStreaming profile) {
+
+    McpServerStreaming defaults = McpServerStreaming.builder().build();
+    return new McpServerStreaming(
+        mergeOptional(base, profile, defaults, McpServerStreaming::maxItems),
+        mergeOptional(base, profile, defaults, McpServerStreaming::bufferSize),
+        mergeOptional(base, profile, defaults, McpServerStreaming::progressInterval),
+        mergeOptional(base, profile, defaults, McpServerStreaming::itemTimeout));
+  }
+
+  /**
+   * Merges tool result pagination configurations.
+   *
+   * <p>The tool result pagination configuration is optional, each setting missing from both the
+   * base and the profile configuration falls back to the default value of {@link
+   * McpServerResultPagination.Builder}.
+   *
+   * @param base the base tool result pagination configuration
+   * @param profile the profile tool result pagination configuration
+   * @return a new merged {@link McpServerResultPagination} instance
+   */
+  private static McpServerResultPagination mergeResultPagination(
+      McpServerResultPagination base, McpServerResultPagination profile) {
+
+    McpServerResultPagination defaults = McpServerResultPagination.builder().build();
+    return new McpServerResultPagination(
+        mergeOptional(base, profile, defaults, McpServerResultPagination::enabled),
+        mergeOptional(base, profile, defaults, McpServerResultPagination::pageSize),
+        mergeOptional(base, profile, defaults, McpServerResultPagination::continuationToolName),
+        mergeOptional(base, profile, defaults, McpServerResultPagination::ttl),
+        mergeOptional(base, profile, defaults, McpServerResultPagination::maxCursors));
+  }
+
+  /**
+   * Merges a single setting of an optional configuration section.
+   *
+   * <p>The profile value takes precedence over the base value, and the default value is used if the
+   * setting is missing from both configurations (or if both sections are missing entirely).
+   *
+   * @param <S> the type of the configuration section
+   * @param <T> the type of the setting
+   * @param base the base configuration section, may be null
+   * @param profile the profile configuration section, may be null
+   * @param defaults the configuration section holding the default values
+   * @param getter the accessor of the setting
+   * @return the merged setting value
+   */
+  private static <S, T> T mergeOptional(S base, S profile, S defaults, Function<S, T> getter) {
+    T profileValue = profile == null ? null : getter.apply(profile);
+    if (profileValue != null) {
+      return profileValue;
+    }
+    T baseValue = base == null ? null : getter.apply(base);
+    return baseValue == null ? getter.apply(defaults) : baseValue;
   }
 }
@@ -0,0 +1,68 @@
+package com.github.thought2code.mcp.annotated.configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * This record represents the JSON-RPC batch configuration of an MCP (Model Context Protocol)
+ * server.
+ *
+ * <p>The transports that read the JSON-RPC messages themselves, that is the WebSocket and the NIO
+ * STDIO transports, accept a JSON array of messages as one batch. The independent calls of a batch
+ * are handled in parallel, with at most {@code max-parallel-calls} of them running at once, and
+ * their responses are written back together as one JSON array, in the order of the requests.
+ *
+ * @author codeboyzhou
+ */
+public record McpServerBatch(
+    @JsonProperty("max-size") Integer maxSize,
+    @JsonProperty("max-parallel-calls") Integer maxParallelCalls) {
+
+  /**
+   * Creates a new instance of {@code Builder} to build {@code McpServerBatch}.
+   *
+   * @return A new instance of {@code Builder}.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /** Builder class for {@code McpServerBatch}. */
+  public static class Builder {
+    /** The maximum number of messages of a batch. */
+    private Integer maxSize = 100;
+
+    /** The maximum number of calls of a batch handled in parallel. */
+    private Integer maxParallelCalls = 8;
+
+    /**
+     * Sets the maximum number of messages of a batch.
+     *
+     * @param maxSize The maximum number of messages of a batch.
+     * @return This builder instance.
+     */
+    public Builder maxSize(Integer maxSize) {
+      this.maxSize = maxSize;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of calls of a batch handled in parallel.
+     *
+     * @param maxParallelCalls The maximum number of calls of a batch handled in parallel.
+     * @return This builder instance.
+     */
+    public Builder maxParallelCalls(Integer maxParallelCalls) {
+      this.maxParallelCalls = maxParallelCalls;
+      return this;
+    }
+
+    /**
+     * Builds an instance of {@code McpServerBatch} with the configured values.
+     *
+     * @return A new instance of {@code McpServerBatch}.
+     */
+    public McpServerBatch build() {
+      return new McpServerBatch(maxSize, maxParallelCalls);
+    }
+  }
+}
@@ -0,0 +1,112 @@
+package com.github.thought2code.mcp.annotated.configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+
+/**
+ * This record represents the response compression configuration of the HTTP-based modes of an MCP
+ * (Model Context Protocol) server.
+ *
+ * <p>When enabled, the responses are gzip-compressed for the clients sending {@code
+ * Accept-Encoding: gzip}, if their MIME type is in the allowlist and their size reaches the
+ * threshold. Large tool results and resource payloads are JSON text and usually shrink several
+ * times. The compressed stream is flushed on every flush of the response, so that the events of an
+ * SSE stream are still delivered one by one.
+ *
+ * @author codeboyzhou
+ */
+public record McpServerCompression(
+    @JsonProperty("enabled") Boolean enabled,
+    @JsonProperty("min-size") Integer minSize,
+    @JsonProperty("mime-types") List<String> mimeTypes,
+    @JsonProperty("level") Integer level) {
+
+  /**
+   * Compact constructor that creates a defensive copy of the MIME type allowlist.
+   *
+   * @param enabled the enabled status
+   * @param minSize the minimum size of the compressed responses in bytes
+   * @param mimeTypes the MIME types of the compressed responses
+   * @param level the compression level, from 1 (fastest) to 9 (smallest)
+   */
+  public McpServerCompression {
+    mimeTypes = mimeTypes == null ? null : List.copyOf(mimeTypes);
+  }
+
+  /**
+   * Creates a new instance of {@code Builder} to build {@code McpServerCompression}.
+   *
+   * @return A new instance of {@code Builder}.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /** Builder class for {@code McpServerCompression}. */
+  public static class Builder {
+    /** The enabled status. */
+    private Boolean enabled = false;
+
+    /** The minimum size of the compressed responses in bytes. */
+    private Integer minSize = 1024;
+
+    /** The MIME types of the compressed responses. */
+    private List<String> mimeTypes = List.of("application/json", "text/event-stream");
+
+    /** The compression level, from 1 (fastest) to 9 (smallest). */
+    private Integer level = 6;
+
+    /**
+     * Sets the enabled status.
+     *
+     * @param enabled The enabled status.
+     * @return This builder instance.
+     */
+    public Builder enabled(Boolean enabled) {
+      this.enabled = enabled;
+      return this;
+    }
+
+    /**
+     * Sets the minimum size of the compressed responses in bytes.
+     *
+     * @param minSize The minimum size in bytes.
+     * @return This builder instance.
+     */
+    public Builder minSize(Integer minSize) {
+      this.minSize = minSize;
+      return this;
+    }
+
+    /**
+     * Sets the MIME types of the compressed responses.
+     *
+     * @param mimeTypes The MIME types of the compressed responses.
+     * @return This builder instance.
+     */
+    public Builder mimeTypes(List<String> mimeTypes) {
+      this.mimeTypes = mimeTypes == null ? null : List.copyOf(mimeTypes);
+      return this;
+    }
+
+    /**
+     * Sets the compression level, from 1 (fastest) to 9 (smallest).
+     *
+     * @param level The compression level.
+     * @return This builder instance.
+     */
+    public Builder level(Integer level) {
+      this.level = level;
+      return this;
+    }
+
+    /**
+     * Builds an instance of {@code McpServerCompression} with the configured values.
+     *
+     * @return A new instance of {@code McpServerCompression}.
+     */
+    public McpServerCompression build() {
+      return new McpServerCompression(enabled, minSize, mimeTypes, level);
+    }
+  }
+}
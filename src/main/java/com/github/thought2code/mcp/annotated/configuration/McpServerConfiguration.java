@@ -10,8 +10,8 @@ import java.time.Duration;
  * This record represents the configuration of an MCP (Model Context Protocol) server.
  *
  * <p>It contains various properties such as enabled status, server mode, name, version, type,
- * instructions, request timeout, capabilities, change notification, SSE (Server-Sent Events), and
- * streamable configuration.
+ * instructions, request timeout, capabilities, change notification, SSE (Server-Sent Events),
+ * streamable and cost accounting configuration.
  *
  * @see <a href="https://thought2code.github.io/mcp-annotated-java-sdk/getting-started">MCP
  *     Annotated Java SDK Documentation</a>
@@ -29,7 +29,22 @@ public record McpServerConfiguration(
     @JsonProperty("capabilities") McpServerCapabilities capabilities,
     @JsonProperty("change-notification") McpServerChangeNotification changeNotification,
     @JsonProperty("sse") McpServerSSE sse,
-    @JsonProperty("streamable") McpServerStreamable streamable) {
+    @JsonProperty("streamable") McpServerStreamable streamable,
+    @JsonProperty("cost-accounting") McpServerCostAccounting costAccounting,
+    @JsonProperty("slow-call") McpServerSlowCall slowCall,
+    @JsonProperty("tracing") McpServerTracing tracing,
+    @JsonProperty("journal") McpServerJournal journal,
+    @JsonProperty("lifecycle") McpServerLifecycle lifecycle,
+    @JsonProperty("stdio") McpServerStdio stdio,
+    @JsonProperty("websocket") McpServerWebSocket websocket,
+    @JsonProperty("batch") McpServerBatch batch,
+    @JsonProperty("json") McpServerJson json,
+    @JsonProperty("tool-result") McpServerToolResult toolResult,
+    @JsonProperty("pagination") McpServerPagination pagination,
+    @JsonProperty("discovery") McpServerDiscovery discovery,
+    @JsonProperty("spill") McpServerSpill spill,
+    @JsonProperty("streaming") McpServerStreaming streaming,
+    @JsonProperty("result-pagination") McpServerResultPagination resultPagination) {
 
   /**
    * Creates a new instance of {@code Builder} to build {@code McpServerConfiguration}.
@@ -79,6 +94,52 @@ public record McpServerConfiguration(
     /** The streamable configuration. */
     private McpServerStreamable streamable = McpServerStreamable.builder().build();
 
+    /** The cost accounting configuration. */
+    private McpServerCostAccounting costAccounting = McpServerCostAccounting.builder().build();
+
+    /** The slow-call capture configuration. */
+    private McpServerSlowCall slowCall = McpServerSlowCall.builder().build();
+
+    /** The tracing configuration. */
+    private McpServerTracing tracing = McpServerTracing.builder().build();
+
+    /** The traffic journal configuration. */
+    private McpServerJournal journal = McpServerJournal.builder().build();
+
+    /** The lifecycle configuration. */
+    private McpServerLifecycle lifecycle = McpServerLifecycle.builder().build();
+
+    /** The STDIO mode configuration. */
+    private McpServerStdio stdio = McpServerStdio.builder().build();
+
+    /** The WebSocket server configuration. */
+    private McpServerWebSocket websocket = McpServerWebSocket.builder().build();
+
+    /** The JSON-RPC batch configuration. */
+    private McpServerBatch batch = McpServerBatch.builder().build();
+
+    /** The JSON mapper configuration. */
+    private McpServerJson json = McpServerJson.builder().build();
+
+    /** The tool result configuration. */
+    private McpServerToolResult toolResult = McpServerToolResult.builder().build();
+
+    /** The listing pagination configuration. */
+    private McpServerPagination pagination = McpServerPagination.builder().build();
+
+    /** The tool discovery configuration. */
+    private McpServerDiscovery discovery = McpServerDiscovery.builder().build();
+
+    /** The result spill configuration. */
+    private McpServerSpill spill = McpServerSpill.builder().build();
+
+    /** The streaming tool result configuration. */
+    private McpServerStreaming streaming = McpServerStreaming.builder().build();
+
+    /** The tool result pagination configuration. */
+    private McpServerResultPagination resultPagination =
+        McpServerResultPagination.builder().build();
+
     /**
      * Sets the profile.
      *
@@ -211,6 +272,171 @@ public record McpServerConfiguration(
       return this;
     }
 
+    /**
+     * Sets the cost accounting configuration.
+     *
+     * @param costAccounting The cost accounting configuration.
+     * @return This builder instance.
+     */
+    public Builder costAccounting(McpServerCostAccounting costAccounting) {
+      this.costAccounting = costAccounting;
+      return this;
+    }
+
+    /**
+     * Sets the slow-call capture configuration.
+     *
+     * @param slowCall The slow-call capture configuration.
+     * @return This builder instance.
+     */
+    public Builder slowCall(McpServerSlowCall slowCall) {
+      this.slowCall = slowCall;
+      return this;
+    }
+
+    /**
+     * Sets the tracing configuration.
+     *
+     * @param tracing The tracing configuration.
+     * @return This builder instance.
+     */
+    public Builder tracing(McpServerTracing tracing) {
+      this.tracing = tracing;
+      return this;
+    }
+
+    /**
+     * Sets the traffic journal configuration.
+     *
+     * @param journal The traffic journal configuration.
+     * @return This builder instance.
+     */
+    public Builder journal(McpServerJournal journal) {
+      this.journal = journal;
+      return this;
+    }
+
+    /**
+     * Sets the lifecycle configuration.
+     *
+     * @param lifecycle The lifecycle configuration.
+     * @return This builder instance.
+     */
+    public Builder lifecycle(McpServerLifecycle lifecycle) {
+      this.lifecycle = lifecycle;
+      return this;
+    }
+
+    /**
+     * Sets the STDIO mode configuration.
+     *
+     * @param stdio The STDIO mode configuration.
+     * @return This builder instance.
+     */
+    public Builder stdio(McpServerStdio stdio) {
+      this.stdio = stdio;
+      return this;
+    }
+
+    /**
+     * Sets the WebSocket server configuration.
+     *
+     * @param websocket The WebSocket server configuration.
+     * @return This builder instance.
+     */
+    public Builder websocket(McpServerWebSocket websocket) {
+      this.websocket = websocket;
+      return this;
+    }
+
+    /**
+     * Sets the JSON-RPC batch configuration.
+     *
+     * @param batch The JSON-RPC batch configuration.
+     * @return This builder instance.
+     */
+    public Builder batch(McpServerBatch batch) {
+      this.batch = batch;
+      return this;
+    }
+
+    /**
+     * Sets the JSON mapper configuration.
+     *
+     * @param json The JSON mapper configuration.
+     * @return This builder instance.
+     */
+    public Builder json(McpServerJson json) {
+      this.json = json;
+      return this;
+    }
+
+    /**
+     * Sets the tool result configuration.
+     *
+     * @param toolResult The tool result configuration.
+     * @return This builder instance.
+     */
+    public Builder toolResult(McpServerToolResult toolResult) {
+      this.toolResult = toolResult;
+      return this;
+    }
+
+    /**
+     * Sets the listing pagination configuration.
+     *
+     * @param pagination The listing pagination configuration.
+     * @return This builder instance.
+     */
+    public Builder pagination(McpServerPagination pagination) {
+      this.pagination = pagination;
+      return this;
+    }
+
+    /**
+     * Sets the tool discovery configuration.
+     *
+     * @param discovery The tool discovery configuration.
+     * @return This builder instance.
+     */
+    public Builder discovery(McpServerDiscovery discovery) {
+      this.discovery = discovery;
+      return this;
+    }
+
+    /**
+     * Sets the result spill configuration.
+     *
+     * @param spill The result spill configuration.
+     * @return This builder instance.
+     */
+    public Builder spill(McpServerSpill spill) {
+      this.spill = spill;
+      return this;
+    }
+
+    /**
+     * Sets the streaming tool result configuration.
+     *
+     * @param streaming The streaming tool result configuration.
+     * @return This builder instance.
+     */
+    public Builder streaming(McpServerStreaming streaming) {
+      this.streaming = streaming;
+      return this;
+    }
+
+    /**
+     * Sets the tool result pagination configuration.
+     *
+     * @param resultPagination The tool result pagination configuration.
+     * @return This builder instance.
+     */
+    public Builder resultPagination(McpServerResultPagination resultPagination) {
+      this.resultPagination = resultPagination;
+      return this;
+    }
+
     /**
      * Builds a new instance of {@code McpServerConfiguration}.
      *
@@ -229,7 +455,22 @@ public record McpServerConfiguration(
           capabilities,
           changeNotification,
           sse,
-          streamable);
+          streamable,
+          costAccounting,
+          slowCall,
+          tracing,
+          journal,
+          lifecycle,
+          stdio,
+          websocket,
+          batch,
+          json,
+          toolResult,
+          pagination,
+          discovery,
+          spill,
+          streaming,
+          resultPagination);
     }
   }
 }
@@ -0,0 +1,97 @@
+package com.github.thought2code.mcp.annotated.configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * This record represents the cost accounting configuration of an MCP (Model Context Protocol)
+ * server.
+ *
+ * <p>When enabled, the thread CPU time and the allocated bytes of each sampled tool, prompt and
+ * resource invocation are recorded and aggregated per component. The aggregated costs are exposed
+ * as metrics and as a top-N report resource.
+ *
+ * @author codeboyzhou
+ */
+public record McpServerCostAccounting(
+    @JsonProperty("enabled") Boolean enabled,
+    @JsonProperty("sample-rate") Double sampleRate,
+    @JsonProperty("top-n") Integer topN,
+    @JsonProperty("report-uri") String reportUri) {
+
+  /**
+   * Creates a new instance of {@code Builder} to build {@code McpServerCostAccounting}.
+   *
+   * @return A new instance of {@code Builder}.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /** Builder class for {@code McpServerCostAccounting}. */
+  public static class Builder {
+    /** The enabled status. */
+    private Boolean enabled = false;
+
+    /** The fraction of invocations to sample, between 0 (exclusive) and 1 (inclusive). */
+    private Double sampleRate = 1.0;
+
+    /** The number of components to include in the cost report. */
+    private Integer topN = 10;
+
+    /** The URI of the cost report resource. */
+    private String reportUri = "mcp://metrics/cost";
+
+    /**
+     * Sets the enabled status.
+     *
+     * @param enabled The enabled status.
+     * @return This builder instance.
+     */
+    public Builder enabled(Boolean enabled) {
+      this.enabled = enabled;
+      return this;
+    }
+
+    /**
+     * Sets the fraction of invocations to sample.
+     *
+     * @param sampleRate The fraction of invocations to sample.
+     * @return This builder instance.
+     */
+    public Builder sampleRate(Double sampleRate) {
+      this.sampleRate = sampleRate;
+      return this;
+    }
+
+    /**
+     * Sets the number of components to include in the cost report.
+     *
+     * @param topN The number of components to include in the cost report.
+     * @return This builder instance.
+     */
+    public Builder topN(Integer topN) {
+      this.topN = topN;
+      return this;
+    }
+
+    /**
+     * Sets the URI of the cost report resource.
+     *
+     * @param reportUri The URI of the cost report resource.
+     * @return This builder instance.
+     */
+    public Builder reportUri(String reportUri) {
+      this.reportUri = reportUri;
+      return this;
+    }
+
+    /**
+     * Builds an instance of {@code McpServerCostAccounting} with the configured values.
+     *
+     * @return A new instance of {@code McpServerCostAccounting}.
+     */
+    public McpServerCostAccounting build() {
+      return new McpServerCostAccounting(enabled, sampleRate, topN, reportUri);
+    }
+  }
+}
@@ -0,0 +1,82 @@
+package com.github.thought2code.mcp.annotated.configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * This record represents the tool discovery configuration of an MCP (Model Context Protocol)
+ * server.
+ *
+ * <p>In discovery mode, {@code tools/list} only lists a built-in search tool instead of all the
+ * tools of the server. The clients call the search tool with a query to get the definitions of the
+ * tools matching it, ranked by relevance, and then call those tools as usual.
+ *
+ * @author codeboyzhou
+ */
+public record McpServerDiscovery(
+    @JsonProperty("enabled") Boolean enabled,
+    @JsonProperty("search-tool-name") String searchToolName,
+    @JsonProperty("max-results") Integer maxResults) {
+
+  /**
+   * Creates a new instance of {@code Builder} to build {@code McpServerDiscovery}.
+   *
+   * @return A new instance of {@code Builder}.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /** Builder class for {@code McpServerDiscovery}. */
+  public static class Builder {
+    /** Whether the server is in discovery mode. */
+    private Boolean enabled = false;
+
+    /** The name of the search tool. */
+    private String searchToolName = "search_tools";
+
+    /** The maximum number of tools returned by a search. */
+    private Integer maxResults = 10;
+
+    /**
+     * Sets whether the server is in discovery mode.
+     *
+     * @param enabled Whether the server is in discovery mode.
+     * @return This builder instance.
+     */
+    public Builder enabled(Boolean enabled) {
+      this.enabled = enabled;
+      return this;
+    }
+
+    /**
+     * Sets the name of the search tool.
+     *
+     * @param searchToolName The name of the search tool.
+     * @return This builder instance.
+     */
+    public Builder searchToolName(String searchToolName) {
+      this.searchToolName = searchToolName;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of tools returned by a search.
+     *
+     * @param maxResults The maximum number of tools returned by a search.
+     * @return This builder instance.
+     */
+    public Builder maxResults(Integer maxResults) {
+      this.maxResults = maxResults;
+      return this;
+    }
+
+    /**
+     * Builds an instance of {@code McpServerDiscovery} with the configured values.
+     *
+     * @return A new instance of {@code McpServerDiscovery}.
+     */
+    public McpServerDiscovery build() {
+      return new McpServerDiscovery(enabled, searchToolName, maxResults);
+    }
+  }
+}
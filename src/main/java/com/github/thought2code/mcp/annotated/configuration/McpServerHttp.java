@@ -0,0 +1,255 @@
+package com.github.thought2code.mcp.annotated.configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * This record represents the HTTP server configuration of the HTTP-based modes of an MCP (Model
+ * Context Protocol) server.
+ *
+ * <p>It tunes the Jetty thread pool and connector: thread counts, idle timeout, buffer and queue
+ * sizes. It also enables HTTP/2 cleartext (h2c), so that the concurrent requests of a client are
+ * multiplexed over a single connection instead of opening many TCP connections.
+ *
+ * <p>The HTTP-based servers of a JVM share a single thread pool by default, created with the
+ * settings of the first server started. A server that disables {@code shared-thread-pool} gets a
+ * dedicated thread pool created with its own settings.
+ *
+ * <p>Besides the TCP port, the server can listen on a Unix domain socket, so that the clients
+ * running on the same host, e.g. agents next to a sidecar server, skip the loopback TCP stack and
+ * need no port. The TCP port can be disabled to listen on the Unix domain socket only.
+ *
+ * <p>The response compression is configured by the nested {@link McpServerCompression} section.
+ *
+ * @author codeboyzhou
+ */
+public record McpServerHttp(
+    @JsonProperty("min-threads") Integer minThreads,
+    @JsonProperty("max-threads") Integer maxThreads,
+    @JsonProperty("reserved-threads") Integer reservedThreads,
+    @JsonProperty("acceptors") Integer acceptors,
+    @JsonProperty("selectors") Integer selectors,
+    @JsonProperty("idle-timeout") Long idleTimeout,
+    @JsonProperty("output-buffer-size") Integer outputBufferSize,
+    @JsonProperty("accept-queue-size") Integer acceptQueueSize,
+    @JsonProperty("http2-cleartext") Boolean http2Cleartext,
+    @JsonProperty("shared-thread-pool") Boolean sharedThreadPool,
+    @JsonProperty("tcp-enabled") Boolean tcpEnabled,
+    @JsonProperty("unix-socket-path") String unixSocketPath,
+    @JsonProperty("compression") McpServerCompression compression) {
+
+  /**
+   * Creates a new instance of {@code Builder} to build {@code McpServerHttp}.
+   *
+   * @return A new instance of {@code Builder}.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /** Builder class for {@code McpServerHttp}. */
+  public static class Builder {
+    /** The minimum number of threads of the thread pool. */
+    private Integer minThreads = 8;
+
+    /** The maximum number of threads of the thread pool. */
+    private Integer maxThreads = 200;
+
+    /** The number of reserved threads, -1 for a heuristic value. */
+    private Integer reservedThreads = -1;
+
+    /** The number of acceptor threads of the connector, -1 for a heuristic value. */
+    private Integer acceptors = -1;
+
+    /** The number of selector threads of the connector, -1 for a heuristic value. */
+    private Integer selectors = -1;
+
+    /** The idle timeout of the connections in milliseconds. */
+    private Long idleTimeout = 30000L;
+
+    /** The size of the response output buffer in bytes. */
+    private Integer outputBufferSize = 32768;
+
+    /** The size of the accept queue of the server socket, 0 for the OS default. */
+    private Integer acceptQueueSize = 0;
+
+    /** Whether HTTP/2 cleartext (h2c) is accepted next to HTTP/1.1. */
+    private Boolean http2Cleartext = false;
+
+    /** Whether the thread pool is shared with the other HTTP-based servers of the JVM. */
+    private Boolean sharedThreadPool = true;
+
+    /** Whether the server listens on its TCP port. */
+    private Boolean tcpEnabled = true;
+
+    /** The path of the Unix domain socket to listen on, or null to listen on TCP only. */
+    private String unixSocketPath;
+
+    /** The response compression configuration. */
+    private McpServerCompression compression = McpServerCompression.builder().build();
+
+    /**
+     * Sets the minimum number of threads of the thread pool.
+     *
+     * @param minThreads The minimum number of threads.
+     * @return This builder instance.
+     */
+    public Builder minThreads(Integer minThreads) {
+      this.minThreads = minThreads;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of threads of the thread pool.
+     *
+     * @param maxThreads The maximum number of threads.
+     * @return This builder instance.
+     */
+    public Builder maxThreads(Integer maxThreads) {
+      this.maxThreads = maxThreads;
+      return this;
+    }
+
+    /**
+     * Sets the number of reserved threads, -1 for a heuristic value.
+     *
+     * @param reservedThreads The number of reserved threads.
+     * @return This builder instance.
+     */
+    public Builder reservedThreads(Integer reservedThreads) {
+      this.reservedThreads = reservedThreads;
+      return this;
+    }
+
+    /**
+     * Sets the number of acceptor threads of the connector, -1 for a heuristic value.
+     *
+     * @param acceptors The number of acceptor threads.
+     * @return This builder instance.
+     */
+    public Builder acceptors(Integer acceptors) {
+      this.acceptors = acceptors;
+      return this;
+    }
+
+    /**
+     * Sets the number of selector threads of the connector, -1 for a heuristic value.
+     *
+     * @param selectors The number of selector threads.
+     * @return This builder instance.
+     */
+    public Builder selectors(Integer selectors) {
+      this.selectors = selectors;
+      return this;
+    }
+
+    /**
+     * Sets the idle timeout of the connections in milliseconds.
+     *
+     * @param idleTimeout The idle timeout in milliseconds.
+     * @return This builder instance.
+     */
+    public Builder idleTimeout(Long idleTimeout) {
+      this.idleTimeout = idleTimeout;
+      return this;
+    }
+
+    /**
+     * Sets the size of the response output buffer in bytes.
+     *
+     * @param outputBufferSize The output buffer size in bytes.
+     * @return This builder instance.
+     */
+    public Builder outputBufferSize(Integer outputBufferSize) {
+      this.outputBufferSize = outputBufferSize;
+      return this;
+    }
+
+    /**
+     * Sets the size of the accept queue of the server socket, 0 for the OS default.
+     *
+     * @param acceptQueueSize The accept queue size.
+     * @return This builder instance.
+     */
+    public Builder acceptQueueSize(Integer acceptQueueSize) {
+      this.acceptQueueSize = acceptQueueSize;
+      return this;
+    }
+
+    /**
+     * Sets whether HTTP/2 cleartext (h2c) is accepted next to HTTP/1.1.
+     *
+     * @param http2Cleartext Whether h2c is accepted.
+     * @return This builder instance.
+     */
+    public Builder http2Cleartext(Boolean http2Cleartext) {
+      this.http2Cleartext = http2Cleartext;
+      return this;
+    }
+
+    /**
+     * Sets whether the thread pool is shared with the other HTTP-based servers of the JVM.
+     *
+     * @param sharedThreadPool Whether the thread pool is shared.
+     * @return This builder instance.
+     */
+    public Builder sharedThreadPool(Boolean sharedThreadPool) {
+      this.sharedThreadPool = sharedThreadPool;
+      return this;
+    }
+
+    /**
+     * Sets whether the server listens on its TCP port.
+     *
+     * @param tcpEnabled Whether the server listens on its TCP port.
+     * @return This builder instance.
+     */
+    public Builder tcpEnabled(Boolean tcpEnabled) {
+      this.tcpEnabled = tcpEnabled;
+      return this;
+    }
+
+    /**
+     * Sets the path of the Unix domain socket to listen on, or null to listen on TCP only.
+     *
+     * @param unixSocketPath The path of the Unix domain socket.
+     * @return This builder instance.
+     */
+    public Builder unixSocketPath(String unixSocketPath) {
+      this.unixSocketPath = unixSocketPath;
+      return this;
+    }
+
+    /**
+     * Sets the response compression configuration.
+     *
+     * @param compression The response compression configuration.
+     * @return This builder instance.
+     */
+    public Builder compression(McpServerCompression compression) {
+      this.compression = compression;
+      return this;
+    }
+
+    /**
+     * Builds an instance of {@code McpServerHttp} with the configured values.
+     *
+     * @return A new instance of {@code McpServerHttp}.
+     */
+    public McpServerHttp build() {
+      return new McpServerHttp(
+          minThreads,
+          maxThreads,
+          reservedThreads,
+          acceptors,
+          selectors,
+          idleTimeout,
+          outputBufferSize,
+          acceptQueueSize,
+          http2Cleartext,
+          sharedThreadPool,
+          tcpEnabled,
+          unixSocketPath,
+          compression);
+    }
+  }
+}
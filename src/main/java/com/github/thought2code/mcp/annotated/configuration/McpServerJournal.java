@@ -0,0 +1,97 @@
+package com.github.thought2code.mcp.annotated.configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * This record represents the traffic journal configuration of an MCP (Model Context Protocol)
+ * server.
+ *
+ * <p>When enabled, the JSON-RPC messages received and sent by the server transport are appended to
+ * a length-prefixed journal file, with their timestamps and session ids, so that the traffic can be
+ * replayed later against another build with {@code TrafficReplayer}.
+ *
+ * @author codeboyzhou
+ */
+public record McpServerJournal(
+    @JsonProperty("enabled") Boolean enabled,
+    @JsonProperty("file") String file,
+    @JsonProperty("queue-size") Integer queueSize,
+    @JsonProperty("flush-interval") Long flushInterval) {
+
+  /**
+   * Creates a new instance of {@code Builder} to build {@code McpServerJournal}.
+   *
+   * @return A new instance of {@code Builder}.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /** Builder class for {@code McpServerJournal}. */
+  public static class Builder {
+    /** The enabled status. */
+    private Boolean enabled = false;
+
+    /** The journal file the messages are appended to. */
+    private String file = "mcp-server.journal";
+
+    /** The number of messages queued for writing before new messages are dropped. */
+    private Integer queueSize = 8192;
+
+    /** The interval between two writes of the queued messages in milliseconds. */
+    private Long flushInterval = 200L;
+
+    /**
+     * Sets the enabled status.
+     *
+     * @param enabled The enabled status.
+     * @return This builder instance.
+     */
+    public Builder enabled(Boolean enabled) {
+      this.enabled = enabled;
+      return this;
+    }
+
+    /**
+     * Sets the journal file the messages are appended to.
+     *
+     * @param file The journal file the messages are appended to.
+     * @return This builder instance.
+     */
+    public Builder file(String file) {
+      this.file = file;
+      return this;
+    }
+
+    /**
+     * Sets the number of messages queued for writing.
+     *
+     * @param queueSize The number of messages queued for writing.
+     * @return This builder instance.
+     */
+    public Builder queueSize(Integer queueSize) {
+      this.queueSize = queueSize;
+      return this;
+    }
+
+    /**
+     * Sets the interval between two writes in milliseconds.
+     *
+     * @param flushInterval The interval between two writes in milliseconds.
+     * @return This builder instance.
+     */
+    public Builder flushInterval(Long flushInterval) {
+      this.flushInterval = flushInterval;
+      return this;
+    }
+
+    /**
+     * Builds an instance of {@code McpServerJournal} with the configured values.
+     *
+     * @return A new instance of {@code McpServerJournal}.
+     */
+    public McpServerJournal build() {
+      return new McpServerJournal(enabled, file, queueSize, flushInterval);
+    }
+  }
+}
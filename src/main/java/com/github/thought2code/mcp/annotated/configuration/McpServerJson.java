@@ -0,0 +1,95 @@
+package com.github.thought2code.mcp.annotated.configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.github.thought2code.mcp.annotated.enums.BufferRecycling;
+import java.util.List;
+
+/**
+ * This record represents the JSON mapper configuration of an MCP (Model Context Protocol) server.
+ *
+ * <p>A single JSON mapper serializes the JSON-RPC messages of the transports, the structured
+ * content of the tools, and the JSON documents of the server such as its reports. It can register
+ * additional Jackson modules, accesses the properties of the serialized types through generated
+ * lambdas instead of reflection with the Blackbird module, and recycles its buffers.
+ *
+ * @author codeboyzhou
+ */
+public record McpServerJson(
+    @JsonProperty("modules") List<String> modules,
+    @JsonProperty("blackbird") Boolean blackbird,
+    @JsonProperty("buffer-recycling") BufferRecycling bufferRecycling) {
+
+  /**
+   * Compact constructor that creates a defensive copy of the module class names.
+   *
+   * @param modules the class names of the Jackson modules to register
+   * @param blackbird whether the Blackbird module is registered
+   * @param bufferRecycling how the buffers are recycled
+   */
+  public McpServerJson {
+    modules = modules == null ? null : List.copyOf(modules);
+  }
+
+  /**
+   * Creates a new instance of {@code Builder} to build {@code McpServerJson}.
+   *
+   * @return A new instance of {@code Builder}.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /** Builder class for {@code McpServerJson}. */
+  public static class Builder {
+    /** The class names of the Jackson modules to register. */
+    private List<String> modules = List.of();
+
+    /** Whether the Blackbird module is registered. */
+    private Boolean blackbird = true;
+
+    /** How the buffers are recycled. */
+    private BufferRecycling bufferRecycling = BufferRecycling.THREAD_LOCAL;
+
+    /**
+     * Sets the class names of the Jackson modules to register.
+     *
+     * @param modules The class names of the Jackson modules to register.
+     * @return This builder instance.
+     */
+    public Builder modules(List<String> modules) {
+      this.modules = modules == null ? null : List.copyOf(modules);
+      return this;
+    }
+
+    /**
+     * Sets whether the Blackbird module is registered.
+     *
+     * @param blackbird Whether the Blackbird module is registered.
+     * @return This builder instance.
+     */
+    public Builder blackbird(Boolean blackbird) {
+      this.blackbird = blackbird;
+      return this;
+    }
+
+    /**
+     * Sets how the buffers are recycled.
+     *
+     * @param bufferRecycling How the buffers are recycled.
+     * @return This builder instance.
+     */
+    public Builder bufferRecycling(BufferRecycling bufferRecycling) {
+      this.bufferRecycling = bufferRecycling;
+      return this;
+    }
+
+    /**
+     * Builds an instance of {@code McpServerJson} with the configured values.
+     *
+     * @return A new instance of {@code McpServerJson}.
+     */
+    public McpServerJson build() {
+      return new McpServerJson(modules, blackbird, bufferRecycling);
+    }
+  }
+}
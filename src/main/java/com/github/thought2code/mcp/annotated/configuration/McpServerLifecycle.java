@@ -0,0 +1,82 @@
+package com.github.thought2code.mcp.annotated.configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * This record represents the lifecycle configuration of an MCP (Model Context Protocol) server.
+ *
+ * <p>When the server is stopped, including on JVM shutdown, it first drains: it stops accepting new
+ * sessions, reports itself not ready, and lets the in-flight component calls finish up to the drain
+ * timeout before closing the sessions and stopping the transport. The HTTP-based server modes
+ * expose the readiness and liveness endpoints for load balancers.
+ *
+ * @author codeboyzhou
+ */
+public record McpServerLifecycle(
+    @JsonProperty("drain-timeout") Long drainTimeout,
+    @JsonProperty("ready-endpoint") String readyEndpoint,
+    @JsonProperty("live-endpoint") String liveEndpoint) {
+
+  /**
+   * Creates a new instance of {@code Builder} to build {@code McpServerLifecycle}.
+   *
+   * @return A new instance of {@code Builder}.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /** Builder class for {@code McpServerLifecycle}. */
+  public static class Builder {
+    /** The maximum time to wait for the in-flight calls on shutdown in milliseconds. */
+    private Long drainTimeout = 30000L;
+
+    /** The HTTP endpoint reporting whether the server accepts new sessions. */
+    private String readyEndpoint = "/ready";
+
+    /** The HTTP endpoint reporting whether the server is alive. */
+    private String liveEndpoint = "/live";
+
+    /**
+     * Sets the maximum time to wait for the in-flight calls on shutdown in milliseconds.
+     *
+     * @param drainTimeout The maximum time to wait for the in-flight calls in milliseconds.
+     * @return This builder instance.
+     */
+    public Builder drainTimeout(Long drainTimeout) {
+      this.drainTimeout = drainTimeout;
+      return this;
+    }
+
+    /**
+     * Sets the HTTP endpoint reporting whether the server accepts new sessions.
+     *
+     * @param readyEndpoint The readiness endpoint.
+     * @return This builder instance.
+     */
+    public Builder readyEndpoint(String readyEndpoint) {
+      this.readyEndpoint = readyEndpoint;
+      return this;
+    }
+
+    /**
+     * Sets the HTTP endpoint reporting whether the server is alive.
+     *
+     * @param liveEndpoint The liveness endpoint.
+     * @return This builder instance.
+     */
+    public Builder liveEndpoint(String liveEndpoint) {
+      this.liveEndpoint = liveEndpoint;
+      return this;
+    }
+
+    /**
+     * Builds an instance of {@code McpServerLifecycle} with the configured values.
+     *
+     * @return A new instance of {@code McpServerLifecycle}.
+     */
+    public McpServerLifecycle build() {
+      return new McpServerLifecycle(drainTimeout, readyEndpoint, liveEndpoint);
+    }
+  }
+}
@@ -0,0 +1,67 @@
+package com.github.thought2code.mcp.annotated.configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * This record represents the listing pagination configuration of an MCP (Model Context Protocol)
+ * server.
+ *
+ * <p>When pagination is enabled, the {@code tools/list}, {@code prompts/list}, {@code
+ * resources/list} and {@code resources/templates/list} requests are answered with at most {@code
+ * page-size} components, ordered by name or URI, and an opaque cursor to the next page. The cursor
+ * stays valid when components are registered or removed in the meantime.
+ *
+ * @author codeboyzhou
+ */
+public record McpServerPagination(
+    @JsonProperty("enabled") Boolean enabled, @JsonProperty("page-size") Integer pageSize) {
+
+  /**
+   * Creates a new instance of {@code Builder} to build {@code McpServerPagination}.
+   *
+   * @return A new instance of {@code Builder}.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /** Builder class for {@code McpServerPagination}. */
+  public static class Builder {
+    /** Whether the listings are paginated. */
+    private Boolean enabled = false;
+
+    /** The maximum number of components of a page. */
+    private Integer pageSize = 100;
+
+    /**
+     * Sets whether the listings are paginated.
+     *
+     * @param enabled Whether the listings are paginated.
+     * @return This builder instance.
+     */
+    public Builder enabled(Boolean enabled) {
+      this.enabled = enabled;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of components of a page.
+     *
+     * @param pageSize The maximum number of components of a page.
+     * @return This builder instance.
+     */
+    public Builder pageSize(Integer pageSize) {
+      this.pageSize = pageSize;
+      return this;
+    }
+
+    /**
+     * Builds an instance of {@code McpServerPagination} with the configured values.
+     *
+     * @return A new instance of {@code McpServerPagination}.
+     */
+    public McpServerPagination build() {
+      return new McpServerPagination(enabled, pageSize);
+    }
+  }
+}
@@ -0,0 +1,115 @@
+package com.github.thought2code.mcp.annotated.configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * This record represents the tool result pagination configuration of an MCP (Model Context
+ * Protocol) server.
+ *
+ * <p>When enabled, a tool method returning an {@code McpPage} answers with the first {@code
+ * page-size} items of its collection and an opaque cursor, and the next pages are fetched by
+ * calling the continuation tool with the cursor. The server keeps at most {@code max-cursors}
+ * cursors, dropping the least recently used one first, and reclaims a cursor unused for {@code ttl}
+ * milliseconds. When disabled, the whole collection is returned at once.
+ *
+ * @author codeboyzhou
+ */
+public record McpServerResultPagination(
+    @JsonProperty("enabled") Boolean enabled,
+    @JsonProperty("page-size") Integer pageSize,
+    @JsonProperty("continuation-tool-name") String continuationToolName,
+    @JsonProperty("ttl") Long ttl,
+    @JsonProperty("max-cursors") Integer maxCursors) {
+
+  /**
+   * Creates a new instance of {@code Builder} to build {@code McpServerResultPagination}.
+   *
+   * @return A new instance of {@code Builder}.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /** Builder class for {@code McpServerResultPagination}. */
+  public static class Builder {
+    /** Whether the paged tool results are served page by page. */
+    private Boolean enabled = false;
+
+    /** The maximum number of items of a page. */
+    private Integer pageSize = 50;
+
+    /** The name of the continuation tool. */
+    private String continuationToolName = "next_page";
+
+    /** The time to live of an unused cursor in milliseconds. */
+    private Long ttl = 300_000L;
+
+    /** The maximum number of cursors kept at once. */
+    private Integer maxCursors = 1000;
+
+    /**
+     * Sets whether the paged tool results are served page by page.
+     *
+     * @param enabled Whether the paged tool results are served page by page.
+     * @return This builder instance.
+     */
+    public Builder enabled(Boolean enabled) {
+      this.enabled = enabled;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of items of a page.
+     *
+     * @param pageSize The maximum number of items of a page.
+     * @return This builder instance.
+     */
+    public Builder pageSize(Integer pageSize) {
+      this.pageSize = pageSize;
+      return this;
+    }
+
+    /**
+     * Sets the name of the continuation tool.
+     *
+     * @param continuationToolName The name of the continuation tool.
+     * @return This builder instance.
+     */
+    public Builder continuationToolName(String continuationToolName) {
+      this.continuationToolName = continuationToolName;
+      return this;
+    }
+
+    /**
+     * Sets the time to live of an unused cursor in milliseconds.
+     *
+     * @param ttl The time to live of an unused cursor in milliseconds.
+     * @return This builder instance.
+     */
+    public Builder ttl(Long ttl) {
+      this.ttl = ttl;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of cursors kept at once.
+     *
+     * @param maxCursors The maximum number of cursors kept at once.
+     * @return This builder instance.
+     */
+    public Builder maxCursors(Integer maxCursors) {
+      this.maxCursors = maxCursors;
+      return this;
+    }
+
+    /**
+     * Builds an instance of {@code McpServerResultPagination} with the configured values.
+     *
+     * @return A new instance of {@code McpServerResultPagination}.
+     */
+    public McpServerResultPagination build() {
+      return new McpServerResultPagination(
+          enabled, pageSize, continuationToolName, ttl, maxCursors);
+    }
+  }
+}
@@ -7,7 +7,8 @@ import com.github.thought2code.mcp.annotated.util.StringHelper;
  * This record represents the Server-Sent Events (SSE) configuration for an MCP (Model Context
  * Protocol) server.
  *
- * <p>It contains properties such as the message endpoint, endpoint, base URL, and port.
+ * <p>It contains properties such as the message endpoint, endpoint, base URL, port, and the HTTP
+ * server configuration.
  *
  * @see <a href="https://thought2code.github.io/mcp-annotated-java-sdk/getting-started">MCP
  *     Annotated Java SDK Documentation</a>
@@ -17,7 +18,8 @@ public record McpServerSSE(
     @JsonProperty("message-endpoint") String messageEndpoint,
     @JsonProperty("endpoint") String endpoint,
     @JsonProperty("base-url") String baseUrl,
-    @JsonProperty("port") Integer port) {
+    @JsonProperty("port") Integer port,
+    @JsonProperty("http") McpServerHttp http) {
 
   /**
    * Creates a new instance of {@code Builder} to build {@code McpServerSSE}.
@@ -42,6 +44,9 @@ public record McpServerSSE(
     /** The port. */
     private Integer port = 8080;
 
+    /** The HTTP server configuration. */
+    private McpServerHttp http = McpServerHttp.builder().build();
+
     /**
      * Sets the message endpoint.
      *
@@ -86,13 +91,24 @@ public record McpServerSSE(
       return this;
     }
 
+    /**
+     * Sets the HTTP server configuration.
+     *
+     * @param http The HTTP server configuration.
+     * @return This builder instance.
+     */
+    public Builder http(McpServerHttp http) {
+      this.http = http;
+      return this;
+    }
+
     /**
      * Builds an instance of {@code McpServerSSE} with the configured values.
      *
      * @return A new instance of {@code McpServerSSE}.
      */
     public McpServerSSE build() {
-      return new McpServerSSE(messageEndpoint, endpoint, baseUrl, port);
+      return new McpServerSSE(messageEndpoint, endpoint, baseUrl, port, http);
     }
   }
 }
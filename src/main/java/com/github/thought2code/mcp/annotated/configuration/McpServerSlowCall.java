@@ -0,0 +1,204 @@
+package com.github.thought2code.mcp.annotated.configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This record represents the slow-call capture configuration of an MCP (Model Context Protocol)
+ * server.
+ *
+ * <p>When enabled, each tool, prompt and resource call that takes longer than its threshold is
+ * captured together with its redacted arguments, the timings of its phases and the stack samples
+ * taken while it was running over the threshold. The captured calls are kept in a bounded ring
+ * buffer that is exposed as an MCP resource and as a JSON HTTP endpoint.
+ *
+ * @author codeboyzhou
+ */
+public record McpServerSlowCall(
+    @JsonProperty("enabled") Boolean enabled,
+    @JsonProperty("threshold") Long threshold,
+    @JsonProperty("thresholds") Map<String, Long> thresholds,
+    @JsonProperty("buffer-size") Integer bufferSize,
+    @JsonProperty("sample-interval") Long sampleInterval,
+    @JsonProperty("max-samples") Integer maxSamples,
+    @JsonProperty("redacted-arguments") List<String> redactedArguments,
+    @JsonProperty("resource-uri") String resourceUri,
+    @JsonProperty("http-endpoint") String httpEndpoint) {
+
+  /**
+   * Compact constructor that creates defensive copies of the per-component thresholds and the
+   * redacted argument names.
+   *
+   * @param enabled the enabled status
+   * @param threshold the default threshold in milliseconds
+   * @param thresholds the per-component thresholds in milliseconds keyed by component name
+   * @param bufferSize the capacity of the ring buffer
+   * @param sampleInterval the stack sampling interval in milliseconds
+   * @param maxSamples the maximum number of stack samples per call
+   * @param redactedArguments the names of the arguments whose values are redacted
+   * @param resourceUri the URI of the slow-call resource
+   * @param httpEndpoint the path of the slow-call HTTP endpoint
+   */
+  public McpServerSlowCall {
+    thresholds = thresholds == null ? null : Map.copyOf(thresholds);
+    redactedArguments = redactedArguments == null ? null : List.copyOf(redactedArguments);
+  }
+
+  /**
+   * Creates a new instance of {@code Builder} to build {@code McpServerSlowCall}.
+   *
+   * @return A new instance of {@code Builder}.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /** Builder class for {@code McpServerSlowCall}. */
+  public static class Builder {
+    /** The enabled status. */
+    private Boolean enabled = false;
+
+    /** The default threshold in milliseconds. */
+    private Long threshold = 1000L;
+
+    /** The per-component thresholds in milliseconds keyed by component name. */
+    private Map<String, Long> thresholds = Map.of();
+
+    /** The capacity of the ring buffer. */
+    private Integer bufferSize = 50;
+
+    /** The stack sampling interval in milliseconds. */
+    private Long sampleInterval = 100L;
+
+    /** The maximum number of stack samples per call. */
+    private Integer maxSamples = 20;
+
+    /** The names of the arguments whose values are redacted. */
+    private List<String> redactedArguments =
+        List.of("password", "secret", "token", "apiKey", "api_key", "authorization");
+
+    /** The URI of the slow-call resource. */
+    private String resourceUri = "mcp://diagnostics/slow-calls";
+
+    /** The path of the slow-call HTTP endpoint. */
+    private String httpEndpoint = "/diagnostics/slow-calls";
+
+    /**
+     * Sets the enabled status.
+     *
+     * @param enabled The enabled status.
+     * @return This builder instance.
+     */
+    public Builder enabled(Boolean enabled) {
+      this.enabled = enabled;
+      return this;
+    }
+
+    /**
+     * Sets the default threshold in milliseconds.
+     *
+     * @param threshold The default threshold in milliseconds.
+     * @return This builder instance.
+     */
+    public Builder threshold(Long threshold) {
+      this.threshold = threshold;
+      return this;
+    }
+
+    /**
+     * Sets the per-component thresholds in milliseconds keyed by component name.
+     *
+     * @param thresholds The per-component thresholds in milliseconds.
+     * @return This builder instance.
+     */
+    public Builder thresholds(Map<String, Long> thresholds) {
+      this.thresholds = thresholds == null ? null : Map.copyOf(thresholds);
+      return this;
+    }
+
+    /**
+     * Sets the capacity of the ring buffer.
+     *
+     * @param bufferSize The capacity of the ring buffer.
+     * @return This builder instance.
+     */
+    public Builder bufferSize(Integer bufferSize) {
+      this.bufferSize = bufferSize;
+      return this;
+    }
+
+    /**
+     * Sets the stack sampling interval in milliseconds.
+     *
+     * @param sampleInterval The stack sampling interval in milliseconds.
+     * @return This builder instance.
+     */
+    public Builder sampleInterval(Long sampleInterval) {
+      this.sampleInterval = sampleInterval;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of stack samples per call.
+     *
+     * @param maxSamples The maximum number of stack samples per call.
+     * @return This builder instance.
+     */
+    public Builder maxSamples(Integer maxSamples) {
+      this.maxSamples = maxSamples;
+      return this;
+    }
+
+    /**
+     * Sets the names of the arguments whose values are redacted.
+     *
+     * @param redactedArguments The names of the arguments whose values are redacted.
+     * @return This builder instance.
+     */
+    public Builder redactedArguments(List<String> redactedArguments) {
+      this.redactedArguments = redactedArguments == null ? null : List.copyOf(redactedArguments);
+      return this;
+    }
+
+    /**
+     * Sets the URI of the slow-call resource.
+     *
+     * @param resourceUri The URI of the slow-call resource.
+     * @return This builder instance.
+     */
+    public Builder resourceUri(String resourceUri) {
+      this.resourceUri = resourceUri;
+      return this;
+    }
+
+    /**
+     * Sets the path of the slow-call HTTP endpoint.
+     *
+     * @param httpEndpoint The path of the slow-call HTTP endpoint.
+     * @return This builder instance.
+     */
+    public Builder httpEndpoint(String httpEndpoint) {
+      this.httpEndpoint = httpEndpoint;
+      return this;
+    }
+
+    /**
+     * Builds an instance of {@code McpServerSlowCall} with the configured values.
+     *
+     * @return A new instance of {@code McpServerSlowCall}.
+     */
+    public McpServerSlowCall build() {
+      return new McpServerSlowCall(
+          enabled,
+          threshold,
+          thresholds,
+          bufferSize,
+          sampleInterval,
+          maxSamples,
+          redactedArguments,
+          resourceUri,
+          httpEndpoint);
+    }
+  }
+}
@@ -0,0 +1,160 @@
+package com.github.thought2code.mcp.annotated.configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * This record represents the result spill configuration of an MCP (Model Context Protocol) server.
+ *
+ * <p>When enabled, a tool result whose text content is longer than {@code threshold} characters is
+ * not written inline: the full text is written to a bounded local store, and the tool result holds
+ * a summary of the text and a link to a resource, whose pages of at most {@code page-size} bytes
+ * are read with {@code resources/read}. The store keeps at most {@code max-storage} bytes, evicting
+ * the least recently read results first, and drops a result {@code ttl} milliseconds after it was
+ * last read.
+ *
+ * @author codeboyzhou
+ */
+public record McpServerSpill(
+    @JsonProperty("enabled") Boolean enabled,
+    @JsonProperty("threshold") Integer threshold,
+    @JsonProperty("summary-length") Integer summaryLength,
+    @JsonProperty("page-size") Integer pageSize,
+    @JsonProperty("max-storage") Long maxStorage,
+    @JsonProperty("ttl") Long ttl,
+    @JsonProperty("directory") String directory,
+    @JsonProperty("uri-prefix") String uriPrefix) {
+
+  /**
+   * Creates a new instance of {@code Builder} to build {@code McpServerSpill}.
+   *
+   * @return A new instance of {@code Builder}.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /** Builder class for {@code McpServerSpill}. */
+  public static class Builder {
+    /** Whether oversized tool results are spilled. */
+    private Boolean enabled = false;
+
+    /** The length in characters above which a text content is spilled. */
+    private Integer threshold = 65_536;
+
+    /** The length in characters of the summary of a spilled text content. */
+    private Integer summaryLength = 1000;
+
+    /** The maximum number of bytes of a page read from a spilled result. */
+    private Integer pageSize = 65_536;
+
+    /** The maximum number of bytes of the spilled results kept at once. */
+    private Long maxStorage = 268_435_456L;
+
+    /** The time to live of a spilled result in milliseconds. */
+    private Long ttl = 600_000L;
+
+    /** The directory of the spill files, or null for a temporary directory. */
+    private String directory = null;
+
+    /** The URI prefix of the spilled result resources. */
+    private String uriPrefix = "spill://results";
+
+    /**
+     * Sets Whether oversized tool results are spilled.
+     *
+     * @param enabled Whether oversized tool results are spilled.
+     * @return This builder instance.
+     */
+    public Builder enabled(Boolean enabled) {
+      this.enabled = enabled;
+      return this;
+    }
+
+    /**
+     * Sets the length in characters above which a text content is spilled.
+     *
+     * @param threshold The length in characters above which a text content is spilled.
+     * @return This builder instance.
+     */
+    public Builder threshold(Integer threshold) {
+      this.threshold = threshold;
+      return this;
+    }
+
+    /**
+     * Sets the length in characters of the summary of a spilled text content.
+     *
+     * @param summaryLength The length in characters of the summary of a spilled text content.
+     * @return This builder instance.
+     */
+    public Builder summaryLength(Integer summaryLength) {
+      this.summaryLength = summaryLength;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of bytes of a page read from a spilled result.
+     *
+     * @param pageSize The maximum number of bytes of a page read from a spilled result.
+     * @return This builder instance.
+     */
+    public Builder pageSize(Integer pageSize) {
+      this.pageSize = pageSize;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of bytes of the spilled results kept at once.
+     *
+     * @param maxStorage The maximum number of bytes of the spilled results kept at once.
+     * @return This builder instance.
+     */
+    public Builder maxStorage(Long maxStorage) {
+      this.maxStorage = maxStorage;
+      return this;
+    }
+
+    /**
+     * Sets the time to live of a spilled result in milliseconds.
+     *
+     * @param ttl The time to live of a spilled result in milliseconds.
+     * @return This builder instance.
+     */
+    public Builder ttl(Long ttl) {
+      this.ttl = ttl;
+      return this;
+    }
+
+    /**
+     * Sets the directory of the spill files, or null for a temporary directory.
+     *
+     * @param directory The directory of the spill files, or null for a temporary directory.
+     * @return This builder instance.
+     */
+    public Builder directory(String directory) {
+      this.directory = directory;
+      return this;
+    }
+
+    /**
+     * Sets the URI prefix of the spilled result resources.
+     *
+     * @param uriPrefix The URI prefix of the spilled result resources.
+     * @return This builder instance.
+     */
+    public Builder uriPrefix(String uriPrefix) {
+      this.uriPrefix = uriPrefix;
+      return this;
+    }
+
+    /**
+     * Builds an instance of {@code McpServerSpill} with the configured values.
+     *
+     * @return A new instance of {@code McpServerSpill}.
+     */
+    public McpServerSpill build() {
+      return new McpServerSpill(
+          enabled, threshold, summaryLength, pageSize, maxStorage, ttl, directory, uriPrefix);
+    }
+  }
+}
@@ -0,0 +1,98 @@
+package com.github.thought2code.mcp.annotated.configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * This record represents the STDIO mode configuration of an MCP (Model Context Protocol) server.
+ *
+ * <p>By default, the STDIO mode uses the transport of the MCP SDK, which reads and writes the
+ * messages one line at a time. An agent issuing hundreds of tool calls per second over one pipe is
+ * better served by the NIO transport: it reads and writes the standard streams through large direct
+ * buffers, flushes the responses in batches, and handles independent requests concurrently on a
+ * bounded pool of worker threads.
+ *
+ * @author codeboyzhou
+ */
+public record McpServerStdio(
+    @JsonProperty("nio-transport") Boolean nioTransport,
+    @JsonProperty("buffer-size") Integer bufferSize,
+    @JsonProperty("worker-threads") Integer workerThreads,
+    @JsonProperty("max-pending-requests") Integer maxPendingRequests) {
+
+  /**
+   * Creates a new instance of {@code Builder} to build {@code McpServerStdio}.
+   *
+   * @return A new instance of {@code Builder}.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /** Builder class for {@code McpServerStdio}. */
+  public static class Builder {
+    /** Whether the NIO transport is used instead of the transport of the MCP SDK. */
+    private Boolean nioTransport = false;
+
+    /** The size of the read and write buffers in bytes. */
+    private Integer bufferSize = 65536;
+
+    /** The number of worker threads handling the requests. */
+    private Integer workerThreads = 8;
+
+    /** The maximum number of requests read but not yet answered. */
+    private Integer maxPendingRequests = 256;
+
+    /**
+     * Sets whether the NIO transport is used instead of the transport of the MCP SDK.
+     *
+     * @param nioTransport Whether the NIO transport is used.
+     * @return This builder instance.
+     */
+    public Builder nioTransport(Boolean nioTransport) {
+      this.nioTransport = nioTransport;
+      return this;
+    }
+
+    /**
+     * Sets the size of the read and write buffers in bytes.
+     *
+     * @param bufferSize The buffer size in bytes.
+     * @return This builder instance.
+     */
+    public Builder bufferSize(Integer bufferSize) {
+      this.bufferSize = bufferSize;
+      return this;
+    }
+
+    /**
+     * Sets the number of worker threads handling the requests.
+     *
+     * @param workerThreads The number of worker threads.
+     * @return This builder instance.
+     */
+    public Builder workerThreads(Integer workerThreads) {
+      this.workerThreads = workerThreads;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of requests read but not yet answered.
+     *
+     * @param maxPendingRequests The maximum number of pending requests.
+     * @return This builder instance.
+     */
+    public Builder maxPendingRequests(Integer maxPendingRequests) {
+      this.maxPendingRequests = maxPendingRequests;
+      return this;
+    }
+
+    /**
+     * Builds an instance of {@code McpServerStdio} with the configured values.
+     *
+     * @return A new instance of {@code McpServerStdio}.
+     */
+    public McpServerStdio build() {
+      return new McpServerStdio(nioTransport, bufferSize, workerThreads, maxPendingRequests);
+    }
+  }
+}
@@ -8,7 +8,7 @@ import java.time.Duration;
  * Protocol) server.
  *
  * <p>It contains properties such as the MCP endpoint, disallow delete flag, keep-alive interval,
- * and port.
+ * port, and the HTTP server configuration.
  *
  * @see <a href="https://thought2code.github.io/mcp-annotated-java-sdk/getting-started">MCP
  *     Annotated Java SDK Documentation</a>
@@ -18,7 +18,8 @@ public record McpServerStreamable(
     @JsonProperty("mcp-endpoint") String mcpEndpoint,
     @JsonProperty("disallow-delete") Boolean disallowDelete,
     @JsonProperty("keep-alive-interval") Long keepAliveInterval,
-    @JsonProperty("port") Integer port) {
+    @JsonProperty("port") Integer port,
+    @JsonProperty("http") McpServerHttp http) {
 
   /**
    * Creates a new instance of {@code Builder} to build {@code McpServerStreamable}.
@@ -43,6 +44,9 @@ public record McpServerStreamable(
     /** The port. */
     private Integer port = 8080;
 
+    /** The HTTP server configuration. */
+    private McpServerHttp http = McpServerHttp.builder().build();
+
     /**
      * Sets the MCP endpoint.
      *
@@ -87,13 +91,24 @@ public record McpServerStreamable(
       return this;
     }
 
+    /**
+     * Sets the HTTP server configuration.
+     *
+     * @param http The HTTP server configuration.
+     * @return This builder instance.
+     */
+    public Builder http(McpServerHttp http) {
+      this.http = http;
+      return this;
+    }
+
     /**
      * Builds an instance of {@code McpServerStreamable} with the configured values.
      *
      * @return A new instance of {@code McpServerStreamable}.
      */
     public McpServerStreamable build() {
-      return new McpServerStreamable(mcpEndpoint, disallowDelete, keepAliveInterval, port);
+      return new McpServerStreamable(mcpEndpoint, disallowDelete, keepAliveInterval, port, http);
     }
   }
 }
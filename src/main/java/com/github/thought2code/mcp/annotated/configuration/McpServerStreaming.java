@@ -0,0 +1,102 @@
+package com.github.thought2code.mcp.annotated.configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * This record represents the streaming tool result configuration of an MCP (Model Context Protocol)
+ * server.
+ *
+ * <p>A tool method returning a {@code Stream}, an {@code Iterator} or a {@code Flow.Publisher}
+ * produces its items lazily: the items are pulled one by one, at most {@code buffer-size} of them
+ * being requested ahead from a publisher, and gathered into the text content of the tool result,
+ * which holds at most {@code max-items} items. The number of items gathered so far is reported to
+ * the client with progress notifications, at most one every {@code progress-interval} milliseconds,
+ * if the client asked for them with a progress token. A publisher which publishes no item for
+ * {@code item-timeout} milliseconds is cancelled, and the call answers with an error result.
+ *
+ * @author codeboyzhou
+ */
+public record McpServerStreaming(
+    @JsonProperty("max-items") Integer maxItems,
+    @JsonProperty("buffer-size") Integer bufferSize,
+    @JsonProperty("progress-interval") Long progressInterval,
+    @JsonProperty("item-timeout") Long itemTimeout) {
+
+  /**
+   * Creates a new instance of {@code Builder} to build {@code McpServerStreaming}.
+   *
+   * @return A new instance of {@code Builder}.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /** Builder class for {@code McpServerStreaming}. */
+  public static class Builder {
+    /** The maximum number of items gathered into a tool result. */
+    private Integer maxItems = 10_000;
+
+    /** The number of items of a publisher requested ahead of the gathering. */
+    private Integer bufferSize = 256;
+
+    /** The minimum interval between two progress notifications in milliseconds. */
+    private Long progressInterval = 100L;
+
+    /** The maximum time to wait for the next item of a publisher in milliseconds. */
+    private Long itemTimeout = 30_000L;
+
+    /**
+     * Sets the maximum number of items gathered into a tool result.
+     *
+     * @param maxItems The maximum number of items gathered into a tool result.
+     * @return This builder instance.
+     */
+    public Builder maxItems(Integer maxItems) {
+      this.maxItems = maxItems;
+      return this;
+    }
+
+    /**
+     * Sets the number of items of a publisher requested ahead of the gathering.
+     *
+     * @param bufferSize The number of items of a publisher requested ahead of the gathering.
+     * @return This builder instance.
+     */
+    public Builder bufferSize(Integer bufferSize) {
+      this.bufferSize = bufferSize;
+      return this;
+    }
+
+    /**
+     * Sets the minimum interval between two progress notifications in milliseconds.
+     *
+     * @param progressInterval The minimum interval between two progress notifications in
+     *     milliseconds.
+     * @return This builder instance.
+     */
+    public Builder progressInterval(Long progressInterval) {
+      this.progressInterval = progressInterval;
+      return this;
+    }
+
+    /**
+     * Sets the maximum time to wait for the next item of a publisher in milliseconds.
+     *
+     * @param itemTimeout The maximum time to wait for the next item of a publisher in milliseconds.
+     * @return This builder instance.
+     */
+    public Builder itemTimeout(Long itemTimeout) {
+      this.itemTimeout = itemTimeout;
+      return this;
+    }
+
+    /**
+     * Builds an instance of {@code McpServerStreaming} with the configured values.
+     *
+     * @return A new instance of {@code McpServerStreaming}.
+     */
+    public McpServerStreaming build() {
+      return new McpServerStreaming(maxItems, bufferSize, progressInterval, itemTimeout);
+    }
+  }
+}
@@ -0,0 +1,67 @@
+package com.github.thought2code.mcp.annotated.configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.github.thought2code.mcp.annotated.enums.TextContentMode;
+
+/**
+ * This record represents the tool result configuration of an MCP (Model Context Protocol) server.
+ *
+ * <p>A tool returning structured content is answered with the structured content and its text
+ * representation. Rendering the text of a large result costs as much as serializing it, so the text
+ * content can be rendered in full, as a summary truncated to a maximum length, or not at all.
+ *
+ * @author codeboyzhou
+ */
+public record McpServerToolResult(
+    @JsonProperty("text-content") TextContentMode textContent,
+    @JsonProperty("summary-length") Integer summaryLength) {
+
+  /**
+   * Creates a new instance of {@code Builder} to build {@code McpServerToolResult}.
+   *
+   * @return A new instance of {@code Builder}.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /** Builder class for {@code McpServerToolResult}. */
+  public static class Builder {
+    /** How the text content of a structured result is rendered. */
+    private TextContentMode textContent = TextContentMode.FULL;
+
+    /** The maximum length of a text content summary in characters. */
+    private Integer summaryLength = 1000;
+
+    /**
+     * Sets how the text content of a structured result is rendered.
+     *
+     * @param textContent How the text content of a structured result is rendered.
+     * @return This builder instance.
+     */
+    public Builder textContent(TextContentMode textContent) {
+      this.textContent = textContent;
+      return this;
+    }
+
+    /**
+     * Sets the maximum length of a text content summary in characters.
+     *
+     * @param summaryLength The maximum length of a text content summary in characters.
+     * @return This builder instance.
+     */
+    public Builder summaryLength(Integer summaryLength) {
+      this.summaryLength = summaryLength;
+      return this;
+    }
+
+    /**
+     * Builds an instance of {@code McpServerToolResult} with the configured values.
+     *
+     * @return A new instance of {@code McpServerToolResult}.
+     */
+    public McpServerToolResult build() {
+      return new McpServerToolResult(textContent, summaryLength);
+    }
+  }
+}
@@ -0,0 +1,143 @@
+package com.github.thought2code.mcp.annotated.configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.github.thought2code.mcp.annotated.enums.SpanExporterType;
+
+/**
+ * This record represents the tracing configuration of an MCP (Model Context Protocol) server.
+ *
+ * <p>When enabled, spans are recorded for request receipt, argument binding, method invocation and
+ * result serialization, and exported by the configured exporter. The sampling decision is made once
+ * per trace when its root span starts, with the configured ratio.
+ *
+ * @author codeboyzhou
+ */
+public record McpServerTracing(
+    @JsonProperty("enabled") Boolean enabled,
+    @JsonProperty("sample-ratio") Double sampleRatio,
+    @JsonProperty("exporter") SpanExporterType exporter,
+    @JsonProperty("memory-capacity") Integer memoryCapacity,
+    @JsonProperty("file") String file,
+    @JsonProperty("queue-size") Integer queueSize,
+    @JsonProperty("export-interval") Long exportInterval) {
+
+  /**
+   * Creates a new instance of {@code Builder} to build {@code McpServerTracing}.
+   *
+   * @return A new instance of {@code Builder}.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /** Builder class for {@code McpServerTracing}. */
+  public static class Builder {
+    /** The enabled status. */
+    private Boolean enabled = false;
+
+    /** The fraction of traces to sample, between 0 and 1 (both inclusive). */
+    private Double sampleRatio = 1.0;
+
+    /** The type of the span exporter. */
+    private SpanExporterType exporter = SpanExporterType.MEMORY;
+
+    /** The number of spans kept by the in-memory exporter. */
+    private Integer memoryCapacity = 1000;
+
+    /** The file the OTLP file exporter appends to. */
+    private String file = "mcp-server-traces.jsonl";
+
+    /** The number of ended spans queued for export before new spans are dropped. */
+    private Integer queueSize = 2048;
+
+    /** The interval between two exports in milliseconds. */
+    private Long exportInterval = 1000L;
+
+    /**
+     * Sets the enabled status.
+     *
+     * @param enabled The enabled status.
+     * @return This builder instance.
+     */
+    public Builder enabled(Boolean enabled) {
+      this.enabled = enabled;
+      return this;
+    }
+
+    /**
+     * Sets the fraction of traces to sample.
+     *
+     * @param sampleRatio The fraction of traces to sample.
+     * @return This builder instance.
+     */
+    public Builder sampleRatio(Double sampleRatio) {
+      this.sampleRatio = sampleRatio;
+      return this;
+    }
+
+    /**
+     * Sets the type of the span exporter.
+     *
+     * @param exporter The type of the span exporter.
+     * @return This builder instance.
+     */
+    public Builder exporter(SpanExporterType exporter) {
+      this.exporter = exporter;
+      return this;
+    }
+
+    /**
+     * Sets the number of spans kept by the in-memory exporter.
+     *
+     * @param memoryCapacity The number of spans kept by the in-memory exporter.
+     * @return This builder instance.
+     */
+    public Builder memoryCapacity(Integer memoryCapacity) {
+      this.memoryCapacity = memoryCapacity;
+      return this;
+    }
+
+    /**
+     * Sets the file the OTLP file exporter appends to.
+     *
+     * @param file The file the OTLP file exporter appends to.
+     * @return This builder instance.
+     */
+    public Builder file(String file) {
+      this.file = file;
+      return this;
+    }
+
+    /**
+     * Sets the number of ended spans queued for export.
+     *
+     * @param queueSize The number of ended spans queued for export.
+     * @return This builder instance.
+     */
+    public Builder queueSize(Integer queueSize) {
+      this.queueSize = queueSize;
+      return this;
+    }
+
+    /**
+     * Sets the interval between two exports in milliseconds.
+     *
+     * @param exportInterval The interval between two exports in milliseconds.
+     * @return This builder instance.
+     */
+    public Builder exportInterval(Long exportInterval) {
+      this.exportInterval = exportInterval;
+      return this;
+    }
+
+    /**
+     * Builds an instance of {@code McpServerTracing} with the configured values.
+     *
+     * @return A new instance of {@code McpServerTracing}.
+     */
+    public McpServerTracing build() {
+      return new McpServerTracing(
+          enabled, sampleRatio, exporter, memoryCapacity, file, queueSize, exportInterval);
+    }
+  }
+}
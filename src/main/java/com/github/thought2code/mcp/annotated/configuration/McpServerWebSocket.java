@@ -0,0 +1,149 @@
+package com.github.thought2code.mcp.annotated.configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * This record represents the WebSocket server configuration for an MCP (Model Context Protocol)
+ * server.
+ *
+ * <p>In WebSocket mode, each client opens a single full-duplex connection to the endpoint and
+ * exchanges all its JSON-RPC messages over it, one message per text frame, which avoids the cost of
+ * an HTTP request per message. It contains properties such as the endpoint, port, the maximum
+ * number of requests in flight per connection, the ping interval, the maximum message size, and the
+ * HTTP server configuration.
+ *
+ * <p>Plain JSON text frames are the default. A client may negotiate the CBOR binary encoding
+ * instead by offering the {@code mcp.cbor} subprotocol when it connects, unless {@code
+ * cbor-encoding} is disabled; its messages are then exchanged as binary frames.
+ *
+ * @author codeboyzhou
+ */
+public record McpServerWebSocket(
+    @JsonProperty("endpoint") String endpoint,
+    @JsonProperty("port") Integer port,
+    @JsonProperty("max-pending-requests") Integer maxPendingRequests,
+    @JsonProperty("ping-interval") Long pingInterval,
+    @JsonProperty("max-message-size") Long maxMessageSize,
+    @JsonProperty("cbor-encoding") Boolean cborEncoding,
+    @JsonProperty("http") McpServerHttp http) {
+
+  /**
+   * Creates a new instance of {@code Builder} to build {@code McpServerWebSocket}.
+   *
+   * @return A new instance of {@code Builder}.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /** Builder class for {@code McpServerWebSocket}. */
+  public static class Builder {
+    /** The WebSocket endpoint. */
+    private String endpoint = "/mcp/ws";
+
+    /** The port. */
+    private Integer port = 8080;
+
+    /** The maximum number of requests of a connection read but not yet answered. */
+    private Integer maxPendingRequests = 64;
+
+    /** The interval between two pings of a connection in milliseconds. */
+    private Long pingInterval = 15000L;
+
+    /** The maximum size of a message in bytes. */
+    private Long maxMessageSize = 4194304L;
+
+    /** Whether the clients may negotiate the CBOR encoding. */
+    private Boolean cborEncoding = true;
+
+    /** The HTTP server configuration. */
+    private McpServerHttp http = McpServerHttp.builder().build();
+
+    /**
+     * Sets the WebSocket endpoint.
+     *
+     * @param endpoint The WebSocket endpoint.
+     * @return This builder instance.
+     */
+    public Builder endpoint(String endpoint) {
+      this.endpoint = endpoint;
+      return this;
+    }
+
+    /**
+     * Sets the port.
+     *
+     * @param port The port.
+     * @return This builder instance.
+     */
+    public Builder port(Integer port) {
+      this.port = port;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of requests of a connection read but not yet answered.
+     *
+     * @param maxPendingRequests The maximum number of pending requests.
+     * @return This builder instance.
+     */
+    public Builder maxPendingRequests(Integer maxPendingRequests) {
+      this.maxPendingRequests = maxPendingRequests;
+      return this;
+    }
+
+    /**
+     * Sets the interval between two pings of a connection in milliseconds.
+     *
+     * @param pingInterval The ping interval in milliseconds.
+     * @return This builder instance.
+     */
+    public Builder pingInterval(Long pingInterval) {
+      this.pingInterval = pingInterval;
+      return this;
+    }
+
+    /**
+     * Sets the maximum size of a message in bytes.
+     *
+     * @param maxMessageSize The maximum message size in bytes.
+     * @return This builder instance.
+     */
+    public Builder maxMessageSize(Long maxMessageSize) {
+      this.maxMessageSize = maxMessageSize;
+      return this;
+    }
+
+    /**
+     * Sets whether the clients may negotiate the CBOR encoding.
+     *
+     * @param cborEncoding Whether the clients may negotiate the CBOR encoding.
+     * @return This builder instance.
+     */
+    public Builder cborEncoding(Boolean cborEncoding) {
+      this.cborEncoding = cborEncoding;
+      return this;
+    }
+
+    /**
+     * Sets the HTTP server configuration.
+     *
+     * @param http The HTTP server configuration.
+     * @return This builder instance.
+     */
+    public Builder http(McpServerHttp http) {
+      this.http = http;
+      return this;
+    }
+
+    /**
+     * Builds an instance of {@code McpServerWebSocket} with the configured values.
+     *
+     * @return A new instance of {@code McpServerWebSocket}.
+     */
+    public McpServerWebSocket build() {
+      return new McpServerWebSocket(
+          endpoint, port, maxPendingRequests, pingInterval, maxMessageSize, cborEncoding, http);
+    }
+  }
+}
@@ -0,0 +1,91 @@
+package com.github.thought2code.mcp.annotated.context;
+
+import com.github.thought2code.mcp.annotated.exception.McpServerConfigurationException;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A configuration section applied to state that is global to the JVM rather than kept in the {@link
+ * McpServerContext} of each server, such as slow-call capture, tracing, traffic recording and cost
+ * accounting.
+ *
+ * <p>The section is applied by the first running server that enables it, and shared by the servers
+ * started next with an equal section. A server started with a different section while another
+ * server uses it is refused with a {@link McpServerConfigurationException}, rather than silently
+ * reconfiguring the running servers. A server which leaves the section disabled does not use it.
+ * The global state is reset once the last server using it stops.
+ *
+ * @param <T> the type of the configuration section
+ * @author codeboyzhou
+ * @see McpServerContext#useJvmGlobal(JvmGlobalConfiguration, Object)
+ */
+public final class JvmGlobalConfiguration<T> {
+
+  private static final Logger log = LoggerFactory.getLogger(JvmGlobalConfiguration.class);
+
+  /** The name of the configuration section, used in the error messages. */
+  private final String section;
+
+  /** Applies the section to the global state. */
+  private final Consumer<T> apply;
+
+  /** Resets the global state once no server uses it. */
+  private final Runnable reset;
+
+  /** The applied section, or null if no server uses it, guarded by this. */
+  private T current;
+
+  /** The number of servers using the applied section, guarded by this. */
+  private int users;
+
+  /**
+   * Constructs a new {@link JvmGlobalConfiguration}.
+   *
+   * @param section the name of the configuration section, used in the error messages
+   * @param apply applies the section to the global state
+   * @param reset resets the global state once no server uses it
+   */
+  public JvmGlobalConfiguration(String section, Consumer<T> apply, Runnable reset) {
+    this.section = section;
+    this.apply = apply;
+    this.reset = reset;
+  }
+
+  /**
+   * Applies the specified section if no server uses the global state yet, or shares the applied one
+   * if it is equal.
+   *
+   * @param value the configuration section of the server
+   * @throws McpServerConfigurationException if another running server uses a different section
+   */
+  synchronized void acquire(T value) {
+    if (users > 0 && !current.equals(value)) {
+      throw new McpServerConfigurationException(
+          String.format(
+              "The %s configuration is global to the JVM and differs from the one of a running"
+                  + " server: %s, stop the running servers first or use the same configuration",
+              section, current));
+    }
+    if (users == 0) {
+      apply.accept(value);
+      current = value;
+    }
+    users++;
+  }
+
+  /**
+   * Releases the section used by a stopped server, resetting the global state if it was the last.
+   */
+  synchronized void release() {
+    if (users == 0 || --users > 0) {
+      return;
+    }
+    current = null;
+    try {
+      reset.run();
+    } catch (RuntimeException e) {
+      log.warn("Failed to reset the {} configuration", section, e);
+    }
+  }
+}
@@ -0,0 +1,149 @@
+package com.github.thought2code.mcp.annotated.context;
+
+import com.github.thought2code.mcp.annotated.journal.TrafficRecorder;
+import com.github.thought2code.mcp.annotated.tracing.Scope;
+import com.github.thought2code.mcp.annotated.tracing.Span;
+import com.github.thought2code.mcp.annotated.tracing.Tracer;
+import com.github.thought2code.mcp.annotated.util.Immutable;
+import com.github.thought2code.mcp.annotated.util.StringHelper;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The context of the MCP request that is currently handled on the calling thread.
+ *
+ * <p>The MCP server components bind the context around the handling of each tool call, prompt
+ * request, resource read and completion request with {@link #run(String, McpSyncServerExchange,
+ * Map, Supplier)}. Code further down the call stack, such as {@code MethodInvoker} or the parameter
+ * converters, can then read the session id, the server exchange and the request {@code _meta}
+ * without threading them through every method signature.
+ *
+ * <p>The context is held in a {@link ThreadLocal} and is restored to the enclosing context (if any)
+ * when the handling completes, so nested requests on the same thread are supported.
+ *
+ * <p>When tracing is enabled, the handling is also recorded as the server span of the request,
+ * which is the current span while the action runs.
+ *
+ * @author codeboyzhou
+ * @see McpSyncServerExchange
+ * @see Tracer
+ */
+public final class McpRequestContext {
+
+  /** The context of the request currently handled on each thread. */
+  private static final ThreadLocal<McpRequestContext> CURRENT = new ThreadLocal<>();
+
+  /** The server exchange of the request, wrapped for avoiding EI_EXPOSE_REP2 issue. */
+  private final Immutable<McpSyncServerExchange> exchange;
+
+  /** The {@code _meta} of the request. */
+  private final Map<String, Object> meta;
+
+  /**
+   * Creates a new instance of {@code McpRequestContext}.
+   *
+   * @param exchange the server exchange of the request, may be null
+   * @param meta the {@code _meta} of the request, may be null
+   */
+  private McpRequestContext(
+      @Nullable McpSyncServerExchange exchange, @Nullable Map<String, Object> meta) {
+    this.exchange = Immutable.of(exchange);
+    this.meta = meta == null ? Map.of() : meta;
+  }
+
+  /**
+   * Runs the specified action with a new request context bound to the current thread.
+   *
+   * @param <T> the type of the action result
+   * @param operation the MCP operation handled, used as the name of the server span
+   * @param exchange the server exchange of the request, may be null
+   * @param meta the {@code _meta} of the request, may be null
+   * @param action the action to run
+   * @return the result of the action
+   */
+  public static <T> T run(
+      String operation,
+      @Nullable McpSyncServerExchange exchange,
+      @Nullable Map<String, Object> meta,
+      Supplier<T> action) {
+
+    McpRequestContext previous = CURRENT.get();
+    McpRequestContext context = new McpRequestContext(exchange, meta);
+    CURRENT.set(context);
+    // the response is usually sent from this thread once the action returns
+    TrafficRecorder.bindResponseSession(context.sessionId());
+
+    Span span =
+        Tracer.startServerSpan(
+            operation, meta, exchange == null ? null : exchange.transportContext());
+    span.setAttribute("mcp.method.name", operation);
+    span.setAttribute("mcp.session.id", context.sessionId());
+    try (Scope ignored = span.makeCurrent()) {
+      return action.get();
+    } catch (RuntimeException e) {
+      span.setError(e.toString());
+      throw e;
+    } finally {
+      span.end();
+      if (previous == null) {
+        CURRENT.remove();
+      } else {
+        CURRENT.set(previous);
+      }
+    }
+  }
+
+  /**
+   * Returns the request context bound to the current thread.
+   *
+   * @return the request context bound to the current thread, or empty if there is none
+   */
+  public static Optional<McpRequestContext> current() {
+    return Optional.ofNullable(CURRENT.get());
+  }
+
+  /**
+   * Returns the session id of the request bound to the current thread.
+   *
+   * @return the session id, or an empty string if there is no request or session
+   */
+  public static String currentSessionId() {
+    McpRequestContext context = CURRENT.get();
+    return context == null ? StringHelper.EMPTY : context.sessionId();
+  }
+
+  /**
+   * Returns the server exchange of the request.
+   *
+   * @return the server exchange of the request, or null if not available
+   */
+  @Nullable
+  public McpSyncServerExchange exchange() {
+    return exchange.get();
+  }
+
+  /**
+   * Returns the session id of the request.
+   *
+   * @return the session id of the request, or an empty string if not available
+   */
+  public String sessionId() {
+    McpSyncServerExchange serverExchange = exchange.get();
+    if (serverExchange == null) {
+      return StringHelper.EMPTY;
+    }
+    return StringHelper.defaultIfBlank(serverExchange.sessionId(), StringHelper.EMPTY);
+  }
+
+  /**
+   * Returns the {@code _meta} of the request.
+   *
+   * @return the {@code _meta} of the request, never null
+   */
+  public Map<String, Object> meta() {
+    return meta;
+  }
+}
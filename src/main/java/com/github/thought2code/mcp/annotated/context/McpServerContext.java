@@ -0,0 +1,317 @@
+package com.github.thought2code.mcp.annotated.context;
+
+import com.github.thought2code.mcp.annotated.cache.ListResultCache;
+import com.github.thought2code.mcp.annotated.configuration.McpServerJson;
+import com.github.thought2code.mcp.annotated.instance.ComponentInstances;
+import com.github.thought2code.mcp.annotated.instance.InstanceRegistry;
+import com.github.thought2code.mcp.annotated.reflect.ReflectionsProvider;
+import com.github.thought2code.mcp.annotated.server.discovery.ToolSearchIndex;
+import com.github.thought2code.mcp.annotated.server.pagination.ListingRegistry;
+import com.github.thought2code.mcp.annotated.server.pagination.PagedResultStore;
+import com.github.thought2code.mcp.annotated.spill.ResultSpillStore;
+import com.github.thought2code.mcp.annotated.util.Immutable;
+import com.github.thought2code.mcp.annotated.util.JacksonHelper;
+import io.modelcontextprotocol.json.McpJsonMapper;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ResourceBundle;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import org.eclipse.jetty.util.thread.ThreadPool;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The state of a single MCP (Model Context Protocol) server, shared by its components.
+ *
+ * <p>Each server started by {@link com.github.thought2code.mcp.annotated.McpServers} has its own
+ * context, so several servers can run in the same JVM without sharing their component instances or
+ * request counters. The scan index and the HTTP thread pool are shared by the servers through the
+ * context rather than through static state.
+ *
+ * @author codeboyzhou
+ * @see ReflectionsProvider
+ * @see InstanceRegistry
+ */
+public final class McpServerContext {
+
+  /** The interval between two checks of the in-flight calls while draining in milliseconds. */
+  private static final long IDLE_POLL_INTERVAL_MILLIS = 10L;
+
+  /** The scan index of the annotated components. */
+  private final Immutable<ReflectionsProvider> reflections;
+
+  /** The resource bundle for i18n support, or null if i18n is not enabled. */
+  private final Immutable<ResourceBundle> bundle;
+
+  /** The shared HTTP thread pool, or null to let each HTTP server create its own. */
+  private final Immutable<ThreadPool> httpThreadPool;
+
+  /** The cache of the serialized list results of the server. */
+  private final Immutable<ListResultCache> listResults = Immutable.of(new ListResultCache());
+
+  /** The JSON mapper of the transport of the server, serving the list results from its cache. */
+  private final Immutable<McpJsonMapper> jsonMapper;
+
+  /** The instances of the classes declaring the components of the server. */
+  private final Immutable<InstanceRegistry> instances = Immutable.of(new InstanceRegistry());
+
+  /** The ordered registry of the listed components of the server. */
+  private final Immutable<ListingRegistry> listings = Immutable.of(new ListingRegistry());
+
+  /** The search index of the tools of the server. */
+  private final Immutable<ToolSearchIndex> toolIndex = Immutable.of(new ToolSearchIndex());
+
+  /** The store of the oversized tool results of the server. */
+  private final Immutable<ResultSpillStore> spills = Immutable.of(new ResultSpillStore());
+
+  /** The store of the cursors of the paged tool results of the server. */
+  private final Immutable<PagedResultStore> pagedResults = Immutable.of(new PagedResultStore());
+
+  /** The JVM-global configurations used by the server, guarded by this. */
+  private final List<JvmGlobalConfiguration<?>> jvmGlobals = new ArrayList<>();
+
+  /** The number of component requests handled by the server. */
+  private final LongAdder requests = new LongAdder();
+
+  /** The number of component requests that failed. */
+  private final LongAdder errors = new LongAdder();
+
+  /** The number of component calls in progress. */
+  private final AtomicInteger inFlight = new AtomicInteger();
+
+  /**
+   * Constructs a new {@link McpServerContext}.
+   *
+   * @param reflections the scan index of the annotated components
+   * @param bundle the resource bundle for i18n support, or null if i18n is not enabled
+   * @param httpThreadPool the shared HTTP thread pool, or null to let each HTTP server create its
+   *     own
+   */
+  public McpServerContext(
+      @NotNull ReflectionsProvider reflections,
+      @Nullable ResourceBundle bundle,
+      @Nullable ThreadPool httpThreadPool) {
+    this(reflections, bundle, httpThreadPool, McpServerJson.builder().build());
+  }
+
+  /**
+   * Constructs a new {@link McpServerContext} with the specified JSON mapper configuration.
+   *
+   * @param reflections the scan index of the annotated components
+   * @param bundle the resource bundle for i18n support, or null if i18n is not enabled
+   * @param httpThreadPool the shared HTTP thread pool, or null to let each HTTP server create its
+   *     own
+   * @param json the configuration of the JSON mapper of the transport of the server
+   * @throws com.github.thought2code.mcp.annotated.exception.McpServerConfigurationException if a
+   *     Jackson module cannot be registered
+   */
+  public McpServerContext(
+      @NotNull ReflectionsProvider reflections,
+      @Nullable ResourceBundle bundle,
+      @Nullable ThreadPool httpThreadPool,
+      @NotNull McpServerJson json) {
+    this.reflections = Immutable.of(reflections);
+    this.bundle = Immutable.of(bundle);
+    this.httpThreadPool = Immutable.of(httpThreadPool);
+    this.jsonMapper = Immutable.of(JacksonHelper.createMcpJsonMapper(json, listResults.get()));
+  }
+
+  /**
+   * Returns the scan index of the annotated components.
+   *
+   * @return the scan index of the annotated components
+   */
+  public ReflectionsProvider reflections() {
+    return reflections.get();
+  }
+
+  /**
+   * Returns the resource bundle for i18n support.
+   *
+   * @return the resource bundle, or null if i18n is not enabled
+   */
+  @Nullable
+  public ResourceBundle bundle() {
+    return bundle.get();
+  }
+
+  /**
+   * Returns the shared HTTP thread pool.
+   *
+   * @return the shared HTTP thread pool, or null to let each HTTP server create its own
+   */
+  @Nullable
+  public ThreadPool httpThreadPool() {
+    return httpThreadPool.get();
+  }
+
+  /**
+   * Returns the JSON mapper of the transport of the server, configured with its {@code json}
+   * section.
+   *
+   * @return the JSON mapper of the server
+   */
+  public McpJsonMapper jsonMapper() {
+    return jsonMapper.get();
+  }
+
+  /**
+   * Returns the cache of the serialized list results of the server, invalidated whenever its
+   * components are registered.
+   *
+   * @return the list result cache of the server
+   */
+  public ListResultCache listResults() {
+    return listResults.get();
+  }
+
+  /**
+   * Returns the instances of the classes declaring the components of the server.
+   *
+   * @return the instance registry of the server
+   */
+  public InstanceRegistry instances() {
+    return instances.get();
+  }
+
+  /**
+   * Returns the ordered registry of the listed components of the server, serving the paginated
+   * listings.
+   *
+   * @return the listing registry of the server
+   */
+  public ListingRegistry listings() {
+    return listings.get();
+  }
+
+  /**
+   * Returns the search index of the tools of the server, searched by the search tool of the
+   * discovery mode.
+   *
+   * @return the tool search index of the server
+   */
+  public ToolSearchIndex toolIndex() {
+    return toolIndex.get();
+  }
+
+  /**
+   * Returns the store of the oversized tool results of the server, disabled until it is configured.
+   *
+   * @return the result spill store of the server
+   */
+  public ResultSpillStore spills() {
+    return spills.get();
+  }
+
+  /**
+   * Returns the store of the cursors of the paged tool results of the server, disabled until it is
+   * configured.
+   *
+   * @return the paged result store of the server
+   */
+  public PagedResultStore pagedResults() {
+    return pagedResults.get();
+  }
+
+  /**
+   * Applies or shares a configuration section of global state on behalf of the server, until the
+   * server releases it when it stops.
+   *
+   * @param <T> the type of the configuration section
+   * @param configuration the JVM-global configuration
+   * @param value the configuration section of the server
+   * @throws com.github.thought2code.mcp.annotated.exception.McpServerConfigurationException if
+   *     another running server uses a different section
+   * @see #releaseJvmGlobals()
+   */
+  public synchronized <T> void useJvmGlobal(JvmGlobalConfiguration<T> configuration, T value) {
+    configuration.acquire(value);
+    jvmGlobals.add(configuration);
+  }
+
+  /** Releases the JVM-global configurations used by the server, once it is stopped. */
+  public synchronized void releaseJvmGlobals() {
+    jvmGlobals.forEach(JvmGlobalConfiguration::release);
+    jvmGlobals.clear();
+  }
+
+  /**
+   * Calls a component method with an instance of its declaring class, counting the call as in
+   * flight until it completes so that the server can drain before it stops.
+   *
+   * @param instances the instances of the class declaring the component method
+   * @param call the function invoking the component method on an instance
+   * @param <T> the type of the result
+   * @return the result of the call
+   * @see #awaitIdle(Duration)
+   */
+  public <T> T call(ComponentInstances instances, Function<Object, T> call) {
+    inFlight.incrementAndGet();
+    try {
+      return instances.apply(call);
+    } finally {
+      inFlight.decrementAndGet();
+    }
+  }
+
+  /**
+   * Returns the number of component calls in progress.
+   *
+   * @return the number of in-flight calls
+   */
+  public int inFlightCount() {
+    return inFlight.get();
+  }
+
+  /**
+   * Waits until no component call is in progress.
+   *
+   * @param timeout the maximum time to wait
+   * @return true if no call is in progress, false if the timeout elapsed first
+   * @throws InterruptedException if the current thread is interrupted while waiting
+   */
+  public boolean awaitIdle(Duration timeout) throws InterruptedException {
+    final long deadline = System.nanoTime() + timeout.toNanos();
+    while (inFlight.get() > 0) {
+      if (System.nanoTime() - deadline >= 0) {
+        return false;
+      }
+      TimeUnit.MILLISECONDS.sleep(IDLE_POLL_INTERVAL_MILLIS);
+    }
+    return true;
+  }
+
+  /**
+   * Records a handled component request.
+   *
+   * @param error whether the request failed
+   */
+  public void recordRequest(boolean error) {
+    requests.increment();
+    if (error) {
+      errors.increment();
+    }
+  }
+
+  /**
+   * Returns the number of component requests handled by the server.
+   *
+   * @return the number of handled requests
+   */
+  public long requestCount() {
+    return requests.sum();
+  }
+
+  /**
+   * Returns the number of component requests that failed.
+   *
+   * @return the number of failed requests
+   */
+  public long errorCount() {
+    return errors.sum();
+  }
+}
@@ -0,0 +1,84 @@
+package com.github.thought2code.mcp.annotated.diagnostics;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.github.thought2code.mcp.annotated.enums.ComponentType;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This record represents a captured slow MCP server component call.
+ *
+ * @param type the type of the component
+ * @param name the name of the component
+ * @param sessionId the session id of the request, empty if not available
+ * @param threadName the name of the thread that handled the call
+ * @param startTime the time when the call started in ISO-8601 format
+ * @param thresholdMillis the threshold that the call exceeded in milliseconds
+ * @param durationMillis the total duration of the call in milliseconds
+ * @param bindMillis the duration of the argument binding phase in milliseconds
+ * @param invokeMillis the duration of the method invocation phase in milliseconds
+ * @param serializeMillis the duration of the result building phase in milliseconds
+ * @param error whether the call ended with an error
+ * @param arguments the arguments of the call with sensitive values redacted
+ * @param stackSamples the stack samples taken while the call was running over the threshold
+ * @author codeboyzhou
+ * @see SlowCallDetector
+ */
+public record SlowCall(
+    @JsonProperty("type") ComponentType type,
+    @JsonProperty("name") String name,
+    @JsonProperty("sessionId") String sessionId,
+    @JsonProperty("threadName") String threadName,
+    @JsonProperty("startTime") String startTime,
+    @JsonProperty("thresholdMillis") long thresholdMillis,
+    @JsonProperty("durationMillis") double durationMillis,
+    @JsonProperty("bindMillis") double bindMillis,
+    @JsonProperty("invokeMillis") double invokeMillis,
+    @JsonProperty("serializeMillis") double serializeMillis,
+    @JsonProperty("error") boolean error,
+    @JsonProperty("arguments") Map<String, String> arguments,
+    @JsonProperty("stackSamples") List<StackSample> stackSamples) {
+
+  /**
+   * Compact constructor that creates defensive copies of the arguments and the stack samples.
+   *
+   * @param type the type of the component
+   * @param name the name of the component
+   * @param sessionId the session id of the request
+   * @param threadName the name of the thread that handled the call
+   * @param startTime the time when the call started in ISO-8601 format
+   * @param thresholdMillis the threshold that the call exceeded in milliseconds
+   * @param durationMillis the total duration of the call in milliseconds
+   * @param bindMillis the duration of the argument binding phase in milliseconds
+   * @param invokeMillis the duration of the method invocation phase in milliseconds
+   * @param serializeMillis the duration of the result building phase in milliseconds
+   * @param error whether the call ended with an error
+   * @param arguments the redacted arguments of the call
+   * @param stackSamples the stack samples of the call
+   */
+  public SlowCall {
+    arguments = Map.copyOf(arguments);
+    stackSamples = List.copyOf(stackSamples);
+  }
+
+  /**
+   * This record represents a stack sample of a slow call.
+   *
+   * @param offsetMillis the time elapsed since the call started in milliseconds
+   * @param frames the stack frames of the thread that handled the call, innermost first
+   */
+  public record StackSample(
+      @JsonProperty("offsetMillis") long offsetMillis,
+      @JsonProperty("frames") List<String> frames) {
+
+    /**
+     * Compact constructor that creates a defensive copy of the stack frames.
+     *
+     * @param offsetMillis the time elapsed since the call started in milliseconds
+     * @param frames the stack frames of the thread that handled the call
+     */
+    public StackSample {
+      frames = List.copyOf(frames);
+    }
+  }
+}
@@ -0,0 +1,259 @@
+package com.github.thought2code.mcp.annotated.diagnostics;
+
+import com.github.thought2code.mcp.annotated.configuration.McpServerSlowCall;
+import com.github.thought2code.mcp.annotated.reflect.MethodCache;
+import com.github.thought2code.mcp.annotated.util.JacksonHelper;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.spec.McpSchema;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Slow-call detector of the MCP server components.
+ *
+ * <p>This class captures the tool, prompt and resource calls that take longer than their threshold.
+ * For each captured call it keeps:
+ *
+ * <ul>
+ *   <li>The arguments, with the values of the configured sensitive arguments redacted
+ *   <li>The durations of the bind, invoke and serialize phases
+ *   <li>Periodic stack samples of the thread that handled the call
+ * </ul>
+ *
+ * <p>The stack sampler of a call is scheduled to start when the call reaches its threshold and is
+ * cancelled when the call ends, so no sampling happens for calls that complete in time. The
+ * captured calls are kept in a bounded ring buffer, the oldest call is dropped when it is full.
+ *
+ * @author codeboyzhou
+ * @see SlowCallTracker
+ * @see SlowCall
+ * @see McpServerSlowCall
+ */
+public final class SlowCallDetector {
+
+  private static final Logger log = LoggerFactory.getLogger(SlowCallDetector.class);
+
+  /** The replacement of the redacted argument values. */
+  private static final String REDACTED = "***";
+
+  /** The maximum length of an argument value in a captured call. */
+  private static final int MAX_ARGUMENT_LENGTH = 256;
+
+  /** The MIME type of the slow-call resource. */
+  private static final String MIME_TYPE = "application/json";
+
+  /** The ring buffer of the captured calls, guarded by itself. */
+  private static final ArrayDeque<SlowCall> BUFFER = new ArrayDeque<>();
+
+  /** The current slow-call capture configuration, or null if disabled. */
+  private static volatile McpServerSlowCall configuration;
+
+  /** The lower-cased names of the arguments whose values are redacted. */
+  private static volatile Set<String> redactedArguments = Set.of();
+
+  /** The scheduler running the stack samplers, created when capture is enabled. */
+  private static ScheduledExecutorService sampler;
+
+  /** The executor behind the scheduler of the stack samplers, guarded by the class. */
+  private static ScheduledThreadPoolExecutor samplerExecutor;
+
+  /**
+   * Private constructor to prevent instantiation of this utility class.
+   *
+   * @throws UnsupportedOperationException always thrown when attempting to instantiate
+   */
+  private SlowCallDetector() {
+    throw new UnsupportedOperationException("Utility class should not be instantiated");
+  }
+
+  /**
+   * Configures slow-call capture with the specified configuration.
+   *
+   * @param slowCall the slow-call capture configuration
+   */
+  public static synchronized void configure(McpServerSlowCall slowCall) {
+    if (!slowCall.enabled()) {
+      configuration = null;
+      return;
+    }
+
+    redactedArguments =
+        slowCall.redactedArguments().stream()
+            .map(name -> name.toLowerCase(Locale.ROOT))
+            .collect(Collectors.toUnmodifiableSet());
+    if (sampler == null) {
+      ScheduledThreadPoolExecutor executor =
+          new ScheduledThreadPoolExecutor(
+              1,
+              runnable -> {
+                Thread thread = new Thread(runnable, "mcp-slow-call-sampler");
+                thread.setDaemon(true);
+                return thread;
+              });
+      executor.setRemoveOnCancelPolicy(true);
+      samplerExecutor = executor;
+      sampler = Executors.unconfigurableScheduledExecutorService(executor);
+    }
+    configuration = slowCall;
+    log.info("Slow-call capture enabled with default threshold {} ms", slowCall.threshold());
+  }
+
+  /**
+   * Begins tracking a call of the specified component method on the current thread.
+   *
+   * @param methodCache the method cache of the called component method
+   * @param arguments the arguments of the call, may be null
+   * @return the tracker of the call, a no-op tracker if slow-call capture is disabled
+   */
+  public static SlowCallTracker begin(MethodCache methodCache, Map<String, Object> arguments) {
+    McpServerSlowCall slowCall = configuration;
+    if (slowCall == null) {
+      return SlowCallTracker.NOOP;
+    }
+
+    final long thresholdMillis =
+        slowCall.thresholds().getOrDefault(methodCache.getComponentName(), slowCall.threshold());
+    SlowCallTracker tracker =
+        new SlowCallTracker(
+            methodCache,
+            arguments == null ? Map.of() : arguments,
+            TimeUnit.MILLISECONDS.toNanos(thresholdMillis),
+            slowCall.maxSamples());
+
+    ScheduledFuture<?> scheduled =
+        sampler.scheduleAtFixedRate(
+            tracker::sample, thresholdMillis, slowCall.sampleInterval(), TimeUnit.MILLISECONDS);
+    tracker.setSampler(scheduled);
+    return tracker;
+  }
+
+  /**
+   * Records a captured call in the ring buffer, dropping the oldest call if it is full.
+   *
+   * @param slowCall the captured call
+   */
+  static void record(SlowCall slowCall) {
+    McpServerSlowCall current = configuration;
+    final int capacity = current == null ? 0 : current.bufferSize();
+    synchronized (BUFFER) {
+      while (!BUFFER.isEmpty() && BUFFER.size() >= capacity) {
+        BUFFER.pollFirst();
+      }
+      if (capacity > 0) {
+        BUFFER.addLast(slowCall);
+      }
+    }
+    log.warn(
+        "Slow {} call captured: {} took {} ms (threshold {} ms)",
+        slowCall.type(),
+        slowCall.name(),
+        slowCall.durationMillis(),
+        slowCall.thresholdMillis());
+  }
+
+  /**
+   * Redacts the values of the sensitive arguments and truncates long argument values.
+   *
+   * @param arguments the arguments of the call
+   * @return the redacted arguments as strings
+   */
+  static Map<String, String> redact(Map<String, Object> arguments) {
+    Set<String> redacted = redactedArguments;
+    Map<String, String> result = new LinkedHashMap<>();
+    arguments.forEach(
+        (name, value) -> {
+          if (redacted.contains(name.toLowerCase(Locale.ROOT))) {
+            result.put(name, REDACTED);
+          } else {
+            String text = String.valueOf(value);
+            if (text.length() > MAX_ARGUMENT_LENGTH) {
+              text = text.substring(0, MAX_ARGUMENT_LENGTH) + "...";
+            }
+            result.put(name, text);
+          }
+        });
+    return result;
+  }
+
+  /**
+   * Returns the captured calls, most recent first.
+   *
+   * @return the captured calls, most recent first
+   */
+  public static List<SlowCall> snapshot() {
+    List<SlowCall> calls;
+    synchronized (BUFFER) {
+      calls = new ArrayList<>(BUFFER);
+    }
+    Collections.reverse(calls);
+    return calls;
+  }
+
+  /**
+   * Returns the captured calls as a JSON array, most recent first.
+   *
+   * @return the captured calls as a JSON array
+   */
+  public static String toJson() {
+    return JacksonHelper.toJsonString(snapshot());
+  }
+
+  /**
+   * Returns the number of stack samplers scheduled and not cancelled yet, that is the number of
+   * tracked calls which have not ended.
+   *
+   * @return the number of scheduled stack samplers
+   */
+  static synchronized int scheduledSamplers() {
+    return samplerExecutor == null ? 0 : samplerExecutor.getQueue().size();
+  }
+
+  /** Clears all captured calls. */
+  public static void reset() {
+    synchronized (BUFFER) {
+      BUFFER.clear();
+    }
+  }
+
+  /**
+   * Creates the resource specification that serves the captured calls as JSON.
+   *
+   * @param slowCall the slow-call capture configuration
+   * @return the resource specification that serves the captured calls as JSON
+   */
+  public static McpServerFeatures.SyncResourceSpecification resourceSpecification(
+      McpServerSlowCall slowCall) {
+
+    final String uri = slowCall.resourceUri();
+    McpSchema.Resource resource =
+        McpSchema.Resource.builder()
+            .uri(uri)
+            .name("slow-calls")
+            .title("Slow calls")
+            .description("Most recent calls that exceeded their threshold, most recent first")
+            .mimeType(MIME_TYPE)
+            .build();
+
+    return new McpServerFeatures.SyncResourceSpecification(
+        resource,
+        (exchange, request) -> {
+          McpSchema.ResourceContents contents =
+              new McpSchema.TextResourceContents(uri, MIME_TYPE, toJson());
+          return new McpSchema.ReadResourceResult(List.of(contents));
+        });
+  }
+}
@@ -0,0 +1,37 @@
+package com.github.thought2code.mcp.annotated.diagnostics;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * HTTP servlet that serves the captured slow calls as a JSON array, most recent first.
+ *
+ * <p>The servlet is registered on the Jetty HTTP server at the configured {@code
+ * slow-call.http-endpoint} path when slow-call capture is enabled.
+ *
+ * @author codeboyzhou
+ * @see SlowCallDetector
+ */
+public class SlowCallServlet extends HttpServlet {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Writes the captured slow calls as a JSON array.
+   *
+   * @param request the HTTP request
+   * @param response the HTTP response
+   * @throws IOException if writing the response fails
+   */
+  @Override
+  protected void doGet(HttpServletRequest request, HttpServletResponse response)
+      throws IOException {
+    response.setStatus(HttpServletResponse.SC_OK);
+    response.setContentType("application/json");
+    response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+    response.getWriter().write(SlowCallDetector.toJson());
+  }
+}
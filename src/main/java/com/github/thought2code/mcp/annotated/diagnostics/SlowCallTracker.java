@@ -0,0 +1,197 @@
+package com.github.thought2code.mcp.annotated.diagnostics;
+
+import com.github.thought2code.mcp.annotated.context.McpRequestContext;
+import com.github.thought2code.mcp.annotated.reflect.MethodCache;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks the phases of a single MCP server component call for slow-call capture.
+ *
+ * <p>A tracker is created by {@link SlowCallDetector#begin(MethodCache, Map)} before the arguments
+ * are bound, and the component marks the end of each phase:
+ *
+ * <pre>{@code
+ * SlowCallTracker tracker = SlowCallDetector.begin(methodCache, arguments);
+ * List<Object> params = parameterConverter.convertAll(methodCache, arguments);
+ * tracker.bound();
+ * Invocation invocation = MethodInvoker.invoke(instance, methodCache, params);
+ * tracker.invoked();
+ * // build the MCP result
+ * tracker.end(invocation.isError());
+ * }</pre>
+ *
+ * <p>When slow-call capture is disabled, {@link SlowCallDetector#begin(MethodCache, Map)} returns a
+ * shared no-op tracker, so the component code does not need to check whether capture is enabled.
+ *
+ * @author codeboyzhou
+ * @see SlowCallDetector
+ * @see SlowCall
+ */
+public final class SlowCallTracker {
+
+  /** The shared tracker used when slow-call capture is disabled. */
+  static final SlowCallTracker NOOP = new SlowCallTracker(null, Map.of(), 0, 0);
+
+  /** The maximum number of stack frames kept per stack sample. */
+  private static final int MAX_STACK_FRAMES = 64;
+
+  /** The method cache of the called component method, or null for the no-op tracker. */
+  private final MethodCache methodCache;
+
+  /** The arguments of the call. */
+  private final Map<String, Object> arguments;
+
+  /** The threshold of the call in nanoseconds. */
+  private final long thresholdNanos;
+
+  /** The maximum number of stack samples. */
+  private final int maxSamples;
+
+  /** The thread that handles the call. */
+  private final Thread thread;
+
+  /** The session id of the request. */
+  private final String sessionId;
+
+  /** The wall-clock time when the call started. */
+  private final Instant startTime;
+
+  /** The {@link System#nanoTime()} when the call started. */
+  private final long startNanos;
+
+  /** The {@link System#nanoTime()} when the arguments were bound. */
+  private volatile long boundNanos;
+
+  /** The {@link System#nanoTime()} when the method invocation completed. */
+  private volatile long invokedNanos;
+
+  /** The stack samples taken while the call was running over its threshold. */
+  private final List<SlowCall.StackSample> stackSamples = new ArrayList<>();
+
+  /** The scheduled stack sampler of the call. */
+  private volatile ScheduledFuture<?> sampler;
+
+  /**
+   * Creates a new instance of {@code SlowCallTracker} started on the current thread.
+   *
+   * @param methodCache the method cache of the called component method
+   * @param arguments the arguments of the call
+   * @param thresholdNanos the threshold of the call in nanoseconds
+   * @param maxSamples the maximum number of stack samples
+   */
+  SlowCallTracker(
+      MethodCache methodCache, Map<String, Object> arguments, long thresholdNanos, int maxSamples) {
+    this.methodCache = methodCache;
+    this.arguments = arguments;
+    this.thresholdNanos = thresholdNanos;
+    this.maxSamples = maxSamples;
+    this.thread = Thread.currentThread();
+    this.sessionId = methodCache == null ? null : McpRequestContext.currentSessionId();
+    this.startTime = methodCache == null ? null : Instant.now();
+    this.startNanos = methodCache == null ? 0 : System.nanoTime();
+  }
+
+  /** Marks the end of the argument binding phase. */
+  public void bound() {
+    if (methodCache != null) {
+      boundNanos = System.nanoTime();
+    }
+  }
+
+  /** Marks the end of the method invocation phase. */
+  public void invoked() {
+    if (methodCache != null) {
+      invokedNanos = System.nanoTime();
+    }
+  }
+
+  /**
+   * Marks the end of the call, and captures it if it took longer than its threshold.
+   *
+   * @param isError whether the call ended with an error
+   */
+  public void end(boolean isError) {
+    if (methodCache == null) {
+      return;
+    }
+
+    final long endNanos = System.nanoTime();
+    ScheduledFuture<?> scheduled = sampler;
+    if (scheduled != null) {
+      scheduled.cancel(false);
+    }
+
+    final long durationNanos = endNanos - startNanos;
+    if (durationNanos < thresholdNanos) {
+      return;
+    }
+
+    final long bound = boundNanos == 0 ? startNanos : boundNanos;
+    final long invoked = invokedNanos == 0 ? bound : invokedNanos;
+    List<SlowCall.StackSample> samples;
+    synchronized (stackSamples) {
+      samples = List.copyOf(stackSamples);
+    }
+
+    SlowCallDetector.record(
+        new SlowCall(
+            methodCache.getComponentType(),
+            methodCache.getComponentName(),
+            sessionId,
+            thread.getName(),
+            startTime.toString(),
+            TimeUnit.NANOSECONDS.toMillis(thresholdNanos),
+            toMillis(durationNanos),
+            toMillis(bound - startNanos),
+            toMillis(invoked - bound),
+            toMillis(endNanos - invoked),
+            isError,
+            SlowCallDetector.redact(arguments),
+            samples));
+  }
+
+  /**
+   * Sets the scheduled stack sampler of the call.
+   *
+   * @param sampler the scheduled stack sampler
+   */
+  void setSampler(ScheduledFuture<?> sampler) {
+    this.sampler = sampler;
+  }
+
+  /** Takes a stack sample of the thread that handles the call. */
+  void sample() {
+    synchronized (stackSamples) {
+      if (stackSamples.size() >= maxSamples) {
+        return;
+      }
+    }
+
+    StackTraceElement[] stackTrace = thread.getStackTrace();
+    List<String> frames =
+        Arrays.stream(stackTrace).limit(MAX_STACK_FRAMES).map(StackTraceElement::toString).toList();
+    final long offsetMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+    synchronized (stackSamples) {
+      if (stackSamples.size() < maxSamples) {
+        stackSamples.add(new SlowCall.StackSample(offsetMillis, frames));
+      }
+    }
+  }
+
+  /**
+   * Converts the specified nanoseconds to fractional milliseconds.
+   *
+   * @param nanos the nanoseconds to convert
+   * @return the fractional milliseconds
+   */
+  private static double toMillis(long nanos) {
+    return nanos / 1_000_000.0;
+  }
+}
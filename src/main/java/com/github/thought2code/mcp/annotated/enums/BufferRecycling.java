@@ -0,0 +1,18 @@
+package com.github.thought2code.mcp.annotated.enums;
+
+/**
+ * This enum represents how the JSON mapper recycles the buffers it reads and writes with.
+ *
+ * @author codeboyzhou
+ */
+public enum BufferRecycling {
+
+  /** Each thread reuses its own buffers, the cheapest choice for a bounded pool of threads. */
+  THREAD_LOCAL,
+
+  /** The buffers are shared by all threads through a concurrent pool, for virtual threads. */
+  SHARED,
+
+  /** The buffers are allocated for each serialization and never recycled. */
+  NONE
+}
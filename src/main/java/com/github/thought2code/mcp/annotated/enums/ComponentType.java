@@ -0,0 +1,28 @@
+package com.github.thought2code.mcp.annotated.enums;
+
+/**
+ * This enum represents the type of MCP (Model Context Protocol) server component that a method is
+ * bound to.
+ *
+ * <p>It is derived from the MCP annotation present on the method and is used to group runtime
+ * statistics of the method invocations by component.
+ *
+ * @author codeboyzhou
+ */
+public enum ComponentType {
+
+  /** The method is an MCP tool. */
+  TOOL,
+
+  /** The method is an MCP prompt. */
+  PROMPT,
+
+  /** The method is an MCP resource. */
+  RESOURCE,
+
+  /** The method is an MCP prompt or resource completion handler. */
+  COMPLETION,
+
+  /** The method is not bound to any MCP component. */
+  NONE
+}
@@ -0,0 +1,23 @@
+package com.github.thought2code.mcp.annotated.enums;
+
+/**
+ * This enum represents the lifetime of the instances of a class declaring MCP (Model Context
+ * Protocol) server component methods.
+ *
+ * @author codeboyzhou
+ * @see com.github.thought2code.mcp.annotated.annotation.McpComponentScope
+ */
+public enum InstanceScope {
+
+  /** A single instance is shared by all the component methods of the class. This is the default. */
+  SINGLETON,
+
+  /** One instance per MCP session, evicted after the session has been idle for a while. */
+  SESSION,
+
+  /** A new instance for each request, closed after the request if it is auto-closeable. */
+  REQUEST,
+
+  /** Instances are borrowed from a bounded pool, so that each is used by one request at a time. */
+  POOLED
+}
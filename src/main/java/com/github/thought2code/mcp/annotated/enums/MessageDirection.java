@@ -0,0 +1,15 @@
+package com.github.thought2code.mcp.annotated.enums;
+
+/**
+ * This enum represents the direction of a JSON-RPC message recorded in the traffic journal.
+ *
+ * @author codeboyzhou
+ */
+public enum MessageDirection {
+
+  /** A message received by the MCP server from a client. */
+  INBOUND,
+
+  /** A message sent by the MCP server to a client. */
+  OUTBOUND
+}
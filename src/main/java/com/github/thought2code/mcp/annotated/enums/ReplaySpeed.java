@@ -0,0 +1,18 @@
+package com.github.thought2code.mcp.annotated.enums;
+
+/**
+ * This enum represents the pacing of the requests re-driven from a traffic journal.
+ *
+ * @author codeboyzhou
+ */
+public enum ReplaySpeed {
+
+  /** The requests are sent with the same spacing as when they were recorded. */
+  ORIGINAL,
+
+  /** The spacing of the recorded requests is divided by the configured scale factor. */
+  SCALED,
+
+  /** The requests are sent as fast as the replayer threads allow. */
+  MAXIMUM
+}
@@ -3,7 +3,8 @@ package com.github.thought2code.mcp.annotated.enums;
 /**
  * This enum represents the mode of MCP (Model Context Protocol) server.
  *
- * <p>It can be either {@link #STDIO}, {@link #SSE}, or {@link #STREAMABLE}.
+ * <p>It can be either {@link #STDIO}, {@link #SSE}, {@link #STREAMABLE}, {@link #WEBSOCKET}, or
+ * {@link #IN_PROCESS}.
  *
  * @author codeboyzhou
  */
@@ -16,5 +17,11 @@ public enum ServerMode {
   SSE,
 
   /** The MCP server runs in {@code STREAMABLE} http mode. */
-  STREAMABLE
+  STREAMABLE,
+
+  /** The MCP server runs in {@code WEBSOCKET} mode, over one full-duplex connection per client. */
+  WEBSOCKET,
+
+  /** The MCP server runs in the same JVM as its client, connected to it {@code IN_PROCESS}. */
+  IN_PROCESS
 }
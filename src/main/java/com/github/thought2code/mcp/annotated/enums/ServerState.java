@@ -0,0 +1,24 @@
+package com.github.thought2code.mcp.annotated.enums;
+
+/**
+ * This enum represents the lifecycle state of an MCP (Model Context Protocol) server.
+ *
+ * @author codeboyzhou
+ */
+public enum ServerState {
+
+  /** The MCP server is registering its components and starting its transport. */
+  STARTING,
+
+  /** The MCP server is accepting requests. */
+  RUNNING,
+
+  /** The MCP server is closing its sessions and stopping its transport. */
+  STOPPING,
+
+  /** The MCP server is stopped, or was never started because it is disabled. */
+  STOPPED,
+
+  /** The MCP server failed to start. */
+  FAILED
+}
@@ -0,0 +1,15 @@
+package com.github.thought2code.mcp.annotated.enums;
+
+/**
+ * This enum represents the type of the built-in exporter of the tracing spans.
+ *
+ * @author codeboyzhou
+ */
+public enum SpanExporterType {
+
+  /** Spans are kept in a bounded in-memory buffer. */
+  MEMORY,
+
+  /** Spans are appended to a local file in OTLP JSON format, one export request per line. */
+  OTLP_FILE
+}
@@ -0,0 +1,21 @@
+package com.github.thought2code.mcp.annotated.enums;
+
+/**
+ * This enum represents how the text content of a tool result with structured content is rendered.
+ *
+ * @author codeboyzhou
+ */
+public enum TextContentMode {
+
+  /** The text content is the full text representation of the structured content. */
+  FULL,
+
+  /** The text content is a summary of the structured content, truncated to a maximum length. */
+  SUMMARY,
+
+  /**
+   * No text content is rendered, the MCP SDK falls back to the JSON of the structured content for
+   * the clients that only read the text content.
+   */
+  NONE
+}
@@ -0,0 +1,428 @@
+package com.github.thought2code.mcp.annotated.instance;
+
+import com.github.thought2code.mcp.annotated.context.McpRequestContext;
+import com.github.thought2code.mcp.annotated.enums.InstanceScope;
+import com.github.thought2code.mcp.annotated.exception.McpServerException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The instances of a class declaring MCP (Model Context Protocol) server component methods, managed
+ * according to the scope of the class.
+ *
+ * <p>The component methods of a class share the same {@code ComponentInstances}, obtained from
+ * {@link InstanceRegistry#instancesOf(Class)}. Each request runs with an instance borrowed by
+ * {@link #apply(Function)}, which returns it when the request completes.
+ *
+ * @author codeboyzhou
+ * @see InstanceRegistry
+ * @see InstanceScope
+ */
+public abstract class ComponentInstances {
+
+  private static final Logger log = LoggerFactory.getLogger(ComponentInstances.class);
+
+  /** The class of the instances. */
+  protected final Class<?> type;
+
+  /** The provider supplying new instances. */
+  protected final InstanceProvider provider;
+
+  /**
+   * Creates a new instance of {@code ComponentInstances}.
+   *
+   * @param type the class of the instances
+   * @param provider the provider supplying new instances
+   */
+  protected ComponentInstances(Class<?> type, InstanceProvider provider) {
+    this.type = type;
+    this.provider = provider;
+  }
+
+  /**
+   * Returns the scope of the instances.
+   *
+   * @return the scope of the instances
+   */
+  public abstract InstanceScope scope();
+
+  /**
+   * Runs the specified action with an instance borrowed for the current request.
+   *
+   * @param <T> the type of the action result
+   * @param action the action to run with the instance
+   * @return the result of the action
+   * @throws McpServerException if no instance can be supplied
+   */
+  public <T> T apply(Function<Object, T> action) {
+    Object instance = acquire();
+    try {
+      return action.apply(instance);
+    } finally {
+      release(instance);
+    }
+  }
+
+  /** Releases all the instances, closing those that are auto-closeable. */
+  public abstract void close();
+
+  /**
+   * Borrows an instance for the current request.
+   *
+   * @return the borrowed instance
+   */
+  protected abstract Object acquire();
+
+  /**
+   * Returns an instance borrowed by {@link #acquire()}.
+   *
+   * @param instance the borrowed instance
+   */
+  protected void release(Object instance) {}
+
+  /**
+   * Supplies a new instance from the provider.
+   *
+   * @return the new instance
+   * @throws McpServerException if the provider returns null
+   */
+  protected Object newInstance() {
+    Object instance = provider.getInstance(type);
+    if (instance == null) {
+      throw new McpServerException("Instance provider returned null for " + type.getName());
+    }
+    return instance;
+  }
+
+  /**
+   * Closes the specified instance if it is auto-closeable.
+   *
+   * @param instance the instance to close
+   */
+  protected static void closeQuietly(Object instance) {
+    if (instance instanceof AutoCloseable closeable) {
+      try {
+        closeable.close();
+      } catch (Exception e) {
+        log.warn("Failed to close instance of {}", instance.getClass().getName(), e);
+      }
+    }
+  }
+
+  /** A single instance shared by all the requests. */
+  static final class Shared extends ComponentInstances {
+
+    /** The shared instance. */
+    private final Object instance;
+
+    /**
+     * Creates the shared instance of the specified class.
+     *
+     * @param type the class of the instance
+     * @param provider the provider supplying the instance
+     */
+    Shared(Class<?> type, InstanceProvider provider) {
+      super(type, provider);
+      this.instance = newInstance();
+    }
+
+    @Override
+    public InstanceScope scope() {
+      return InstanceScope.SINGLETON;
+    }
+
+    @Override
+    protected Object acquire() {
+      return instance;
+    }
+
+    @Override
+    public void close() {
+      closeQuietly(instance);
+    }
+  }
+
+  /** A new instance for each request. */
+  static final class PerRequest extends ComponentInstances {
+
+    /**
+     * Creates a new instance of {@code PerRequest}.
+     *
+     * @param type the class of the instances
+     * @param provider the provider supplying new instances
+     */
+    PerRequest(Class<?> type, InstanceProvider provider) {
+      super(type, provider);
+    }
+
+    @Override
+    public InstanceScope scope() {
+      return InstanceScope.REQUEST;
+    }
+
+    @Override
+    protected Object acquire() {
+      return newInstance();
+    }
+
+    @Override
+    protected void release(Object instance) {
+      closeQuietly(instance);
+    }
+
+    @Override
+    public void close() {
+      // Nothing is kept between requests
+    }
+  }
+
+  /** One instance per session, evicted when the session has been idle for too long. */
+  static final class PerSession extends ComponentInstances {
+
+    /** The instance of each session, keyed by session id. */
+    private final Map<String, Entry> sessions = new ConcurrentHashMap<>();
+
+    /** The idle time in milliseconds after which the instance of a session is evicted. */
+    private final long idleTimeoutMillis;
+
+    /**
+     * Creates a new instance of {@code PerSession}.
+     *
+     * @param type the class of the instances
+     * @param provider the provider supplying new instances
+     * @param idleTimeoutMillis the idle time after which the instance of a session is evicted
+     */
+    PerSession(Class<?> type, InstanceProvider provider, long idleTimeoutMillis) {
+      super(type, provider);
+      this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    @Override
+    public InstanceScope scope() {
+      return InstanceScope.SESSION;
+    }
+
+    /**
+     * Borrows the instance of the current session, creating it if the session has none.
+     *
+     * <p>The entry is borrowed under the lock of the session in the map, which {@link #evictIdle()}
+     * also holds to check it, so an instance is never closed while it is borrowed.
+     *
+     * @return the instance of the current session
+     */
+    @Override
+    protected Object acquire() {
+      Entry entry =
+          sessions.compute(
+              McpRequestContext.currentSessionId(),
+              (sessionId, current) -> {
+                Entry borrowed = current == null ? new Entry(newInstance()) : current;
+                borrowed.borrowers++;
+                borrowed.lastAccessMillis = System.currentTimeMillis();
+                return borrowed;
+              });
+      return entry.instance;
+    }
+
+    @Override
+    protected void release(Object instance) {
+      sessions.computeIfPresent(
+          McpRequestContext.currentSessionId(),
+          (sessionId, entry) -> {
+            if (entry.instance == instance) {
+              entry.borrowers--;
+              entry.lastAccessMillis = System.currentTimeMillis();
+            }
+            return entry;
+          });
+    }
+
+    /**
+     * Returns the idle time after which the instance of a session is evicted.
+     *
+     * @return the idle time in milliseconds
+     */
+    long idleTimeoutMillis() {
+      return idleTimeoutMillis;
+    }
+
+    /**
+     * Evicts and closes the instances of the sessions idle for longer than the idle timeout.
+     *
+     * <p>Each entry is checked and removed under the lock of its session in the map, so an entry
+     * borrowed or accessed meanwhile is kept.
+     */
+    void evictIdle() {
+      final long deadline = System.currentTimeMillis() - idleTimeoutMillis;
+      for (String sessionId : sessions.keySet()) {
+        final Entry[] evicted = new Entry[1];
+        sessions.computeIfPresent(
+            sessionId,
+            (id, entry) -> {
+              if (entry.borrowers == 0 && entry.lastAccessMillis < deadline) {
+                evicted[0] = entry;
+                return null;
+              }
+              return entry;
+            });
+        if (evicted[0] != null) {
+          log.debug("Evicting idle instance of {} for session {}", type, sessionId);
+          closeQuietly(evicted[0].instance);
+        }
+      }
+    }
+
+    /**
+     * Returns the number of sessions with an instance.
+     *
+     * @return the number of sessions with an instance
+     */
+    int size() {
+      return sessions.size();
+    }
+
+    @Override
+    public void close() {
+      sessions.values().forEach(entry -> closeQuietly(entry.instance));
+      sessions.clear();
+    }
+
+    /** The instance of a session with its last access time. */
+    private static final class Entry {
+
+      /** The instance of the session. */
+      private final Object instance;
+
+      /** The last time the instance was borrowed or returned, in epoch milliseconds. */
+      private volatile long lastAccessMillis;
+
+      /** The number of requests using the instance, guarded by the lock of the session entry. */
+      private int borrowers;
+
+      /**
+       * Creates a new instance of {@code Entry}.
+       *
+       * @param instance the instance of the session
+       */
+      private Entry(Object instance) {
+        this.instance = instance;
+      }
+    }
+  }
+
+  /** A bounded pool of instances, each used by one request at a time. */
+  static final class Pooled extends ComponentInstances {
+
+    /** The instances that are not in use. */
+    private final Queue<Object> idle = new ConcurrentLinkedQueue<>();
+
+    /** The permits for the instances, one per instance that can be created. */
+    private final Semaphore permits;
+
+    /** The maximum number of instances. */
+    private final int maxPoolSize;
+
+    /** The maximum time to wait for an instance in milliseconds. */
+    private final long acquireTimeoutMillis;
+
+    /** Whether the pool is closed, so that the instances returned afterwards are closed. */
+    private volatile boolean closed;
+
+    /**
+     * Creates a new instance of {@code Pooled}.
+     *
+     * @param type the class of the instances
+     * @param provider the provider supplying new instances
+     * @param maxPoolSize the maximum number of instances
+     * @param acquireTimeoutMillis the maximum time to wait for an instance in milliseconds
+     */
+    Pooled(Class<?> type, InstanceProvider provider, int maxPoolSize, long acquireTimeoutMillis) {
+      super(type, provider);
+      if (maxPoolSize <= 0) {
+        throw new McpServerException("maxPoolSize of " + type.getName() + " must be positive");
+      }
+      this.maxPoolSize = maxPoolSize;
+      this.acquireTimeoutMillis = acquireTimeoutMillis;
+      this.permits = new Semaphore(maxPoolSize, true);
+    }
+
+    @Override
+    public InstanceScope scope() {
+      return InstanceScope.POOLED;
+    }
+
+    /**
+     * Returns the maximum number of instances.
+     *
+     * @return the maximum number of instances
+     */
+    int maxPoolSize() {
+      return maxPoolSize;
+    }
+
+    /**
+     * Borrows an idle instance, or creates one if fewer than the maximum exist, waiting at most the
+     * acquire timeout for an instance to be returned when all of them are in use.
+     *
+     * @return the borrowed instance
+     * @throws McpServerException if no instance is returned within the acquire timeout, or the
+     *     thread is interrupted while waiting
+     */
+    @Override
+    protected Object acquire() {
+      try {
+        if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+          throw new McpServerException(
+              String.format(
+                  "No instance of %s available within %d ms, all %d pooled instances are in use",
+                  type.getName(), acquireTimeoutMillis, maxPoolSize));
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new McpServerException("Interrupted while waiting for an instance of " + type, e);
+      }
+
+      Object instance = idle.poll();
+      if (instance != null) {
+        return instance;
+      }
+      try {
+        return newInstance();
+      } catch (RuntimeException e) {
+        permits.release();
+        throw e;
+      }
+    }
+
+    @Override
+    protected void release(Object instance) {
+      if (closed) {
+        closeQuietly(instance);
+      } else {
+        idle.offer(instance);
+        // closes the instance if the pool was closed before it was offered
+        if (closed && idle.remove(instance)) {
+          closeQuietly(instance);
+        }
+      }
+      permits.release();
+    }
+
+    /** Closes the idle instances, and the borrowed instances once they are returned. */
+    @Override
+    public void close() {
+      closed = true;
+      Object instance;
+      while ((instance = idle.poll()) != null) {
+        closeQuietly(instance);
+      }
+    }
+  }
+}
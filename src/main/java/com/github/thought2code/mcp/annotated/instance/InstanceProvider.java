@@ -0,0 +1,32 @@
+package com.github.thought2code.mcp.annotated.instance;
+
+/**
+ * The service provider interface for supplying the instances of the classes declaring MCP (Model
+ * Context Protocol) server component methods, for example from a dependency injection container.
+ *
+ * <p>A provider is discovered with {@link java.util.ServiceLoader}, by listing its class name in
+ * {@code META-INF/services/com.github.thought2code.mcp.annotated.instance.InstanceProvider}, or
+ * installed with {@link com.github.thought2code.mcp.annotated.McpServers#withInstanceProvider}
+ * before the server is started. Without a provider, the instances are created with the public
+ * no-argument constructor of the class.
+ *
+ * <p>The provider is asked for a new instance whenever the scope of the class requires one, see
+ * {@link com.github.thought2code.mcp.annotated.enums.InstanceScope}. A provider whose container
+ * manages the lifetime of the instances itself should be used with the default singleton scope.
+ *
+ * @author codeboyzhou
+ * @see InstanceRegistry
+ */
+@FunctionalInterface
+public interface InstanceProvider {
+
+  /**
+   * Returns an instance of the specified class.
+   *
+   * @param type the class declaring MCP server component methods
+   * @return an instance of the specified class, never null
+   * @throws com.github.thought2code.mcp.annotated.exception.McpServerException if the instance
+   *     cannot be supplied
+   */
+  Object getInstance(Class<?> type);
+}
@@ -0,0 +1,158 @@
+package com.github.thought2code.mcp.annotated.instance;
+
+import com.github.thought2code.mcp.annotated.annotation.McpComponentScope;
+import com.github.thought2code.mcp.annotated.enums.InstanceScope;
+import com.github.thought2code.mcp.annotated.reflect.MethodInvoker;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Registry of the instances of the classes declaring MCP (Model Context Protocol) server component
+ * methods.
+ *
+ * <p>All the component methods of a class share the same {@link ComponentInstances}, whose scope is
+ * given by the {@link McpComponentScope} annotation of the class, singleton by default. A class
+ * with 20 tools is therefore constructed once rather than 20 times.
+ *
+ * <p>Each MCP server has its own registry, so several servers in the same JVM do not share their
+ * component instances. The idle session instances of all the registries are evicted by a single
+ * shared daemon thread.
+ *
+ * <p>The instances are supplied by the {@link InstanceProvider} installed with {@link
+ * com.github.thought2code.mcp.annotated.McpServers#withInstanceProvider}, which the registry of
+ * each started server receives before its components are registered, otherwise by the first
+ * provider found by {@link ServiceLoader}, otherwise with the public no-argument constructor of the
+ * class.
+ *
+ * @author codeboyzhou
+ * @see ComponentInstances
+ * @see InstanceProvider
+ * @see McpComponentScope
+ */
+public final class InstanceRegistry {
+
+  private static final Logger log = LoggerFactory.getLogger(InstanceRegistry.class);
+
+  /** The minimum interval between two evictions of the idle session instances in milliseconds. */
+  private static final long MIN_EVICTION_INTERVAL_MILLIS = 1000L;
+
+  /** The scheduler evicting the idle session instances of all registries, created on first use. */
+  private static ScheduledExecutorService evictor;
+
+  /** The instances of each class. */
+  private final Map<Class<?>, ComponentInstances> instances = new ConcurrentHashMap<>();
+
+  /** The eviction tasks of the session instances of this registry. */
+  private final List<ScheduledFuture<?>> evictions = new CopyOnWriteArrayList<>();
+
+  /** The installed instance provider, or null to use the discovered one. */
+  private volatile InstanceProvider provider;
+
+  /**
+   * Installs the instance provider. Must be called before the MCP server components are registered
+   * to take effect.
+   *
+   * @param instanceProvider the instance provider, or null to use the discovered one
+   */
+  public void setInstanceProvider(InstanceProvider instanceProvider) {
+    provider = instanceProvider;
+  }
+
+  /**
+   * Returns the instances of the specified class, creating them on first use.
+   *
+   * @param type the class declaring MCP server component methods
+   * @return the instances of the specified class
+   */
+  public ComponentInstances instancesOf(Class<?> type) {
+    return instances.computeIfAbsent(type, this::create);
+  }
+
+  /** Closes and forgets all the instances, for example when the MCP server is stopped. */
+  public synchronized void clear() {
+    evictions.forEach(eviction -> eviction.cancel(false));
+    evictions.clear();
+    instances.values().forEach(ComponentInstances::close);
+    instances.clear();
+  }
+
+  /**
+   * Creates the instances of the specified class according to its scope.
+   *
+   * @param type the class declaring MCP server component methods
+   * @return the instances of the specified class
+   */
+  private ComponentInstances create(Class<?> type) {
+    McpComponentScope scope = type.getAnnotation(McpComponentScope.class);
+    InstanceScope instanceScope = scope == null ? InstanceScope.SINGLETON : scope.value();
+    InstanceProvider instanceProvider = resolveProvider();
+    log.debug("Creating {} instances of {}", instanceScope, type.getName());
+
+    return switch (instanceScope) {
+      case SINGLETON -> new ComponentInstances.Shared(type, instanceProvider);
+      case REQUEST -> new ComponentInstances.PerRequest(type, instanceProvider);
+      case POOLED ->
+          new ComponentInstances.Pooled(
+              type, instanceProvider, scope.maxPoolSize(), scope.poolAcquireTimeout());
+      case SESSION -> {
+        ComponentInstances.PerSession sessions =
+            new ComponentInstances.PerSession(type, instanceProvider, scope.sessionIdleTimeout());
+        evictions.add(scheduleEviction(sessions));
+        yield sessions;
+      }
+    };
+  }
+
+  /**
+   * Returns the installed instance provider, or the discovered one, or the reflective one.
+   *
+   * @return the instance provider to use
+   */
+  private InstanceProvider resolveProvider() {
+    InstanceProvider installed = provider;
+    if (installed != null) {
+      return installed;
+    }
+    Iterator<InstanceProvider> discovered = ServiceLoader.load(InstanceProvider.class).iterator();
+    if (discovered.hasNext()) {
+      InstanceProvider instanceProvider = discovered.next();
+      log.info("Using instance provider: {}", instanceProvider.getClass().getName());
+      provider = instanceProvider;
+      return instanceProvider;
+    }
+    return MethodInvoker::createInstance;
+  }
+
+  /**
+   * Schedules the periodic eviction of the idle instances of the specified session instances.
+   *
+   * @param sessions the session instances
+   * @return the scheduled eviction task
+   */
+  private static synchronized ScheduledFuture<?> scheduleEviction(
+      ComponentInstances.PerSession sessions) {
+
+    if (evictor == null) {
+      evictor =
+          Executors.newSingleThreadScheduledExecutor(
+              runnable -> {
+                Thread thread = new Thread(runnable, "mcp-instance-evictor");
+                thread.setDaemon(true);
+                return thread;
+              });
+    }
+    final long interval = Math.max(sessions.idleTimeoutMillis() / 2, MIN_EVICTION_INTERVAL_MILLIS);
+    return evictor.scheduleWithFixedDelay(
+        sessions::evictIdle, interval, interval, TimeUnit.MILLISECONDS);
+  }
+}
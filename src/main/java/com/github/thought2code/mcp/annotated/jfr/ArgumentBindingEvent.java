@@ -0,0 +1,31 @@
+package com.github.thought2code.mcp.annotated.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The Java Flight Recorder event emitted when the arguments of an MCP request are bound to the
+ * parameters of a component method.
+ *
+ * @author codeboyzhou
+ * @see McpJfrEvent
+ */
+@Name(ArgumentBindingEvent.NAME)
+@Label("MCP Argument Binding")
+@Description("Conversion of the MCP request arguments to the method parameters")
+public class ArgumentBindingEvent extends McpJfrEvent {
+
+  /** The name of this event type. */
+  public static final String NAME = "io.github.thought2code.mcp.ArgumentBinding";
+
+  /** The number of arguments in the MCP request. */
+  @Label("Argument Size")
+  @Description("The number of arguments in the MCP request")
+  public int argumentSize;
+
+  /** The number of parameters of the component method, 0 if it binds no argument. */
+  @Label("Parameter Count")
+  @Description("The number of parameters of the component method")
+  public int parameterCount;
+}
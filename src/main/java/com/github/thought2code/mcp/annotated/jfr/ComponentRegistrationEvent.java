@@ -0,0 +1,23 @@
+package com.github.thought2code.mcp.annotated.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The Java Flight Recorder event emitted when an MCP server component is registered.
+ *
+ * <p>The event duration covers the creation of the component specification (schema generation,
+ * localization and instance creation) and its registration with the MCP server.
+ *
+ * @author codeboyzhou
+ * @see McpJfrEvent
+ */
+@Name(ComponentRegistrationEvent.NAME)
+@Label("MCP Component Registration")
+@Description("Registration of an MCP tool, prompt or resource")
+public class ComponentRegistrationEvent extends McpJfrEvent {
+
+  /** The name of this event type. */
+  public static final String NAME = "io.github.thought2code.mcp.ComponentRegistration";
+}
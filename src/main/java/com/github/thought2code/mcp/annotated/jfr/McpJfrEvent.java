@@ -0,0 +1,71 @@
+package com.github.thought2code.mcp.annotated.jfr;
+
+import com.github.thought2code.mcp.annotated.context.McpRequestContext;
+import com.github.thought2code.mcp.annotated.reflect.MethodCache;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * The base class of the Java Flight Recorder events emitted by the MCP server.
+ *
+ * <p>All MCP events share the {@code MCP} category and carry the type and name of the MCP server
+ * component together with the session id of the MCP request, so the events can be correlated with
+ * the tool, prompt or resource that caused them in JDK Mission Control.
+ *
+ * <p>The events are disabled by default and do not record stack traces. A disabled event costs a
+ * single allocation that the JIT compiler eliminates by escape analysis, so the events stay
+ * compiled in permanently. Enable them with the bundled {@code mcp-server.jfc} settings, see {@link
+ * McpJfrSettings}.
+ *
+ * <p>Typical usage:
+ *
+ * <pre>{@code
+ * MethodInvocationEvent event = new MethodInvocationEvent();
+ * event.begin();
+ * // do the work
+ * if (event.shouldCommit()) {
+ *   event.fill(methodCache);
+ *   event.commit();
+ * }
+ * }</pre>
+ *
+ * @author codeboyzhou
+ * @see McpJfrSettings
+ * @see Event
+ */
+@Enabled(false)
+@StackTrace(false)
+@Category("MCP")
+public abstract class McpJfrEvent extends Event {
+
+  /** The type of the MCP server component. */
+  @Label("Component Type")
+  @Description("The type of the MCP server component: TOOL, PROMPT, RESOURCE or COMPLETION")
+  String componentType;
+
+  /** The name of the MCP server component. */
+  @Label("Component Name")
+  @Description("The name of the tool or prompt, the resource name or the completion reference")
+  String componentName;
+
+  /** The session id of the MCP request. */
+  @Label("Session Id")
+  @Description("The id of the MCP session that sent the request, empty if not available")
+  String sessionId;
+
+  /**
+   * Fills the component and session fields of this event from the specified method cache and the
+   * current request context.
+   *
+   * @param methodCache the method cache of the component method
+   */
+  public void fill(MethodCache methodCache) {
+    this.componentType = methodCache.getComponentType().name();
+    this.componentName = methodCache.getComponentName();
+    this.sessionId = McpRequestContext.currentSessionId();
+  }
+}
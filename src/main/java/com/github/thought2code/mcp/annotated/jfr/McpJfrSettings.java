@@ -0,0 +1,89 @@
+package com.github.thought2code.mcp.annotated.jfr;
+
+import com.github.thought2code.mcp.annotated.exception.McpServerException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.util.HashMap;
+import java.util.Map;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+/**
+ * Utility class for the bundled Java Flight Recorder settings of the MCP server events.
+ *
+ * <p>The MCP events are disabled by default. The bundled {@code mcp-server.jfc} settings file
+ * enables them with thresholds suited for production use. It can be used in two ways:
+ *
+ * <ul>
+ *   <li>Programmatically, with {@link #newRecording(String)} that combines a built-in JDK
+ *       configuration such as {@code default} or {@code profile} with the MCP settings
+ *   <li>From the command line, by extracting {@code mcp-server.jfc} from the jar and passing it to
+ *       {@code -XX:StartFlightRecording:settings=default,settings=mcp-server.jfc}
+ * </ul>
+ *
+ * @author codeboyzhou
+ * @see McpJfrEvent
+ * @see Configuration
+ */
+public final class McpJfrSettings {
+
+  /** The classpath location of the bundled MCP settings file. */
+  public static final String SETTINGS_FILE_NAME = "mcp-server.jfc";
+
+  /**
+   * Private constructor to prevent instantiation of this utility class.
+   *
+   * @throws UnsupportedOperationException always thrown when attempting to instantiate
+   */
+  private McpJfrSettings() {
+    throw new UnsupportedOperationException("Utility class should not be instantiated");
+  }
+
+  /**
+   * Loads the bundled MCP settings.
+   *
+   * @return the bundled MCP settings
+   * @throws McpServerException if the settings file cannot be found or parsed
+   */
+  public static Configuration load() {
+    ClassLoader classLoader = McpJfrSettings.class.getClassLoader();
+    try (InputStream input = classLoader.getResourceAsStream(SETTINGS_FILE_NAME)) {
+      if (input == null) {
+        throw new McpServerException("JFR settings file not found: " + SETTINGS_FILE_NAME);
+      }
+      try (Reader reader = new InputStreamReader(input, StandardCharsets.UTF_8)) {
+        return Configuration.create(reader);
+      }
+    } catch (IOException | ParseException e) {
+      throw new McpServerException("Failed to load JFR settings file: " + SETTINGS_FILE_NAME, e);
+    }
+  }
+
+  /**
+   * Creates a new recording with the specified built-in JDK configuration and the bundled MCP
+   * settings on top of it.
+   *
+   * <p>The returned recording is not started yet.
+   *
+   * @param jdkConfigurationName the name of the built-in JDK configuration, e.g. {@code default}
+   * @return a new recording with the combined settings
+   * @throws McpServerException if any of the configurations cannot be loaded
+   */
+  public static Recording newRecording(String jdkConfigurationName) {
+    Map<String, String> settings = new HashMap<>();
+    try {
+      settings.putAll(Configuration.getConfiguration(jdkConfigurationName).getSettings());
+    } catch (IOException | ParseException e) {
+      throw new McpServerException("Failed to load JFR configuration: " + jdkConfigurationName, e);
+    }
+    settings.putAll(load().getSettings());
+
+    Recording recording = new Recording(settings);
+    recording.setName("mcp-server");
+    return recording;
+  }
+}
@@ -0,0 +1,30 @@
+package com.github.thought2code.mcp.annotated.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The Java Flight Recorder event emitted when a component method is invoked by reflection.
+ *
+ * @author codeboyzhou
+ * @see McpJfrEvent
+ */
+@Name(MethodInvocationEvent.NAME)
+@Label("MCP Method Invocation")
+@Description("Reflective invocation of an MCP tool, prompt, resource or completion method")
+public class MethodInvocationEvent extends McpJfrEvent {
+
+  /** The name of this event type. */
+  public static final String NAME = "io.github.thought2code.mcp.MethodInvocation";
+
+  /** The number of arguments passed to the method. */
+  @Label("Argument Size")
+  @Description("The number of arguments passed to the method")
+  public int argumentSize;
+
+  /** Whether the invocation ended with an error. */
+  @Label("Error")
+  @Description("Whether the invocation ended with an error")
+  public boolean error;
+}
@@ -0,0 +1,31 @@
+package com.github.thought2code.mcp.annotated.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The Java Flight Recorder event emitted when the result of a component method is converted to the
+ * MCP result returned to the client.
+ *
+ * @author codeboyzhou
+ * @see McpJfrEvent
+ */
+@Name(ResultBuildingEvent.NAME)
+@Label("MCP Result Building")
+@Description("Conversion of the method result to the MCP result")
+public class ResultBuildingEvent extends McpJfrEvent {
+
+  /** The name of this event type. */
+  public static final String NAME = "io.github.thought2code.mcp.ResultBuilding";
+
+  /** The size of the text content of the result. */
+  @Label("Result Size")
+  @Description("The number of characters of the text content of the result")
+  public long resultSize;
+
+  /** Whether the result is an error. */
+  @Label("Error")
+  @Description("Whether the result is an error")
+  public boolean error;
+}
@@ -0,0 +1,17 @@
+package com.github.thought2code.mcp.annotated.journal;
+
+import com.github.thought2code.mcp.annotated.enums.MessageDirection;
+
+/**
+ * This record represents a JSON-RPC message recorded in the traffic journal.
+ *
+ * @param timestampEpochNanos the time the message was received or sent, in epoch nanoseconds
+ * @param direction the direction of the message
+ * @param sessionId the id of the MCP session of the message, empty if unknown
+ * @param payload the JSON-RPC message as JSON text
+ * @author codeboyzhou
+ * @see JournalWriter
+ * @see JournalReader
+ */
+public record JournalEntry(
+    long timestampEpochNanos, MessageDirection direction, String sessionId, String payload) {}
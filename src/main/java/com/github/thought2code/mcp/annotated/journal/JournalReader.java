@@ -0,0 +1,86 @@
+package com.github.thought2code.mcp.annotated.journal;
+
+import com.github.thought2code.mcp.annotated.enums.MessageDirection;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads the entries of a journal file written by {@link JournalWriter}.
+ *
+ * <p>A truncated last entry, as left by a server that was killed while writing, is ignored with a
+ * warning rather than failing the whole read.
+ *
+ * @author codeboyzhou
+ * @see JournalWriter
+ */
+public final class JournalReader {
+
+  private static final Logger log = LoggerFactory.getLogger(JournalReader.class);
+
+  /**
+   * Private constructor to prevent instantiation of this utility class.
+   *
+   * @throws UnsupportedOperationException always thrown when attempting to instantiate
+   */
+  private JournalReader() {
+    throw new UnsupportedOperationException("Utility class should not be instantiated");
+  }
+
+  /**
+   * Reads all the entries of the specified journal file, in the order they were written.
+   *
+   * @param file the journal file
+   * @return the entries of the journal file
+   * @throws IOException if the file cannot be read or is not a journal file
+   */
+  public static List<JournalEntry> readAll(Path file) throws IOException {
+    MessageDirection[] directions = MessageDirection.values();
+    List<JournalEntry> entries = new ArrayList<>();
+    try (DataInputStream input =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 64 * 1024))) {
+
+      byte[] magic = new byte[JournalWriter.MAGIC.length];
+      input.readFully(magic);
+      final int version = input.readUnsignedByte();
+      if (!Arrays.equals(magic, JournalWriter.MAGIC) || version != JournalWriter.VERSION) {
+        throw new IOException("Not a version " + JournalWriter.VERSION + " journal: " + file);
+      }
+
+      while (true) {
+        final int length;
+        try {
+          length = input.readInt();
+        } catch (EOFException e) {
+          break;
+        }
+
+        byte[] entry = new byte[length];
+        try {
+          input.readFully(entry);
+        } catch (EOFException e) {
+          log.warn("Ignoring truncated last entry of journal {}", file);
+          break;
+        }
+
+        DataInputStream data = new DataInputStream(new ByteArrayInputStream(entry));
+        final long timestamp = data.readLong();
+        final MessageDirection direction = directions[data.readUnsignedByte()];
+        final String sessionId = data.readUTF();
+        final String payload = new String(data.readAllBytes(), StandardCharsets.UTF_8);
+        entries.add(new JournalEntry(timestamp, direction, sessionId, payload));
+      }
+    }
+    return entries;
+  }
+}
@@ -0,0 +1,207 @@
+package com.github.thought2code.mcp.annotated.journal;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Appends journal entries to a journal file, asynchronously and in batches.
+ *
+ * <p>The journal file starts with the {@link #MAGIC} bytes and the {@link #VERSION} byte, followed
+ * by the entries. Each entry is length-prefixed so that a reader can skip it or detect a truncated
+ * tail, and is laid out as:
+ *
+ * <pre>
+ * int    length of the rest of the entry in bytes
+ * long   timestamp in epoch nanoseconds
+ * byte   direction, the ordinal of MessageDirection
+ * UTF    session id, in the modified UTF-8 of DataOutput#writeUTF
+ * byte[] payload, the JSON-RPC message in UTF-8
+ * </pre>
+ *
+ * <p>{@link #append(JournalEntry)} only offers the entry to a bounded queue, so the transport
+ * threads never wait for the disk. A background daemon thread writes the queued entries in batches
+ * and flushes once per batch. When the queue is full, new entries are dropped and counted rather
+ * than slowing down the server.
+ *
+ * @author codeboyzhou
+ * @see JournalReader
+ */
+public final class JournalWriter implements AutoCloseable {
+
+  private static final Logger log = LoggerFactory.getLogger(JournalWriter.class);
+
+  /** The magic bytes at the start of a journal file. */
+  static final byte[] MAGIC = {'M', 'C', 'P', 'J'};
+
+  /** The version of the journal format. */
+  static final int VERSION = 1;
+
+  /** The maximum number of entries written at once. */
+  private static final int MAX_BATCH_SIZE = 1024;
+
+  /** The journal file. */
+  private final Path file;
+
+  /** The output of the journal file. */
+  private final DataOutputStream output;
+
+  /** The queue of the entries waiting to be written. */
+  private final BlockingQueue<JournalEntry> queue;
+
+  /** The interval between two writes in milliseconds. */
+  private final long flushIntervalMillis;
+
+  /** The number of entries dropped because the queue was full. */
+  private final AtomicLong dropped = new AtomicLong();
+
+  /** The background thread writing the entries. */
+  private final Thread worker;
+
+  /** Whether this writer is closed. */
+  private volatile boolean closed;
+
+  /**
+   * Opens the specified journal file for appending and starts the background writer thread.
+   *
+   * @param file the journal file, created with a header if it does not exist or is empty
+   * @param queueSize the maximum number of entries waiting to be written
+   * @param flushIntervalMillis the interval between two writes in milliseconds
+   * @throws IOException if the journal file cannot be opened
+   */
+  public JournalWriter(Path file, int queueSize, long flushIntervalMillis) throws IOException {
+    this.file = file;
+    final boolean isNew = Files.notExists(file) || Files.size(file) == 0;
+    this.output =
+        new DataOutputStream(
+            new BufferedOutputStream(
+                Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND),
+                64 * 1024));
+    if (isNew) {
+      output.write(MAGIC);
+      output.writeByte(VERSION);
+      output.flush();
+    }
+    this.queue = new ArrayBlockingQueue<>(queueSize);
+    this.flushIntervalMillis = flushIntervalMillis;
+    this.worker = new Thread(this::work, "mcp-journal-writer");
+    this.worker.setDaemon(true);
+    this.worker.start();
+  }
+
+  /**
+   * Offers an entry for writing, dropping it if the queue is full or the writer is closed.
+   *
+   * @param entry the entry to write
+   */
+  public void append(JournalEntry entry) {
+    if (closed) {
+      return;
+    }
+    if (!queue.offer(entry)) {
+      final long count = dropped.incrementAndGet();
+      if (count == 1 || count % 1000 == 0) {
+        log.warn("Journal queue is full, {} messages dropped so far", count);
+      }
+    }
+  }
+
+  /**
+   * Returns the number of entries dropped because the queue was full.
+   *
+   * @return the number of entries dropped because the queue was full
+   */
+  public long dropped() {
+    return dropped.get();
+  }
+
+  /** Writes all queued entries on the calling thread and flushes the journal file. */
+  public synchronized void flush() {
+    List<JournalEntry> batch = new ArrayList<>();
+    try {
+      while (queue.drainTo(batch, MAX_BATCH_SIZE) > 0) {
+        for (JournalEntry entry : batch) {
+          write(entry);
+        }
+        batch.clear();
+      }
+      output.flush();
+    } catch (IOException e) {
+      log.error("Failed to write journal {}, {} messages lost", file, batch.size(), e);
+    }
+  }
+
+  /** Writes the remaining entries, stops the background thread and closes the journal file. */
+  @Override
+  public void close() {
+    closed = true;
+    worker.interrupt();
+    try {
+      worker.join(TimeUnit.SECONDS.toMillis(5));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    flush();
+    try {
+      output.close();
+    } catch (IOException e) {
+      log.warn("Failed to close journal {}", file, e);
+    }
+  }
+
+  /** The loop of the background thread. */
+  private void work() {
+    while (!closed) {
+      try {
+        Thread.sleep(flushIntervalMillis);
+      } catch (InterruptedException e) {
+        return;
+      }
+      flush();
+    }
+  }
+
+  /**
+   * Writes an entry to the journal file.
+   *
+   * @param entry the entry to write
+   * @throws IOException if the entry cannot be written
+   */
+  private void write(JournalEntry entry) throws IOException {
+    final byte[] session = sessionBytes(entry.sessionId());
+    final byte[] payload = entry.payload().getBytes(StandardCharsets.UTF_8);
+    output.writeInt(Long.BYTES + 1 + session.length + payload.length);
+    output.writeLong(entry.timestampEpochNanos());
+    output.writeByte(entry.direction().ordinal());
+    output.write(session);
+    output.write(payload);
+  }
+
+  /**
+   * Encodes a session id as written by {@link DataOutputStream#writeUTF(String)}.
+   *
+   * @param sessionId the session id
+   * @return the encoded session id, including its length prefix
+   * @throws IOException if the session id is too long
+   */
+  private static byte[] sessionBytes(String sessionId) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(sessionId.length() + 2);
+    try (DataOutputStream data = new DataOutputStream(bytes)) {
+      data.writeUTF(sessionId);
+    }
+    return bytes.toByteArray();
+  }
+}
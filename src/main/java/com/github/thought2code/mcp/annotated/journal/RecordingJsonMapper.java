@@ -0,0 +1,134 @@
+package com.github.thought2code.mcp.annotated.journal;
+
+import com.github.thought2code.mcp.annotated.util.Immutable;
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.json.TypeRef;
+import io.modelcontextprotocol.spec.McpSchema;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * A JSON mapper that records the JSON-RPC messages it reads and writes with {@link
+ * TrafficRecorder}, delegating the mapping itself to another JSON mapper.
+ *
+ * <p>The MCP transport providers read every received JSON-RPC message from its JSON text into a
+ * map, and write every sent JSON-RPC message to JSON text, with their JSON mapper. Installing this
+ * mapper in a transport provider therefore records its whole traffic, without depending on the
+ * internals of the transport.
+ *
+ * @author codeboyzhou
+ * @see TrafficRecorder
+ */
+public class RecordingJsonMapper implements McpJsonMapper {
+
+  /** The key present in every JSON-RPC message. */
+  private static final String JSONRPC = "jsonrpc";
+
+  /** The mapper the mapping is delegated to. */
+  private final Immutable<McpJsonMapper> delegate;
+
+  /** The session id of the messages when none can be resolved. */
+  private final String defaultSessionId;
+
+  /**
+   * Creates a new instance of {@code RecordingJsonMapper}.
+   *
+   * @param delegate the mapper the mapping is delegated to
+   * @param defaultSessionId the session id of the messages when none can be resolved
+   */
+  public RecordingJsonMapper(McpJsonMapper delegate, String defaultSessionId) {
+    this.delegate = Immutable.of(delegate);
+    this.defaultSessionId = defaultSessionId;
+  }
+
+  @Override
+  public <T> T readValue(String content, Class<T> type) throws IOException {
+    return recordInbound(content, delegate.get().readValue(content, type));
+  }
+
+  @Override
+  public <T> T readValue(byte[] content, Class<T> type) throws IOException {
+    return recordInbound(content, delegate.get().readValue(content, type));
+  }
+
+  @Override
+  public <T> T readValue(String content, TypeRef<T> type) throws IOException {
+    return recordInbound(content, delegate.get().readValue(content, type));
+  }
+
+  @Override
+  public <T> T readValue(byte[] content, TypeRef<T> type) throws IOException {
+    return recordInbound(content, delegate.get().readValue(content, type));
+  }
+
+  @Override
+  public <T> T convertValue(Object fromValue, Class<T> type) {
+    return delegate.get().convertValue(fromValue, type);
+  }
+
+  @Override
+  public <T> T convertValue(Object fromValue, TypeRef<T> type) {
+    return delegate.get().convertValue(fromValue, type);
+  }
+
+  @Override
+  public String writeValueAsString(Object value) throws IOException {
+    final String json = delegate.get().writeValueAsString(value);
+    if (value instanceof McpSchema.JSONRPCMessage message) {
+      TrafficRecorder.recordOutbound(json, responseId(message), defaultSessionId);
+    }
+    return json;
+  }
+
+  @Override
+  public byte[] writeValueAsBytes(Object value) throws IOException {
+    final byte[] json = delegate.get().writeValueAsBytes(value);
+    if (value instanceof McpSchema.JSONRPCMessage message) {
+      final String payload = new String(json, StandardCharsets.UTF_8);
+      TrafficRecorder.recordOutbound(payload, responseId(message), defaultSessionId);
+    }
+    return json;
+  }
+
+  /**
+   * Records the specified content if it was read as a JSON-RPC message.
+   *
+   * @param <T> the type of the read value
+   * @param content the JSON text
+   * @param value the value read from the JSON text
+   * @return the value read from the JSON text
+   */
+  private <T> T recordInbound(String content, T value) {
+    if (value instanceof Map<?, ?> map && map.containsKey(JSONRPC)) {
+      final Object requestId = map.containsKey("method") ? map.get("id") : null;
+      TrafficRecorder.recordInbound(content, requestId, defaultSessionId);
+    }
+    return value;
+  }
+
+  /**
+   * Records the specified content if it was read as a JSON-RPC message.
+   *
+   * @param <T> the type of the read value
+   * @param content the JSON text in UTF-8
+   * @param value the value read from the JSON text
+   * @return the value read from the JSON text
+   */
+  private <T> T recordInbound(byte[] content, T value) {
+    if (value instanceof Map<?, ?> map && map.containsKey(JSONRPC)) {
+      return recordInbound(new String(content, StandardCharsets.UTF_8), value);
+    }
+    return value;
+  }
+
+  /**
+   * Returns the id of the specified message if it is a response.
+   *
+   * @param message the JSON-RPC message
+   * @return the id of the message if it is a response, null otherwise
+   */
+  private static Object responseId(McpSchema.JSONRPCMessage message) {
+    return message instanceof McpSchema.JSONRPCResponse response ? response.id() : null;
+  }
+}
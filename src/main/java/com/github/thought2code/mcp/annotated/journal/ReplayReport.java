@@ -0,0 +1,58 @@
+package com.github.thought2code.mcp.annotated.journal;
+
+import java.util.List;
+
+/**
+ * This record represents the latency comparison between the recorded and the replayed traffic, per
+ * MCP operation such as {@code tools/call add}.
+ *
+ * @param entries the comparison of each replayed operation, sorted by operation
+ * @author codeboyzhou
+ * @see TrafficReplayer
+ */
+public record ReplayReport(List<Entry> entries) {
+
+  /**
+   * Compact constructor that creates a defensive copy of the entries.
+   *
+   * @param entries the comparison of each replayed operation
+   */
+  public ReplayReport {
+    entries = List.copyOf(entries);
+  }
+
+  /**
+   * This record represents the latency comparison of a replayed operation.
+   *
+   * <p>The recorded latency is measured in the server, from the receipt of the request to the
+   * sending of its response, while the replayed latency is measured in the replaying client. The
+   * recorded latencies are 0 if no response of the operation was recorded.
+   *
+   * @param operation the MCP operation, such as {@code tools/call add}
+   * @param requests the number of replayed requests
+   * @param errors the number of replayed requests that failed or returned an error result
+   * @param recordedMeanMillis the mean recorded latency in milliseconds
+   * @param recordedP95Millis the 95th percentile of the recorded latency in milliseconds
+   * @param replayedMeanMillis the mean replayed latency in milliseconds
+   * @param replayedP95Millis the 95th percentile of the replayed latency in milliseconds
+   */
+  public record Entry(
+      String operation,
+      int requests,
+      int errors,
+      double recordedMeanMillis,
+      double recordedP95Millis,
+      double replayedMeanMillis,
+      double replayedP95Millis) {
+
+    /**
+     * Returns the difference between the replayed and the recorded mean latency, a positive value
+     * means the replayed build is slower.
+     *
+     * @return the difference between the mean latencies in milliseconds
+     */
+    public double meanDifferenceMillis() {
+      return replayedMeanMillis - recordedMeanMillis;
+    }
+  }
+}
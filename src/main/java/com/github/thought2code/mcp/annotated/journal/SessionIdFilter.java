@@ -0,0 +1,46 @@
+package com.github.thought2code.mcp.annotated.journal;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Binds the MCP session id of an HTTP request to the servlet thread while the request is handled,
+ * so that {@link TrafficRecorder} can attribute the received messages to their session.
+ *
+ * <p>The session id is read from the {@code Mcp-Session-Id} header of the Streamable HTTP
+ * transport, or from the {@code sessionId} query parameter of the HTTP SSE transport.
+ *
+ * @author codeboyzhou
+ * @see TrafficRecorder
+ */
+public class SessionIdFilter extends HttpFilter {
+
+  private static final long serialVersionUID = 1L;
+
+  /** The session id header of the Streamable HTTP transport. */
+  private static final String SESSION_ID_HEADER = "Mcp-Session-Id";
+
+  /** The session id query parameter of the HTTP SSE transport. */
+  private static final String SESSION_ID_PARAMETER = "sessionId";
+
+  @Override
+  protected void doFilter(
+      HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws IOException, ServletException {
+
+    String sessionId = request.getHeader(SESSION_ID_HEADER);
+    if (sessionId == null) {
+      sessionId = request.getParameter(SESSION_ID_PARAMETER);
+    }
+    TrafficRecorder.bindSession(sessionId);
+    try {
+      chain.doFilter(request, response);
+    } finally {
+      TrafficRecorder.unbindSession();
+    }
+  }
+}
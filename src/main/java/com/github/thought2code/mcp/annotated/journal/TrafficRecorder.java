@@ -0,0 +1,285 @@
+package com.github.thought2code.mcp.annotated.journal;
+
+import com.github.thought2code.mcp.annotated.configuration.McpServerJournal;
+import com.github.thought2code.mcp.annotated.enums.MessageDirection;
+import com.github.thought2code.mcp.annotated.exception.McpServerConfigurationException;
+import com.github.thought2code.mcp.annotated.tracing.Tracer;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Records the JSON-RPC messages flowing through the MCP server transport to a traffic journal.
+ *
+ * <p>The messages are captured by {@link RecordingJsonMapper}, which the transport providers use to
+ * read and write every JSON-RPC message, so the recording works the same way for the stdio and
+ * HTTP-based server modes. The session id of a message is resolved as follows:
+ *
+ * <ul>
+ *   <li>The session bound to the current thread by {@link SessionIdFilter}, for the messages
+ *       received by the HTTP-based server modes
+ *   <li>For a response, the session of the request with the same id, since responses are usually
+ *       sent from another thread than the one that received the request. Request ids are only
+ *       unique within a session, so the session of the request handled by the current thread is
+ *       tried first, see {@link #bindResponseSession(String)}, then the only session awaiting a
+ *       response with that id, or the one which has been waiting the longest
+ *   <li>The default session id of the transport otherwise, such as {@code stdio}
+ * </ul>
+ *
+ * <p>The sessions of at most 10,000 requests awaiting a response are remembered. A request left
+ * without a response for 5 minutes is forgotten, and the oldest request is forgotten to make room
+ * for a new one.
+ *
+ * <p>The messages are written by an asynchronous batched {@link JournalWriter}, so recording can
+ * stay enabled under load. The remaining messages are written when the JVM shuts down.
+ *
+ * @author codeboyzhou
+ * @see JournalWriter
+ * @see TrafficReplayer
+ */
+public final class TrafficRecorder {
+
+  private static final Logger log = LoggerFactory.getLogger(TrafficRecorder.class);
+
+  /** The maximum number of requests awaiting a response whose session is remembered. */
+  private static final int MAX_IN_FLIGHT = 10_000;
+
+  /** The time after which a request awaiting a response is forgotten, in nanoseconds. */
+  private static final long IN_FLIGHT_TTL = TimeUnit.MINUTES.toNanos(5);
+
+  /** The session id bound to each thread by {@link SessionIdFilter}. */
+  private static final ThreadLocal<String> SESSION = new ThreadLocal<>();
+
+  /** The session id of the request handled by each thread, see {@link #bindResponseSession}. */
+  private static final ThreadLocal<String> RESPONSE_SESSION = new ThreadLocal<>();
+
+  /**
+   * The receive times of the requests awaiting a response, keyed by session and JSON-RPC request
+   * id, in receiving order, guarded by itself.
+   */
+  private static final Map<InFlight, Long> IN_FLIGHT = new LinkedHashMap<>();
+
+  /** The journal writer, or null if recording is disabled. */
+  private static volatile JournalWriter writer;
+
+  /** Whether the shutdown hook writing the remaining messages is registered. */
+  private static boolean shutdownHookRegistered;
+
+  /**
+   * Private constructor to prevent instantiation of this utility class.
+   *
+   * @throws UnsupportedOperationException always thrown when attempting to instantiate
+   */
+  private TrafficRecorder() {
+    throw new UnsupportedOperationException("Utility class should not be instantiated");
+  }
+
+  /**
+   * Configures traffic recording with the specified configuration.
+   *
+   * @param journal the traffic journal configuration
+   * @throws McpServerConfigurationException if the journal file cannot be opened
+   */
+  public static synchronized void configure(McpServerJournal journal) {
+    shutdown();
+    if (!journal.enabled()) {
+      return;
+    }
+
+    final Path file = Path.of(journal.file());
+    try {
+      writer = new JournalWriter(file, journal.queueSize(), journal.flushInterval());
+    } catch (IOException e) {
+      throw new McpServerConfigurationException("Failed to open journal file " + file, e);
+    }
+    if (!shutdownHookRegistered) {
+      Runtime.getRuntime()
+          .addShutdownHook(new Thread(TrafficRecorder::shutdown, "mcp-journal-shutdown"));
+      shutdownHookRegistered = true;
+    }
+    log.info("Traffic recording enabled, journal file: {}", file.toAbsolutePath());
+  }
+
+  /**
+   * Returns whether traffic recording is enabled.
+   *
+   * @return {@code true} if traffic recording is enabled, {@code false} otherwise
+   */
+  public static boolean isEnabled() {
+    return writer != null;
+  }
+
+  /** Writes the queued messages to the journal file. */
+  public static void flush() {
+    JournalWriter current = writer;
+    if (current != null) {
+      current.flush();
+    }
+  }
+
+  /** Disables traffic recording, writing the queued messages first. */
+  public static synchronized void shutdown() {
+    JournalWriter current = writer;
+    writer = null;
+    synchronized (IN_FLIGHT) {
+      IN_FLIGHT.clear();
+    }
+    if (current != null) {
+      current.close();
+    }
+  }
+
+  /**
+   * Binds the specified session id to the current thread.
+   *
+   * @param sessionId the session id, may be null if the request has none yet
+   */
+  static void bindSession(@Nullable String sessionId) {
+    if (sessionId == null) {
+      SESSION.remove();
+    } else {
+      SESSION.set(sessionId);
+    }
+  }
+
+  /** Removes the session id bound to the current thread. */
+  static void unbindSession() {
+    SESSION.remove();
+  }
+
+  /**
+   * Binds the session id of the request handled by the current thread, used to resolve the session
+   * of the response sent next from this thread.
+   *
+   * @param sessionId the session id of the request, ignored if empty
+   */
+  public static void bindResponseSession(String sessionId) {
+    if (writer != null && !sessionId.isEmpty()) {
+      RESPONSE_SESSION.set(sessionId);
+    }
+  }
+
+  /**
+   * Returns the number of requests awaiting a response whose session is remembered.
+   *
+   * @return the number of requests awaiting a response
+   */
+  static int inFlight() {
+    synchronized (IN_FLIGHT) {
+      return IN_FLIGHT.size();
+    }
+  }
+
+  /**
+   * Records a message received by the server.
+   *
+   * @param payload the message as JSON text
+   * @param requestId the id of the message if it is a request, null otherwise
+   * @param defaultSessionId the session id used if none is bound to the current thread
+   */
+  static void recordInbound(String payload, @Nullable Object requestId, String defaultSessionId) {
+
+    JournalWriter current = writer;
+    if (current == null) {
+      return;
+    }
+
+    final String bound = SESSION.get();
+    final String sessionId = bound == null ? defaultSessionId : bound;
+    if (requestId != null && !sessionId.isEmpty()) {
+      track(new InFlight(sessionId, requestId));
+    }
+    current.append(
+        new JournalEntry(Tracer.nowEpochNanos(), MessageDirection.INBOUND, sessionId, payload));
+  }
+
+  /**
+   * Records a message sent by the server.
+   *
+   * @param payload the message as JSON text
+   * @param responseId the id of the message if it is a response, null otherwise
+   * @param defaultSessionId the session id used if none can be resolved
+   */
+  static void recordOutbound(String payload, @Nullable Object responseId, String defaultSessionId) {
+
+    JournalWriter current = writer;
+    if (current == null) {
+      return;
+    }
+
+    String sessionId = null;
+    if (responseId != null) {
+      sessionId = resolve(responseId, RESPONSE_SESSION.get());
+      RESPONSE_SESSION.remove();
+    }
+    if (sessionId == null) {
+      final String bound = SESSION.get();
+      sessionId = bound == null ? defaultSessionId : bound;
+    }
+    current.append(
+        new JournalEntry(Tracer.nowEpochNanos(), MessageDirection.OUTBOUND, sessionId, payload));
+  }
+
+  /**
+   * Remembers the session of a request awaiting a response, forgetting the stale and the oldest
+   * requests first.
+   *
+   * @param request the session and id of the request
+   */
+  private static void track(InFlight request) {
+    final long now = System.nanoTime();
+    synchronized (IN_FLIGHT) {
+      Iterator<Long> receivedAt = IN_FLIGHT.values().iterator();
+      while (receivedAt.hasNext()) {
+        final long received = receivedAt.next();
+        if (now - received < IN_FLIGHT_TTL && IN_FLIGHT.size() < MAX_IN_FLIGHT) {
+          // the next requests are received later and not stale either
+          break;
+        }
+        receivedAt.remove();
+      }
+      // a reused id is moved to the end, as the request it now identifies is the newest one
+      IN_FLIGHT.remove(request);
+      IN_FLIGHT.put(request, now);
+    }
+  }
+
+  /**
+   * Resolves and forgets the session of the request a response is sent for.
+   *
+   * @param responseId the id of the response
+   * @param candidate the session of the request handled by the current thread, may be null
+   * @return the session id, or null if no request awaiting a response has that id
+   */
+  @Nullable
+  private static String resolve(Object responseId, @Nullable String candidate) {
+    synchronized (IN_FLIGHT) {
+      if (candidate != null && IN_FLIGHT.remove(new InFlight(candidate, responseId)) != null) {
+        return candidate;
+      }
+      Iterator<InFlight> requests = IN_FLIGHT.keySet().iterator();
+      while (requests.hasNext()) {
+        final InFlight request = requests.next();
+        if (request.id().equals(responseId)) {
+          requests.remove();
+          return request.sessionId();
+        }
+      }
+      return null;
+    }
+  }
+
+  /**
+   * A request awaiting a response.
+   *
+   * @param sessionId the id of the session which sent the request
+   * @param id the JSON-RPC id of the request, only unique within its session
+   */
+  private record InFlight(String sessionId, Object id) {}
+}
@@ -0,0 +1,524 @@
+package com.github.thought2code.mcp.annotated.journal;
+
+import com.github.thought2code.mcp.annotated.enums.MessageDirection;
+import com.github.thought2code.mcp.annotated.enums.ReplaySpeed;
+import com.github.thought2code.mcp.annotated.util.JacksonHelper;
+import io.modelcontextprotocol.client.McpClient;
+import io.modelcontextprotocol.client.McpSyncClient;
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.spec.McpClientTransport;
+import io.modelcontextprotocol.spec.McpSchema;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Re-drives the traffic of a journal recorded by {@link TrafficRecorder} against a running MCP
+ * server, and compares the latencies with the recorded ones.
+ *
+ * <p>The tool calls, prompt requests, resource reads and completion requests of the journal are
+ * replayed, each recorded session being replayed by its own client session. The initialization
+ * handshake and the notifications are not replayed, since each client session performs its own. The
+ * requests are sent with their recorded spacing, with a scaled spacing, or as fast as possible, see
+ * {@link ReplaySpeed}.
+ *
+ * <pre>{@code
+ * ReplayReport report =
+ *     TrafficReplayer.builder()
+ *         .journal(Path.of("mcp-server.journal"))
+ *         .transport(() -> HttpClientStreamableHttpTransport.builder("http://localhost:8080")
+ *             .endpoint("/mcp/message").build())
+ *         .speed(ReplaySpeed.SCALED)
+ *         .scale(2.0)
+ *         .build()
+ *         .replay();
+ * }</pre>
+ *
+ * @author codeboyzhou
+ * @see TrafficRecorder
+ * @see ReplayReport
+ */
+public final class TrafficReplayer {
+
+  private static final Logger log = LoggerFactory.getLogger(TrafficReplayer.class);
+
+  /** The JSON-RPC methods that are replayed. */
+  private static final Set<String> REPLAYED_METHODS =
+      Set.of(
+          McpSchema.METHOD_TOOLS_CALL,
+          McpSchema.METHOD_PROMPT_GET,
+          McpSchema.METHOD_RESOURCES_READ,
+          McpSchema.METHOD_COMPLETION_COMPLETE);
+
+  /** The percentile reported next to the mean latency. */
+  private static final double PERCENTILE = 0.95;
+
+  /** The mapper of the recorded messages. */
+  private final McpJsonMapper jsonMapper = JacksonHelper.mcpJsonMapper();
+
+  /** The journal file to replay. */
+  private final Path journal;
+
+  /** The factory of the client transports, called once per replayed session. */
+  private final Supplier<McpClientTransport> transport;
+
+  /** The pacing of the replayed requests. */
+  private final ReplaySpeed speed;
+
+  /** The factor the recorded spacing is divided by with {@link ReplaySpeed#SCALED}. */
+  private final double scale;
+
+  /** The number of threads sending the requests. */
+  private final int threads;
+
+  /** The timeout of each replayed request. */
+  private final Duration requestTimeout;
+
+  /**
+   * Creates a new instance of {@code TrafficReplayer} from the specified builder.
+   *
+   * @param builder the builder
+   */
+  private TrafficReplayer(Builder builder) {
+    this.journal = builder.journal;
+    this.transport = builder.transport;
+    this.speed = builder.speed;
+    this.scale = builder.scale;
+    this.threads = builder.threads;
+    this.requestTimeout = builder.requestTimeout;
+  }
+
+  /**
+   * Creates a new instance of {@code Builder} to build {@code TrafficReplayer}.
+   *
+   * @return A new instance of {@code Builder}.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Replays the journal and waits for all the replayed requests to complete.
+   *
+   * @return the latency comparison between the recorded and the replayed traffic
+   * @throws IOException if the journal cannot be read
+   * @throws InterruptedException if the calling thread is interrupted while waiting
+   */
+  public ReplayReport replay() throws IOException, InterruptedException {
+    List<RecordedRequest> requests = readRequests(JournalReader.readAll(journal));
+    if (requests.isEmpty()) {
+      log.warn("No replayable requests found in journal {}", journal);
+      return new ReplayReport(List.of());
+    }
+
+    Map<String, McpSyncClient> clients = new LinkedHashMap<>();
+    Map<String, List<Long>> latencies = new ConcurrentHashMap<>();
+    Map<String, Integer> errors = new ConcurrentHashMap<>();
+    ScheduledExecutorService executor = Executors.newScheduledThreadPool(threads);
+    try {
+      for (RecordedRequest request : requests) {
+        clients.computeIfAbsent(request.sessionId(), sessionId -> connect());
+      }
+
+      final long firstTimestamp = requests.get(0).timestampEpochNanos();
+      List<Future<?>> futures = new ArrayList<>(requests.size());
+      for (RecordedRequest request : requests) {
+        McpSyncClient client = clients.get(request.sessionId());
+        futures.add(
+            executor.schedule(
+                () -> send(client, request, latencies, errors),
+                delayNanos(request.timestampEpochNanos() - firstTimestamp),
+                TimeUnit.NANOSECONDS));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Failed to replay journal " + journal, e.getCause());
+    } finally {
+      executor.shutdownNow();
+      clients.values().forEach(McpSyncClient::closeGracefully);
+    }
+
+    return report(requests, latencies, errors);
+  }
+
+  /**
+   * Extracts the replayable requests from the journal entries, with their recorded latency.
+   *
+   * @param entries the journal entries
+   * @return the replayable requests, in the order they were received
+   * @throws IOException if a recorded message is not valid JSON-RPC
+   */
+  private List<RecordedRequest> readRequests(List<JournalEntry> entries) throws IOException {
+    Map<String, Deque<Long>> responses = new HashMap<>();
+    List<RecordedRequest> requests = new ArrayList<>();
+    List<Object> requestIds = new ArrayList<>();
+
+    for (JournalEntry entry : entries) {
+      McpSchema.JSONRPCMessage message =
+          McpSchema.deserializeJsonRpcMessage(jsonMapper, entry.payload());
+      if (entry.direction() == MessageDirection.OUTBOUND) {
+        if (message instanceof McpSchema.JSONRPCResponse response) {
+          responses
+              .computeIfAbsent(key(entry.sessionId(), response.id()), k -> new ArrayDeque<>())
+              .addLast(entry.timestampEpochNanos());
+        }
+      } else if (message instanceof McpSchema.JSONRPCRequest request
+          && REPLAYED_METHODS.contains(request.method())) {
+        requests.add(
+            new RecordedRequest(
+                entry.sessionId(),
+                entry.timestampEpochNanos(),
+                request.method(),
+                operation(request),
+                request.params(),
+                -1));
+        requestIds.add(request.id());
+      }
+    }
+
+    // Pair each request with the first later response with the same id in the same session
+    List<RecordedRequest> paired = new ArrayList<>(requests.size());
+    for (int i = 0; i < requests.size(); i++) {
+      RecordedRequest request = requests.get(i);
+      Deque<Long> candidates = responses.get(key(request.sessionId(), requestIds.get(i)));
+      long latency = -1;
+      while (candidates != null && !candidates.isEmpty()) {
+        final long responded = candidates.pollFirst();
+        if (responded >= request.timestampEpochNanos()) {
+          latency = responded - request.timestampEpochNanos();
+          break;
+        }
+      }
+      paired.add(request.withRecordedLatency(latency));
+    }
+    return paired;
+  }
+
+  /**
+   * Creates and initializes a client session.
+   *
+   * @return the initialized client session
+   */
+  private McpSyncClient connect() {
+    McpSyncClient client = McpClient.sync(transport.get()).requestTimeout(requestTimeout).build();
+    client.initialize();
+    return client;
+  }
+
+  /**
+   * Sends a recorded request and records its latency.
+   *
+   * @param client the client session to send the request with
+   * @param request the recorded request
+   * @param latencies the replayed latencies, keyed by operation
+   * @param errors the number of errors, keyed by operation
+   */
+  private void send(
+      McpSyncClient client,
+      RecordedRequest request,
+      Map<String, List<Long>> latencies,
+      Map<String, Integer> errors) {
+
+    final long start = System.nanoTime();
+    boolean error;
+    try {
+      error = invoke(client, request);
+    } catch (RuntimeException e) {
+      log.debug("Replayed request {} failed", request.operation(), e);
+      error = true;
+    }
+    final long latency = System.nanoTime() - start;
+
+    latencies
+        .computeIfAbsent(request.operation(), k -> Collections.synchronizedList(new ArrayList<>()))
+        .add(latency);
+    if (error) {
+      errors.merge(request.operation(), 1, Integer::sum);
+    }
+  }
+
+  /**
+   * Invokes a recorded request with the typed API of the client.
+   *
+   * @param client the client session to send the request with
+   * @param request the recorded request
+   * @return {@code true} if the request returned an error result, {@code false} otherwise
+   */
+  private boolean invoke(McpSyncClient client, RecordedRequest request) {
+    final Object params = request.params();
+    switch (request.method()) {
+      case McpSchema.METHOD_TOOLS_CALL -> {
+        McpSchema.CallToolResult result =
+            client.callTool(jsonMapper.convertValue(params, McpSchema.CallToolRequest.class));
+        return Boolean.TRUE.equals(result.isError());
+      }
+      case McpSchema.METHOD_PROMPT_GET ->
+          client.getPrompt(jsonMapper.convertValue(params, McpSchema.GetPromptRequest.class));
+      case McpSchema.METHOD_RESOURCES_READ ->
+          client.readResource(jsonMapper.convertValue(params, McpSchema.ReadResourceRequest.class));
+      default ->
+          client.completeCompletion(
+              jsonMapper.convertValue(params, McpSchema.CompleteRequest.class));
+    }
+    return false;
+  }
+
+  /**
+   * Returns the delay of a replayed request, according to the replay speed.
+   *
+   * @param recordedOffsetNanos the offset of the request from the first request in the journal
+   * @return the delay of the replayed request in nanoseconds
+   */
+  private long delayNanos(long recordedOffsetNanos) {
+    return switch (speed) {
+      case ORIGINAL -> recordedOffsetNanos;
+      case SCALED -> (long) (recordedOffsetNanos / scale);
+      case MAXIMUM -> 0;
+    };
+  }
+
+  /**
+   * Builds the report from the recorded and the replayed latencies.
+   *
+   * @param requests the replayed requests, with their recorded latency
+   * @param latencies the replayed latencies, keyed by operation
+   * @param errors the number of errors, keyed by operation
+   * @return the report
+   */
+  private static ReplayReport report(
+      List<RecordedRequest> requests,
+      Map<String, List<Long>> latencies,
+      Map<String, Integer> errors) {
+
+    Map<String, List<Long>> recorded = new TreeMap<>();
+    for (RecordedRequest request : requests) {
+      List<Long> samples = recorded.computeIfAbsent(request.operation(), k -> new ArrayList<>());
+      if (request.recordedLatencyNanos() >= 0) {
+        samples.add(request.recordedLatencyNanos());
+      }
+    }
+
+    List<ReplayReport.Entry> entries = new ArrayList<>(recorded.size());
+    recorded.forEach(
+        (operation, recordedSamples) -> {
+          List<Long> replayedSamples = latencies.getOrDefault(operation, List.of());
+          entries.add(
+              new ReplayReport.Entry(
+                  operation,
+                  replayedSamples.size(),
+                  errors.getOrDefault(operation, 0),
+                  meanMillis(recordedSamples),
+                  percentileMillis(recordedSamples),
+                  meanMillis(replayedSamples),
+                  percentileMillis(replayedSamples)));
+        });
+    return new ReplayReport(entries);
+  }
+
+  /**
+   * Returns the operation label of a request, such as {@code tools/call add}.
+   *
+   * @param request the request
+   * @return the operation label of the request
+   */
+  private static String operation(McpSchema.JSONRPCRequest request) {
+    if (request.params() instanceof Map<?, ?> params) {
+      Object target = params.containsKey("uri") ? params.get("uri") : params.get("name");
+      if (target != null) {
+        return request.method() + " " + target;
+      }
+    }
+    return request.method();
+  }
+
+  /**
+   * Returns the pairing key of a request and its response.
+   *
+   * @param sessionId the session id
+   * @param id the JSON-RPC id
+   * @return the pairing key
+   */
+  private static String key(String sessionId, Object id) {
+    return sessionId + '\u0000' + id;
+  }
+
+  /**
+   * Returns the mean of the specified nanosecond samples in milliseconds.
+   *
+   * @param samples the samples in nanoseconds
+   * @return the mean in milliseconds, 0 if there are no samples
+   */
+  private static double meanMillis(List<Long> samples) {
+    return samples.stream().mapToLong(Long::longValue).average().orElse(0) / 1_000_000.0;
+  }
+
+  /**
+   * Returns the {@link #PERCENTILE} of the specified nanosecond samples in milliseconds.
+   *
+   * @param samples the samples in nanoseconds
+   * @return the percentile in milliseconds, 0 if there are no samples
+   */
+  private static double percentileMillis(List<Long> samples) {
+    if (samples.isEmpty()) {
+      return 0;
+    }
+    long[] sorted = samples.stream().mapToLong(Long::longValue).sorted().toArray();
+    final int index = (int) Math.ceil(PERCENTILE * sorted.length) - 1;
+    return sorted[Math.max(index, 0)] / 1_000_000.0;
+  }
+
+  /**
+   * This record represents a replayable request read from the journal.
+   *
+   * @param sessionId the recorded session id
+   * @param timestampEpochNanos the time the request was received
+   * @param method the JSON-RPC method
+   * @param operation the operation label
+   * @param params the JSON-RPC params
+   * @param recordedLatencyNanos the recorded latency, -1 if no response was recorded
+   */
+  private record RecordedRequest(
+      String sessionId,
+      long timestampEpochNanos,
+      String method,
+      String operation,
+      Object params,
+      long recordedLatencyNanos) {
+
+    /**
+     * Returns a copy of this request with the specified recorded latency.
+     *
+     * @param latency the recorded latency
+     * @return a copy of this request with the specified recorded latency
+     */
+    RecordedRequest withRecordedLatency(long latency) {
+      return new RecordedRequest(
+          sessionId, timestampEpochNanos, method, operation, params, latency);
+    }
+  }
+
+  /** Builder class for {@code TrafficReplayer}. */
+  public static class Builder {
+    /** The journal file to replay. */
+    private Path journal;
+
+    /** The factory of the client transports. */
+    private Supplier<McpClientTransport> transport;
+
+    /** The pacing of the replayed requests. */
+    private ReplaySpeed speed = ReplaySpeed.ORIGINAL;
+
+    /** The factor the recorded spacing is divided by. */
+    private double scale = 1.0;
+
+    /** The number of threads sending the requests. */
+    private int threads = 16;
+
+    /** The timeout of each replayed request. */
+    private Duration requestTimeout = Duration.ofSeconds(20);
+
+    /**
+     * Sets the journal file to replay.
+     *
+     * @param journal The journal file to replay.
+     * @return This builder instance.
+     */
+    public Builder journal(Path journal) {
+      this.journal = journal;
+      return this;
+    }
+
+    /**
+     * Sets the factory of the client transports, called once per replayed session.
+     *
+     * @param transport The factory of the client transports.
+     * @return This builder instance.
+     */
+    public Builder transport(Supplier<McpClientTransport> transport) {
+      this.transport = transport;
+      return this;
+    }
+
+    /**
+     * Sets the pacing of the replayed requests.
+     *
+     * @param speed The pacing of the replayed requests.
+     * @return This builder instance.
+     */
+    public Builder speed(ReplaySpeed speed) {
+      this.speed = speed;
+      return this;
+    }
+
+    /**
+     * Sets the factor the recorded spacing is divided by with {@link ReplaySpeed#SCALED}.
+     *
+     * @param scale The factor the recorded spacing is divided by, 2.0 replays twice as fast.
+     * @return This builder instance.
+     */
+    public Builder scale(double scale) {
+      this.scale = scale;
+      return this;
+    }
+
+    /**
+     * Sets the number of threads sending the requests.
+     *
+     * @param threads The number of threads sending the requests.
+     * @return This builder instance.
+     */
+    public Builder threads(int threads) {
+      this.threads = threads;
+      return this;
+    }
+
+    /**
+     * Sets the timeout of each replayed request.
+     *
+     * @param requestTimeout The timeout of each replayed request.
+     * @return This builder instance.
+     */
+    public Builder requestTimeout(Duration requestTimeout) {
+      this.requestTimeout = requestTimeout;
+      return this;
+    }
+
+    /**
+     * Builds an instance of {@code TrafficReplayer} with the configured values.
+     *
+     * @return A new instance of {@code TrafficReplayer}.
+     * @throws IllegalArgumentException if the journal or the transport is missing, or the scale or
+     *     the number of threads is not positive
+     */
+    public TrafficReplayer build() {
+      if (journal == null || transport == null) {
+        throw new IllegalArgumentException("journal and transport are required");
+      }
+      if (scale <= 0 || threads <= 0) {
+        throw new IllegalArgumentException("scale and threads must be positive");
+      }
+      return new TrafficReplayer(this);
+    }
+  }
+}
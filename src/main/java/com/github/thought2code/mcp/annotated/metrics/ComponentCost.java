@@ -0,0 +1,162 @@
+package com.github.thought2code.mcp.annotated.metrics;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.github.thought2code.mcp.annotated.enums.ComponentType;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The aggregated invocation cost of a single MCP server component.
+ *
+ * <p>This class accumulates the thread CPU time, the allocated bytes and the wall-clock time of the
+ * sampled invocations of one tool, prompt or resource. All accumulators are lock-free, so
+ * concurrent invocations of the same component never contend on a monitor.
+ *
+ * <p>The accumulated values are registered as gauges in {@link McpServerMetrics} when the instance
+ * is created, using the metric name prefix {@code mcp.cost.<type>.<name>}.
+ *
+ * @author codeboyzhou
+ * @see InvocationCostAccounting
+ * @see McpServerMetrics
+ */
+public final class ComponentCost {
+
+  /** The type of the component. */
+  private final ComponentType type;
+
+  /** The name of the component. */
+  private final String name;
+
+  /** The number of sampled invocations. */
+  private final LongAdder samples = new LongAdder();
+
+  /** The number of sampled invocations that ended with an error. */
+  private final LongAdder errors = new LongAdder();
+
+  /** The total thread CPU time of the sampled invocations in nanoseconds. */
+  private final LongAdder cpuTimeNanos = new LongAdder();
+
+  /** The maximum thread CPU time of a single sampled invocation in nanoseconds. */
+  private final LongAccumulator maxCpuTimeNanos = new LongAccumulator(Math::max, 0);
+
+  /** The total bytes allocated by the sampled invocations. */
+  private final LongAdder allocatedBytes = new LongAdder();
+
+  /** The maximum bytes allocated by a single sampled invocation. */
+  private final LongAccumulator maxAllocatedBytes = new LongAccumulator(Math::max, 0);
+
+  /** The total wall-clock time of the sampled invocations in nanoseconds. */
+  private final LongAdder wallTimeNanos = new LongAdder();
+
+  /**
+   * Creates a new instance of {@code ComponentCost} and registers its metrics.
+   *
+   * @param type the type of the component
+   * @param name the name of the component
+   */
+  ComponentCost(ComponentType type, String name) {
+    this.type = type;
+    this.name = name;
+
+    final String prefix = metricNamePrefix(type, name);
+    McpServerMetrics.gauge(prefix + ".samples", samples::sum);
+    McpServerMetrics.gauge(prefix + ".errors", errors::sum);
+    McpServerMetrics.gauge(prefix + ".cpu-time-nanos", cpuTimeNanos::sum);
+    McpServerMetrics.gauge(prefix + ".max-cpu-time-nanos", maxCpuTimeNanos::get);
+    McpServerMetrics.gauge(prefix + ".allocated-bytes", allocatedBytes::sum);
+    McpServerMetrics.gauge(prefix + ".max-allocated-bytes", maxAllocatedBytes::get);
+    McpServerMetrics.gauge(prefix + ".wall-time-nanos", wallTimeNanos::sum);
+  }
+
+  /**
+   * Returns the metric name prefix of the component with the specified type and name.
+   *
+   * @param type the type of the component
+   * @param name the name of the component
+   * @return the metric name prefix of the component
+   */
+  static String metricNamePrefix(ComponentType type, String name) {
+    return "mcp.cost." + type.name().toLowerCase(Locale.ROOT) + "." + name;
+  }
+
+  /**
+   * Records the cost of a single sampled invocation.
+   *
+   * <p>Negative CPU time or allocated bytes mean that the measurement is not supported by the
+   * running JVM, in which case only the other measurements are recorded.
+   *
+   * @param cpuTimeNanos the thread CPU time of the invocation in nanoseconds, or -1
+   * @param allocatedBytes the bytes allocated by the invocation, or -1
+   * @param wallTimeNanos the wall-clock time of the invocation in nanoseconds
+   * @param isError whether the invocation ended with an error
+   */
+  void record(long cpuTimeNanos, long allocatedBytes, long wallTimeNanos, boolean isError) {
+    samples.increment();
+    if (isError) {
+      errors.increment();
+    }
+    if (cpuTimeNanos >= 0) {
+      this.cpuTimeNanos.add(cpuTimeNanos);
+      this.maxCpuTimeNanos.accumulate(cpuTimeNanos);
+    }
+    if (allocatedBytes >= 0) {
+      this.allocatedBytes.add(allocatedBytes);
+      this.maxAllocatedBytes.accumulate(allocatedBytes);
+    }
+    this.wallTimeNanos.add(wallTimeNanos);
+  }
+
+  /**
+   * Returns a point-in-time snapshot of the aggregated cost.
+   *
+   * @return a point-in-time snapshot of the aggregated cost
+   */
+  public Snapshot snapshot() {
+    final long sampleCount = samples.sum();
+    final long divisor = Math.max(sampleCount, 1);
+    final long totalCpu = cpuTimeNanos.sum();
+    final long totalAllocated = allocatedBytes.sum();
+    final long totalWall = wallTimeNanos.sum();
+    return new Snapshot(
+        type,
+        name,
+        sampleCount,
+        errors.sum(),
+        totalCpu,
+        totalCpu / divisor,
+        maxCpuTimeNanos.get(),
+        totalAllocated,
+        totalAllocated / divisor,
+        maxAllocatedBytes.get(),
+        totalWall / divisor);
+  }
+
+  /**
+   * A point-in-time snapshot of the aggregated cost of a single MCP server component.
+   *
+   * @param type the type of the component
+   * @param name the name of the component
+   * @param samples the number of sampled invocations
+   * @param errors the number of sampled invocations that ended with an error
+   * @param totalCpuTimeNanos the total thread CPU time in nanoseconds
+   * @param avgCpuTimeNanos the average thread CPU time per invocation in nanoseconds
+   * @param maxCpuTimeNanos the maximum thread CPU time of a single invocation in nanoseconds
+   * @param totalAllocatedBytes the total allocated bytes
+   * @param avgAllocatedBytes the average allocated bytes per invocation
+   * @param maxAllocatedBytes the maximum allocated bytes of a single invocation
+   * @param avgWallTimeNanos the average wall-clock time per invocation in nanoseconds
+   */
+  public record Snapshot(
+      @JsonProperty("type") ComponentType type,
+      @JsonProperty("name") String name,
+      @JsonProperty("samples") long samples,
+      @JsonProperty("errors") long errors,
+      @JsonProperty("totalCpuTimeNanos") long totalCpuTimeNanos,
+      @JsonProperty("avgCpuTimeNanos") long avgCpuTimeNanos,
+      @JsonProperty("maxCpuTimeNanos") long maxCpuTimeNanos,
+      @JsonProperty("totalAllocatedBytes") long totalAllocatedBytes,
+      @JsonProperty("avgAllocatedBytes") long avgAllocatedBytes,
+      @JsonProperty("maxAllocatedBytes") long maxAllocatedBytes,
+      @JsonProperty("avgWallTimeNanos") long avgWallTimeNanos) {}
+}
@@ -0,0 +1,247 @@
+package com.github.thought2code.mcp.annotated.metrics;
+
+import com.github.thought2code.mcp.annotated.configuration.McpServerCostAccounting;
+import com.github.thought2code.mcp.annotated.enums.ComponentType;
+import com.github.thought2code.mcp.annotated.exception.McpServerConfigurationException;
+import com.github.thought2code.mcp.annotated.reflect.MethodCache;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Per-invocation cost accounting of the MCP server components.
+ *
+ * <p>This class measures the thread CPU time and the allocated bytes of each sampled invocation of
+ * a tool, prompt or resource method, and aggregates them per component in {@link ComponentCost}
+ * instances. The measurements are taken from the {@link ThreadMXBean} of the running JVM:
+ *
+ * <ul>
+ *   <li>CPU time requires {@link ThreadMXBean#isCurrentThreadCpuTimeSupported()}
+ *   <li>Allocated bytes require the HotSpot extension {@link com.sun.management.ThreadMXBean}
+ * </ul>
+ *
+ * <p>Measurements that the running JVM does not support are skipped silently. Sampling keeps the
+ * overhead bounded: only the configured fraction of invocations is measured, and a disabled
+ * accounting costs a single volatile read per invocation.
+ *
+ * <p>Typical usage around a method invocation:
+ *
+ * <pre>{@code
+ * InvocationCostAccounting.Sample sample = InvocationCostAccounting.begin(methodCache);
+ * Invocation invocation = ...;
+ * InvocationCostAccounting.end(sample, invocation.isError());
+ * }</pre>
+ *
+ * @author codeboyzhou
+ * @see ComponentCost
+ * @see McpServerCostAccounting
+ * @see ThreadMXBean
+ */
+public final class InvocationCostAccounting {
+
+  private static final Logger log = LoggerFactory.getLogger(InvocationCostAccounting.class);
+
+  /** The thread management bean of the running JVM. */
+  private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+  /** Thread-safe static registry of the aggregated costs keyed by component. */
+  private static final ConcurrentHashMap<String, ComponentCost> COSTS = new ConcurrentHashMap<>();
+
+  /** Whether cost accounting is enabled. */
+  private static volatile boolean enabled;
+
+  /** The fraction of invocations to sample. */
+  private static volatile double sampleRate = 1.0;
+
+  /** Whether thread CPU time measurement is available. */
+  private static volatile boolean cpuTimeAvailable;
+
+  /** Whether thread allocated bytes measurement is available. */
+  private static volatile boolean allocatedBytesAvailable;
+
+  /**
+   * Private constructor to prevent instantiation of this utility class.
+   *
+   * @throws UnsupportedOperationException always thrown when attempting to instantiate
+   */
+  private InvocationCostAccounting() {
+    throw new UnsupportedOperationException("Utility class should not be instantiated");
+  }
+
+  /**
+   * Configures cost accounting with the specified configuration.
+   *
+   * <p>Enabling cost accounting also enables thread CPU time and allocated memory measurement on
+   * the {@link ThreadMXBean} if they are supported but not enabled yet.
+   *
+   * @param configuration the cost accounting configuration
+   * @throws McpServerConfigurationException if the sample rate is not in the range (0, 1]
+   */
+  public static void configure(McpServerCostAccounting configuration) {
+    final double rate = configuration.sampleRate();
+    if (rate <= 0 || rate > 1) {
+      throw new McpServerConfigurationException(
+          "cost-accounting.sample-rate must be in the range (0, 1], but was " + rate);
+    }
+
+    sampleRate = rate;
+    enabled = configuration.enabled();
+    if (!enabled) {
+      return;
+    }
+
+    cpuTimeAvailable = enableCpuTimeMeasurement();
+    allocatedBytesAvailable = enableAllocatedBytesMeasurement();
+    log.info(
+        "Cost accounting enabled with sample rate {} (cpu time: {}, allocated bytes: {})",
+        rate,
+        cpuTimeAvailable,
+        allocatedBytesAvailable);
+  }
+
+  /**
+   * Returns whether cost accounting is enabled.
+   *
+   * @return {@code true} if cost accounting is enabled, {@code false} otherwise
+   */
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Begins measuring an invocation of the specified method on the current thread.
+   *
+   * @param methodCache the method cache of the invoked method
+   * @return the started sample, or {@code null} if the invocation is not sampled
+   */
+  @Nullable
+  public static Sample begin(MethodCache methodCache) {
+    if (!enabled) {
+      return null;
+    }
+    final double rate = sampleRate;
+    if (rate < 1 && ThreadLocalRandom.current().nextDouble() >= rate) {
+      return null;
+    }
+
+    final long cpuTime = cpuTimeAvailable ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : -1;
+    final long allocated = allocatedBytesAvailable ? currentThreadAllocatedBytes() : -1;
+    return new Sample(methodCache, cpuTime, allocated, System.nanoTime());
+  }
+
+  /**
+   * Ends measuring an invocation and records its cost.
+   *
+   * <p>This method must be called on the same thread that started the sample.
+   *
+   * @param sample the sample returned by {@link #begin(MethodCache)}, may be {@code null}
+   * @param isError whether the invocation ended with an error
+   */
+  public static void end(@Nullable Sample sample, boolean isError) {
+    if (sample == null) {
+      return;
+    }
+
+    final long wallTime = System.nanoTime() - sample.startWallTimeNanos();
+    long cpuTime = -1;
+    if (sample.startCpuTimeNanos() >= 0) {
+      cpuTime = THREAD_MX_BEAN.getCurrentThreadCpuTime() - sample.startCpuTimeNanos();
+    }
+    long allocated = -1;
+    if (sample.startAllocatedBytes() >= 0) {
+      allocated = currentThreadAllocatedBytes() - sample.startAllocatedBytes();
+    }
+
+    final ComponentType type = sample.methodCache().getComponentType();
+    final String name = sample.methodCache().getComponentName();
+    ComponentCost cost =
+        COSTS.computeIfAbsent(
+            ComponentCost.metricNamePrefix(type, name), key -> new ComponentCost(type, name));
+    cost.record(cpuTime, allocated, wallTime, isError);
+  }
+
+  /**
+   * Returns the snapshots of all aggregated costs sorted by the specified comparator.
+   *
+   * @param comparator the comparator used to sort the snapshots
+   * @param limit the maximum number of snapshots to return
+   * @return the sorted snapshots of the aggregated costs
+   */
+  public static List<ComponentCost.Snapshot> top(
+      Comparator<ComponentCost.Snapshot> comparator, int limit) {
+    return COSTS.values().stream()
+        .map(ComponentCost::snapshot)
+        .sorted(comparator)
+        .limit(limit)
+        .toList();
+  }
+
+  /** Clears all aggregated costs and removes their metrics. */
+  public static void reset() {
+    COSTS.clear();
+    McpServerMetrics.removeAll("mcp.cost.");
+  }
+
+  /**
+   * Enables thread CPU time measurement if it is supported.
+   *
+   * @return {@code true} if thread CPU time measurement is available, {@code false} otherwise
+   */
+  private static boolean enableCpuTimeMeasurement() {
+    if (!THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported()) {
+      log.warn("Thread CPU time measurement is not supported by the running JVM");
+      return false;
+    }
+    if (!THREAD_MX_BEAN.isThreadCpuTimeEnabled()) {
+      THREAD_MX_BEAN.setThreadCpuTimeEnabled(true);
+    }
+    return true;
+  }
+
+  /**
+   * Enables thread allocated memory measurement if it is supported.
+   *
+   * @return {@code true} if thread allocated memory measurement is available, {@code false}
+   *     otherwise
+   */
+  private static boolean enableAllocatedBytesMeasurement() {
+    if (!(THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean bean)
+        || !bean.isThreadAllocatedMemorySupported()) {
+      log.warn("Thread allocated memory measurement is not supported by the running JVM");
+      return false;
+    }
+    if (!bean.isThreadAllocatedMemoryEnabled()) {
+      bean.setThreadAllocatedMemoryEnabled(true);
+    }
+    return true;
+  }
+
+  /**
+   * Returns the bytes allocated by the current thread so far.
+   *
+   * @return the bytes allocated by the current thread so far
+   */
+  private static long currentThreadAllocatedBytes() {
+    return ((com.sun.management.ThreadMXBean) THREAD_MX_BEAN).getCurrentThreadAllocatedBytes();
+  }
+
+  /**
+   * A started measurement of a single invocation.
+   *
+   * @param methodCache the method cache of the invoked method
+   * @param startCpuTimeNanos the thread CPU time at the start, or -1 if not measured
+   * @param startAllocatedBytes the thread allocated bytes at the start, or -1 if not measured
+   * @param startWallTimeNanos the {@link System#nanoTime()} at the start
+   */
+  public record Sample(
+      MethodCache methodCache,
+      long startCpuTimeNanos,
+      long startAllocatedBytes,
+      long startWallTimeNanos) {}
+}
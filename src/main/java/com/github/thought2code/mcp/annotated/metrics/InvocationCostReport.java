@@ -0,0 +1,89 @@
+package com.github.thought2code.mcp.annotated.metrics;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.github.thought2code.mcp.annotated.configuration.McpServerCostAccounting;
+import com.github.thought2code.mcp.annotated.util.JacksonHelper;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.spec.McpSchema;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The top-N report of the most expensive MCP server components.
+ *
+ * <p>The report lists the components with the highest total thread CPU time and the components with
+ * the highest total allocated bytes, which are the two numbers needed to charge back the hosting
+ * cost of a tool and to find tools that allocate excessively per call.
+ *
+ * <p>The report is exposed to MCP clients as a JSON resource, see {@link
+ * #resourceSpecification(McpServerCostAccounting)}.
+ *
+ * @param topByCpuTime the components sorted by total thread CPU time, most expensive first
+ * @param topByAllocatedBytes the components sorted by total allocated bytes, most expensive first
+ * @author codeboyzhou
+ * @see InvocationCostAccounting
+ * @see ComponentCost.Snapshot
+ */
+public record InvocationCostReport(
+    @JsonProperty("topByCpuTime") List<ComponentCost.Snapshot> topByCpuTime,
+    @JsonProperty("topByAllocatedBytes") List<ComponentCost.Snapshot> topByAllocatedBytes) {
+
+  /** The MIME type of the report resource. */
+  private static final String MIME_TYPE = "application/json";
+
+  /**
+   * Compact constructor that creates defensive copies of the component lists.
+   *
+   * @param topByCpuTime the components sorted by total thread CPU time
+   * @param topByAllocatedBytes the components sorted by total allocated bytes
+   */
+  public InvocationCostReport {
+    topByCpuTime = List.copyOf(topByCpuTime);
+    topByAllocatedBytes = List.copyOf(topByAllocatedBytes);
+  }
+
+  /**
+   * Creates a report of the current aggregated costs.
+   *
+   * @param topN the maximum number of components in each list
+   * @return a report of the current aggregated costs
+   */
+  public static InvocationCostReport create(int topN) {
+    return new InvocationCostReport(
+        InvocationCostAccounting.top(
+            Comparator.comparingLong(ComponentCost.Snapshot::totalCpuTimeNanos).reversed(), topN),
+        InvocationCostAccounting.top(
+            Comparator.comparingLong(ComponentCost.Snapshot::totalAllocatedBytes).reversed(),
+            topN));
+  }
+
+  /**
+   * Creates the resource specification that serves the report as JSON.
+   *
+   * @param configuration the cost accounting configuration
+   * @return the resource specification that serves the report as JSON
+   */
+  public static McpServerFeatures.SyncResourceSpecification resourceSpecification(
+      McpServerCostAccounting configuration) {
+
+    final String uri = configuration.reportUri();
+    final int topN = configuration.topN();
+    McpSchema.Resource resource =
+        McpSchema.Resource.builder()
+            .uri(uri)
+            .name("cost-report")
+            .title("Invocation cost report")
+            .description("Top " + topN + " components by thread CPU time and allocated bytes")
+            .mimeType(MIME_TYPE)
+            .build();
+
+    return new McpServerFeatures.SyncResourceSpecification(
+        resource,
+        (exchange, request) -> {
+          final String json = JacksonHelper.toJsonString(create(topN));
+          McpSchema.ResourceContents contents =
+              new McpSchema.TextResourceContents(uri, MIME_TYPE, json);
+          return new McpSchema.ReadResourceResult(List.of(contents));
+        });
+  }
+}
@@ -0,0 +1,106 @@
+package com.github.thought2code.mcp.annotated.metrics;
+
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * A lightweight registry of the runtime metrics of the MCP server.
+ *
+ * <p>This class provides static methods for:
+ *
+ * <ul>
+ *   <li>Registering monotonic counters backed by {@link LongAdder}
+ *   <li>Registering gauges whose values are computed on demand by a {@link LongSupplier}
+ *   <li>Taking a consistent, name-sorted snapshot of all registered metrics
+ * </ul>
+ *
+ * <p>Metric names are dot-separated and lower-case, for example {@code
+ * mcp.cost.tool.calculate.cpu-time-nanos}. The registry is thread-safe and is intentionally kept
+ * free of any third-party metrics library, so it can be bridged to whatever monitoring system the
+ * application uses by polling {@link #snapshot()}.
+ *
+ * @author codeboyzhou
+ * @see LongAdder
+ * @see LongSupplier
+ */
+public final class McpServerMetrics {
+
+  /** Thread-safe static registry of all metrics keyed by metric name. */
+  private static final ConcurrentHashMap<String, LongSupplier> METRICS = new ConcurrentHashMap<>();
+
+  /** Thread-safe static registry of the counters keyed by metric name. */
+  private static final ConcurrentHashMap<String, LongAdder> COUNTERS = new ConcurrentHashMap<>();
+
+  /**
+   * Private constructor to prevent instantiation of this utility class.
+   *
+   * @throws UnsupportedOperationException always thrown when attempting to instantiate
+   */
+  private McpServerMetrics() {
+    throw new UnsupportedOperationException("Utility class should not be instantiated");
+  }
+
+  /**
+   * Returns the counter with the specified name, registering it first if it does not exist yet.
+   *
+   * @param name the metric name of the counter
+   * @return the counter with the specified name
+   */
+  public static LongAdder counter(String name) {
+    return COUNTERS.computeIfAbsent(
+        name,
+        n -> {
+          LongAdder counter = new LongAdder();
+          METRICS.put(n, counter::sum);
+          return counter;
+        });
+  }
+
+  /**
+   * Registers a gauge with the specified name, replacing any gauge previously registered with the
+   * same name.
+   *
+   * @param name the metric name of the gauge
+   * @param gauge the supplier computing the current value of the gauge
+   */
+  public static void gauge(String name, LongSupplier gauge) {
+    METRICS.put(name, gauge);
+  }
+
+  /**
+   * Removes the metric with the specified name, if it is registered.
+   *
+   * @param name the metric name
+   */
+  public static void remove(String name) {
+    METRICS.remove(name);
+    COUNTERS.remove(name);
+  }
+
+  /**
+   * Removes all metrics whose names start with the specified prefix.
+   *
+   * @param prefix the metric name prefix
+   */
+  public static void removeAll(String prefix) {
+    METRICS.keySet().removeIf(name -> name.startsWith(prefix));
+    COUNTERS.keySet().removeIf(name -> name.startsWith(prefix));
+  }
+
+  /**
+   * Returns a snapshot of the current values of all registered metrics, sorted by metric name.
+   *
+   * @return a snapshot of the current values of all registered metrics
+   */
+  public static SortedMap<String, Long> snapshot() {
+    SortedMap<String, Long> snapshot = new TreeMap<>();
+    for (Map.Entry<String, LongSupplier> entry : METRICS.entrySet()) {
+      snapshot.put(entry.getKey(), entry.getValue().getAsLong());
+    }
+    return snapshot;
+  }
+}
@@ -5,7 +5,9 @@ import com.github.thought2code.mcp.annotated.annotation.McpPromptCompletion;
 import com.github.thought2code.mcp.annotated.annotation.McpResource;
 import com.github.thought2code.mcp.annotated.annotation.McpResourceCompletion;
 import com.github.thought2code.mcp.annotated.annotation.McpTool;
+import com.github.thought2code.mcp.annotated.enums.ComponentType;
 import com.github.thought2code.mcp.annotated.util.Immutable;
+import com.github.thought2code.mcp.annotated.util.StringHelper;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.util.Objects;
@@ -86,6 +88,12 @@ public final class MethodCache {
   /** The {@link McpResourceCompletion} annotation on the cached method, or null if not present. */
   private final McpResourceCompletion mcpResourceCompletionAnnotation;
 
+  /** The type of the MCP component that the cached method is bound to. */
+  private final ComponentType componentType;
+
+  /** The name of the MCP component that the cached method is bound to. */
+  private final String componentName;
+
   /**
    * Creates a new instance of {@code MethodCache} with the specified method.
    *
@@ -113,6 +121,8 @@ public final class MethodCache {
     this.mcpToolAnnotation = method.getAnnotation(McpTool.class);
     this.mcpPromptCompletionAnnotation = method.getAnnotation(McpPromptCompletion.class);
     this.mcpResourceCompletionAnnotation = method.getAnnotation(McpResourceCompletion.class);
+    this.componentType = resolveComponentType();
+    this.componentName = resolveComponentName();
   }
 
   /**
@@ -267,6 +277,71 @@ public final class MethodCache {
     return mcpResourceCompletionAnnotation;
   }
 
+  /**
+   * Returns the type of the MCP component that the cached method is bound to.
+   *
+   * <p>Returns {@link ComponentType#NONE} if the method is not annotated with any MCP component
+   * annotation.
+   *
+   * @return the type of the MCP component that the cached method is bound to
+   * @see ComponentType
+   */
+  public ComponentType getComponentType() {
+    return componentType;
+  }
+
+  /**
+   * Returns the name of the MCP component that the cached method is bound to.
+   *
+   * <p>The name is the same one that is exposed to MCP clients: the tool, prompt or resource name
+   * (falling back to the method name if the annotation does not specify one), the prompt name or
+   * resource URI for completion handlers, and the method name otherwise.
+   *
+   * @return the name of the MCP component that the cached method is bound to
+   */
+  public String getComponentName() {
+    return componentName;
+  }
+
+  /**
+   * Resolves the type of the MCP component from the annotations present on the cached method.
+   *
+   * @return the type of the MCP component that the cached method is bound to
+   */
+  private ComponentType resolveComponentType() {
+    if (mcpToolAnnotation != null) {
+      return ComponentType.TOOL;
+    }
+    if (mcpPromptAnnotation != null) {
+      return ComponentType.PROMPT;
+    }
+    if (mcpResourceAnnotation != null) {
+      return ComponentType.RESOURCE;
+    }
+    if (mcpPromptCompletionAnnotation != null || mcpResourceCompletionAnnotation != null) {
+      return ComponentType.COMPLETION;
+    }
+    return ComponentType.NONE;
+  }
+
+  /**
+   * Resolves the name of the MCP component from the annotations present on the cached method.
+   *
+   * @return the name of the MCP component that the cached method is bound to
+   */
+  private String resolveComponentName() {
+    return switch (componentType) {
+      case TOOL -> StringHelper.defaultIfBlank(mcpToolAnnotation.name(), methodName);
+      case PROMPT -> StringHelper.defaultIfBlank(mcpPromptAnnotation.name(), methodName);
+      case RESOURCE -> StringHelper.defaultIfBlank(mcpResourceAnnotation.name(), methodName);
+      case COMPLETION ->
+          mcpPromptCompletionAnnotation != null
+              ? mcpPromptCompletionAnnotation.name()
+              : mcpResourceCompletionAnnotation.uri();
+      case NONE -> methodName;
+    };
+  }
+
   /**
    * Indicates whether some other object is "equal to" this one.
    *
@@ -1,6 +1,12 @@
 package com.github.thought2code.mcp.annotated.reflect;
 
 import com.github.thought2code.mcp.annotated.exception.McpServerException;
+import com.github.thought2code.mcp.annotated.jfr.ArgumentBindingEvent;
+import com.github.thought2code.mcp.annotated.jfr.MethodInvocationEvent;
+import com.github.thought2code.mcp.annotated.metrics.InvocationCostAccounting;
+import com.github.thought2code.mcp.annotated.tracing.Scope;
+import com.github.thought2code.mcp.annotated.tracing.Span;
+import com.github.thought2code.mcp.annotated.tracing.Tracer;
 import com.github.thought2code.mcp.annotated.util.StringHelper;
 import io.modelcontextprotocol.spec.McpSchema;
 import java.lang.reflect.Constructor;
@@ -75,6 +81,14 @@ public final class MethodInvoker {
    * <p>All exceptions are caught and wrapped in an {@link Invocation} with appropriate error
    * messages. The method signature is logged for debugging purposes when an error occurs.
    *
+   * <p>The thread CPU time and allocated bytes of the invocation are recorded by {@link
+   * InvocationCostAccounting} if cost accounting is enabled and the invocation is sampled, and a
+   * {@link MethodInvocationEvent} is emitted if the event is enabled in Java Flight Recorder.
+   *
+   * <p>If tracing is enabled, an {@code invoke} span is recorded and is the current span while the
+   * method runs, so spans started by the method with {@link Tracer#startSpan(String)} become its
+   * children.
+   *
    * @param instance the instance on which to invoke the method
    * @param methodCache the method cache containing the method metadata
    * @param params the list of parameters to pass to the method
@@ -82,8 +96,47 @@ public final class MethodInvoker {
    * @see MethodCache
    * @see Invocation
    * @see Method#invoke(Object, Object...)
+   * @see InvocationCostAccounting
+   * @see MethodInvocationEvent
+   * @see Tracer
    */
   public static Invocation invoke(Object instance, MethodCache methodCache, List<Object> params) {
+    MethodInvocationEvent event = new MethodInvocationEvent();
+    event.begin();
+
+    Span span = Tracer.startSpan("invoke " + methodCache.getComponentName());
+    span.setAttribute("code.function", methodCache.getMethodSignature());
+    InvocationCostAccounting.Sample sample = InvocationCostAccounting.begin(methodCache);
+    Invocation invocation;
+    try (Scope ignored = span.makeCurrent()) {
+      invocation = doInvoke(instance, methodCache, params);
+    }
+    InvocationCostAccounting.end(sample, invocation.isError());
+    if (invocation.isError()) {
+      span.setError("Error invoking method: " + methodCache.getMethodSignature());
+    }
+    span.end();
+
+    if (event.shouldCommit()) {
+      event.fill(methodCache);
+      event.argumentSize = params.size();
+      event.error = invocation.isError();
+      event.commit();
+    }
+
+    return invocation;
+  }
+
+  /**
+   * Performs the reflective invocation of {@link #invoke(Object, MethodCache, List)}.
+   *
+   * @param instance the instance on which to invoke the method
+   * @param methodCache the method cache containing the method metadata
+   * @param params the list of parameters to pass to the method
+   * @return an InvocationResult containing the method result or error information
+   */
+  private static Invocation doInvoke(
+      Object instance, MethodCache methodCache, List<Object> params) {
     Method method = methodCache.getMethod();
     Invocation.Builder builder = Invocation.builder();
     try {
@@ -119,7 +172,9 @@ public final class MethodInvoker {
    * parameters.
    *
    * <p>This is a convenience method that invokes a method with an empty parameter list. It
-   * delegates to {@link #invoke(Object, MethodCache, List)} with an empty list.
+   * delegates to {@link #invoke(Object, MethodCache, List)} with an empty list, after emitting an
+   * {@link ArgumentBindingEvent} binding no argument, so that each invocation has its binding
+   * event.
    *
    * @param instance the instance on which to invoke the method
    * @param methodCache the method cache containing the method metadata
@@ -129,6 +184,12 @@ public final class MethodInvoker {
    * @see Invocation
    */
   public static Invocation invoke(Object instance, MethodCache methodCache) {
+    ArgumentBindingEvent event = new ArgumentBindingEvent();
+    event.begin();
+    if (event.shouldCommit()) {
+      event.fill(methodCache);
+      event.commit();
+    }
     return invoke(instance, methodCache, List.of());
   }
 
@@ -7,7 +7,9 @@ import com.github.thought2code.mcp.annotated.annotation.McpServerApplication;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.reflections.Reflections;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,13 +17,14 @@ import org.slf4j.LoggerFactory;
 /**
  * A provider class for reflection operations using the Reflections library.
  *
- * <p>This class provides static methods for initializing and accessing reflection capabilities to
- * scan for annotated methods and fields in a specified package. It uses the Reflections library to
- * perform runtime scanning of classpath components.
+ * <p>This class provides the scan index of the annotated methods and fields in a specified package.
+ * It uses the Reflections library to perform runtime scanning of classpath components.
  *
- * <p>The class maintains a singleton {@link Reflections} instance that is initialized with a base
- * package derived from the main application class or the {@link McpServerApplication} annotation.
- * The scanning is configured to look for annotated methods and fields.
+ * <p>Each instance wraps a {@link Reflections} instance initialized with a base package derived
+ * from the main application class or the {@link McpServerApplication} annotation. The scanning is
+ * configured to look for annotated methods and fields. Scanning is expensive and its result is
+ * immutable, so the instances are cached by base package and shared by all the MCP servers of the
+ * JVM that scan the same package.
  *
  * <p>Key features:
  *
@@ -32,9 +35,6 @@ import org.slf4j.LoggerFactory;
  *   <li>Retrieves fields annotated with specific annotations
  * </ul>
  *
- * <p>This class follows the utility class pattern with a private constructor to prevent
- * instantiation.
- *
  * @author codeboyzhou
  * @see Reflections
  * @see McpServerApplication
@@ -45,14 +45,25 @@ public final class ReflectionsProvider {
 
   private static final Logger log = LoggerFactory.getLogger(ReflectionsProvider.class);
 
-  /** The singleton Reflections instance used for scanning and reflection operations. */
-  private static Reflections reflections;
+  /** The scan indexes keyed by base package. */
+  private static final Map<String, ReflectionsProvider> INDEXES = new ConcurrentHashMap<>();
+
+  /** The Reflections instance used for scanning and reflection operations. */
+  private final Reflections reflections;
 
-  /** Private constructor to prevent instantiation of this utility class. */
-  private ReflectionsProvider() {}
+  /**
+   * Scans the specified base package.
+   *
+   * @param basePackage the base package to scan
+   */
+  private ReflectionsProvider(String basePackage) {
+    log.info("Initializing Reflections instance for base package: {}", basePackage);
+    this.reflections = new Reflections(basePackage, MethodsAnnotated, FieldsAnnotated);
+    log.info("Reflections instance initialized successfully");
+  }
 
   /**
-   * Initializes the Reflections instance with the specified main class.
+   * Returns the scan index of the specified main class, scanning its base package on first use.
    *
    * <p>This method determines the base package for reflection scanning by examining the provided
    * main class. The base package can be configured in three ways:
@@ -65,20 +76,12 @@ public final class ReflectionsProvider {
    *       {@link McpServerApplication} if specified and not {@code Object.class}
    * </ol>
    *
-   * <p>The Reflections instance is configured to scan for annotated methods and fields within the
-   * determined base package.
-   *
    * @param mainClass the main application class used to determine the base package
+   * @return the scan index of the base package of the main class
    * @see McpServerApplication
    * @see Reflections
    */
-  public static void initializeReflectionsInstance(Class<?> mainClass) {
-    if (reflections != null) {
-      log.warn("Reflections instance is already initialized");
-      return;
-    }
-
-    log.info("Initializing Reflections instance");
+  public static ReflectionsProvider of(Class<?> mainClass) {
     String basePackage = mainClass.getPackageName();
     McpServerApplication application = mainClass.getAnnotation(McpServerApplication.class);
     if (application != null) {
@@ -89,43 +92,36 @@ public final class ReflectionsProvider {
         basePackage = application.basePackageClass().getPackageName();
       }
     }
-    reflections = new Reflections(basePackage, MethodsAnnotated, FieldsAnnotated);
-    log.info("Reflections instance initialized successfully");
+    return INDEXES.computeIfAbsent(basePackage, ReflectionsProvider::new);
   }
 
   /**
    * Retrieves all methods annotated with the specified annotation.
    *
-   * <p>This method uses the initialized Reflections instance to scan the configured base package
-   * and return a set of all methods that are annotated with the given annotation type.
-   *
-   * <p>The method requires that {@link #initializeReflectionsInstance(Class)} has been called
-   * before invoking this method.
+   * <p>This method uses the Reflections instance to scan the configured base package and return a
+   * set of all methods that are annotated with the given annotation type.
    *
    * @param annotation the annotation class to search for
    * @return a set of methods annotated with the specified annotation
    * @see Reflections#getMethodsAnnotatedWith(Class)
    * @see Method
    */
-  public static Set<Method> getMethodsAnnotatedWith(Class<? extends Annotation> annotation) {
+  public Set<Method> getMethodsAnnotatedWith(Class<? extends Annotation> annotation) {
     return reflections.getMethodsAnnotatedWith(annotation);
   }
 
   /**
    * Retrieves all fields annotated with the specified annotation.
    *
-   * <p>This method uses the initialized Reflections instance to scan the configured base package
-   * and return a set of all fields that are annotated with the given annotation type.
-   *
-   * <p>The method requires that {@link #initializeReflectionsInstance(Class)} has been called
-   * before invoking this method.
+   * <p>This method uses the Reflections instance to scan the configured base package and return a
+   * set of all fields that are annotated with the given annotation type.
    *
    * @param annotation the annotation class to search for
    * @return a set of fields annotated with the specified annotation
    * @see Reflections#getFieldsAnnotatedWith(Class)
    * @see Field
    */
-  public static Set<Field> getFieldsAnnotatedWith(Class<? extends Annotation> annotation) {
+  public Set<Field> getFieldsAnnotatedWith(Class<? extends Annotation> annotation) {
     return reflections.getFieldsAnnotatedWith(annotation);
   }
 }
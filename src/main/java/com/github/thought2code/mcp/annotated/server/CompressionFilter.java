@@ -0,0 +1,625 @@
+package com.github.thought2code.mcp.annotated.server;
+
+import com.github.thought2code.mcp.annotated.configuration.McpServerCompression;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compresses the HTTP responses with gzip or deflate, as negotiated with the {@code
+ * Accept-Encoding} header of the request.
+ *
+ * <p>A response is compressed if its MIME type is in the allowlist and its size reaches the
+ * threshold. The response body is buffered until the threshold is reached, so a small response is
+ * sent as is, with its {@code Content-Length}.
+ *
+ * <p>An SSE stream ({@code text/event-stream}) is compressed as soon as it is flushed, whatever the
+ * size of its first events, since it is open-ended. Every flush of the response synchronously
+ * flushes the compressor, so each event reaches the client as soon as it is written instead of
+ * waiting for the compressor to fill a block. The compressed stream is finished when the response
+ * completes, including when an asynchronous request is completed.
+ *
+ * @author codeboyzhou
+ * @see McpServerCompression
+ */
+public class CompressionFilter extends HttpFilter {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final Logger log = LoggerFactory.getLogger(CompressionFilter.class);
+
+  /** The gzip content encoding. */
+  private static final String GZIP = "gzip";
+
+  /** The deflate content encoding. */
+  private static final String DEFLATE = "deflate";
+
+  /** The MIME type of SSE streams. */
+  private static final String EVENT_STREAM = "text/event-stream";
+
+  /** The size of the compressor buffers in bytes. */
+  private static final int BUFFER_SIZE = 8192;
+
+  /** The minimum size of the compressed responses in bytes. */
+  private final int minSize;
+
+  /** The MIME types of the compressed responses. */
+  private final Set<String> mimeTypes;
+
+  /** The compression level, from 1 (fastest) to 9 (smallest). */
+  private final int level;
+
+  /**
+   * Constructs a new {@link CompressionFilter}.
+   *
+   * @param compression the response compression configuration
+   */
+  public CompressionFilter(McpServerCompression compression) {
+    this.minSize = compression.minSize();
+    this.mimeTypes = Set.copyOf(compression.mimeTypes());
+    this.level = compression.level();
+  }
+
+  @Override
+  protected void doFilter(
+      HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws IOException, ServletException {
+
+    final String encoding = negotiate(request.getHeader("Accept-Encoding"));
+    if (encoding == null) {
+      chain.doFilter(request, response);
+      return;
+    }
+
+    response.addHeader("Vary", "Accept-Encoding");
+    CompressedResponse compressed = new CompressedResponse(response, encoding);
+    chain.doFilter(new CompressedRequest(request, compressed), compressed);
+    if (!request.isAsyncStarted()) {
+      compressed.finish();
+    }
+  }
+
+  /**
+   * Returns the content encoding preferred by the client among gzip and deflate.
+   *
+   * @param acceptEncoding the {@code Accept-Encoding} header of the request, or null
+   * @return gzip or deflate, or null if the client accepts neither
+   */
+  static String negotiate(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return null;
+    }
+
+    String preferred = null;
+    double preferredQuality = 0;
+    for (String token : acceptEncoding.split(",")) {
+      final String[] parts = token.trim().split(";");
+      String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+      final double quality = quality(parts);
+      if ("*".equals(coding)) {
+        coding = GZIP;
+      }
+      final boolean supported = GZIP.equals(coding) || DEFLATE.equals(coding);
+      final boolean better =
+          quality > preferredQuality || (quality == preferredQuality && GZIP.equals(coding));
+      if (supported && quality > 0 && better) {
+        preferred = coding;
+        preferredQuality = quality;
+      }
+    }
+    return preferred;
+  }
+
+  /**
+   * Returns the quality value of an {@code Accept-Encoding} entry.
+   *
+   * @param parts the entry split on semicolons, the content coding first
+   * @return the quality value, 1 if missing, 0 if malformed
+   */
+  private static double quality(String[] parts) {
+    for (int i = 1; i < parts.length; i++) {
+      final String parameter = parts[i].trim();
+      if (parameter.startsWith("q=")) {
+        try {
+          return Double.parseDouble(parameter.substring(2));
+        } catch (NumberFormatException e) {
+          return 0;
+        }
+      }
+    }
+    return 1;
+  }
+
+  /**
+   * Returns whether responses of the specified content type are compressed.
+   *
+   * @param contentType the content type of the response, or null
+   * @return true if the MIME type of the content type is in the allowlist
+   */
+  private boolean isCompressible(String contentType) {
+    if (contentType == null) {
+      return false;
+    }
+    final String mimeType = mimeTypeOf(contentType);
+    final int slash = mimeType.indexOf('/');
+    return mimeTypes.contains(mimeType)
+        || (slash > 0 && mimeTypes.contains(mimeType.substring(0, slash) + "/*"));
+  }
+
+  /**
+   * Returns the MIME type of a content type, without its parameters.
+   *
+   * @param contentType the content type
+   * @return the lower-case MIME type
+   */
+  private static String mimeTypeOf(String contentType) {
+    final int semicolon = contentType.indexOf(';');
+    final String mimeType = semicolon < 0 ? contentType : contentType.substring(0, semicolon);
+    return mimeType.trim().toLowerCase(Locale.ROOT);
+  }
+
+  /** A request whose asynchronous context finishes the compressed response on completion. */
+  private static class CompressedRequest extends HttpServletRequestWrapper {
+
+    /** The compressed response. */
+    private final CompressedResponse response;
+
+    /**
+     * Constructs a new {@link CompressedRequest}.
+     *
+     * @param request the request to wrap
+     * @param response the compressed response
+     */
+    CompressedRequest(HttpServletRequest request, CompressedResponse response) {
+      super(request);
+      this.response = response;
+    }
+
+    @Override
+    public AsyncContext startAsync() {
+      return new CompressedAsyncContext(super.startAsync(this, response), response);
+    }
+
+    @Override
+    public AsyncContext startAsync(ServletRequest request, ServletResponse response) {
+      return new CompressedAsyncContext(super.startAsync(request, response), this.response);
+    }
+  }
+
+  /** A response whose body is compressed once the compression is decided. */
+  private class CompressedResponse extends HttpServletResponseWrapper {
+
+    /** The negotiated content encoding. */
+    private final String encoding;
+
+    /** The compressing output stream, created on first use. */
+    private CompressedOutputStream outputStream;
+
+    /** The writer over the compressing output stream, created on first use. */
+    private PrintWriter writer;
+
+    /** The content length set by the servlet, or -1 if unknown. */
+    private volatile long contentLength = -1;
+
+    /**
+     * Constructs a new {@link CompressedResponse}.
+     *
+     * @param response the response to wrap
+     * @param encoding the negotiated content encoding
+     */
+    CompressedResponse(HttpServletResponse response, String encoding) {
+      super(response);
+      this.encoding = encoding;
+    }
+
+    @Override
+    public synchronized ServletOutputStream getOutputStream() throws IOException {
+      if (writer != null) {
+        throw new IllegalStateException("getWriter() has already been called");
+      }
+      return stream();
+    }
+
+    @Override
+    public synchronized PrintWriter getWriter() throws IOException {
+      if (writer == null) {
+        if (outputStream != null) {
+          throw new IllegalStateException("getOutputStream() has already been called");
+        }
+        Charset charset = Charset.forName(getCharacterEncoding());
+        writer = new PrintWriter(new OutputStreamWriter(stream(), charset));
+      }
+      return writer;
+    }
+
+    @Override
+    public void setContentLength(int length) {
+      setContentLengthLong(length);
+    }
+
+    @Override
+    public void setContentLengthLong(long length) {
+      contentLength = length;
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+      if ("Content-Length".equalsIgnoreCase(name)) {
+        contentLength = Long.parseLong(value);
+      } else {
+        super.setHeader(name, value);
+      }
+    }
+
+    @Override
+    public synchronized void flushBuffer() throws IOException {
+      if (writer != null) {
+        writer.flush();
+      } else if (outputStream != null) {
+        outputStream.flush();
+      } else {
+        super.flushBuffer();
+      }
+    }
+
+    @Override
+    public synchronized void resetBuffer() {
+      if (outputStream != null) {
+        outputStream.resetBuffer();
+      }
+      super.resetBuffer();
+    }
+
+    /**
+     * Finishes the compressed response: the buffered body is sent and the compressor is finished.
+     *
+     * @throws IOException if the body cannot be written
+     */
+    synchronized void finish() throws IOException {
+      if (writer != null) {
+        writer.flush();
+      }
+      if (outputStream != null) {
+        outputStream.finish();
+      }
+    }
+
+    /**
+     * Returns the compressing output stream, creating it on first use.
+     *
+     * @return the compressing output stream
+     * @throws IOException if the output stream of the wrapped response cannot be obtained
+     */
+    private CompressedOutputStream stream() throws IOException {
+      if (outputStream == null) {
+        outputStream = new CompressedOutputStream(this, super.getOutputStream());
+      }
+      return outputStream;
+    }
+
+    /**
+     * Returns whether the response body is compressed, once the buffered size is known.
+     *
+     * @param bufferedSize the size of the buffered body in bytes
+     * @param streaming whether the response is flushed before it is complete
+     * @return true if the response body is compressed
+     */
+    boolean shouldCompress(int bufferedSize, boolean streaming) {
+      if (containsHeader("Content-Encoding") || !isCompressible(getContentType())) {
+        return false;
+      }
+      final long size = contentLength >= 0 ? contentLength : bufferedSize;
+      return streaming || size >= minSize;
+    }
+
+    /**
+     * Returns whether the response is an SSE stream.
+     *
+     * @return true if the content type of the response is {@code text/event-stream}
+     */
+    boolean isEventStream() {
+      final String contentType = getContentType();
+      return contentType != null && EVENT_STREAM.equals(mimeTypeOf(contentType));
+    }
+
+    /** Sets the content encoding of the compressed response. */
+    void compressed() {
+      super.setHeader("Content-Encoding", encoding);
+    }
+
+    /**
+     * Sets the content length of the uncompressed response.
+     *
+     * @param bufferedSize the size of the buffered body, used if the servlet set no content length
+     * @param complete whether the buffered body is the complete body
+     */
+    void uncompressed(int bufferedSize, boolean complete) {
+      if (contentLength >= 0) {
+        super.setContentLengthLong(contentLength);
+      } else if (complete) {
+        super.setContentLengthLong(bufferedSize);
+      }
+    }
+  }
+
+  /** An output stream buffering the body until the compression is decided, then compressing it. */
+  private class CompressedOutputStream extends ServletOutputStream {
+
+    /** The compressed response. */
+    private final CompressedResponse response;
+
+    /** The output stream of the wrapped response. */
+    private final ServletOutputStream output;
+
+    /** The body buffered until the compression is decided. */
+    private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+    /** The stream the body is written to once the compression is decided. */
+    private OutputStream target;
+
+    /** The deflater of the deflate encoding, ended when the stream is finished. */
+    private Deflater deflater;
+
+    /** Whether the compressed stream is finished. */
+    private boolean finished;
+
+    /**
+     * Constructs a new {@link CompressedOutputStream}.
+     *
+     * @param response the compressed response
+     * @param output the output stream of the wrapped response
+     */
+    CompressedOutputStream(CompressedResponse response, ServletOutputStream output) {
+      this.response = response;
+      this.output = output;
+    }
+
+    @Override
+    public synchronized void write(int b) throws IOException {
+      write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public synchronized void write(byte[] bytes, int offset, int length) throws IOException {
+      if (finished) {
+        throw new IOException("Compressed response is already finished");
+      }
+      if (target == null) {
+        buffer.write(bytes, offset, length);
+        if (buffer.size() >= minSize || response.contentLength >= 0) {
+          decide(false);
+        }
+        return;
+      }
+      target.write(bytes, offset, length);
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+      if (target == null) {
+        if (!response.isEventStream()) {
+          return;
+        }
+        decide(true);
+      }
+      target.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+      finish();
+    }
+
+    @Override
+    public boolean isReady() {
+      return output.isReady();
+    }
+
+    @Override
+    public void setWriteListener(WriteListener writeListener) {
+      output.setWriteListener(writeListener);
+    }
+
+    /** Discards the buffered body, if the compression is not decided yet. */
+    synchronized void resetBuffer() {
+      if (target == null) {
+        buffer.reset();
+      }
+    }
+
+    /**
+     * Sends the buffered body and finishes the compressed stream.
+     *
+     * @throws IOException if the body cannot be written
+     */
+    synchronized void finish() throws IOException {
+      if (finished) {
+        return;
+      }
+      if (target == null) {
+        decide(false, true);
+      }
+      finished = true;
+      try {
+        if (target instanceof DeflaterOutputStream compressor) {
+          compressor.finish();
+        }
+        target.flush();
+      } finally {
+        if (deflater != null) {
+          deflater.end();
+        }
+      }
+    }
+
+    /**
+     * Decides whether the body is compressed, then writes the buffered body to the target stream.
+     *
+     * @param streaming whether the response is flushed before it is complete
+     * @throws IOException if the buffered body cannot be written
+     */
+    private void decide(boolean streaming) throws IOException {
+      decide(streaming, false);
+    }
+
+    /**
+     * Decides whether the body is compressed, then writes the buffered body to the target stream.
+     *
+     * @param streaming whether the response is flushed before it is complete
+     * @param complete whether the buffered body is the complete body
+     * @throws IOException if the buffered body cannot be written
+     */
+    private void decide(boolean streaming, boolean complete) throws IOException {
+      final int size = buffer.size();
+      if (response.shouldCompress(size, streaming)) {
+        response.compressed();
+        if (GZIP.equals(response.encoding)) {
+          target = new LevelGzipOutputStream(output, level);
+        } else {
+          deflater = new Deflater(level);
+          target = new DeflaterOutputStream(output, deflater, BUFFER_SIZE, true);
+        }
+      } else {
+        response.uncompressed(size, complete);
+        target = output;
+      }
+      if (size > 0) {
+        buffer.writeTo(target);
+      }
+      buffer = null;
+    }
+  }
+
+  /** A gzip output stream with a compression level, synchronously flushed on every flush. */
+  private static class LevelGzipOutputStream extends GZIPOutputStream {
+
+    /**
+     * Constructs a new {@link LevelGzipOutputStream}.
+     *
+     * @param output the output stream to write the compressed data to
+     * @param level the compression level, from 1 (fastest) to 9 (smallest)
+     * @throws IOException if the gzip header cannot be written
+     */
+    LevelGzipOutputStream(OutputStream output, int level) throws IOException {
+      super(output, BUFFER_SIZE, true);
+      def.setLevel(level);
+    }
+  }
+
+  /** An asynchronous context finishing the compressed response before it completes. */
+  private static class CompressedAsyncContext implements AsyncContext {
+
+    /** The asynchronous context to delegate to. */
+    private final AsyncContext delegate;
+
+    /** The compressed response. */
+    private final CompressedResponse response;
+
+    /**
+     * Constructs a new {@link CompressedAsyncContext}.
+     *
+     * @param delegate the asynchronous context to delegate to
+     * @param response the compressed response
+     */
+    CompressedAsyncContext(AsyncContext delegate, CompressedResponse response) {
+      this.delegate = delegate;
+      this.response = response;
+    }
+
+    @Override
+    public ServletRequest getRequest() {
+      return delegate.getRequest();
+    }
+
+    @Override
+    public ServletResponse getResponse() {
+      return delegate.getResponse();
+    }
+
+    @Override
+    public boolean hasOriginalRequestAndResponse() {
+      return delegate.hasOriginalRequestAndResponse();
+    }
+
+    @Override
+    public void dispatch() {
+      delegate.dispatch();
+    }
+
+    @Override
+    public void dispatch(String path) {
+      delegate.dispatch(path);
+    }
+
+    @Override
+    public void dispatch(ServletContext context, String path) {
+      delegate.dispatch(context, path);
+    }
+
+    @Override
+    public void complete() {
+      try {
+        response.finish();
+      } catch (IOException e) {
+        log.debug("Error finishing compressed response, completing it anyway", e);
+      } finally {
+        delegate.complete();
+      }
+    }
+
+    @Override
+    public void start(Runnable run) {
+      delegate.start(run);
+    }
+
+    @Override
+    public void addListener(AsyncListener listener) {
+      delegate.addListener(listener);
+    }
+
+    @Override
+    public void addListener(
+        AsyncListener listener, ServletRequest request, ServletResponse response) {
+      delegate.addListener(listener, request, response);
+    }
+
+    @Override
+    public <T extends AsyncListener> T createListener(Class<T> clazz) throws ServletException {
+      return delegate.createListener(clazz);
+    }
+
+    @Override
+    public void setTimeout(long timeout) {
+      delegate.setTimeout(timeout);
+    }
+
+    @Override
+    public long getTimeout() {
+      return delegate.getTimeout();
+    }
+  }
+}
@@ -0,0 +1,78 @@
+package com.github.thought2code.mcp.annotated.server;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Rejects the requests opening new MCP sessions while the HTTP server is draining.
+ *
+ * <p>A request opens a new session if it carries neither the {@code Mcp-Session-Id} header of the
+ * Streamable HTTP transport nor the {@code sessionId} query parameter of the HTTP SSE transport.
+ * Such requests are answered with {@code 503 Service Unavailable} and a {@code Connection: close}
+ * header so that clients reconnect to another instance, while the requests of the existing sessions
+ * still reach the MCP transport until the drain completes.
+ *
+ * @author codeboyzhou
+ * @see JettyHttpServer#drain()
+ */
+public class DrainFilter extends HttpFilter {
+
+  private static final long serialVersionUID = 1L;
+
+  /** The session id header of the Streamable HTTP transport. */
+  private static final String SESSION_ID_HEADER = "Mcp-Session-Id";
+
+  /** The session id query parameter of the HTTP SSE transport. */
+  private static final String SESSION_ID_PARAMETER = "sessionId";
+
+  /** Whether the HTTP server is draining. */
+  private final transient BooleanSupplier draining;
+
+  /** The request paths that are never rejected, e.g. the health endpoints. */
+  private final Set<String> exemptPaths;
+
+  /**
+   * Constructs a new {@link DrainFilter}.
+   *
+   * @param draining whether the HTTP server is draining
+   * @param exemptPaths the request paths that are never rejected
+   */
+  public DrainFilter(BooleanSupplier draining, Collection<String> exemptPaths) {
+    this.draining = draining;
+    this.exemptPaths = Set.copyOf(exemptPaths);
+  }
+
+  @Override
+  protected void doFilter(
+      HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws IOException, ServletException {
+
+    if (draining.getAsBoolean() && opensSession(request)) {
+      response.setHeader("Connection", "close");
+      response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "MCP server is draining");
+      return;
+    }
+    chain.doFilter(request, response);
+  }
+
+  /**
+   * Returns whether the specified request opens a new MCP session.
+   *
+   * @param request the HTTP request
+   * @return true if the request opens a new session
+   */
+  private boolean opensSession(HttpServletRequest request) {
+    if (exemptPaths.contains(request.getRequestURI())) {
+      return false;
+    }
+    return request.getHeader(SESSION_ID_HEADER) == null
+        && request.getParameter(SESSION_ID_PARAMETER) == null;
+  }
+}
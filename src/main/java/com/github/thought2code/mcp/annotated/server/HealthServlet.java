@@ -0,0 +1,54 @@
+package com.github.thought2code.mcp.annotated.server;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.BooleanSupplier;
+
+/**
+ * HTTP servlet reporting a health check of the MCP server to load balancers and orchestrators.
+ *
+ * <p>The servlet answers {@code 200 OK} when the check passes and {@code 503 Service Unavailable}
+ * otherwise. It backs both the readiness endpoint, which fails as soon as the server starts
+ * draining, and the liveness endpoint, which passes as long as the HTTP server runs.
+ *
+ * @author codeboyzhou
+ * @see JettyHttpServer
+ */
+public class HealthServlet extends HttpServlet {
+
+  private static final long serialVersionUID = 1L;
+
+  /** The health check. */
+  private final transient BooleanSupplier check;
+
+  /**
+   * Constructs a new {@link HealthServlet} with the specified health check.
+   *
+   * @param check the health check
+   */
+  public HealthServlet(BooleanSupplier check) {
+    this.check = check;
+  }
+
+  /**
+   * Writes the result of the health check.
+   *
+   * @param request the HTTP request
+   * @param response the HTTP response
+   * @throws IOException if writing the response fails
+   */
+  @Override
+  protected void doGet(HttpServletRequest request, HttpServletResponse response)
+      throws IOException {
+    final boolean healthy = check.getAsBoolean();
+    final int status =
+        healthy ? HttpServletResponse.SC_OK : HttpServletResponse.SC_SERVICE_UNAVAILABLE;
+    response.setStatus(status);
+    response.setContentType("text/plain");
+    response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+    response.getWriter().write(healthy ? "UP" : "DOWN");
+  }
+}
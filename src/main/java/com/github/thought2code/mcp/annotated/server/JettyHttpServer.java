@@ -1,12 +1,35 @@
 package com.github.thought2code.mcp.annotated.server;
 
+import com.github.thought2code.mcp.annotated.configuration.McpServerHttp;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.Filter;
 import jakarta.servlet.http.HttpServlet;
+import java.io.IOException;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import org.eclipse.jetty.ee10.servlet.FilterHolder;
 import org.eclipse.jetty.ee10.servlet.ServletContextHandler;
 import org.eclipse.jetty.ee10.servlet.ServletHolder;
+import org.eclipse.jetty.ee10.websocket.server.JettyWebSocketServlet;
+import org.eclipse.jetty.ee10.websocket.server.config.JettyWebSocketServletContainerInitializer;
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.eclipse.jetty.server.ConnectionFactory;
+import org.eclipse.jetty.server.HttpConfiguration;
+import org.eclipse.jetty.server.HttpConnectionFactory;
 import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.unixdomain.server.UnixDomainServerConnector;
 import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.eclipse.jetty.util.thread.ThreadPool;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,6 +37,20 @@ import org.slf4j.LoggerFactory;
 /**
  * A simple Jetty HTTP server implementation.
  *
+ * <p>Starting the server does not block the calling thread, use {@link #join()} to wait for the
+ * server to stop. Several servers can share the same thread pool, see {@link
+ * #withThreadPool(ThreadPool)}.
+ *
+ * <p>The thread pool and connector are tuned by an {@link McpServerHttp} configuration, which can
+ * also enable HTTP/2 cleartext (h2c) next to HTTP/1.1 on the same port, and gzip compression of the
+ * responses. The server listens on its TCP port, on a Unix domain socket for the clients running on
+ * the same host, or on both. A WebSocket transport provider is served on the same connectors, the
+ * WebSocket support being enabled when the transport provider is a {@link JettyWebSocketServlet}.
+ *
+ * <p>Before it is stopped, the server can be drained with {@link #drain()}: it then rejects the
+ * requests opening new MCP sessions and its readiness endpoint reports it as not ready, so that
+ * load balancers move the traffic away, while the existing sessions are still served.
+ *
  * @author codeboyzhou
  */
 public class JettyHttpServer {
@@ -32,8 +69,29 @@ public class JettyHttpServer {
   /** MCP transport provider to be registered in Jetty HTTP server. */
   private HttpServlet mcpTransportProvider;
 
+  /** Additional servlets to be registered in Jetty HTTP server keyed by servlet path. */
+  private final Map<String, HttpServlet> servlets = new LinkedHashMap<>();
+
+  /** The filters applied to all requests, in registration order. */
+  private final List<Filter> filters = new ArrayList<>();
+
   /** Port to bind Jetty HTTP server. */
-  private int port = 8080;
+  private volatile int port = 8080;
+
+  /** The shared thread pool, or null to create a dedicated one. */
+  private ThreadPool threadPool;
+
+  /** The thread pool and connector configuration. */
+  private McpServerHttp http = McpServerHttp.builder().build();
+
+  /** The readiness endpoint path, or null if not exposed. */
+  private String readyEndpoint;
+
+  /** The liveness endpoint path, or null if not exposed. */
+  private String liveEndpoint;
+
+  /** Whether the server is draining before it stops. */
+  private volatile boolean draining;
 
   /** Jetty server instance. */
   private Server server;
@@ -49,6 +107,78 @@ public class JettyHttpServer {
     return this;
   }
 
+  /**
+   * Register an additional servlet to be handled by Jetty HTTP server, e.g. a diagnostics endpoint.
+   *
+   * <p>The servlet path must be more specific than the MCP transport provider path {@code /*}, so
+   * that requests to it are not routed to the MCP transport provider.
+   *
+   * @param path the servlet path, e.g. {@code /diagnostics/slow-calls}
+   * @param servlet the servlet to register
+   * @return this server instance
+   */
+  public JettyHttpServer withServlet(@NotNull String path, @NotNull HttpServlet servlet) {
+    servlets.put(path, servlet);
+    return this;
+  }
+
+  /**
+   * Register a filter to be applied to all requests handled by Jetty HTTP server.
+   *
+   * @param filter the filter to register
+   * @return this server instance
+   */
+  public JettyHttpServer withFilter(@NotNull Filter filter) {
+    filters.add(filter);
+    return this;
+  }
+
+  /**
+   * Use a thread pool shared with other servers instead of a dedicated one.
+   *
+   * <p>The shared thread pool must be started, and is neither started nor stopped by this server.
+   *
+   * @param threadPool the started thread pool to share
+   * @return this server instance
+   */
+  public JettyHttpServer withThreadPool(@NotNull ThreadPool threadPool) {
+    this.threadPool = threadPool;
+    return this;
+  }
+
+  /**
+   * Tune the thread pool and connector of Jetty HTTP server.
+   *
+   * <p>The thread pool settings are ignored if a shared thread pool is used, see {@link
+   * #withThreadPool(ThreadPool)}.
+   *
+   * @param http the thread pool and connector configuration, or null for the default one
+   * @return this server instance
+   */
+  public JettyHttpServer withHttpConfiguration(McpServerHttp http) {
+    if (http != null) {
+      this.http = http;
+    }
+    return this;
+  }
+
+  /**
+   * Expose the readiness and liveness endpoints, answering {@code 200 OK} or {@code 503 Service
+   * Unavailable} for load balancers and orchestrators.
+   *
+   * <p>The server is ready while it is running and not draining, and alive while it is running.
+   *
+   * @param readyEndpoint the readiness endpoint path, e.g. {@code /ready}
+   * @param liveEndpoint the liveness endpoint path, e.g. {@code /live}
+   * @return this server instance
+   */
+  public JettyHttpServer withHealthEndpoints(
+      @NotNull String readyEndpoint, @NotNull String liveEndpoint) {
+    this.readyEndpoint = readyEndpoint;
+    this.liveEndpoint = liveEndpoint;
+    return this;
+  }
+
   /**
    * Bind Jetty HTTP server to a specific port.
    *
@@ -63,7 +193,12 @@ public class JettyHttpServer {
     return this;
   }
 
-  /** Start Jetty HTTP server and bind it to the specified port. */
+  /**
+   * Start Jetty HTTP server and bind it to the specified port.
+   *
+   * <p>This method returns once the server is started. If the server fails to start, the error is
+   * logged and {@link #isRunning()} returns false.
+   */
   public void start() {
     if (server != null && server.isRunning()) {
       log.warn("Jetty-based MCP server is already started");
@@ -74,14 +209,6 @@ public class JettyHttpServer {
       initServer();
       server.start();
       log.info("Jetty-based MCP server started successfully");
-
-      final boolean isTesting = Boolean.parseBoolean(System.getProperty("mcp.server.testing"));
-      if (isTesting) {
-        log.debug("Testing Jetty-based MCP server, not awaiting for server to stop");
-        return;
-      }
-
-      await(server);
     } catch (Exception e) {
       log.error("Error starting Jetty-based MCP server", e);
       stop();
@@ -92,37 +219,153 @@ public class JettyHttpServer {
   private void initServer() {
     Objects.requireNonNull(mcpTransportProvider, "mcpTransportProvider must not be null");
 
-    QueuedThreadPool threadPool = new QueuedThreadPool();
-    threadPool.setName(JETTY_THREAD_POOL_NAME);
-    server = new Server(threadPool);
-    server.setStopAtShutdown(true);
+    if (threadPool == null) {
+      server = new Server(createThreadPool(http));
+    } else {
+      server = new Server(threadPool);
+      server.unmanage(threadPool);
+    }
 
-    ServerConnector connector = new ServerConnector(server);
-    connector.setPort(port);
-    server.addConnector(connector);
+    HttpConfiguration httpConfiguration = new HttpConfiguration();
+    httpConfiguration.setOutputBufferSize(http.outputBufferSize());
+    List<ConnectionFactory> connectionFactories = new ArrayList<>();
+    connectionFactories.add(new HttpConnectionFactory(httpConfiguration));
+    if (http.http2Cleartext()) {
+      connectionFactories.add(new HTTP2CServerConnectionFactory(httpConfiguration));
+    }
+
+    final ConnectionFactory[] factories = connectionFactories.toArray(ConnectionFactory[]::new);
+    if (http.tcpEnabled()) {
+      ServerConnector connector =
+          new ServerConnector(server, http.acceptors(), http.selectors(), factories);
+      connector.setPort(port);
+      connector.setIdleTimeout(http.idleTimeout());
+      connector.setAcceptQueueSize(http.acceptQueueSize());
+      server.addConnector(connector);
+    }
+    if (http.unixSocketPath() != null) {
+      UnixDomainServerConnector connector =
+          new UnixDomainServerConnector(server, http.acceptors(), http.selectors(), factories);
+      connector.setUnixDomainPath(unixSocketPath());
+      connector.setIdleTimeout(http.idleTimeout());
+      connector.setAcceptQueueSize(http.acceptQueueSize());
+      server.addConnector(connector);
+      log.info("Jetty-based MCP server listens on Unix domain socket {}", http.unixSocketPath());
+    }
+    if (server.getConnectors().length == 0) {
+      throw new IllegalStateException("Either TCP or a Unix domain socket must be enabled");
+    }
 
     ServletContextHandler handler = new ServletContextHandler(ServletContextHandler.SESSIONS);
     handler.setContextPath(DEFAULT_CONTEXT_PATH);
+    if (mcpTransportProvider instanceof JettyWebSocketServlet) {
+      JettyWebSocketServletContainerInitializer.configure(handler, null);
+    }
     handler.addServlet(new ServletHolder(mcpTransportProvider), DEFAULT_SERVLET_PATH);
+    servlets.forEach((path, servlet) -> handler.addServlet(new ServletHolder(servlet), path));
+    List<String> exemptPaths = new ArrayList<>();
+    if (readyEndpoint != null && liveEndpoint != null) {
+      handler.addServlet(new ServletHolder(new HealthServlet(this::isReady)), readyEndpoint);
+      handler.addServlet(new ServletHolder(new HealthServlet(this::isRunning)), liveEndpoint);
+      exemptPaths.add(readyEndpoint);
+      exemptPaths.add(liveEndpoint);
+    }
+    EnumSet<DispatcherType> dispatches = EnumSet.of(DispatcherType.REQUEST);
+    DrainFilter drainFilter = new DrainFilter(() -> draining, exemptPaths);
+    handler.addFilter(new FilterHolder(drainFilter), DEFAULT_SERVLET_PATH, dispatches);
+    if (http.compression() != null && Boolean.TRUE.equals(http.compression().enabled())) {
+      CompressionFilter compressionFilter = new CompressionFilter(http.compression());
+      handler.addFilter(new FilterHolder(compressionFilter), DEFAULT_SERVLET_PATH, dispatches);
+    }
+    filters.forEach(
+        filter -> handler.addFilter(new FilterHolder(filter), DEFAULT_SERVLET_PATH, dispatches));
     server.setHandler(handler);
   }
 
   /**
-   * Await for Jetty HTTP server to stop.
+   * Returns the path of the Unix domain socket, deleting the socket file left over by a server that
+   * is no longer running so that the socket can be bound again.
    *
-   * @param server the Jetty HTTP server instance
+   * @return the path of the Unix domain socket
    */
-  private void await(Server server) {
-    try {
-      server.join();
-    } catch (InterruptedException e) {
-      log.error("Error joining Jetty-based MCP server", e);
+  private Path unixSocketPath() {
+    final Path path = Path.of(http.unixSocketPath());
+    if (Files.exists(path)) {
+      try (SocketChannel channel = SocketChannel.open(UnixDomainSocketAddress.of(path))) {
+        log.warn("Unix domain socket {} is already in use", path);
+      } catch (IOException e) {
+        log.info("Deleting stale Unix domain socket {}", path);
+        try {
+          Files.deleteIfExists(path);
+        } catch (IOException ex) {
+          log.warn("Error deleting stale Unix domain socket {}", path, ex);
+        }
+      }
+    }
+    return path;
+  }
+
+  /**
+   * Creates a thread pool with the thread settings of the specified configuration.
+   *
+   * @param http the thread pool configuration
+   * @return a new thread pool, not started
+   */
+  public static QueuedThreadPool createThreadPool(McpServerHttp http) {
+    QueuedThreadPool threadPool = new QueuedThreadPool(http.maxThreads(), http.minThreads());
+    threadPool.setReservedThreads(http.reservedThreads());
+    threadPool.setName(JETTY_THREAD_POOL_NAME);
+    return threadPool;
+  }
+
+  /**
+   * Returns whether Jetty HTTP server is started and accepting requests.
+   *
+   * @return true if the server is running
+   */
+  public boolean isRunning() {
+    final Server current = server;
+    return current != null && current.isRunning();
+  }
+
+  /**
+   * Returns whether Jetty HTTP server is running and not draining.
+   *
+   * @return true if the server accepts new MCP sessions
+   */
+  public boolean isReady() {
+    return isRunning() && !draining;
+  }
+
+  /**
+   * Start draining Jetty HTTP server before it stops: the requests opening new MCP sessions are
+   * rejected and the server is reported as not ready, while the existing sessions are still served.
+   */
+  public void drain() {
+    if (!draining) {
+      draining = true;
+      log.info("Jetty-based MCP server is draining");
+    }
+  }
+
+  /**
+   * Wait for Jetty HTTP server to stop.
+   *
+   * @throws InterruptedException if the current thread is interrupted while waiting
+   */
+  public void join() throws InterruptedException {
+    final Server current = server;
+    if (current != null) {
+      current.join();
     }
   }
 
-  /** Stop Jetty HTTP server. */
+  /**
+   * Stop Jetty HTTP server, including a server that failed to start, whose connectors may still
+   * occupy threads of the thread pool.
+   */
   public void stop() {
-    if (server != null && server.isRunning()) {
+    if (server != null) {
       try {
         server.stop();
         log.info("Jetty-based MCP server stopped");
@@ -134,4 +377,17 @@ public class JettyHttpServer {
       }
     }
   }
+
+  /**
+   * Stop Jetty HTTP server gracefully, waiting at most the specified timeout for in-flight requests
+   * to complete.
+   *
+   * @param timeout the maximum time to wait for in-flight requests to complete
+   */
+  public void stop(Duration timeout) {
+    if (server != null) {
+      server.setStopTimeout(timeout.toMillis());
+    }
+    stop();
+  }
 }
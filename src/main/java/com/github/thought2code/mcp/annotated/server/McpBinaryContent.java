@@ -0,0 +1,207 @@
+package com.github.thought2code.mcp.annotated.server;
+
+import com.github.thought2code.mcp.annotated.exception.McpServerException;
+import io.modelcontextprotocol.spec.McpSchema;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Base64;
+
+/**
+ * The image or audio result of an MCP tool method, answered as an image or audio content.
+ *
+ * <p>The payload is base64-encoded when this content is created, straight from its source: a byte
+ * array, a byte buffer, which is not copied even if it is a direct or read-only buffer, or a file,
+ * which is memory-mapped rather than read into the heap. The encoded text is the only copy of the
+ * payload kept until the tool result is sent:
+ *
+ * <pre>{@code
+ * @McpTool(description = "Renders the sales chart of a year")
+ * public McpBinaryContent renderChart(@McpToolParam(name = "year") int year) {
+ *     byte[] png = chartRenderer.render(sales.ofYear(year));
+ *     return McpBinaryContent.image(png, "image/png");
+ * }
+ * }</pre>
+ *
+ * <p>Images and audio mixed with text are returned with {@link McpMixedContent}.
+ *
+ * @author codeboyzhou
+ * @see McpMixedContent
+ */
+public final class McpBinaryContent {
+
+  /** The number of payload bytes encoded at once, a multiple of 3 to avoid padding. */
+  private static final int CHUNK_SIZE = 3 * 16 * 1024;
+
+  /** Whether the payload is an audio, or an image otherwise. */
+  private final boolean audio;
+
+  /** The base64-encoded payload. */
+  private final String data;
+
+  /** The MIME type of the payload. */
+  private final String mimeType;
+
+  /**
+   * Constructs a new {@link McpBinaryContent}.
+   *
+   * @param audio whether the payload is an audio, or an image otherwise
+   * @param data the base64-encoded payload
+   * @param mimeType the MIME type of the payload
+   */
+  private McpBinaryContent(boolean audio, String data, String mimeType) {
+    this.audio = audio;
+    this.data = data;
+    this.mimeType = mimeType;
+  }
+
+  /**
+   * Creates an image content from a byte array.
+   *
+   * @param image the bytes of the image
+   * @param mimeType the MIME type of the image, for example {@code image/png}
+   * @return the image content
+   */
+  public static McpBinaryContent image(byte[] image, String mimeType) {
+    return new McpBinaryContent(false, Base64.getEncoder().encodeToString(image), mimeType);
+  }
+
+  /**
+   * Creates an image content from the remaining bytes of a byte buffer, leaving its position
+   * unchanged.
+   *
+   * @param image the bytes of the image
+   * @param mimeType the MIME type of the image, for example {@code image/png}
+   * @return the image content
+   */
+  public static McpBinaryContent image(ByteBuffer image, String mimeType) {
+    return new McpBinaryContent(false, encode(image), mimeType);
+  }
+
+  /**
+   * Creates an image content from a file.
+   *
+   * @param image the image file
+   * @param mimeType the MIME type of the image, for example {@code image/png}
+   * @return the image content
+   * @throws McpServerException if the file cannot be read
+   */
+  public static McpBinaryContent image(Path image, String mimeType) {
+    return new McpBinaryContent(false, encode(image), mimeType);
+  }
+
+  /**
+   * Creates an audio content from a byte array.
+   *
+   * @param audio the bytes of the audio
+   * @param mimeType the MIME type of the audio, for example {@code audio/wav}
+   * @return the audio content
+   */
+  public static McpBinaryContent audio(byte[] audio, String mimeType) {
+    return new McpBinaryContent(true, Base64.getEncoder().encodeToString(audio), mimeType);
+  }
+
+  /**
+   * Creates an audio content from the remaining bytes of a byte buffer, leaving its position
+   * unchanged.
+   *
+   * @param audio the bytes of the audio
+   * @param mimeType the MIME type of the audio, for example {@code audio/wav}
+   * @return the audio content
+   */
+  public static McpBinaryContent audio(ByteBuffer audio, String mimeType) {
+    return new McpBinaryContent(true, encode(audio), mimeType);
+  }
+
+  /**
+   * Creates an audio content from a file.
+   *
+   * @param audio the audio file
+   * @param mimeType the MIME type of the audio, for example {@code audio/wav}
+   * @return the audio content
+   * @throws McpServerException if the file cannot be read
+   */
+  public static McpBinaryContent audio(Path audio, String mimeType) {
+    return new McpBinaryContent(true, encode(audio), mimeType);
+  }
+
+  /**
+   * Returns the MIME type of the payload.
+   *
+   * @return the MIME type
+   */
+  public String mimeType() {
+    return mimeType;
+  }
+
+  /**
+   * Returns the number of characters of the base64-encoded payload.
+   *
+   * @return the length of the encoded payload
+   */
+  public int size() {
+    return data.length();
+  }
+
+  /**
+   * Converts this content into the content of a tool result.
+   *
+   * @return the image or audio content
+   */
+  public McpSchema.Content toContent() {
+    if (audio) {
+      return new McpSchema.AudioContent(null, data, mimeType);
+    }
+    return new McpSchema.ImageContent(null, data, mimeType);
+  }
+
+  /**
+   * Base64-encodes the remaining bytes of a buffer, chunk by chunk unless the buffer is backed by
+   * an accessible array.
+   *
+   * @param buffer the payload
+   * @return the base64-encoded payload
+   */
+  private static String encode(ByteBuffer buffer) {
+    final ByteBuffer source = buffer.duplicate();
+    final int remaining = source.remaining();
+    // the encoded length is known, so the output never grows
+    ByteArrayOutputStream encoded = new ByteArrayOutputStream(4 * ((remaining + 2) / 3));
+    try (OutputStream encoder = Base64.getEncoder().wrap(encoded)) {
+      if (source.hasArray()) {
+        encoder.write(source.array(), source.arrayOffset() + source.position(), remaining);
+      } else {
+        byte[] chunk = new byte[Math.min(CHUNK_SIZE, remaining)];
+        while (source.hasRemaining()) {
+          final int length = Math.min(chunk.length, source.remaining());
+          source.get(chunk, 0, length);
+          encoder.write(chunk, 0, length);
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return encoded.toString(StandardCharsets.ISO_8859_1);
+  }
+
+  /**
+   * Base64-encodes a file, mapped into memory rather than read into the heap.
+   *
+   * @param file the payload file
+   * @return the base64-encoded payload
+   * @throws McpServerException if the file cannot be read
+   */
+  private static String encode(Path file) {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      return encode(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    } catch (IOException e) {
+      throw new McpServerException("Failed to read binary content from " + file, e);
+    }
+  }
+}
@@ -0,0 +1,74 @@
+package com.github.thought2code.mcp.annotated.server;
+
+import com.github.thought2code.mcp.annotated.configuration.McpServerConfiguration;
+import com.github.thought2code.mcp.annotated.context.McpServerContext;
+import com.github.thought2code.mcp.annotated.server.transport.InProcessServerTransportProvider;
+import io.modelcontextprotocol.server.McpServer;
+import io.modelcontextprotocol.spec.McpClientTransport;
+
+/**
+ * MCP server implementation for IN_PROCESS mode.
+ *
+ * <p>This class extends {@link McpServerBase} and provides an MCP server implementation embedded in
+ * the same JVM as its clients. The clients are connected directly to the server components through
+ * {@link McpServerHandle#connectInProcess()}: the JSON-RPC messages are passed by reference,
+ * without any serialization, socket or thread hop.
+ *
+ * <p>IN_PROCESS mode is suitable for:
+ *
+ * <ul>
+ *   <li>Agents embedding their tools in the same application
+ *   <li>Fast integration tests of the MCP server components
+ *   <li>Benchmarks of the overhead of the MCP server components, free of transport costs
+ * </ul>
+ *
+ * <p>Since nothing is serialized, the traffic journal does not record the messages of this mode.
+ *
+ * @author codeboyzhou
+ * @see McpServerBase
+ * @see McpStdioServer
+ * @see InProcessServerTransportProvider
+ */
+public class McpInProcessServer extends McpServerBase {
+
+  /** The transport provider connecting the clients to the server. */
+  private final InProcessServerTransportProvider transportProvider;
+
+  /**
+   * Constructs a new {@link McpInProcessServer} with the specified configuration and context.
+   *
+   * @param configuration the server configuration
+   * @param context the context of the MCP server
+   */
+  public McpInProcessServer(McpServerConfiguration configuration, McpServerContext context) {
+    super(configuration, context);
+    this.transportProvider = new InProcessServerTransportProvider(context.jsonMapper());
+  }
+
+  /**
+   * Creates and returns a synchronization specification for IN_PROCESS mode.
+   *
+   * <p>The server uses the JSON mapper of {@link InProcessServerTransportProvider}, which passes
+   * the schema objects by reference, and executes the requests immediately on the thread of the
+   * client sending them.
+   *
+   * @return a synchronization specification configured for IN_PROCESS transport
+   * @see InProcessServerTransportProvider
+   */
+  @Override
+  public McpServer.SyncSpecification<?> createSyncSpecification() {
+    return McpServer.sync(paginate(transportProvider))
+        .jsonMapper(transportProvider.jsonMapper())
+        .immediateExecution(true);
+  }
+
+  /**
+   * Opens a new session of this server and returns the transport of its client.
+   *
+   * @return the transport to build an MCP client with
+   * @throws IllegalStateException if the server is not running
+   */
+  McpClientTransport connect() {
+    return transportProvider.connect();
+  }
+}
@@ -0,0 +1,113 @@
+package com.github.thought2code.mcp.annotated.server;
+
+import io.modelcontextprotocol.spec.McpSchema;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The result of an MCP tool method mixing text with images or audio, answered as a list of contents
+ * in the order of its parts.
+ *
+ * <pre>{@code
+ * @McpTool(description = "Takes a screenshot of a page")
+ * public McpMixedContent screenshot(@McpToolParam(name = "url") String url) {
+ *     ByteBuffer png = browser.screenshot(url);
+ *     return McpMixedContent.of("Screenshot of " + url, McpBinaryContent.image(png, "image/png"));
+ * }
+ * }</pre>
+ *
+ * <p>A part is converted according to its type: an {@link McpBinaryContent} into an image or audio
+ * content, an {@link McpStructuredContent} into the text content returned by {@link
+ * McpStructuredContent#asTextContent()}, an {@link McpSchema.Content} is kept as is, and any other
+ * part into a text content holding its string value.
+ *
+ * @author codeboyzhou
+ * @see McpBinaryContent
+ */
+public final class McpMixedContent {
+
+  /** The contents of the parts, in order. */
+  private final List<McpSchema.Content> contents;
+
+  /**
+   * Constructs a new {@link McpMixedContent}.
+   *
+   * @param contents the contents of the parts, in order
+   */
+  private McpMixedContent(List<McpSchema.Content> contents) {
+    this.contents = Collections.unmodifiableList(contents);
+  }
+
+  /**
+   * Creates a mixed content from the specified parts.
+   *
+   * @param parts the parts, in order
+   * @return the mixed content
+   */
+  public static McpMixedContent of(Object... parts) {
+    return of(Arrays.asList(parts));
+  }
+
+  /**
+   * Creates a mixed content from the specified parts.
+   *
+   * @param parts the parts, in order
+   * @return the mixed content
+   */
+  public static McpMixedContent of(List<?> parts) {
+    List<McpSchema.Content> contents = new ArrayList<>(parts.size());
+    for (Object part : parts) {
+      contents.add(toContent(part));
+    }
+    return new McpMixedContent(contents);
+  }
+
+  /**
+   * Returns the contents of the parts of this mixed content.
+   *
+   * @return the unmodifiable list of the contents, in order
+   */
+  public List<McpSchema.Content> contents() {
+    return contents;
+  }
+
+  /**
+   * Returns the number of characters of the text and of the base64-encoded payloads of the parts.
+   *
+   * @return the size of the contents
+   */
+  public int size() {
+    int size = 0;
+    for (McpSchema.Content content : contents) {
+      if (content instanceof McpSchema.TextContent text) {
+        size += text.text().length();
+      } else if (content instanceof McpSchema.ImageContent image) {
+        size += image.data().length();
+      } else if (content instanceof McpSchema.AudioContent audio) {
+        size += audio.data().length();
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Converts a part into a content.
+   *
+   * @param part the part
+   * @return the content of the part
+   */
+  private static McpSchema.Content toContent(Object part) {
+    if (part instanceof McpBinaryContent binary) {
+      return binary.toContent();
+    }
+    if (part instanceof McpSchema.Content content) {
+      return content;
+    }
+    if (part instanceof McpStructuredContent structured) {
+      return new McpSchema.TextContent(structured.asTextContent());
+    }
+    return new McpSchema.TextContent(String.valueOf(part));
+  }
+}
@@ -0,0 +1,114 @@
+package com.github.thought2code.mcp.annotated.server;
+
+import com.github.thought2code.mcp.annotated.context.McpRequestContext;
+import com.github.thought2code.mcp.annotated.util.Immutable;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reports the progress of a tool call to the MCP client with progress notifications.
+ *
+ * <p>A tool method declaring a parameter of this type, without {@code McpToolParam} annotation, is
+ * passed the reporter of its call:
+ *
+ * <pre>{@code
+ * @McpTool(description = "Imports the rows of a file")
+ * public String importRows(@McpToolParam(name = "file") String file, McpProgressReporter progress) {
+ *     for (int i = 0; i < rows.size(); i++) {
+ *         importRow(rows.get(i));
+ *         progress.report(i + 1, (double) rows.size(), "Imported row " + (i + 1));
+ *     }
+ *     return "Imported " + rows.size() + " rows";
+ * }
+ * }</pre>
+ *
+ * <p>The notifications are tied to the progress token of the request, so nothing is sent if the
+ * client did not ask for progress notifications, see {@link #isEnabled()}.
+ *
+ * @author codeboyzhou
+ */
+public final class McpProgressReporter {
+
+  private static final Logger log = LoggerFactory.getLogger(McpProgressReporter.class);
+
+  /** The key of the progress token in the {@code _meta} of a request. */
+  private static final String PROGRESS_TOKEN = "progressToken";
+
+  /** The server exchange of the request, wrapped for avoiding EI_EXPOSE_REP2 issue. */
+  private final Immutable<McpSyncServerExchange> exchange;
+
+  /** The progress token of the request, or null if the client asked for no progress. */
+  private final Object progressToken;
+
+  /**
+   * Constructs a new {@link McpProgressReporter}.
+   *
+   * @param exchange the server exchange of the request, may be null
+   * @param progressToken the progress token of the request, may be null
+   */
+  public McpProgressReporter(
+      @Nullable McpSyncServerExchange exchange, @Nullable Object progressToken) {
+    this.exchange = Immutable.of(exchange);
+    this.progressToken = progressToken;
+  }
+
+  /**
+   * Returns the reporter of the request bound to the current thread.
+   *
+   * @return the progress reporter of the current request, which reports nothing if there is no
+   *     request or the client asked for no progress
+   * @see McpRequestContext
+   */
+  public static McpProgressReporter current() {
+    return McpRequestContext.current()
+        .map(
+            context ->
+                new McpProgressReporter(context.exchange(), context.meta().get(PROGRESS_TOKEN)))
+        .orElseGet(() -> new McpProgressReporter(null, null));
+  }
+
+  /**
+   * Returns whether progress notifications are sent, that is whether the client asked for them.
+   *
+   * @return true if the request has a progress token
+   */
+  public boolean isEnabled() {
+    return exchange.get() != null && progressToken != null;
+  }
+
+  /**
+   * Reports the progress of the call.
+   *
+   * @param progress the progress so far, which must increase with each notification
+   * @param message the message describing the progress, may be null
+   */
+  public void report(double progress, @Nullable String message) {
+    report(progress, null, message);
+  }
+
+  /**
+   * Reports the progress of the call.
+   *
+   * <p>A notification that cannot be sent is dropped, the call goes on.
+   *
+   * @param progress the progress so far, which must increase with each notification
+   * @param total the total progress, or null if it is unknown
+   * @param message the message describing the progress, may be null
+   */
+  public void report(double progress, @Nullable Double total, @Nullable String message) {
+    if (!isEnabled()) {
+      return;
+    }
+    try {
+      exchange
+          .get()
+          .progressNotification(
+              new McpSchema.ProgressNotification(progressToken, progress, total, message));
+    } catch (RuntimeException e) {
+      log.debug("Failed to send progress notification for token {}", progressToken, e);
+    }
+  }
+}
@@ -0,0 +1,128 @@
+package com.github.thought2code.mcp.annotated.server;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.github.thought2code.mcp.annotated.util.JacksonHelper;
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Structured content of an MCP tool result that is already serialized as a JSON object.
+ *
+ * <p>A tool backed by data that is already JSON, such as a document store, a cache or an upstream
+ * HTTP API, returns its JSON as it is with {@link #of(String)} instead of parsing it into objects
+ * that the server serializes again. The JSON is written to the wire as a raw value without being
+ * parsed, and it is neither parsed nor validated against the output schema of the tool, so it must
+ * be a valid JSON object.
+ *
+ * <p>The text content of the result is the JSON itself, unless a text is specified with {@link
+ * #of(String, String)}. A summary of the text content is a prefix of it, so rendering it costs
+ * nothing but the copy of the prefix.
+ *
+ * <pre>{@code
+ * @McpTool(description = "Get the document with the specified id")
+ * public McpRawJson getDocument(@McpToolParam(name = "id") String id) {
+ *   return McpRawJson.of(documentStore.getJson(id));
+ * }
+ * }</pre>
+ *
+ * @author codeboyzhou
+ * @see McpStructuredContent
+ */
+public final class McpRawJson implements McpStructuredContent, JsonSerializable {
+
+  /** The serialized JSON object. */
+  private final String json;
+
+  /** The text representation of the JSON object, or null to use the JSON itself. */
+  private final String text;
+
+  /**
+   * Constructs a new {@link McpRawJson}.
+   *
+   * @param json the serialized JSON object
+   * @param text the text representation of the JSON object, or null to use the JSON itself
+   */
+  private McpRawJson(String json, String text) {
+    this.json = Objects.requireNonNull(json, "json must not be null");
+    this.text = text;
+  }
+
+  /**
+   * Creates structured content from a serialized JSON object, with the JSON as text content.
+   *
+   * @param json the serialized JSON object
+   * @return the structured content
+   */
+  public static McpRawJson of(String json) {
+    return new McpRawJson(json, null);
+  }
+
+  /**
+   * Creates structured content from a serialized JSON object and its text representation.
+   *
+   * @param json the serialized JSON object
+   * @param text the text representation of the JSON object
+   * @return the structured content
+   */
+  public static McpRawJson of(String json, String text) {
+    return new McpRawJson(json, text);
+  }
+
+  /**
+   * Returns the serialized JSON object.
+   *
+   * @return the serialized JSON object
+   */
+  public String json() {
+    return json;
+  }
+
+  @Override
+  public String asTextContent() {
+    return text == null ? json : text;
+  }
+
+  @Override
+  public String asTextSummary(int maxLength) {
+    final String content = asTextContent();
+    return content.length() <= maxLength ? content : content.substring(0, maxLength);
+  }
+
+  /**
+   * Writes the JSON object as a raw value.
+   *
+   * <p>The generators that do not write JSON text, such as the CBOR generator of the WebSocket
+   * transport or the token buffer converting a value to a tree, cannot write a raw value, so the
+   * JSON object is parsed and written as a tree for them.
+   *
+   * @param generator the generator to write the JSON object to
+   * @param serializers the serializer provider
+   * @throws IOException if the JSON object cannot be written
+   */
+  @Override
+  public void serialize(JsonGenerator generator, SerializerProvider serializers)
+      throws IOException {
+    if (generator instanceof TokenBuffer || generator.canWriteBinaryNatively()) {
+      generator.writeTree(JacksonHelper.fromJson(json, JsonNode.class));
+    } else {
+      generator.writeRawValue(json);
+    }
+  }
+
+  @Override
+  public void serializeWithType(
+      JsonGenerator generator, SerializerProvider serializers, TypeSerializer typeSerializer)
+      throws IOException {
+    serialize(generator, serializers);
+  }
+
+  @Override
+  public String toString() {
+    return json;
+  }
+}
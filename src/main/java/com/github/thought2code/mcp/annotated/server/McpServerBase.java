@@ -1,15 +1,52 @@
 package com.github.thought2code.mcp.annotated.server;
 
+import com.github.thought2code.mcp.annotated.cache.ListResultCache;
 import com.github.thought2code.mcp.annotated.configuration.McpServerCapabilities;
 import com.github.thought2code.mcp.annotated.configuration.McpServerChangeNotification;
 import com.github.thought2code.mcp.annotated.configuration.McpServerConfiguration;
+import com.github.thought2code.mcp.annotated.configuration.McpServerCostAccounting;
+import com.github.thought2code.mcp.annotated.configuration.McpServerDiscovery;
+import com.github.thought2code.mcp.annotated.configuration.McpServerJournal;
+import com.github.thought2code.mcp.annotated.configuration.McpServerLifecycle;
+import com.github.thought2code.mcp.annotated.configuration.McpServerPagination;
+import com.github.thought2code.mcp.annotated.configuration.McpServerResultPagination;
+import com.github.thought2code.mcp.annotated.configuration.McpServerSlowCall;
+import com.github.thought2code.mcp.annotated.configuration.McpServerSpill;
+import com.github.thought2code.mcp.annotated.configuration.McpServerTracing;
+import com.github.thought2code.mcp.annotated.context.JvmGlobalConfiguration;
+import com.github.thought2code.mcp.annotated.context.McpServerContext;
+import com.github.thought2code.mcp.annotated.diagnostics.SlowCallDetector;
+import com.github.thought2code.mcp.annotated.diagnostics.SlowCallServlet;
+import com.github.thought2code.mcp.annotated.journal.RecordingJsonMapper;
+import com.github.thought2code.mcp.annotated.journal.SessionIdFilter;
+import com.github.thought2code.mcp.annotated.journal.TrafficRecorder;
+import com.github.thought2code.mcp.annotated.metrics.InvocationCostAccounting;
+import com.github.thought2code.mcp.annotated.metrics.InvocationCostReport;
 import com.github.thought2code.mcp.annotated.server.component.McpServerCompletion;
 import com.github.thought2code.mcp.annotated.server.component.McpServerPrompt;
 import com.github.thought2code.mcp.annotated.server.component.McpServerResource;
 import com.github.thought2code.mcp.annotated.server.component.McpServerTool;
+import com.github.thought2code.mcp.annotated.server.discovery.ToolSearch;
+import com.github.thought2code.mcp.annotated.server.pagination.ContinuationTool;
+import com.github.thought2code.mcp.annotated.server.pagination.ListingRegistry;
+import com.github.thought2code.mcp.annotated.server.pagination.PagedResultStore;
+import com.github.thought2code.mcp.annotated.server.pagination.PaginatingStreamableTransportProvider;
+import com.github.thought2code.mcp.annotated.server.pagination.PaginatingTransportProvider;
+import com.github.thought2code.mcp.annotated.tracing.Tracer;
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.server.McpServerFeatures;
 import io.modelcontextprotocol.server.McpSyncServer;
 import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpServerTransportProvider;
+import io.modelcontextprotocol.spec.McpStreamableServerTransportProvider;
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServlet;
 import java.time.Duration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,11 +66,16 @@ import org.slf4j.LoggerFactory;
  *   <li>Defining server capabilities based on configuration
  *   <li>Registering MCP components (resources, prompts, tools)
  *   <li>Creating a configured synchronous server instance
+ *   <li>Starting the server and its transport without blocking, see {@link #start()}
  * </ul>
  *
  * <p>Concrete implementations need only provide the specific synchronization specification for
  * their transport mechanism by implementing the {@link #createSyncSpecification()} method.
  *
+ * <p>The slow-call, tracing, journal and cost-accounting sections configure state global to the
+ * JVM: the servers running at the same time which enable one of them must enable it with equal
+ * sections, see {@link JvmGlobalConfiguration}.
+ *
  * @author codeboyzhou
  * @see McpServer
  * @see McpStdioServer
@@ -45,17 +87,130 @@ public abstract class McpServerBase implements McpServer {
 
   private static final Logger log = LoggerFactory.getLogger(McpServerBase.class);
 
+  /** The slow-call capture configuration, global to the JVM. */
+  private static final JvmGlobalConfiguration<McpServerSlowCall> SLOW_CALL =
+      new JvmGlobalConfiguration<>(
+          "slow-call",
+          SlowCallDetector::configure,
+          () -> SlowCallDetector.configure(McpServerSlowCall.builder().build()));
+
+  /** The tracing configuration with the service name of its spans, global to the JVM. */
+  private static final JvmGlobalConfiguration<TracingSection> TRACING =
+      new JvmGlobalConfiguration<>(
+          "tracing",
+          section -> Tracer.configure(section.tracing(), section.serviceName()),
+          Tracer::shutdown);
+
+  /** The traffic journal configuration, global to the JVM. */
+  private static final JvmGlobalConfiguration<McpServerJournal> JOURNAL =
+      new JvmGlobalConfiguration<>(
+          "journal", TrafficRecorder::configure, TrafficRecorder::shutdown);
+
+  /** The cost accounting configuration, global to the JVM. */
+  private static final JvmGlobalConfiguration<McpServerCostAccounting> COST_ACCOUNTING =
+      new JvmGlobalConfiguration<>(
+          "cost-accounting",
+          InvocationCostAccounting::configure,
+          () -> InvocationCostAccounting.configure(McpServerCostAccounting.builder().build()));
+
   /** The server configuration used by this MCP server. */
   protected final McpServerConfiguration configuration;
 
+  /** The context of this MCP server, shared by its components. */
+  protected final McpServerContext context;
+
   /**
-   * Constructs a new {@link McpServerBase} with the specified configuration.
+   * Constructs a new {@link McpServerBase} with the specified configuration and context.
    *
    * @param configuration the server configuration containing all settings for the MCP server,
    *     including capabilities, timeouts, and transport settings
+   * @param context the context of the MCP server holding its scan index, resource bundle and
+   *     component instances
    */
-  public McpServerBase(@NotNull McpServerConfiguration configuration) {
+  public McpServerBase(
+      @NotNull McpServerConfiguration configuration, @NotNull McpServerContext context) {
     this.configuration = configuration;
+    this.context = context;
+  }
+
+  /**
+   * Starts this MCP server without blocking the calling thread.
+   *
+   * <p>The synchronous server is created, the components are registered and the transport is
+   * started. The returned handle is running if the transport started successfully, or failed
+   * otherwise.
+   *
+   * @return the handle of the started server
+   * @see McpServerHandle
+   */
+  public McpServerHandle start() {
+    McpServerHandle handle = new McpServerHandle(configuration, context, this);
+    McpSyncServer mcpSyncServer = createSyncServer();
+    try {
+      registerComponents(mcpSyncServer);
+      startTransport();
+    } catch (RuntimeException e) {
+      handle.failed(mcpSyncServer);
+      throw e;
+    }
+
+    if (isTransportRunning()) {
+      handle.running(mcpSyncServer);
+    } else {
+      handle.failed(mcpSyncServer);
+    }
+    return handle;
+  }
+
+  /**
+   * Starts the transport of this MCP server after its components are registered.
+   *
+   * <p>The STDIO transport is started when the synchronous server is created, so this method does
+   * nothing by default. The HTTP-based server modes start their HTTP server here.
+   */
+  protected void startTransport() {
+    // no-op by default
+  }
+
+  /**
+   * Returns whether the transport of this MCP server is accepting requests.
+   *
+   * @return true by default, the HTTP-based server modes return whether their HTTP server runs
+   */
+  protected boolean isTransportRunning() {
+    return true;
+  }
+
+  /**
+   * Starts draining the transport of this MCP server before it stops, so that it no longer accepts
+   * new sessions while the in-flight calls complete.
+   *
+   * <p>The STDIO transport has a single session, so this method does nothing by default. The
+   * HTTP-based server modes reject new sessions and report themselves as not ready.
+   */
+  protected void drainTransport() {
+    // no-op by default
+  }
+
+  /**
+   * Returns the lifecycle configuration of this MCP server, or the default one if the configuration
+   * has no lifecycle section.
+   *
+   * @return the lifecycle configuration
+   * @see McpServerLifecycle
+   */
+  protected McpServerLifecycle lifecycle() {
+    McpServerLifecycle lifecycle = configuration.lifecycle();
+    return lifecycle == null ? McpServerLifecycle.builder().build() : lifecycle;
+  }
+
+  /**
+   * Stops the transport of this MCP server after its sessions are closed.
+   *
+   * @param timeout the maximum time to wait for in-flight requests to complete
+   */
+  protected void stopTransport(Duration timeout) {
+    // no-op by default
   }
 
   /**
@@ -102,7 +257,8 @@ public abstract class McpServerBase implements McpServer {
    *
    * <p>This method creates and registers the three main types of MCP components: resources,
    * prompts, and tools. Each component type is handled by its respective registration class which
-   * scans for annotated methods and registers them with the server.
+   * scans for annotated methods and registers them with the server. The cached list results of the
+   * server are invalidated once the components are registered, see {@link ListResultCache}.
    *
    * @param mcpSyncServer the synchronous server instance to register components with
    * @see McpServerResource
@@ -112,9 +268,17 @@ public abstract class McpServerBase implements McpServer {
   @Override
   public void registerComponents(McpSyncServer mcpSyncServer) {
     log.info("Registering MCP server components");
-    new McpServerResource(mcpSyncServer).register();
-    new McpServerPrompt(mcpSyncServer).register();
-    new McpServerTool(mcpSyncServer).register();
+    new McpServerResource(mcpSyncServer, context).register();
+    new McpServerPrompt(mcpSyncServer, context).register();
+    new McpServerTool(mcpSyncServer, context, configuration.toolResult(), configuration.streaming())
+        .register();
+    registerCostAccounting(mcpSyncServer);
+    registerSlowCallCapture(mcpSyncServer);
+    registerResultPagination(mcpSyncServer);
+    registerToolSearch(mcpSyncServer);
+    registerResultSpill(mcpSyncServer);
+    configureTracing();
+    context.listResults().invalidate();
     log.info("MCP server components registered successfully");
   }
 
@@ -125,9 +289,12 @@ public abstract class McpServerBase implements McpServer {
    *
    * <ul>
    *   <li>The server capabilities defined by {@link #defineCapabilities()}
-   *   <li>All available completion specifications from {@link McpServerCompletion#all()}
+   *   <li>All available completion specifications from {@link
+   *       McpServerCompletion#all(McpServerContext)}
    *   <li>Server information (name, version) from the configuration
    *   <li>Instructions and request timeout from the configuration
+   *   <li>The validator of the structured content skipping {@link McpRawJson}, see {@link
+   *       RawJsonSchemaValidator}
    * </ul>
    *
    * <p>The method uses the synchronization specification provided by the concrete implementation
@@ -144,12 +311,329 @@ public abstract class McpServerBase implements McpServer {
     McpSyncServer mcpSyncServer =
         createSyncSpecification()
             .capabilities(serverCapabilities)
-            .completions(McpServerCompletion.all())
+            .completions(McpServerCompletion.all(context))
             .instructions(configuration.instructions())
             .serverInfo(configuration.name(), configuration.version())
             .requestTimeout(Duration.ofMillis(configuration.requestTimeout()))
+            .jsonSchemaValidator(new RawJsonSchemaValidator())
             .build();
     log.info("Created McpSyncServer successfully with name: {}", configuration.name());
     return mcpSyncServer;
   }
+
+  /**
+   * Configures cost accounting and registers the cost report resource if it is enabled.
+   *
+   * <p>The cost report resource is registered programmatically rather than through annotations, so
+   * it is only visible to MCP clients when cost accounting is enabled in the configuration.
+   *
+   * @param mcpSyncServer the MCP synchronous server to register the cost report resource with
+   * @see InvocationCostAccounting
+   * @see InvocationCostReport
+   */
+  private void registerCostAccounting(McpSyncServer mcpSyncServer) {
+    McpServerCostAccounting costAccounting = configuration.costAccounting();
+    if (costAccounting == null || !costAccounting.enabled()) {
+      return;
+    }
+
+    context.useJvmGlobal(COST_ACCOUNTING, costAccounting);
+    if (!configuration.capabilities().resource()) {
+      log.warn("Resource capability is disabled, the cost report resource is not registered");
+      return;
+    }
+    McpServerFeatures.SyncResourceSpecification resource =
+        InvocationCostReport.resourceSpecification(costAccounting);
+    mcpSyncServer.addResource(resource);
+    context.listings().add(resource.resource());
+    log.info("Cost report resource registered with uri: {}", costAccounting.reportUri());
+  }
+
+  /**
+   * Configures slow-call capture and registers the slow-call resource if it is enabled.
+   *
+   * @param mcpSyncServer the MCP synchronous server to register the slow-call resource with
+   * @see SlowCallDetector
+   */
+  private void registerSlowCallCapture(McpSyncServer mcpSyncServer) {
+    McpServerSlowCall slowCall = configuration.slowCall();
+    if (slowCall == null || !slowCall.enabled()) {
+      return;
+    }
+
+    context.useJvmGlobal(SLOW_CALL, slowCall);
+    if (configuration.capabilities().resource()) {
+      McpServerFeatures.SyncResourceSpecification resource =
+          SlowCallDetector.resourceSpecification(slowCall);
+      mcpSyncServer.addResource(resource);
+      context.listings().add(resource.resource());
+      log.info("Slow-call resource registered with uri: {}", slowCall.resourceUri());
+    }
+  }
+
+  /**
+   * Registers the search tool if the discovery mode is enabled.
+   *
+   * <p>The search tool is registered after the tools, so it is not indexed itself, and it is the
+   * only tool listed to MCP clients, which discover the other tools by searching them.
+   *
+   * @param mcpSyncServer the MCP synchronous server to register the search tool with
+   * @see ToolSearch
+   */
+  private void registerToolSearch(McpSyncServer mcpSyncServer) {
+    if (!isDiscoveryEnabled()) {
+      return;
+    }
+    McpServerDiscovery discovery = configuration.discovery();
+    mcpSyncServer.addTool(ToolSearch.toolSpecification(discovery, context.toolIndex()));
+    log.info(
+        "Search tool registered with name: {}, indexed tools: {}",
+        discovery.searchToolName(),
+        context.toolIndex().size());
+  }
+
+  /**
+   * Configures the paged result store and registers the continuation tool if tool result pagination
+   * is enabled.
+   *
+   * <p>The continuation tool is registered before the search tool of the discovery mode, so it is
+   * indexed and found like the other tools.
+   *
+   * @param mcpSyncServer the MCP synchronous server to register the continuation tool with
+   * @see PagedResultStore
+   */
+  private void registerResultPagination(McpSyncServer mcpSyncServer) {
+    McpServerResultPagination resultPagination = configuration.resultPagination();
+    if (resultPagination == null || !Boolean.TRUE.equals(resultPagination.enabled())) {
+      return;
+    }
+    if (!configuration.capabilities().tool()) {
+      log.warn("Tool capability is disabled, the tool results are not paged");
+      return;
+    }
+
+    context.pagedResults().configure(resultPagination, configuration.name());
+    McpServerFeatures.SyncToolSpecification tool =
+        ContinuationTool.toolSpecification(resultPagination, context.pagedResults());
+    mcpSyncServer.addTool(tool);
+    context.listings().add(tool.tool());
+    context.toolIndex().add(tool.tool());
+    log.info("Continuation tool registered with name: {}", resultPagination.continuationToolName());
+  }
+
+  /**
+   * Configures the result spill store and registers the resource template of the spilled results if
+   * result spilling is enabled.
+   *
+   * <p>The spilled results are read with {@code resources/read}, so they are not spilled if the
+   * resource capability is disabled.
+   *
+   * @param mcpSyncServer the MCP synchronous server to register the resource template with
+   * @see ResultSpillStore
+   */
+  private void registerResultSpill(McpSyncServer mcpSyncServer) {
+    McpServerSpill spill = configuration.spill();
+    if (spill == null || !Boolean.TRUE.equals(spill.enabled())) {
+      return;
+    }
+    if (!configuration.capabilities().resource()) {
+      log.warn("Resource capability is disabled, the tool results are not spilled");
+      return;
+    }
+
+    context.spills().configure(spill, configuration.name());
+    McpServerFeatures.SyncResourceTemplateSpecification template =
+        context.spills().resourceTemplateSpecification();
+    mcpSyncServer.addResourceTemplate(template);
+    context.listings().add(template.resourceTemplate());
+    log.info(
+        "Spilled result resource template registered: {}",
+        template.resourceTemplate().uriTemplate());
+  }
+
+  /**
+   * Configures tracing of the MCP server components if it is enabled.
+   *
+   * @see Tracer
+   */
+  private void configureTracing() {
+    McpServerTracing tracing = configuration.tracing();
+    if (tracing != null && tracing.enabled()) {
+      context.useJvmGlobal(TRACING, new TracingSection(tracing, configuration.name()));
+    }
+  }
+
+  /**
+   * Creates the additional servlets to be registered in the HTTP server next to the MCP transport
+   * provider, keyed by servlet path.
+   *
+   * <p>This is only used by the HTTP-based server modes. It currently contains the slow-call
+   * endpoint if slow-call capture is enabled.
+   *
+   * @return the additional servlets keyed by servlet path
+   */
+  protected Map<String, HttpServlet> createServlets() {
+    Map<String, HttpServlet> servlets = new LinkedHashMap<>();
+    McpServerSlowCall slowCall = configuration.slowCall();
+    if (slowCall != null && slowCall.enabled()) {
+      servlets.put(slowCall.httpEndpoint(), new SlowCallServlet());
+    }
+    return servlets;
+  }
+
+  /**
+   * Creates the JSON mapper of the MCP transport provider.
+   *
+   * <p>The mapper is the JSON mapper of the server context, configured with the {@code json}
+   * section of the server. If the traffic journal is enabled, traffic recording is configured and
+   * the returned mapper records the JSON-RPC messages read and written by the transport provider.
+   *
+   * @param defaultSessionId the session id of the recorded messages when none can be resolved
+   * @return the JSON mapper of the MCP transport provider
+   * @see TrafficRecorder
+   */
+  protected McpJsonMapper createJsonMapper(String defaultSessionId) {
+    McpServerJournal journal = configuration.journal();
+    if (journal == null || !journal.enabled()) {
+      return context.jsonMapper();
+    }
+
+    context.useJvmGlobal(JOURNAL, journal);
+    return new RecordingJsonMapper(context.jsonMapper(), defaultSessionId);
+  }
+
+  /**
+   * Decorates the transport provider of this server to paginate its listings if pagination is
+   * enabled in the configuration, and to list the search tool only instead of the tools if the
+   * discovery mode is enabled.
+   *
+   * @param transportProvider the transport provider of this server
+   * @return the paginating transport provider, or the transport provider itself if neither
+   *     pagination nor the discovery mode is enabled
+   * @see PaginatingTransportProvider
+   */
+  protected McpServerTransportProvider paginate(McpServerTransportProvider transportProvider) {
+    Set<String> methods = decoratedListMethods();
+    if (methods.isEmpty()) {
+      return transportProvider;
+    }
+    return new PaginatingTransportProvider(
+        transportProvider, listedComponents(), listPageSize(), methods);
+  }
+
+  /**
+   * Decorates the streamable HTTP transport provider of this server to paginate its listings if
+   * pagination is enabled in the configuration, and to list the search tool only instead of the
+   * tools if the discovery mode is enabled.
+   *
+   * @param transportProvider the streamable HTTP transport provider of this server
+   * @return the paginating transport provider, or the transport provider itself if neither
+   *     pagination nor the discovery mode is enabled
+   * @see PaginatingStreamableTransportProvider
+   */
+  protected McpStreamableServerTransportProvider paginate(
+      McpStreamableServerTransportProvider transportProvider) {
+    Set<String> methods = decoratedListMethods();
+    if (methods.isEmpty()) {
+      return transportProvider;
+    }
+    return new PaginatingStreamableTransportProvider(
+        transportProvider, listedComponents(), listPageSize(), methods);
+  }
+
+  /**
+   * Returns the list methods answered by the decorated transport provider: the list methods of the
+   * capabilities enabled in the configuration if pagination is enabled, and the tool list method if
+   * the discovery mode is enabled.
+   *
+   * @return the list methods to answer, empty if the transport provider is not decorated
+   */
+  private Set<String> decoratedListMethods() {
+    McpServerCapabilities capabilities = configuration.capabilities();
+    Set<String> methods = new HashSet<>();
+    if (isPaginationEnabled()) {
+      if (capabilities.tool()) {
+        methods.add(McpSchema.METHOD_TOOLS_LIST);
+      }
+      if (capabilities.prompt()) {
+        methods.add(McpSchema.METHOD_PROMPT_LIST);
+      }
+      if (capabilities.resource()) {
+        methods.add(McpSchema.METHOD_RESOURCES_LIST);
+        methods.add(McpSchema.METHOD_RESOURCES_TEMPLATES_LIST);
+      }
+    }
+    if (isDiscoveryEnabled()) {
+      methods.add(McpSchema.METHOD_TOOLS_LIST);
+    }
+    return methods;
+  }
+
+  /**
+   * Returns the listed components: the registered components, with the search tool in place of the
+   * tools if the discovery mode is enabled.
+   *
+   * @return the listing registry of the listed components
+   */
+  private ListingRegistry listedComponents() {
+    if (isDiscoveryEnabled()) {
+      return context.listings().withTools(List.of(ToolSearch.tool(configuration.discovery())));
+    }
+    return context.listings();
+  }
+
+  /**
+   * Returns the page size of the listings, which is unbounded if pagination is disabled.
+   *
+   * @return the maximum number of items of a page
+   */
+  private int listPageSize() {
+    return isPaginationEnabled() ? configuration.pagination().pageSize() : Integer.MAX_VALUE;
+  }
+
+  /**
+   * Returns whether pagination of the listings is enabled in the configuration.
+   *
+   * @return true if pagination is enabled
+   */
+  private boolean isPaginationEnabled() {
+    McpServerPagination pagination = configuration.pagination();
+    return pagination != null && Boolean.TRUE.equals(pagination.enabled());
+  }
+
+  /**
+   * Returns whether the discovery mode is enabled in the configuration, which requires the tool
+   * capability.
+   *
+   * @return true if the discovery mode is enabled
+   */
+  private boolean isDiscoveryEnabled() {
+    McpServerDiscovery discovery = configuration.discovery();
+    return discovery != null
+        && Boolean.TRUE.equals(discovery.enabled())
+        && configuration.capabilities().tool();
+  }
+
+  /**
+   * Creates the filters to be applied to all requests of the HTTP server.
+   *
+   * <p>This is only used by the HTTP-based server modes. It currently contains the session id
+   * filter of the traffic journal if traffic recording is enabled.
+   *
+   * @return the filters to be applied to all requests of the HTTP server
+   */
+  protected List<Filter> createFilters() {
+    if (TrafficRecorder.isEnabled()) {
+      return List.of(new SessionIdFilter());
+    }
+    return List.of();
+  }
+
+  /**
+   * The tracing configuration of a server with the service name of its spans.
+   *
+   * @param tracing the tracing configuration
+   * @param serviceName the service name of the spans, the name of the server
+   */
+  private record TracingSection(McpServerTracing tracing, String serviceName) {}
 }
@@ -0,0 +1,354 @@
+package com.github.thought2code.mcp.annotated.server;
+
+import com.github.thought2code.mcp.annotated.configuration.McpServerConfiguration;
+import com.github.thought2code.mcp.annotated.context.McpServerContext;
+import com.github.thought2code.mcp.annotated.enums.ServerState;
+import com.github.thought2code.mcp.annotated.util.StringHelper;
+import io.modelcontextprotocol.server.McpSyncServer;
+import io.modelcontextprotocol.spec.McpClientTransport;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A handle on a started MCP (Model Context Protocol) server.
+ *
+ * <p>Starting a server no longer blocks the calling thread until the server stops. The handle is
+ * returned instead, and can be used to wait for the server to be ready, to stop it gracefully, to
+ * wait for it to stop, and to read its runtime statistics. Several servers can be started and
+ * stopped independently in the same JVM, each with its own handle.
+ *
+ * <p>A running server is stopped in two phases. It first drains: it stops accepting new sessions,
+ * reports itself not ready, and lets the in-flight component calls finish up to the drain timeout.
+ * Then its sessions are closed gracefully and its transport is stopped. The same graceful stop runs
+ * on JVM shutdown, with the drain timeout of the lifecycle configuration.
+ *
+ * <p>Example usage:
+ *
+ * <pre>{@code
+ * McpServerHandle handle = McpServers.run(MyMcpServer.class, args).startServer();
+ * handle.awaitReady(Duration.ofSeconds(10));
+ * ...
+ * handle.stop(Duration.ofSeconds(5));
+ * }</pre>
+ *
+ * @author codeboyzhou
+ * @see McpServerBase#start()
+ * @see McpServerStats
+ */
+public final class McpServerHandle {
+
+  private static final Logger log = LoggerFactory.getLogger(McpServerHandle.class);
+
+  /** The configuration of the server. */
+  private final McpServerConfiguration configuration;
+
+  /** The context of the server. */
+  private final McpServerContext context;
+
+  /** The server, or null if the server is disabled. */
+  @Nullable private final McpServerBase server;
+
+  /** The lifecycle state of the server. */
+  private final AtomicReference<ServerState> state;
+
+  /** Counted down when the server is running or failed to start. */
+  private final CountDownLatch ready = new CountDownLatch(1);
+
+  /** Counted down when the server is stopped or failed to start. */
+  private final CountDownLatch stopped = new CountDownLatch(1);
+
+  /** The actions to run when the server is stopped or failed to start. */
+  private final List<Runnable> stopActions = new CopyOnWriteArrayList<>();
+
+  /** The MCP synchronous server, set when the server is running. */
+  private volatile McpSyncServer mcpSyncServer;
+
+  /** The time when the server started, set when the server is running. */
+  private volatile Instant startedAt;
+
+  /** The JVM shutdown hook stopping the server, set when the server is running. */
+  private volatile Thread shutdownHook;
+
+  /**
+   * Constructs a new {@link McpServerHandle}.
+   *
+   * @param configuration the configuration of the server
+   * @param context the context of the server
+   * @param server the server, or null if the server is disabled
+   */
+  McpServerHandle(
+      McpServerConfiguration configuration,
+      McpServerContext context,
+      @Nullable McpServerBase server) {
+    this.configuration = configuration;
+    this.context = context;
+    this.server = server;
+    this.state = new AtomicReference<>(server == null ? ServerState.STOPPED : ServerState.STARTING);
+    if (server == null) {
+      ready.countDown();
+      stopped.countDown();
+    }
+  }
+
+  /**
+   * Creates the handle of a server that is not started because it is disabled in its configuration.
+   *
+   * @param configuration the configuration of the server
+   * @param context the context of the server
+   * @return a handle in the {@link ServerState#STOPPED} state
+   */
+  public static McpServerHandle disabled(
+      McpServerConfiguration configuration, McpServerContext context) {
+    return new McpServerHandle(configuration, context, null);
+  }
+
+  /**
+   * Marks the server as running.
+   *
+   * @param mcpSyncServer the MCP synchronous server
+   */
+  void running(McpSyncServer mcpSyncServer) {
+    this.mcpSyncServer = mcpSyncServer;
+    this.startedAt = Instant.now();
+    state.set(ServerState.RUNNING);
+    ready.countDown();
+    shutdownHook = new Thread(this::stop, "mcp-server-shutdown");
+    Runtime.getRuntime().addShutdownHook(shutdownHook);
+    log.info("MCP server {} is running", configuration.name());
+  }
+
+  /**
+   * Marks the server as failed to start.
+   *
+   * @param mcpSyncServer the MCP synchronous server to close, or null if it was not created
+   */
+  void failed(@Nullable McpSyncServer mcpSyncServer) {
+    state.set(ServerState.FAILED);
+    if (mcpSyncServer != null) {
+      mcpSyncServer.close();
+    }
+    if (server != null) {
+      // a partially started transport still uses the threads of a shared thread pool
+      server.stopTransport(Duration.ZERO);
+    }
+    context.instances().clear();
+    context.releaseJvmGlobals();
+    ready.countDown();
+    terminate();
+    log.error("MCP server {} failed to start", configuration.name());
+  }
+
+  /**
+   * Waits until the server is running or failed to start.
+   *
+   * @param timeout the maximum time to wait
+   * @return true if the server is running, false if it failed, is stopped, or the timeout elapsed
+   */
+  public boolean awaitReady(Duration timeout) {
+    try {
+      if (!ready.await(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+        return false;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+    return state.get() == ServerState.RUNNING;
+  }
+
+  /**
+   * Stops the server gracefully, draining it for at most the drain timeout of the lifecycle
+   * configuration.
+   *
+   * @see #stop(Duration)
+   */
+  public void stop() {
+    if (server != null) {
+      stop(Duration.ofMillis(server.lifecycle().drainTimeout()));
+    }
+  }
+
+  /**
+   * Stops the server gracefully: the server drains, waiting at most the specified timeout for the
+   * in-flight component calls to complete, then the MCP sessions are closed, the transport is
+   * stopped and finally the component instances are closed.
+   *
+   * <p>This method has no effect if the server is not running.
+   *
+   * @param timeout the maximum time to wait for the in-flight calls to complete
+   */
+  public void stop(Duration timeout) {
+    if (server == null || !state.compareAndSet(ServerState.RUNNING, ServerState.STOPPING)) {
+      return;
+    }
+
+    log.info("Draining MCP server {} for at most {} ms", configuration.name(), timeout.toMillis());
+    removeShutdownHook();
+    Duration transportTimeout = timeout;
+    try {
+      server.drainTransport();
+      if (!context.awaitIdle(timeout)) {
+        log.warn(
+            "MCP server {} stops with {} calls still in flight after the drain timeout",
+            configuration.name(),
+            context.inFlightCount());
+      }
+      mcpSyncServer.closeGracefully();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      mcpSyncServer.close();
+      transportTimeout = Duration.ZERO;
+    } catch (Exception e) {
+      log.error("Error stopping MCP server {}", configuration.name(), e);
+    }
+
+    try {
+      // the transport is stopped even if the sessions failed to close, so that it no longer uses
+      // the threads of a shared thread pool once the stop actions run
+      server.stopTransport(transportTimeout);
+    } catch (RuntimeException e) {
+      log.error("Error stopping the transport of MCP server {}", configuration.name(), e);
+    } finally {
+      context.instances().clear();
+      context.spills().clear();
+      context.pagedResults().clear();
+      context.releaseJvmGlobals();
+      state.set(ServerState.STOPPED);
+      terminate();
+      log.info("MCP server {} stopped", configuration.name());
+    }
+  }
+
+  /**
+   * Waits until the server is stopped or failed to start.
+   *
+   * @throws InterruptedException if the current thread is interrupted while waiting
+   */
+  public void join() throws InterruptedException {
+    stopped.await();
+  }
+
+  /**
+   * Returns whether the server is running and its transport is accepting requests.
+   *
+   * @return true if the server is running
+   */
+  public boolean isRunning() {
+    return state.get() == ServerState.RUNNING && server != null && server.isTransportRunning();
+  }
+
+  /**
+   * Connects a new client to the server running in IN_PROCESS mode and returns its transport.
+   *
+   * <p>Example usage:
+   *
+   * <pre>{@code
+   * McpServerHandle handle = McpServers.run(MyMcpServer.class, args).startInProcessServer(builder);
+   * try (McpSyncClient client = McpClient.sync(handle.connectInProcess()).build()) {
+   *   client.initialize();
+   *   client.callTool(new McpSchema.CallToolRequest("myTool", Map.of()));
+   * }
+   * }</pre>
+   *
+   * @return the transport to build an MCP client with
+   * @throws IllegalStateException if the server is not running or not in IN_PROCESS mode
+   * @see McpInProcessServer
+   */
+  public McpClientTransport connectInProcess() {
+    if (!(server instanceof McpInProcessServer inProcessServer)) {
+      throw new IllegalStateException("MCP server is not running in IN_PROCESS mode");
+    }
+    if (state.get() != ServerState.RUNNING) {
+      throw new IllegalStateException("MCP server is not running");
+    }
+    return inProcessServer.connect();
+  }
+
+  /**
+   * Returns the lifecycle state of the server.
+   *
+   * @return the lifecycle state of the server
+   */
+  public ServerState state() {
+    return state.get();
+  }
+
+  /**
+   * Invalidates the cached list results of the server, so that the next list requests serialize the
+   * registered components again. Applications registering components dynamically call it after
+   * doing so.
+   *
+   * @see com.github.thought2code.mcp.annotated.cache.ListResultCache
+   */
+  public void invalidateListResults() {
+    context.listResults().invalidate();
+  }
+
+  /**
+   * Registers an action to run when the server is stopped or failed to start. The action runs
+   * immediately if the server is already stopped.
+   *
+   * @param action the action to run
+   * @return this handle
+   */
+  public McpServerHandle whenStopped(Runnable action) {
+    stopActions.add(action);
+    if (stopped.getCount() == 0 && stopActions.remove(action)) {
+      action.run();
+    }
+    return this;
+  }
+
+  /**
+   * Returns a snapshot of the runtime statistics of the server.
+   *
+   * @return the runtime statistics of the server
+   */
+  public McpServerStats stats() {
+    final McpSyncServer syncServer = mcpSyncServer;
+    final Instant started = startedAt;
+    final boolean running = state.get() == ServerState.RUNNING && syncServer != null;
+    return new McpServerStats(
+        configuration.name(),
+        configuration.mode(),
+        state.get(),
+        started == null ? StringHelper.EMPTY : started.toString(),
+        started == null ? 0 : Duration.between(started, Instant.now()).toMillis(),
+        running ? syncServer.listTools().size() : 0,
+        running ? syncServer.listPrompts().size() : 0,
+        running ? syncServer.listResources().size() : 0,
+        context.requestCount(),
+        context.errorCount());
+  }
+
+  /** Removes the JVM shutdown hook, unless the JVM is already shutting down. */
+  private void removeShutdownHook() {
+    final Thread hook = shutdownHook;
+    if (hook == null || hook == Thread.currentThread()) {
+      return;
+    }
+    try {
+      Runtime.getRuntime().removeShutdownHook(hook);
+    } catch (IllegalStateException e) {
+      log.debug("JVM is shutting down, MCP server {} is stopped by its hook", configuration.name());
+    }
+  }
+
+  /** Counts down the stopped latch and runs the registered stop actions. */
+  private void terminate() {
+    stopped.countDown();
+    for (Runnable action : stopActions) {
+      if (stopActions.remove(action)) {
+        action.run();
+      }
+    }
+  }
+}
@@ -0,0 +1,33 @@
+package com.github.thought2code.mcp.annotated.server;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.github.thought2code.mcp.annotated.enums.ServerMode;
+import com.github.thought2code.mcp.annotated.enums.ServerState;
+
+/**
+ * This record represents a snapshot of the runtime statistics of an MCP server.
+ *
+ * @param name the name of the server
+ * @param mode the transport mode of the server
+ * @param state the lifecycle state of the server
+ * @param startedAt the time when the server started in ISO-8601 format, empty if not started
+ * @param uptimeMillis the time since the server started in milliseconds
+ * @param tools the number of registered tools
+ * @param prompts the number of registered prompts
+ * @param resources the number of registered resources
+ * @param requests the number of component requests handled
+ * @param errors the number of component requests that failed
+ * @author codeboyzhou
+ * @see McpServerHandle#stats()
+ */
+public record McpServerStats(
+    @JsonProperty("name") String name,
+    @JsonProperty("mode") ServerMode mode,
+    @JsonProperty("state") ServerState state,
+    @JsonProperty("startedAt") String startedAt,
+    @JsonProperty("uptimeMillis") long uptimeMillis,
+    @JsonProperty("tools") int tools,
+    @JsonProperty("prompts") int prompts,
+    @JsonProperty("resources") int resources,
+    @JsonProperty("requests") long requests,
+    @JsonProperty("errors") long errors) {}
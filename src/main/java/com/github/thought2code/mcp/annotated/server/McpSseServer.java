@@ -1,11 +1,17 @@
 package com.github.thought2code.mcp.annotated.server;
 
 import com.github.thought2code.mcp.annotated.configuration.McpServerConfiguration;
+import com.github.thought2code.mcp.annotated.configuration.McpServerLifecycle;
 import com.github.thought2code.mcp.annotated.configuration.McpServerSSE;
+import com.github.thought2code.mcp.annotated.context.McpServerContext;
+import com.github.thought2code.mcp.annotated.tracing.TraceContextExtractor;
 import com.github.thought2code.mcp.annotated.util.InetHelper;
+import com.github.thought2code.mcp.annotated.util.StringHelper;
 import io.modelcontextprotocol.json.McpJsonMapper;
 import io.modelcontextprotocol.server.McpServer;
 import io.modelcontextprotocol.server.transport.HttpServletSseServerTransportProvider;
+import java.time.Duration;
+import org.eclipse.jetty.util.thread.ThreadPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,13 +45,17 @@ public class McpSseServer extends McpServerBase {
   /** The port number used by this MCP server. */
   private int port;
 
+  /** The HTTP server, created when the transport is started. */
+  private JettyHttpServer httpServer;
+
   /**
-   * Constructs a new {@link McpSseServer} with the specified configuration.
+   * Constructs a new {@link McpSseServer} with the specified configuration and context.
    *
    * @param configuration the server configuration containing SSE settings
+   * @param context the context of the MCP server
    */
-  public McpSseServer(McpServerConfiguration configuration) {
-    super(configuration);
+  public McpSseServer(McpServerConfiguration configuration, McpServerContext context) {
+    super(configuration, context);
   }
 
   /**
@@ -70,12 +80,13 @@ public class McpSseServer extends McpServerBase {
     port = sse.port();
     transportProvider =
         HttpServletSseServerTransportProvider.builder()
-            .jsonMapper(McpJsonMapper.getDefault())
+            .jsonMapper(createJsonMapper(StringHelper.EMPTY))
             .baseUrl(sse.baseUrl())
             .sseEndpoint(sse.endpoint())
             .messageEndpoint(sse.messageEndpoint())
+            .contextExtractor(new TraceContextExtractor())
             .build();
-    return McpServer.sync(transportProvider);
+    return McpServer.sync(paginate(transportProvider));
   }
 
   /**
@@ -94,7 +105,52 @@ public class McpSseServer extends McpServerBase {
         InetHelper.findFirstNonLoopbackAddress().getHostAddress(),
         configuration.sse().port(),
         configuration.sse().endpoint());
-    JettyHttpServer httpServer = new JettyHttpServer();
+    httpServer = new JettyHttpServer();
+    createServlets().forEach(httpServer::withServlet);
+    createFilters().forEach(httpServer::withFilter);
+    final ThreadPool threadPool = context.httpThreadPool();
+    if (threadPool != null) {
+      httpServer.withThreadPool(threadPool);
+    }
+    httpServer.withHttpConfiguration(configuration.sse().http());
+    McpServerLifecycle lifecycle = lifecycle();
+    httpServer.withHealthEndpoints(lifecycle.readyEndpoint(), lifecycle.liveEndpoint());
     httpServer.withTransportProvider(transportProvider).bind(port).start();
   }
+
+  /** Starts the HTTP server, see {@link #startHttpServer()}. */
+  @Override
+  protected void startTransport() {
+    startHttpServer();
+  }
+
+  /**
+   * Returns whether the HTTP server is started and accepting requests.
+   *
+   * @return true if the HTTP server is running
+   */
+  @Override
+  protected boolean isTransportRunning() {
+    return httpServer != null && httpServer.isRunning();
+  }
+
+  /** Starts draining the HTTP server, see {@link JettyHttpServer#drain()}. */
+  @Override
+  protected void drainTransport() {
+    if (httpServer != null) {
+      httpServer.drain();
+    }
+  }
+
+  /**
+   * Stops the HTTP server, waiting at most the specified timeout for in-flight requests.
+   *
+   * @param timeout the maximum time to wait for in-flight requests to complete
+   */
+  @Override
+  protected void stopTransport(Duration timeout) {
+    if (httpServer != null) {
+      httpServer.stop(timeout);
+    }
+  }
 }
@@ -1,6 +1,9 @@
 package com.github.thought2code.mcp.annotated.server;
 
 import com.github.thought2code.mcp.annotated.configuration.McpServerConfiguration;
+import com.github.thought2code.mcp.annotated.configuration.McpServerStdio;
+import com.github.thought2code.mcp.annotated.context.McpServerContext;
+import com.github.thought2code.mcp.annotated.server.transport.NioStdioServerTransportProvider;
 import io.modelcontextprotocol.json.McpJsonMapper;
 import io.modelcontextprotocol.server.McpServer;
 import io.modelcontextprotocol.server.transport.StdioServerTransportProvider;
@@ -30,28 +33,46 @@ import io.modelcontextprotocol.server.transport.StdioServerTransportProvider;
  * @see StdioServerTransportProvider
  */
 public class McpStdioServer extends McpServerBase {
+
+  /** The session id of the recorded messages, since STDIO mode has a single session. */
+  private static final String STDIO_SESSION_ID = "stdio";
+
   /**
-   * Constructs a new {@link McpStdioServer} with the specified configuration.
+   * Constructs a new {@link McpStdioServer} with the specified configuration and context.
    *
    * @param configuration the server configuration
+   * @param context the context of the MCP server
    */
-  public McpStdioServer(McpServerConfiguration configuration) {
-    super(configuration);
+  public McpStdioServer(McpServerConfiguration configuration, McpServerContext context) {
+    super(configuration, context);
   }
 
   /**
    * Creates and returns a synchronization specification for STDIO mode.
    *
    * <p>This method creates an {@link McpServer.SyncSpecification} that uses standard input/output
-   * transport provider for communication. The transport provider is configured with the default
-   * JSON mapper for message serialization and deserialization.
+   * transport provider for communication. The transport provider is configured with the JSON mapper
+   * created by {@link #createJsonMapper(String)} for message serialization and deserialization.
+   *
+   * <p>If the NIO transport is enabled in the STDIO mode configuration, the requests are handled
+   * concurrently by the worker threads of {@link NioStdioServerTransportProvider}, so the server
+   * executes them immediately on the thread of the transport.
    *
    * @return a synchronization specification configured for STDIO transport
    * @see StdioServerTransportProvider
+   * @see NioStdioServerTransportProvider
    * @see McpJsonMapper
    */
   @Override
   public McpServer.SyncSpecification<?> createSyncSpecification() {
-    return McpServer.sync(new StdioServerTransportProvider(McpJsonMapper.getDefault()));
+    McpJsonMapper jsonMapper = createJsonMapper(STDIO_SESSION_ID);
+    McpServerStdio stdio = configuration.stdio();
+    if (stdio != null && Boolean.TRUE.equals(stdio.nioTransport())) {
+      return McpServer.sync(
+              paginate(
+                  new NioStdioServerTransportProvider(jsonMapper, stdio, configuration.batch())))
+          .immediateExecution(true);
+    }
+    return McpServer.sync(paginate(new StdioServerTransportProvider(jsonMapper)));
   }
 }
@@ -1,12 +1,17 @@
 package com.github.thought2code.mcp.annotated.server;
 
 import com.github.thought2code.mcp.annotated.configuration.McpServerConfiguration;
+import com.github.thought2code.mcp.annotated.configuration.McpServerLifecycle;
 import com.github.thought2code.mcp.annotated.configuration.McpServerStreamable;
+import com.github.thought2code.mcp.annotated.context.McpServerContext;
+import com.github.thought2code.mcp.annotated.tracing.TraceContextExtractor;
 import com.github.thought2code.mcp.annotated.util.InetHelper;
+import com.github.thought2code.mcp.annotated.util.StringHelper;
 import io.modelcontextprotocol.json.McpJsonMapper;
 import io.modelcontextprotocol.server.McpServer;
 import io.modelcontextprotocol.server.transport.HttpServletStreamableServerTransportProvider;
 import java.time.Duration;
+import org.eclipse.jetty.util.thread.ThreadPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -52,20 +57,24 @@ public class McpStreamableServer extends McpServerBase {
   /** The port number on which this MCP server listens for incoming connections. */
   private int port;
 
+  /** The HTTP server, created when the transport is started. */
+  private JettyHttpServer httpServer;
+
   /**
-   * Constructs a new {@link McpStreamableServer} with the specified configuration.
+   * Constructs a new {@link McpStreamableServer} with the specified configuration and context.
    *
    * <p>The constructor initializes the server with the provided configuration, which contains all
    * necessary settings for the streamable HTTP server including port number, endpoint path,
    * keep-alive interval, and other transport options.
    *
    * @param configuration the server configuration containing streamable settings
+   * @param context the context of the MCP server
    * @throws NullPointerException if the configuration is null
    * @see McpServerConfiguration
    * @see McpServerStreamable
    */
-  public McpStreamableServer(McpServerConfiguration configuration) {
-    super(configuration);
+  public McpStreamableServer(McpServerConfiguration configuration, McpServerContext context) {
+    super(configuration, context);
   }
 
   /**
@@ -96,12 +105,13 @@ public class McpStreamableServer extends McpServerBase {
     port = streamable.port();
     transportProvider =
         HttpServletStreamableServerTransportProvider.builder()
-            .jsonMapper(McpJsonMapper.getDefault())
+            .jsonMapper(createJsonMapper(StringHelper.EMPTY))
             .mcpEndpoint(streamable.mcpEndpoint())
             .disallowDelete(streamable.disallowDelete())
             .keepAliveInterval(Duration.ofMillis(streamable.keepAliveInterval()))
+            .contextExtractor(new TraceContextExtractor())
             .build();
-    return McpServer.sync(transportProvider);
+    return McpServer.sync(paginate(transportProvider));
   }
 
   /**
@@ -125,7 +135,52 @@ public class McpStreamableServer extends McpServerBase {
         InetHelper.findFirstNonLoopbackAddress().getHostAddress(),
         configuration.streamable().port(),
         configuration.streamable().mcpEndpoint());
-    JettyHttpServer httpServer = new JettyHttpServer();
+    httpServer = new JettyHttpServer();
+    createServlets().forEach(httpServer::withServlet);
+    createFilters().forEach(httpServer::withFilter);
+    final ThreadPool threadPool = context.httpThreadPool();
+    if (threadPool != null) {
+      httpServer.withThreadPool(threadPool);
+    }
+    httpServer.withHttpConfiguration(configuration.streamable().http());
+    McpServerLifecycle lifecycle = lifecycle();
+    httpServer.withHealthEndpoints(lifecycle.readyEndpoint(), lifecycle.liveEndpoint());
     httpServer.withTransportProvider(transportProvider).bind(port).start();
   }
+
+  /** Starts the HTTP server, see {@link #startHttpServer()}. */
+  @Override
+  protected void startTransport() {
+    startHttpServer();
+  }
+
+  /**
+   * Returns whether the HTTP server is started and accepting requests.
+   *
+   * @return true if the HTTP server is running
+   */
+  @Override
+  protected boolean isTransportRunning() {
+    return httpServer != null && httpServer.isRunning();
+  }
+
+  /** Starts draining the HTTP server, see {@link JettyHttpServer#drain()}. */
+  @Override
+  protected void drainTransport() {
+    if (httpServer != null) {
+      httpServer.drain();
+    }
+  }
+
+  /**
+   * Stops the HTTP server, waiting at most the specified timeout for in-flight requests.
+   *
+   * @param timeout the maximum time to wait for in-flight requests to complete
+   */
+  @Override
+  protected void stopTransport(Duration timeout) {
+    if (httpServer != null) {
+      httpServer.stop(timeout);
+    }
+  }
 }
@@ -120,4 +120,22 @@ public interface McpStructuredContent {
   default String asTextContent() {
     return toString();
   }
+
+  /**
+   * Returns a summary of the text representation of this structured content, at most the specified
+   * number of characters long.
+   *
+   * <p>The summary is used as the text content in the MCP response's {@code content} field when the
+   * server renders the text content of the tool results as summaries. The default implementation
+   * truncates the result of {@link #asTextContent()}; implementing classes with a large text
+   * representation should override this method to render the summary without rendering the full
+   * text first.
+   *
+   * @param maxLength the maximum length of the summary in characters
+   * @return the summary of the text representation, should not return {@code null}
+   */
+  default String asTextSummary(int maxLength) {
+    final String text = asTextContent();
+    return text.length() <= maxLength ? text : text.substring(0, maxLength);
+  }
 }
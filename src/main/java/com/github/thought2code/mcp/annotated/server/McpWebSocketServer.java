@@ -0,0 +1,156 @@
+package com.github.thought2code.mcp.annotated.server;
+
+import com.github.thought2code.mcp.annotated.configuration.McpServerConfiguration;
+import com.github.thought2code.mcp.annotated.configuration.McpServerLifecycle;
+import com.github.thought2code.mcp.annotated.configuration.McpServerWebSocket;
+import com.github.thought2code.mcp.annotated.context.McpServerContext;
+import com.github.thought2code.mcp.annotated.server.transport.McpWebSocketServerTransportProvider;
+import com.github.thought2code.mcp.annotated.util.InetHelper;
+import com.github.thought2code.mcp.annotated.util.StringHelper;
+import io.modelcontextprotocol.server.McpServer;
+import java.time.Duration;
+import org.eclipse.jetty.util.thread.ThreadPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An MCP server implementation that operates in WebSocket mode.
+ *
+ * <p>This class extends {@link McpServerBase} and provides an MCP server whose clients exchange
+ * their JSON-RPC messages over one full-duplex WebSocket connection each, hosted on the same {@link
+ * JettyHttpServer} as the HTTP-based modes, with its HTTP server configuration, health endpoints
+ * and draining.
+ *
+ * <p>The server supports the following configuration options:
+ *
+ * <ul>
+ *   <li>Custom port binding
+ *   <li>Configurable WebSocket endpoint path
+ *   <li>Maximum number of pending requests per connection
+ *   <li>Ping interval and maximum message size
+ * </ul>
+ *
+ * <p>This server mode is particularly suitable for:
+ *
+ * <ul>
+ *   <li>Clients issuing many small calls, which would pay for an HTTP request each otherwise
+ *   <li>Long-lived agents keeping their session open
+ * </ul>
+ *
+ * @author codeboyzhou
+ * @see McpServerBase
+ * @see McpServerWebSocket
+ * @see McpWebSocketServerTransportProvider
+ * @see JettyHttpServer
+ */
+public class McpWebSocketServer extends McpServerBase {
+
+  private static final Logger log = LoggerFactory.getLogger(McpWebSocketServer.class);
+
+  /** The WebSocket server transport provider used by this MCP server. */
+  private McpWebSocketServerTransportProvider transportProvider;
+
+  /** The port number on which this MCP server listens for incoming connections. */
+  private int port;
+
+  /** The HTTP server, created when the transport is started. */
+  private JettyHttpServer httpServer;
+
+  /**
+   * Constructs a new {@link McpWebSocketServer} with the specified configuration and context.
+   *
+   * @param configuration the server configuration containing WebSocket settings
+   * @param context the context of the MCP server
+   * @see McpServerConfiguration
+   * @see McpServerWebSocket
+   */
+  public McpWebSocketServer(McpServerConfiguration configuration, McpServerContext context) {
+    super(configuration, context);
+  }
+
+  /**
+   * Creates and returns a synchronization specification for WebSocket mode.
+   *
+   * <p>The method also stores the port number and transport provider instance for later use when
+   * starting the HTTP server.
+   *
+   * @return a synchronization specification configured for WebSocket transport
+   * @see McpWebSocketServerTransportProvider
+   */
+  @Override
+  public McpServer.SyncSpecification<?> createSyncSpecification() {
+    McpServerWebSocket websocket = configuration.websocket();
+    port = websocket.port();
+    transportProvider =
+        new McpWebSocketServerTransportProvider(
+            createJsonMapper(StringHelper.EMPTY), websocket, configuration.batch());
+    return McpServer.sync(paginate(transportProvider));
+  }
+
+  /**
+   * Starts the Jetty HTTP server with the configured transport provider.
+   *
+   * <p>This method should be called after {@link #createSyncSpecification()} has been invoked to
+   * ensure the transport provider is properly initialized.
+   *
+   * @see JettyHttpServer
+   * @see #createSyncSpecification()
+   */
+  public void startHttpServer() {
+    log.info(
+        "Starting Jetty-based MCP WebSocket server on ws://{}:{}{}",
+        InetHelper.findFirstNonLoopbackAddress().getHostAddress(),
+        configuration.websocket().port(),
+        configuration.websocket().endpoint());
+    httpServer = new JettyHttpServer();
+    createServlets().forEach(httpServer::withServlet);
+    createFilters().forEach(httpServer::withFilter);
+    final ThreadPool threadPool = context.httpThreadPool();
+    if (threadPool != null) {
+      httpServer.withThreadPool(threadPool);
+    }
+    httpServer.withHttpConfiguration(configuration.websocket().http());
+    McpServerLifecycle lifecycle = lifecycle();
+    httpServer.withHealthEndpoints(lifecycle.readyEndpoint(), lifecycle.liveEndpoint());
+    httpServer.withTransportProvider(transportProvider).bind(port).start();
+  }
+
+  /** Starts the HTTP server, see {@link #startHttpServer()}. */
+  @Override
+  protected void startTransport() {
+    startHttpServer();
+  }
+
+  /**
+   * Returns whether the HTTP server is started and accepting connections.
+   *
+   * @return true if the HTTP server is running
+   */
+  @Override
+  protected boolean isTransportRunning() {
+    return httpServer != null && httpServer.isRunning();
+  }
+
+  /**
+   * Starts draining the HTTP server, see {@link JettyHttpServer#drain()}: new connections are
+   * rejected while the open ones are still served.
+   */
+  @Override
+  protected void drainTransport() {
+    if (httpServer != null) {
+      httpServer.drain();
+    }
+  }
+
+  /**
+   * Stops the HTTP server, waiting at most the specified timeout for in-flight requests.
+   *
+   * @param timeout the maximum time to wait for in-flight requests to complete
+   */
+  @Override
+  protected void stopTransport(Duration timeout) {
+    if (httpServer != null) {
+      httpServer.stop(timeout);
+    }
+  }
+}
@@ -0,0 +1,30 @@
+package com.github.thought2code.mcp.annotated.server;
+
+import io.modelcontextprotocol.json.schema.JsonSchemaValidator;
+import java.util.Map;
+
+/**
+ * JSON schema validator of the structured content of the tool results that skips the structured
+ * content already serialized as JSON.
+ *
+ * <p>The MCP SDK validates the structured content of every tool result against the output schema of
+ * the tool, which converts the structured content to a JSON tree and serializes it again for the
+ * text content fallback. A {@link McpRawJson} is answered as valid with its JSON as it is, without
+ * being parsed; any other structured content is validated by the default validator of the MCP SDK.
+ *
+ * @author codeboyzhou
+ * @see McpRawJson
+ */
+final class RawJsonSchemaValidator implements JsonSchemaValidator {
+
+  /** The default validator of the MCP SDK. */
+  private final JsonSchemaValidator delegate = JsonSchemaValidator.getDefault();
+
+  @Override
+  public ValidationResponse validate(Map<String, Object> schema, Object structuredContent) {
+    if (structuredContent instanceof McpRawJson rawJson) {
+      return ValidationResponse.asValid(rawJson.json());
+    }
+    return delegate.validate(schema, structuredContent);
+  }
+}
@@ -2,11 +2,13 @@ package com.github.thought2code.mcp.annotated.server.component;
 
 import com.github.thought2code.mcp.annotated.annotation.McpPromptCompletion;
 import com.github.thought2code.mcp.annotated.annotation.McpResourceCompletion;
+import com.github.thought2code.mcp.annotated.context.McpRequestContext;
+import com.github.thought2code.mcp.annotated.context.McpServerContext;
 import com.github.thought2code.mcp.annotated.exception.McpServerComponentRegistrationException;
+import com.github.thought2code.mcp.annotated.instance.ComponentInstances;
 import com.github.thought2code.mcp.annotated.reflect.Invocation;
 import com.github.thought2code.mcp.annotated.reflect.MethodCache;
 import com.github.thought2code.mcp.annotated.reflect.MethodInvoker;
-import com.github.thought2code.mcp.annotated.reflect.ReflectionsProvider;
 import io.modelcontextprotocol.server.McpServerFeatures;
 import io.modelcontextprotocol.spec.McpSchema;
 import java.lang.reflect.Method;
@@ -40,19 +42,20 @@ public class McpServerCompletion {
    * functionality.
    *
    * <p>The method uses reflection to discover annotated methods and creates specifications through
-   * the {@link #from(Method)} method.
+   * the {@link #from(Method, McpServerContext)} method.
    *
+   * @param context the context of the MCP server providing the scan index and instances
    * @return a list of synchronous completion specifications for all discovered completion methods
    * @see McpPromptCompletion
    * @see McpResourceCompletion
    * @see McpServerFeatures.SyncCompletionSpecification
    */
-  public static List<McpServerFeatures.SyncCompletionSpecification> all() {
+  public static List<McpServerFeatures.SyncCompletionSpecification> all(McpServerContext context) {
     Set<Method> methods = new HashSet<>();
-    methods.addAll(ReflectionsProvider.getMethodsAnnotatedWith(McpPromptCompletion.class));
-    methods.addAll(ReflectionsProvider.getMethodsAnnotatedWith(McpResourceCompletion.class));
+    methods.addAll(context.reflections().getMethodsAnnotatedWith(McpPromptCompletion.class));
+    methods.addAll(context.reflections().getMethodsAnnotatedWith(McpResourceCompletion.class));
     List<McpServerFeatures.SyncCompletionSpecification> completions = new ArrayList<>();
-    methods.forEach(method -> completions.add(from(method)));
+    methods.forEach(method -> completions.add(from(method, context)));
     return completions;
   }
 
@@ -72,6 +75,7 @@ public class McpServerCompletion {
    * </ul>
    *
    * @param method the method to create completion specification for
+   * @param context the context of the MCP server providing the instances
    * @return a synchronous completion specification for the MCP server
    * @throws McpServerComponentRegistrationException if the method signature is invalid
    * @see McpCompleteCompletion
@@ -79,7 +83,8 @@ public class McpServerCompletion {
    * @see McpPromptCompletion
    * @see McpResourceCompletion
    */
-  private static McpServerFeatures.SyncCompletionSpecification from(Method method) {
+  private static McpServerFeatures.SyncCompletionSpecification from(
+      Method method, McpServerContext context) {
     // Use reflection cache for performance optimization
     MethodCache methodCache = MethodCache.of(method);
 
@@ -96,10 +101,18 @@ public class McpServerCompletion {
           "Completion method must have exactly one parameter of type McpSchema.CompleteRequest.CompleteArgument");
     }
 
-    Object instance = MethodInvoker.createInstance(methodCache.getDeclaringClass());
+    ComponentInstances instances = context.instances().instancesOf(methodCache.getDeclaringClass());
     McpSchema.CompleteReference reference = createCompleteReference(methodCache);
     return new McpServerFeatures.SyncCompletionSpecification(
-        reference, (exchange, request) -> invoke(instance, methodCache, request));
+        reference,
+        (exchange, request) ->
+            McpRequestContext.run(
+                "completion/complete",
+                exchange,
+                request.meta(),
+                () ->
+                    context.call(
+                        instances, instance -> invoke(instance, methodCache, request, context))));
   }
 
   /**
@@ -116,6 +129,7 @@ public class McpServerCompletion {
    * @param instance the object instance containing the completion method
    * @param methodCache the cached method information for efficient invocation
    * @param request the completion request containing the argument
+   * @param context the context of the MCP server counting the requests
    * @return the completion result in MCP schema format
    * @throws RuntimeException if the method invocation fails
    * @see McpCompleteCompletion
@@ -123,10 +137,14 @@ public class McpServerCompletion {
    * @see Invocation
    */
   private static McpSchema.CompleteResult invoke(
-      Object instance, MethodCache methodCache, McpSchema.CompleteRequest request) {
+      Object instance,
+      MethodCache methodCache,
+      McpSchema.CompleteRequest request,
+      McpServerContext context) {
 
     McpSchema.CompleteRequest.CompleteArgument argument = request.argument();
     Invocation invocation = MethodInvoker.invoke(instance, methodCache, argument);
+    context.recordRequest(invocation.isError());
     McpCompleteCompletion completion = (McpCompleteCompletion) invocation.result();
     return new McpSchema.CompleteResult(
         new McpSchema.CompleteResult.CompleteCompletion(
@@ -1,5 +1,6 @@
 package com.github.thought2code.mcp.annotated.server.component;
 
+import com.github.thought2code.mcp.annotated.context.McpServerContext;
 import com.github.thought2code.mcp.annotated.util.Immutable;
 import com.github.thought2code.mcp.annotated.util.StringHelper;
 import io.modelcontextprotocol.server.McpSyncServer;
@@ -19,6 +20,7 @@ import org.jetbrains.annotations.NotNull;
  *
  * <ul>
  *   <li>Access to the MCP synchronous server instance through a supplier
+ *   <li>Access to the {@link McpServerContext} of the server the component belongs to
  *   <li>I18n support through resource bundle handling
  *   <li>Attribute localization with fallback to default values
  * </ul>
@@ -36,17 +38,23 @@ public abstract class McpServerComponentBase<T> implements McpServerComponent<T>
    */
   protected final Immutable<McpSyncServer> mcpSyncServer;
 
+  /** The context of the MCP server, holding its scan index, resource bundle and instances. */
+  protected final McpServerContext context;
+
   /** Resource bundle for i18n support */
   private final ResourceBundle bundle;
 
   /**
-   * Constructs a new {@link McpServerComponentBase} with the specified MCP server.
+   * Constructs a new {@link McpServerComponentBase} with the specified MCP server and context.
    *
    * @param mcpSyncServer the MCP synchronous server instance to be used by this component
+   * @param context the context of the MCP server
    */
-  public McpServerComponentBase(@NotNull McpSyncServer mcpSyncServer) {
+  public McpServerComponentBase(
+      @NotNull McpSyncServer mcpSyncServer, @NotNull McpServerContext context) {
     this.mcpSyncServer = Immutable.of(mcpSyncServer);
-    this.bundle = ResourceBundleProvider.getResourceBundle();
+    this.context = context;
+    this.bundle = context.bundle();
   }
 
   /**
@@ -2,11 +2,19 @@ package com.github.thought2code.mcp.annotated.server.component;
 
 import com.github.thought2code.mcp.annotated.annotation.McpPrompt;
 import com.github.thought2code.mcp.annotated.annotation.McpPromptParam;
+import com.github.thought2code.mcp.annotated.context.McpRequestContext;
+import com.github.thought2code.mcp.annotated.context.McpServerContext;
+import com.github.thought2code.mcp.annotated.diagnostics.SlowCallDetector;
+import com.github.thought2code.mcp.annotated.diagnostics.SlowCallTracker;
+import com.github.thought2code.mcp.annotated.instance.ComponentInstances;
+import com.github.thought2code.mcp.annotated.jfr.ComponentRegistrationEvent;
+import com.github.thought2code.mcp.annotated.jfr.ResultBuildingEvent;
 import com.github.thought2code.mcp.annotated.reflect.Invocation;
 import com.github.thought2code.mcp.annotated.reflect.MethodCache;
 import com.github.thought2code.mcp.annotated.reflect.MethodInvoker;
-import com.github.thought2code.mcp.annotated.reflect.ReflectionsProvider;
 import com.github.thought2code.mcp.annotated.server.converter.McpPromptParameterConverter;
+import com.github.thought2code.mcp.annotated.tracing.Span;
+import com.github.thought2code.mcp.annotated.tracing.Tracer;
 import com.github.thought2code.mcp.annotated.util.JacksonHelper;
 import com.github.thought2code.mcp.annotated.util.StringHelper;
 import io.modelcontextprotocol.server.McpServerFeatures;
@@ -53,12 +61,13 @@ public class McpServerPrompt
   private final McpPromptParameterConverter parameterConverter;
 
   /**
-   * Constructs a new {@link McpServerPrompt} with the specified MCP server.
+   * Constructs a new {@link McpServerPrompt} with the specified MCP server and server context.
    *
    * @param mcpSyncServer the MCP synchronous server to use for prompt registration
+   * @param context the context of the MCP server
    */
-  public McpServerPrompt(McpSyncServer mcpSyncServer) {
-    super(mcpSyncServer);
+  public McpServerPrompt(McpSyncServer mcpSyncServer, McpServerContext context) {
+    super(mcpSyncServer, context);
     this.parameterConverter = new McpPromptParameterConverter();
   }
 
@@ -82,7 +91,7 @@ public class McpServerPrompt
 
     // Use reflection cache for performance optimization
     MethodCache methodCache = MethodCache.of(method);
-    Object instance = MethodInvoker.createInstance(methodCache.getDeclaringClass());
+    ComponentInstances instances = context.instances().instancesOf(methodCache.getDeclaringClass());
 
     McpPrompt promptMethod = methodCache.getMcpPromptAnnotation();
     final String name =
@@ -96,7 +105,16 @@ public class McpServerPrompt
     log.info("Prompt specification created: {}", JacksonHelper.toJsonString(prompt));
 
     return new McpServerFeatures.SyncPromptSpecification(
-        prompt, (exchange, request) -> invoke(instance, methodCache, description, request));
+        prompt,
+        (exchange, request) ->
+            McpRequestContext.run(
+                "prompts/get " + name,
+                exchange,
+                request.meta(),
+                () ->
+                    context.call(
+                        instances,
+                        instance -> invoke(instance, methodCache, description, request))));
   }
 
   /**
@@ -108,12 +126,19 @@ public class McpServerPrompt
    */
   @Override
   public void register() {
-    Set<Method> methods = ReflectionsProvider.getMethodsAnnotatedWith(McpPrompt.class);
+    Set<Method> methods = context.reflections().getMethodsAnnotatedWith(McpPrompt.class);
     methods.forEach(
         method -> {
           log.debug("Registering prompt method: {}", method.toGenericString());
+          ComponentRegistrationEvent event = new ComponentRegistrationEvent();
+          event.begin();
           McpServerFeatures.SyncPromptSpecification prompt = from(method);
           mcpSyncServer.get().addPrompt(prompt);
+          context.listings().add(prompt.prompt());
+          if (event.shouldCommit()) {
+            event.fill(MethodCache.of(method));
+            event.commit();
+          }
           log.debug("Prompt {} registered successfully", prompt.prompt().name());
         });
   }
@@ -140,18 +165,52 @@ public class McpServerPrompt
       String description,
       McpSchema.GetPromptRequest request) {
 
-    log.debug("Handling MCP GetPromptRequest: {}", JacksonHelper.toJsonString(request));
+    if (log.isDebugEnabled()) {
+      log.debug("Handling MCP GetPromptRequest: {}", JacksonHelper.toJsonString(request));
+    }
 
     Map<String, Object> arguments = request.arguments();
-    List<Object> params = parameterConverter.convertAll(methodCache.getParameters(), arguments);
-    Invocation invocation = MethodInvoker.invoke(instance, methodCache, params);
-
-    McpSchema.Content content = new McpSchema.TextContent(invocation.result().toString());
-    McpSchema.PromptMessage message = new McpSchema.PromptMessage(McpSchema.Role.USER, content);
-    McpSchema.GetPromptResult getPromptResult =
-        new McpSchema.GetPromptResult(description, List.of(message));
+    SlowCallTracker tracker = SlowCallDetector.begin(methodCache, arguments);
+    McpSchema.GetPromptResult getPromptResult;
+    boolean isError = true;
+    try {
+      List<Object> params = parameterConverter.convertAll(methodCache, arguments);
+      tracker.bound();
+      Invocation invocation = MethodInvoker.invoke(instance, methodCache, params);
+      tracker.invoked();
+
+      ResultBuildingEvent event = new ResultBuildingEvent();
+      event.begin();
+      Span span = Tracer.startSpan("serialize");
+      try {
+        final String text = invocation.result().toString();
+        McpSchema.Content content = new McpSchema.TextContent(text);
+        McpSchema.PromptMessage message = new McpSchema.PromptMessage(McpSchema.Role.USER, content);
+        getPromptResult = new McpSchema.GetPromptResult(description, List.of(message));
+
+        if (event.shouldCommit()) {
+          event.fill(methodCache);
+          event.resultSize = text.length();
+          event.error = invocation.isError();
+          event.commit();
+        }
+        span.setAttribute("mcp.result.size", text.length());
+      } catch (RuntimeException e) {
+        span.setError(e.toString());
+        throw e;
+      } finally {
+        span.end();
+      }
+      isError = invocation.isError();
+    } finally {
+      // cancels the stack sampler even if the call fails before its result is built
+      tracker.end(isError);
+    }
+    context.recordRequest(isError);
 
-    log.debug("Returning MCP GetPromptResult: {}", JacksonHelper.toJsonString(getPromptResult));
+    if (log.isDebugEnabled()) {
+      log.debug("Returning MCP GetPromptResult: {}", JacksonHelper.toJsonString(getPromptResult));
+    }
 
     return getPromptResult;
   }
@@ -1,10 +1,18 @@
 package com.github.thought2code.mcp.annotated.server.component;
 
 import com.github.thought2code.mcp.annotated.annotation.McpResource;
+import com.github.thought2code.mcp.annotated.context.McpRequestContext;
+import com.github.thought2code.mcp.annotated.context.McpServerContext;
+import com.github.thought2code.mcp.annotated.diagnostics.SlowCallDetector;
+import com.github.thought2code.mcp.annotated.diagnostics.SlowCallTracker;
+import com.github.thought2code.mcp.annotated.instance.ComponentInstances;
+import com.github.thought2code.mcp.annotated.jfr.ComponentRegistrationEvent;
+import com.github.thought2code.mcp.annotated.jfr.ResultBuildingEvent;
 import com.github.thought2code.mcp.annotated.reflect.Invocation;
 import com.github.thought2code.mcp.annotated.reflect.MethodCache;
 import com.github.thought2code.mcp.annotated.reflect.MethodInvoker;
-import com.github.thought2code.mcp.annotated.reflect.ReflectionsProvider;
+import com.github.thought2code.mcp.annotated.tracing.Span;
+import com.github.thought2code.mcp.annotated.tracing.Tracer;
 import com.github.thought2code.mcp.annotated.util.JacksonHelper;
 import com.github.thought2code.mcp.annotated.util.StringHelper;
 import io.modelcontextprotocol.server.McpServerFeatures;
@@ -12,6 +20,7 @@ import io.modelcontextprotocol.server.McpSyncServer;
 import io.modelcontextprotocol.spec.McpSchema;
 import java.lang.reflect.Method;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -44,12 +53,13 @@ public class McpServerResource
   private static final Logger log = LoggerFactory.getLogger(McpServerResource.class);
 
   /**
-   * Constructs a new {@link McpServerResource} with the specified MCP server.
+   * Constructs a new {@link McpServerResource} with the specified MCP server and server context.
    *
    * @param mcpSyncServer the MCP synchronous server to use for resource registration
+   * @param context the context of the MCP server
    */
-  public McpServerResource(McpSyncServer mcpSyncServer) {
-    super(mcpSyncServer);
+  public McpServerResource(McpSyncServer mcpSyncServer, McpServerContext context) {
+    super(mcpSyncServer, context);
   }
 
   /**
@@ -72,7 +82,7 @@ public class McpServerResource
 
     // Use reflection cache for performance optimization
     MethodCache methodCache = MethodCache.of(method);
-    Object instance = MethodInvoker.createInstance(methodCache.getDeclaringClass());
+    ComponentInstances instances = context.instances().instancesOf(methodCache.getDeclaringClass());
 
     McpResource res = methodCache.getMcpResourceAnnotation();
     final String name = StringHelper.defaultIfBlank(res.name(), methodCache.getMethodName());
@@ -92,7 +102,14 @@ public class McpServerResource
     log.info("Resource specification created: {}", JacksonHelper.toJsonString(resource));
 
     return new McpServerFeatures.SyncResourceSpecification(
-        resource, (exchange, request) -> invoke(instance, methodCache, resource));
+        resource,
+        (exchange, request) ->
+            McpRequestContext.run(
+                "resources/read " + resource.uri(),
+                exchange,
+                request.meta(),
+                () ->
+                    context.call(instances, instance -> invoke(instance, methodCache, resource))));
   }
 
   /**
@@ -104,12 +121,19 @@ public class McpServerResource
    */
   @Override
   public void register() {
-    Set<Method> methods = ReflectionsProvider.getMethodsAnnotatedWith(McpResource.class);
+    Set<Method> methods = context.reflections().getMethodsAnnotatedWith(McpResource.class);
     methods.forEach(
         method -> {
           log.debug("Registering resource method: {}", method.toGenericString());
+          ComponentRegistrationEvent event = new ComponentRegistrationEvent();
+          event.begin();
           McpServerFeatures.SyncResourceSpecification resource = from(method);
           mcpSyncServer.get().addResource(resource);
+          context.listings().add(resource.resource());
+          if (event.shouldCommit()) {
+            event.fill(MethodCache.of(method));
+            event.commit();
+          }
           log.debug("Resource {} registered successfully", resource.resource().name());
         });
   }
@@ -132,17 +156,52 @@ public class McpServerResource
   private McpSchema.ReadResourceResult invoke(
       Object instance, MethodCache methodCache, McpSchema.Resource resource) {
 
-    log.debug("Handling ReadResourceResult request: {}", JacksonHelper.toJsonString(resource));
-
-    Invocation invocation = MethodInvoker.invoke(instance, methodCache);
-    final String uri = resource.uri();
-    final String mimeType = resource.mimeType();
-    final String text = invocation.result().toString();
-    McpSchema.ResourceContents contents = new McpSchema.TextResourceContents(uri, mimeType, text);
-    McpSchema.ReadResourceResult readResourceResult =
-        new McpSchema.ReadResourceResult(List.of(contents));
-
-    log.debug("Returning ReadResourceResult: {}", JacksonHelper.toJsonString(readResourceResult));
+    if (log.isDebugEnabled()) {
+      log.debug("Handling ReadResourceResult request: {}", JacksonHelper.toJsonString(resource));
+    }
+
+    SlowCallTracker tracker = SlowCallDetector.begin(methodCache, Map.of());
+    McpSchema.ReadResourceResult readResourceResult;
+    boolean isError = true;
+    try {
+      tracker.bound();
+      Invocation invocation = MethodInvoker.invoke(instance, methodCache);
+      tracker.invoked();
+
+      ResultBuildingEvent event = new ResultBuildingEvent();
+      event.begin();
+      Span span = Tracer.startSpan("serialize");
+      try {
+        final String uri = resource.uri();
+        final String mimeType = resource.mimeType();
+        final String text = invocation.result().toString();
+        McpSchema.ResourceContents contents =
+            new McpSchema.TextResourceContents(uri, mimeType, text);
+        readResourceResult = new McpSchema.ReadResourceResult(List.of(contents));
+
+        if (event.shouldCommit()) {
+          event.fill(methodCache);
+          event.resultSize = text.length();
+          event.error = invocation.isError();
+          event.commit();
+        }
+        span.setAttribute("mcp.result.size", text.length());
+      } catch (RuntimeException e) {
+        span.setError(e.toString());
+        throw e;
+      } finally {
+        span.end();
+      }
+      isError = invocation.isError();
+    } finally {
+      // cancels the stack sampler even if the call fails before its result is built
+      tracker.end(isError);
+    }
+    context.recordRequest(isError);
+
+    if (log.isDebugEnabled()) {
+      log.debug("Returning ReadResourceResult: {}", JacksonHelper.toJsonString(readResourceResult));
+    }
 
     return readResourceResult;
   }
@@ -4,13 +4,30 @@ import com.github.thought2code.mcp.annotated.annotation.McpJsonSchemaDefinition;
 import com.github.thought2code.mcp.annotated.annotation.McpJsonSchemaProperty;
 import com.github.thought2code.mcp.annotated.annotation.McpTool;
 import com.github.thought2code.mcp.annotated.annotation.McpToolParam;
+import com.github.thought2code.mcp.annotated.configuration.McpServerStreaming;
+import com.github.thought2code.mcp.annotated.configuration.McpServerToolResult;
+import com.github.thought2code.mcp.annotated.context.McpRequestContext;
+import com.github.thought2code.mcp.annotated.context.McpServerContext;
+import com.github.thought2code.mcp.annotated.diagnostics.SlowCallDetector;
+import com.github.thought2code.mcp.annotated.diagnostics.SlowCallTracker;
 import com.github.thought2code.mcp.annotated.enums.JavaTypeToJsonSchemaMapper;
+import com.github.thought2code.mcp.annotated.enums.TextContentMode;
+import com.github.thought2code.mcp.annotated.instance.ComponentInstances;
+import com.github.thought2code.mcp.annotated.jfr.ComponentRegistrationEvent;
+import com.github.thought2code.mcp.annotated.jfr.ResultBuildingEvent;
 import com.github.thought2code.mcp.annotated.reflect.Invocation;
 import com.github.thought2code.mcp.annotated.reflect.MethodCache;
 import com.github.thought2code.mcp.annotated.reflect.MethodInvoker;
-import com.github.thought2code.mcp.annotated.reflect.ReflectionsProvider;
+import com.github.thought2code.mcp.annotated.server.McpBinaryContent;
+import com.github.thought2code.mcp.annotated.server.McpMixedContent;
+import com.github.thought2code.mcp.annotated.server.McpProgressReporter;
 import com.github.thought2code.mcp.annotated.server.McpStructuredContent;
 import com.github.thought2code.mcp.annotated.server.converter.McpToolParameterConverter;
+import com.github.thought2code.mcp.annotated.server.pagination.PagedResultStore;
+import com.github.thought2code.mcp.annotated.server.streaming.StreamingResultGatherer;
+import com.github.thought2code.mcp.annotated.spill.ResultSpillStore;
+import com.github.thought2code.mcp.annotated.tracing.Span;
+import com.github.thought2code.mcp.annotated.tracing.Tracer;
 import com.github.thought2code.mcp.annotated.util.JacksonHelper;
 import com.github.thought2code.mcp.annotated.util.StringHelper;
 import io.modelcontextprotocol.server.McpServerFeatures;
@@ -63,14 +80,62 @@ public class McpServerTool extends McpServerComponentBase<McpServerFeatures.Sync
   /** The parameter converter for MCP tool parameters. */
   private final McpToolParameterConverter parameterConverter;
 
+  /** How the text content of a structured result is rendered. */
+  private final TextContentMode textContentMode;
+
+  /** The maximum length of a text content summary in characters. */
+  private final int summaryLength;
+
+  /** The gatherer of the streaming results of the tool methods. */
+  private final StreamingResultGatherer streamingGatherer;
+
+  /**
+   * Constructs a new {@link McpServerTool} with the specified MCP server and server context, and
+   * the default tool result configuration.
+   *
+   * @param mcpSyncServer the MCP synchronous server to use for tool registration
+   * @param context the context of the MCP server
+   */
+  public McpServerTool(McpSyncServer mcpSyncServer, McpServerContext context) {
+    this(mcpSyncServer, context, McpServerToolResult.builder().build());
+  }
+
   /**
-   * Constructs a new {@link McpServerTool} with the specified MCP server.
+   * Constructs a new {@link McpServerTool} with the specified MCP server, server context and tool
+   * result configuration.
    *
    * @param mcpSyncServer the MCP synchronous server to use for tool registration
+   * @param context the context of the MCP server
+   * @param toolResult the tool result configuration, or null to use the default one
    */
-  public McpServerTool(McpSyncServer mcpSyncServer) {
-    super(mcpSyncServer);
+  public McpServerTool(
+      McpSyncServer mcpSyncServer, McpServerContext context, McpServerToolResult toolResult) {
+    this(mcpSyncServer, context, toolResult, null);
+  }
+
+  /**
+   * Constructs a new {@link McpServerTool} with the specified MCP server, server context, tool
+   * result configuration and streaming tool result configuration.
+   *
+   * @param mcpSyncServer the MCP synchronous server to use for tool registration
+   * @param context the context of the MCP server
+   * @param toolResult the tool result configuration, or null to use the default one
+   * @param streaming the streaming tool result configuration, or null to use the default one
+   */
+  public McpServerTool(
+      McpSyncServer mcpSyncServer,
+      McpServerContext context,
+      McpServerToolResult toolResult,
+      McpServerStreaming streaming) {
+    super(mcpSyncServer, context);
     this.parameterConverter = new McpToolParameterConverter();
+    McpServerToolResult config =
+        toolResult == null ? McpServerToolResult.builder().build() : toolResult;
+    this.textContentMode = config.textContent();
+    this.summaryLength = config.summaryLength();
+    this.streamingGatherer =
+        new StreamingResultGatherer(
+            streaming == null ? McpServerStreaming.builder().build() : streaming);
   }
 
   /**
@@ -96,7 +161,7 @@ public class McpServerTool extends McpServerComponentBase<McpServerFeatures.Sync
 
     // Use reflection cache for performance optimization
     MethodCache methodCache = MethodCache.of(method);
-    Object instance = MethodInvoker.createInstance(methodCache.getDeclaringClass());
+    ComponentInstances instances = context.instances().instancesOf(methodCache.getDeclaringClass());
 
     McpTool toolMethod = methodCache.getMcpToolAnnotation();
     final String name = StringHelper.defaultIfBlank(toolMethod.name(), methodCache.getMethodName());
@@ -118,7 +183,15 @@ public class McpServerTool extends McpServerComponentBase<McpServerFeatures.Sync
 
     return McpServerFeatures.SyncToolSpecification.builder()
         .tool(tool)
-        .callHandler((exchange, request) -> invoke(instance, methodCache, request))
+        .callHandler(
+            (exchange, request) ->
+                McpRequestContext.run(
+                    "tools/call " + name,
+                    exchange,
+                    request.meta(),
+                    () ->
+                        context.call(
+                            instances, instance -> invoke(instance, methodCache, request))))
         .build();
   }
 
@@ -131,12 +204,20 @@ public class McpServerTool extends McpServerComponentBase<McpServerFeatures.Sync
    */
   @Override
   public void register() {
-    Set<Method> methods = ReflectionsProvider.getMethodsAnnotatedWith(McpTool.class);
+    Set<Method> methods = context.reflections().getMethodsAnnotatedWith(McpTool.class);
     methods.forEach(
         method -> {
           log.debug("Registering tool method: {}", method.toGenericString());
+          ComponentRegistrationEvent event = new ComponentRegistrationEvent();
+          event.begin();
           McpServerFeatures.SyncToolSpecification tool = from(method);
           mcpSyncServer.get().addTool(tool);
+          context.listings().add(tool.tool());
+          context.toolIndex().add(tool.tool());
+          if (event.shouldCommit()) {
+            event.fill(MethodCache.of(method));
+            event.commit();
+          }
           log.debug("Tool {} registered successfully", tool.tool().name());
         });
   }
@@ -147,7 +228,14 @@ public class McpServerTool extends McpServerComponentBase<McpServerFeatures.Sync
    * <p>This private method handles the actual invocation of the tool method, converting request
    * arguments to the appropriate parameter types and invoking the method using reflection. The
    * result is then wrapped in a {@link McpSchema.CallToolResult} with both text content and
-   * structured content support.
+   * structured content support. The text content of a structured result is rendered as configured
+   * by {@link McpServerToolResult}, see {@link #renderTextContent(McpStructuredContent)}, and an
+   * oversized text content is spilled to the {@link ResultSpillStore} of the server. The items of a
+   * streaming result are pulled and gathered by the {@link StreamingResultGatherer}, the first page
+   * of a paged result is served by the {@link PagedResultStore} of the server, an {@link
+   * McpBinaryContent} or {@link McpMixedContent} result is answered with its image, audio and text
+   * contents, and a {@link McpProgressReporter} parameter is passed the progress reporter of the
+   * call.
    *
    * @param instance the object instance containing the tool method
    * @param methodCache the cached method information for efficient invocation
@@ -160,33 +248,130 @@ public class McpServerTool extends McpServerComponentBase<McpServerFeatures.Sync
   private McpSchema.CallToolResult invoke(
       Object instance, MethodCache methodCache, McpSchema.CallToolRequest request) {
 
-    log.debug("Handling MCP CallToolRequest: {}", JacksonHelper.toJsonString(request));
+    if (log.isDebugEnabled()) {
+      log.debug("Handling MCP CallToolRequest: {}", JacksonHelper.toJsonString(request));
+    }
 
     Map<String, Object> arguments = request.arguments();
-    List<Object> params = parameterConverter.convertAll(methodCache.getParameters(), arguments);
-    Invocation invocation = MethodInvoker.invoke(instance, methodCache, params);
+    SlowCallTracker tracker = SlowCallDetector.begin(methodCache, arguments);
+    McpSchema.CallToolResult callToolResult;
+    boolean isError = true;
+    try {
+      List<Object> params = parameterConverter.convertAll(methodCache, arguments);
+      injectProgressReporter(methodCache.getParameters(), params);
+      tracker.bound();
+      Invocation invocation = MethodInvoker.invoke(instance, methodCache, params);
+      invocation = streamingGatherer.gather(methodCache, invocation, McpProgressReporter.current());
+      invocation = context.pagedResults().firstPage(methodCache, invocation);
+      tracker.invoked();
+
+      ResultBuildingEvent event = new ResultBuildingEvent();
+      event.begin();
+      Span span = Tracer.startSpan("serialize");
+      try {
+        Object result = invocation.result();
+        String textContent = null;
+        Object structuredContent = Map.of();
+        Map<String, Object> meta = null;
+
+        // the text content is rendered once, and only if the result is answered as text
+        if (result instanceof McpStructuredContent mcpStructuredContent) {
+          textContent = renderTextContent(mcpStructuredContent);
+          structuredContent = mcpStructuredContent;
+        } else if (result instanceof PagedResultStore.Page page) {
+          textContent = page.text();
+          meta = page.meta();
+        } else if (!(result instanceof McpBinaryContent) && !(result instanceof McpMixedContent)) {
+          textContent = result.toString();
+        }
 
-    Object result = invocation.result();
-    String textContent = result.toString();
-    Object structuredContent = Map.of();
+        List<McpSchema.Content> content;
+        final int resultSize;
+        if (result instanceof McpBinaryContent binary) {
+          content = List.of(binary.toContent());
+          resultSize = binary.size();
+        } else if (result instanceof McpMixedContent mixed) {
+          content = mixed.contents();
+          resultSize = mixed.size();
+        } else {
+          if (textContent == null) {
+            content = List.of();
+          } else if (context.spills().shouldSpill(textContent)) {
+            content = context.spills().spill(methodCache.getComponentName(), textContent);
+          } else {
+            content = List.of(new McpSchema.TextContent(textContent));
+          }
+          resultSize = textContent == null ? 0 : textContent.length();
+        }
 
-    if (result instanceof McpStructuredContent mcpStructuredContent) {
-      textContent = mcpStructuredContent.asTextContent();
-      structuredContent = mcpStructuredContent;
+        callToolResult =
+            McpSchema.CallToolResult.builder()
+                .content(content)
+                .structuredContent(structuredContent)
+                .isError(invocation.isError())
+                .meta(meta)
+                .build();
+
+        if (event.shouldCommit()) {
+          event.fill(methodCache);
+          event.resultSize = resultSize;
+          event.error = invocation.isError();
+          event.commit();
+        }
+        span.setAttribute("mcp.result.size", resultSize);
+      } catch (RuntimeException e) {
+        span.setError(e.toString());
+        throw e;
+      } finally {
+        span.end();
+      }
+      isError = invocation.isError();
+    } finally {
+      // cancels the stack sampler even if the call fails before its result is built
+      tracker.end(isError);
     }
+    context.recordRequest(isError);
 
-    McpSchema.CallToolResult callToolResult =
-        McpSchema.CallToolResult.builder()
-            .content(List.of(new McpSchema.TextContent(textContent)))
-            .structuredContent(structuredContent)
-            .isError(invocation.isError())
-            .build();
-
-    log.debug("Returning MCP CallToolResult: {}", JacksonHelper.toJsonString(callToolResult));
+    if (log.isDebugEnabled()) {
+      log.debug("Returning MCP CallToolResult: {}", JacksonHelper.toJsonString(callToolResult));
+    }
 
     return callToolResult;
   }
 
+  /**
+   * Passes the progress reporter of the current call to the {@link McpProgressReporter} parameters
+   * of the tool method.
+   *
+   * @param methodParams the parameters of the tool method
+   * @param params the converted values of the parameters, updated in place
+   */
+  private static void injectProgressReporter(Parameter[] methodParams, List<Object> params) {
+    for (int i = 0; i < methodParams.length; i++) {
+      if (methodParams[i].getType() == McpProgressReporter.class) {
+        params.set(i, McpProgressReporter.current());
+      }
+    }
+  }
+
+  /**
+   * Renders the text content of a structured result as configured.
+   *
+   * <p>No text content is rendered in the {@link TextContentMode#NONE} mode: the result is answered
+   * with an empty content, which the MCP SDK fills with the JSON of the structured content that it
+   * serializes anyway when it validates the structured content.
+   *
+   * @param structuredContent the structured result of the tool method
+   * @return the text content, or null if no text content is rendered
+   */
+  private String renderTextContent(McpStructuredContent structuredContent) {
+    return switch (textContentMode) {
+      case FULL -> structuredContent.asTextContent();
+      case SUMMARY -> structuredContent.asTextSummary(summaryLength);
+      case NONE -> null;
+    };
+  }
+
   /**
    * Creates a JSON schema for the tool method parameters.
    *
@@ -262,7 +447,7 @@ public class McpServerTool extends McpServerComponentBase<McpServerFeatures.Sync
     List<String> required = new ArrayList<>();
 
     Set<Field> definitionFields =
-        ReflectionsProvider.getFieldsAnnotatedWith(McpJsonSchemaProperty.class);
+        context.reflections().getFieldsAnnotatedWith(McpJsonSchemaProperty.class);
     List<Field> fields =
         definitionFields.stream().filter(f -> f.getDeclaringClass() == definitionClass).toList();
 
@@ -1,15 +1,21 @@
 package com.github.thought2code.mcp.annotated.server.converter;
 
+import com.github.thought2code.mcp.annotated.jfr.ArgumentBindingEvent;
+import com.github.thought2code.mcp.annotated.reflect.MethodCache;
+import com.github.thought2code.mcp.annotated.tracing.Span;
+import com.github.thought2code.mcp.annotated.tracing.Tracer;
 import com.github.thought2code.mcp.annotated.util.TypeConverter;
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * This abstract class is used to convert the value of a parameter annotated with {@link A} to the
- * required type, and provides a default implementation for the {@link #convertAll(Parameter[],
+ * required type, and provides a default implementation for the {@link #convertAll(MethodCache,
  * Map)} method.
  *
  * @param <A> the type of the annotation
@@ -18,28 +24,86 @@ import java.util.Map;
 public abstract class AbstractParameterConverter<A extends Annotation>
     implements ParameterConverter<A> {
 
+  /**
+   * Converts the values of all parameters of the specified component method to the required types.
+   *
+   * <p>An {@link ArgumentBindingEvent} is emitted if the event is enabled in Java Flight Recorder,
+   * even if the method has no parameter, and a {@code bind} span is recorded if tracing is enabled.
+   *
+   * @param methodCache the method cache of the component method
+   * @param args the arguments passed to the method
+   * @return the converted values of all parameters
+   */
+  public List<Object> convertAll(MethodCache methodCache, Map<String, Object> args) {
+    return convertAll(methodCache.getParameters(), methodCache, args);
+  }
+
   /**
    * Converts the values of all parameters annotated with the specified annotation to the required
    * types.
    *
+   * <p>An {@link ArgumentBindingEvent} is emitted if the event is enabled in Java Flight Recorder,
+   * and a {@code bind} span is recorded if tracing is enabled. The component of the event is only
+   * known if the method has parameters, prefer {@link #convertAll(MethodCache, Map)}.
+   *
    * @param methodParameters the parameters of the method
    * @param args the arguments passed to the method
    * @return the converted values of all parameters
    */
   public List<Object> convertAll(Parameter[] methodParameters, Map<String, Object> args) {
+    MethodCache methodCache = null;
+    if (methodParameters.length > 0
+        && methodParameters[0].getDeclaringExecutable() instanceof Method method) {
+      methodCache = MethodCache.of(method);
+    }
+    return convertAll(methodParameters, methodCache, args);
+  }
+
+  /**
+   * Converts the values of all parameters, emitting the argument binding event and span.
+   *
+   * @param methodParameters the parameters of the method
+   * @param methodCache the method cache of the method, or null if it is unknown
+   * @param args the arguments passed to the method
+   * @return the converted values of all parameters
+   */
+  private List<Object> convertAll(
+      Parameter[] methodParameters, @Nullable MethodCache methodCache, Map<String, Object> args) {
+    ArgumentBindingEvent event = new ArgumentBindingEvent();
+    event.begin();
+
+    Span span = Tracer.startSpan("bind");
+    span.setAttribute("mcp.argument.count", args == null ? 0 : args.size());
+
     List<Object> convertedParameters = new ArrayList<>(methodParameters.length);
 
-    for (Parameter param : methodParameters) {
-      A annotation = param.getAnnotation(getAnnotationType());
-      Object converted;
-      // Fill in a default value when the parameter is not specified or unannotated
-      // to ensure that the parameter type is correct when calling method.invoke()
-      if (annotation == null) {
-        converted = TypeConverter.convert(null, param.getType());
-      } else {
-        converted = convert(param, annotation, args);
+    try {
+      for (Parameter param : methodParameters) {
+        A annotation = param.getAnnotation(getAnnotationType());
+        Object converted;
+        // Fill in a default value when the parameter is not specified or unannotated
+        // to ensure that the parameter type is correct when calling method.invoke()
+        if (annotation == null) {
+          converted = TypeConverter.convert(null, param.getType());
+        } else {
+          converted = convert(param, annotation, args);
+        }
+        convertedParameters.add(converted);
+      }
+    } catch (RuntimeException e) {
+      span.setError(e.toString());
+      throw e;
+    } finally {
+      span.end();
+    }
+
+    if (event.shouldCommit()) {
+      if (methodCache != null) {
+        event.fill(methodCache);
       }
-      convertedParameters.add(converted);
+      event.argumentSize = args == null ? 0 : args.size();
+      event.parameterCount = methodParameters.length;
+      event.commit();
     }
 
     return convertedParameters;
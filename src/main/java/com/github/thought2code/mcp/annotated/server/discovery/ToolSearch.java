@@ -0,0 +1,115 @@
+package com.github.thought2code.mcp.annotated.server.discovery;
+
+import com.github.thought2code.mcp.annotated.configuration.McpServerDiscovery;
+import com.github.thought2code.mcp.annotated.util.JacksonHelper;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.spec.McpSchema;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The built-in search tool of the discovery mode, returning the definitions of the tools matching a
+ * query from a {@link ToolSearchIndex}.
+ *
+ * <p>The search tool takes a {@code query} and an optional {@code limit}, and returns the matching
+ * tool definitions, most relevant first, as the {@code tools} array of its structured content and
+ * as JSON text.
+ *
+ * @author codeboyzhou
+ * @see ToolSearchIndex
+ * @see McpServerDiscovery
+ */
+public final class ToolSearch {
+
+  /** The name of the query argument. */
+  private static final String QUERY = "query";
+
+  /** The name of the limit argument. */
+  private static final String LIMIT = "limit";
+
+  /** The name of the tools array of the result. */
+  private static final String TOOLS = "tools";
+
+  /**
+   * Private constructor to prevent instantiation of this utility class.
+   *
+   * @throws UnsupportedOperationException always thrown when attempting to instantiate
+   */
+  private ToolSearch() {
+    throw new UnsupportedOperationException("Utility class should not be instantiated");
+  }
+
+  /**
+   * Creates the definition of the search tool.
+   *
+   * @param configuration the tool discovery configuration
+   * @return the definition of the search tool
+   */
+  public static McpSchema.Tool tool(McpServerDiscovery configuration) {
+    Map<String, Object> properties =
+        Map.of(
+            QUERY,
+            Map.of("type", "string", "description", "Keywords describing the task to perform"),
+            LIMIT,
+            Map.of(
+                "type",
+                "integer",
+                "description",
+                "Maximum number of tools to return, at most " + configuration.maxResults()));
+    Map<String, Object> outputSchema =
+        Map.of(
+            "type",
+            "object",
+            "properties",
+            Map.of(TOOLS, Map.of("type", "array", "description", "The matching tool definitions")),
+            "required",
+            List.of(TOOLS));
+
+    return McpSchema.Tool.builder()
+        .name(configuration.searchToolName())
+        .title("Search tools")
+        .description(
+            "Searches the tools of this server by keywords and returns the definitions of the"
+                + " matching tools, most relevant first. Call it to find the tools for a task,"
+                + " then call the returned tools.")
+        .inputSchema(
+            new McpSchema.JsonSchema("object", properties, List.of(QUERY), false, null, null))
+        .outputSchema(outputSchema)
+        .build();
+  }
+
+  /**
+   * Creates the tool specification of the search tool.
+   *
+   * @param configuration the tool discovery configuration
+   * @param index the index of the searched tools
+   * @return the tool specification of the search tool
+   */
+  public static McpServerFeatures.SyncToolSpecification toolSpecification(
+      McpServerDiscovery configuration, ToolSearchIndex index) {
+
+    final int maxResults = configuration.maxResults();
+    return McpServerFeatures.SyncToolSpecification.builder()
+        .tool(tool(configuration))
+        .callHandler(
+            (exchange, request) -> {
+              final Map<String, Object> arguments = request.arguments();
+              if (!(arguments.get(QUERY) instanceof String query) || query.isBlank()) {
+                return McpSchema.CallToolResult.builder()
+                    .addTextContent("The query argument is required")
+                    .isError(true)
+                    .build();
+              }
+              int limit = maxResults;
+              if (arguments.get(LIMIT) instanceof Number number) {
+                limit = Math.max(1, Math.min(maxResults, number.intValue()));
+              }
+              final Map<String, Object> result = Map.of(TOOLS, index.search(query, limit));
+              return McpSchema.CallToolResult.builder()
+                  .addTextContent(JacksonHelper.toJsonString(result))
+                  .structuredContent(result)
+                  .build();
+            })
+        .build();
+  }
+}
@@ -0,0 +1,236 @@
+package com.github.thought2code.mcp.annotated.server.discovery;
+
+import io.modelcontextprotocol.spec.McpSchema;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index of the tools of an MCP server, ranking them against a search query with
+ * BM25.
+ *
+ * <p>A tool is indexed by the terms of its name, title, description and parameter names. The title
+ * and description are the localized ones the tool is registered with, so the index matches the
+ * language of the server. The terms are the lower-cased runs of letters and digits, split at the
+ * camel case boundaries of the identifiers; ideographic characters, which are not separated by
+ * spaces, are indexed one by one. The terms of the name count twice, as the name is the most
+ * specific description of a tool.
+ *
+ * <p>Tools are added and removed incrementally, a tool added with the name of an indexed tool
+ * replacing it. The index is thread-safe: searches run in parallel, and updates exclusively.
+ *
+ * @author codeboyzhou
+ * @see ToolSearch
+ */
+public final class ToolSearchIndex {
+
+  /** The BM25 term frequency saturation parameter. */
+  private static final double K1 = 1.2;
+
+  /** The BM25 document length normalization parameter. */
+  private static final double B = 0.75;
+
+  /** The indexed tools keyed by name. */
+  private final Map<String, Document> documents = new HashMap<>();
+
+  /** The postings of each term: the names of the tools containing it, with its frequency. */
+  private final Map<String, Map<String, Integer>> postings = new HashMap<>();
+
+  /** The lock guarding the index. */
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  /** The total number of terms of the indexed tools. */
+  private long totalLength;
+
+  /**
+   * Indexes a tool, replacing the tool indexed with the same name.
+   *
+   * @param tool the tool to index
+   */
+  public void add(McpSchema.Tool tool) {
+    final Document document = Document.of(tool);
+    lock.writeLock().lock();
+    try {
+      removeDocument(tool.name());
+      documents.put(tool.name(), document);
+      totalLength += document.length();
+      document
+          .termFrequencies()
+          .forEach(
+              (term, frequency) ->
+                  postings.computeIfAbsent(term, t -> new HashMap<>()).put(tool.name(), frequency));
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Removes a tool from the index.
+   *
+   * @param name the name of the tool to remove
+   */
+  public void remove(String name) {
+    lock.writeLock().lock();
+    try {
+      removeDocument(name);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Returns the number of indexed tools.
+   *
+   * @return the number of indexed tools
+   */
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return documents.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Searches the tools matching a query, most relevant first.
+   *
+   * @param query the search query
+   * @param limit the maximum number of tools to return
+   * @return the tools matching at least one term of the query, ranked by BM25 score
+   */
+  public List<McpSchema.Tool> search(String query, int limit) {
+    final Set<String> terms = new LinkedHashSet<>(tokenize(query));
+    lock.readLock().lock();
+    try {
+      if (documents.isEmpty() || terms.isEmpty()) {
+        return List.of();
+      }
+      final double averageLength = (double) totalLength / documents.size();
+      Map<String, Double> scores = new HashMap<>();
+      for (String term : terms) {
+        final Map<String, Integer> posting = postings.get(term);
+        if (posting == null) {
+          continue;
+        }
+        final double idf =
+            Math.log(1 + (documents.size() - posting.size() + 0.5) / (posting.size() + 0.5));
+        posting.forEach(
+            (name, frequency) -> {
+              final double norm = K1 * (1 - B + B * documents.get(name).length() / averageLength);
+              scores.merge(name, idf * frequency * (K1 + 1) / (frequency + norm), Double::sum);
+            });
+      }
+      return scores.entrySet().stream()
+          .sorted(
+              Map.Entry.<String, Double>comparingByValue(Comparator.reverseOrder())
+                  .thenComparing(Map.Entry.comparingByKey()))
+          .limit(limit)
+          .map(entry -> documents.get(entry.getKey()).tool())
+          .toList();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Removes the tool indexed with the specified name, the write lock being held.
+   *
+   * @param name the name of the tool to remove
+   */
+  private void removeDocument(String name) {
+    final Document document = documents.remove(name);
+    if (document == null) {
+      return;
+    }
+    totalLength -= document.length();
+    for (String term : document.termFrequencies().keySet()) {
+      final Map<String, Integer> posting = postings.get(term);
+      posting.remove(name);
+      if (posting.isEmpty()) {
+        postings.remove(term);
+      }
+    }
+  }
+
+  /**
+   * Splits a text into index terms.
+   *
+   * @param text the text to split, may be null
+   * @return the lower-cased terms of the text
+   */
+  static List<String> tokenize(String text) {
+    List<String> terms = new ArrayList<>();
+    if (text == null) {
+      return terms;
+    }
+    StringBuilder term = new StringBuilder();
+    int previous = 0;
+    for (int i = 0; i < text.length(); ) {
+      final int codePoint = text.codePointAt(i);
+      i += Character.charCount(codePoint);
+      if (Character.isIdeographic(codePoint)) {
+        flush(term, terms);
+        terms.add(new String(Character.toChars(codePoint)));
+      } else if (Character.isLetterOrDigit(codePoint)) {
+        if (Character.isUpperCase(codePoint) && Character.isLowerCase(previous)) {
+          flush(term, terms);
+        }
+        term.appendCodePoint(Character.toLowerCase(codePoint));
+      } else {
+        flush(term, terms);
+      }
+      previous = codePoint;
+    }
+    flush(term, terms);
+    return terms;
+  }
+
+  /**
+   * Adds the current term to the terms if it is not empty, and clears it.
+   *
+   * @param term the current term
+   * @param terms the terms
+   */
+  private static void flush(StringBuilder term, List<String> terms) {
+    if (!term.isEmpty()) {
+      terms.add(term.toString());
+      term.setLength(0);
+    }
+  }
+
+  /**
+   * An indexed tool.
+   *
+   * @param tool the tool
+   * @param termFrequencies the frequency of each term of the tool
+   * @param length the number of terms of the tool
+   */
+  private record Document(McpSchema.Tool tool, Map<String, Integer> termFrequencies, int length) {
+
+    /**
+     * Creates the indexed document of a tool.
+     *
+     * @param tool the tool
+     * @return the indexed document of the tool
+     */
+    static Document of(McpSchema.Tool tool) {
+      List<String> terms = new ArrayList<>(tokenize(tool.name()));
+      terms.addAll(tokenize(tool.name()));
+      terms.addAll(tokenize(tool.title()));
+      terms.addAll(tokenize(tool.description()));
+      if (tool.inputSchema() != null && tool.inputSchema().properties() != null) {
+        tool.inputSchema().properties().keySet().forEach(name -> terms.addAll(tokenize(name)));
+      }
+      Map<String, Integer> termFrequencies = new HashMap<>();
+      terms.forEach(term -> termFrequencies.merge(term, 1, Integer::sum));
+      return new Document(tool, Map.copyOf(termFrequencies), terms.size());
+    }
+  }
+}
@@ -0,0 +1,125 @@
+package com.github.thought2code.mcp.annotated.server.pagination;
+
+import com.github.thought2code.mcp.annotated.configuration.McpServerResultPagination;
+import com.github.thought2code.mcp.annotated.context.McpRequestContext;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.spec.McpSchema;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The built-in continuation tool of the tool result pagination, returning the next page of a paged
+ * tool result from a {@link PagedResultStore}.
+ *
+ * <p>The continuation tool takes the {@code cursor} returned with the previous page, and returns
+ * the next page as text, with the cursor of the following page as the {@code nextCursor} of its
+ * {@code _meta} if more items remain. An unknown or expired cursor is reported as an error result.
+ *
+ * @author codeboyzhou
+ * @see PagedResultStore
+ * @see McpServerResultPagination
+ */
+public final class ContinuationTool {
+
+  /** The name of the cursor argument. */
+  private static final String CURSOR = "cursor";
+
+  /**
+   * Private constructor to prevent instantiation of this utility class.
+   *
+   * @throws UnsupportedOperationException always thrown when attempting to instantiate
+   */
+  private ContinuationTool() {
+    throw new UnsupportedOperationException("Utility class should not be instantiated");
+  }
+
+  /**
+   * Creates the definition of the continuation tool.
+   *
+   * @param configuration the tool result pagination configuration
+   * @return the definition of the continuation tool
+   */
+  public static McpSchema.Tool tool(McpServerResultPagination configuration) {
+    Map<String, Object> properties =
+        Map.of(
+            CURSOR,
+            Map.of(
+                "type",
+                "string",
+                "description",
+                "The cursor returned with the previous page of a tool result"));
+
+    return McpSchema.Tool.builder()
+        .name(configuration.continuationToolName())
+        .title("Next page")
+        .description(
+            "Returns the next page of a tool result split into pages. Call it with the cursor"
+                + " returned with the previous page, until no cursor is returned.")
+        .inputSchema(
+            new McpSchema.JsonSchema("object", properties, List.of(CURSOR), false, null, null))
+        .build();
+  }
+
+  /**
+   * Creates the tool specification of the continuation tool.
+   *
+   * @param configuration the tool result pagination configuration
+   * @param store the store of the cursors of the paged tool results
+   * @return the tool specification of the continuation tool
+   */
+  public static McpServerFeatures.SyncToolSpecification toolSpecification(
+      McpServerResultPagination configuration, PagedResultStore store) {
+
+    final String name = configuration.continuationToolName();
+    return McpServerFeatures.SyncToolSpecification.builder()
+        .tool(tool(configuration))
+        .callHandler(
+            (exchange, request) ->
+                McpRequestContext.run(
+                    "tools/call " + name,
+                    exchange,
+                    request.meta(),
+                    () -> next(store, request.arguments())))
+        .build();
+  }
+
+  /**
+   * Serves the next page of the cursor argument.
+   *
+   * @param store the store of the cursors of the paged tool results
+   * @param arguments the arguments of the call
+   * @return the next page, or an error result if the cursor is missing, unknown or expired
+   */
+  private static McpSchema.CallToolResult next(
+      PagedResultStore store, Map<String, Object> arguments) {
+    if (!(arguments.get(CURSOR) instanceof String cursor) || cursor.isBlank()) {
+      return error("The cursor argument is required");
+    }
+
+    final Optional<PagedResultStore.Page> page;
+    try {
+      page = store.next(cursor);
+    } catch (RuntimeException e) {
+      return error("Error paging result: " + e);
+    }
+    return page.map(
+            p -> McpSchema.CallToolResult.builder().addTextContent(p.text()).meta(p.meta()).build())
+        .orElseGet(
+            () ->
+                error(
+                    "Unknown or expired cursor: "
+                        + cursor
+                        + ", call the original tool again to get a new one"));
+  }
+
+  /**
+   * Creates an error result.
+   *
+   * @param message the error message
+   * @return the error result
+   */
+  private static McpSchema.CallToolResult error(String message) {
+    return McpSchema.CallToolResult.builder().addTextContent(message).isError(true).build();
+  }
+}
@@ -0,0 +1,80 @@
+package com.github.thought2code.mcp.annotated.server.pagination;
+
+import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpSchema;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Answers the list requests of the paginated list methods from a {@link ListingRegistry}, on behalf
+ * of the sessions of the MCP SDK.
+ *
+ * @author codeboyzhou
+ */
+final class ListingPager {
+
+  /** The ordered registry of the listed components. */
+  private final ListingRegistry registry;
+
+  /** The maximum number of components of a page. */
+  private final int pageSize;
+
+  /** The paginated list methods. */
+  private final Set<String> methods;
+
+  /**
+   * Constructs a new {@link ListingPager}.
+   *
+   * @param registry the ordered registry of the listed components
+   * @param pageSize the maximum number of components of a page
+   * @param methods the paginated list methods
+   */
+  ListingPager(ListingRegistry registry, int pageSize, Set<String> methods) {
+    this.registry = registry;
+    this.pageSize = pageSize;
+    this.methods = Set.copyOf(methods);
+  }
+
+  /**
+   * Returns whether the specified message is a request of a paginated list method.
+   *
+   * @param message the message received by a session
+   * @return true if the message is answered by {@link #respond(McpSchema.JSONRPCRequest)}
+   */
+  boolean handles(McpSchema.JSONRPCMessage message) {
+    return message instanceof McpSchema.JSONRPCRequest request
+        && methods.contains(request.method());
+  }
+
+  /**
+   * Answers a request of a paginated list method with the page its cursor designates.
+   *
+   * @param request the request of a paginated list method
+   * @return the response with the page, or the error response if the cursor is invalid
+   */
+  McpSchema.JSONRPCResponse respond(McpSchema.JSONRPCRequest request) {
+    try {
+      final Object page = registry.page(request.method(), cursorOf(request.params()), pageSize);
+      return new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, request.id(), page, null);
+    } catch (McpError e) {
+      return new McpSchema.JSONRPCResponse(
+          McpSchema.JSONRPC_VERSION, request.id(), null, e.getJsonRpcError());
+    }
+  }
+
+  /**
+   * Returns the cursor of the parameters of a list request.
+   *
+   * @param params the parameters, as read from the JSON text or passed by reference in process
+   * @return the cursor, or null for the first page
+   */
+  private static String cursorOf(Object params) {
+    if (params instanceof McpSchema.PaginatedRequest request) {
+      return request.cursor();
+    }
+    if (params instanceof Map<?, ?> map && map.get("cursor") instanceof String cursor) {
+      return cursor;
+    }
+    return null;
+  }
+}
@@ -0,0 +1,218 @@
+package com.github.thought2code.mcp.annotated.server.pagination;
+
+import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpSchema;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * The ordered registry of the listed components of an MCP server, serving their listings page by
+ * page.
+ *
+ * <p>The tools and prompts are ordered by name, the resources by URI and the resource templates by
+ * URI template, in sorted maps. A page starts after the key of the last component of the previous
+ * page, which its cursor encodes, so a page is served in O(log n + page size) and a cursor stays
+ * valid when components are registered or removed in the meantime. The cursors are opaque to the
+ * clients: they are the Base64url-encoded keys.
+ *
+ * @author codeboyzhou
+ * @see PaginatingTransportProvider
+ * @see PaginatingStreamableTransportProvider
+ */
+public final class ListingRegistry {
+
+  /** The tools keyed by name. */
+  private final NavigableMap<String, McpSchema.Tool> tools;
+
+  /** The prompts keyed by name. */
+  private final NavigableMap<String, McpSchema.Prompt> prompts;
+
+  /** The resources keyed by URI. */
+  private final NavigableMap<String, McpSchema.Resource> resources;
+
+  /** The resource templates keyed by URI template. */
+  private final NavigableMap<String, McpSchema.ResourceTemplate> resourceTemplates;
+
+  /** Constructs a new empty {@link ListingRegistry}. */
+  public ListingRegistry() {
+    this(
+        new ConcurrentSkipListMap<>(),
+        new ConcurrentSkipListMap<>(),
+        new ConcurrentSkipListMap<>(),
+        new ConcurrentSkipListMap<>());
+  }
+
+  /**
+   * Constructs a new {@link ListingRegistry} with the specified listings.
+   *
+   * @param tools the tools keyed by name
+   * @param prompts the prompts keyed by name
+   * @param resources the resources keyed by URI
+   * @param resourceTemplates the resource templates keyed by URI template
+   */
+  private ListingRegistry(
+      NavigableMap<String, McpSchema.Tool> tools,
+      NavigableMap<String, McpSchema.Prompt> prompts,
+      NavigableMap<String, McpSchema.Resource> resources,
+      NavigableMap<String, McpSchema.ResourceTemplate> resourceTemplates) {
+    this.tools = tools;
+    this.prompts = prompts;
+    this.resources = resources;
+    this.resourceTemplates = resourceTemplates;
+  }
+
+  /**
+   * Returns a registry listing the specified tools instead of the tools of this registry, and the
+   * prompts, resources and resource templates of this registry, as they are registered.
+   *
+   * <p>This is how the discovery mode lists its search tool only, while the other listings are
+   * unchanged.
+   *
+   * @param listedTools the tools to list
+   * @return a registry listing the specified tools
+   */
+  public ListingRegistry withTools(Collection<McpSchema.Tool> listedTools) {
+    ListingRegistry registry =
+        new ListingRegistry(new ConcurrentSkipListMap<>(), prompts, resources, resourceTemplates);
+    listedTools.forEach(registry::add);
+    return registry;
+  }
+
+  /**
+   * Registers a tool, replacing the tool registered with the same name.
+   *
+   * @param tool the tool to register
+   */
+  public void add(McpSchema.Tool tool) {
+    tools.put(tool.name(), tool);
+  }
+
+  /**
+   * Registers a prompt, replacing the prompt registered with the same name.
+   *
+   * @param prompt the prompt to register
+   */
+  public void add(McpSchema.Prompt prompt) {
+    prompts.put(prompt.name(), prompt);
+  }
+
+  /**
+   * Registers a resource, replacing the resource registered with the same URI.
+   *
+   * @param resource the resource to register
+   */
+  public void add(McpSchema.Resource resource) {
+    resources.put(resource.uri(), resource);
+  }
+
+  /**
+   * Registers a resource template, replacing the resource template registered with the same URI
+   * template.
+   *
+   * @param resourceTemplate the resource template to register
+   */
+  public void add(McpSchema.ResourceTemplate resourceTemplate) {
+    resourceTemplates.put(resourceTemplate.uriTemplate(), resourceTemplate);
+  }
+
+  /**
+   * Returns a page of the listing of the specified list method.
+   *
+   * @param method the list method, one of {@code tools/list}, {@code prompts/list}, {@code
+   *     resources/list} and {@code resources/templates/list}
+   * @param cursor the cursor of the page, or null for the first page
+   * @param pageSize the maximum number of components of the page
+   * @return the list result of the page, with the cursor of the next page if there is one
+   * @throws McpError if the cursor is invalid
+   * @throws IllegalArgumentException if the method is not a list method
+   */
+  public Object page(String method, String cursor, int pageSize) {
+    return switch (method) {
+      case McpSchema.METHOD_TOOLS_LIST -> {
+        Page<McpSchema.Tool> page = page(tools, cursor, pageSize);
+        yield new McpSchema.ListToolsResult(page.items(), page.nextCursor());
+      }
+      case McpSchema.METHOD_PROMPT_LIST -> {
+        Page<McpSchema.Prompt> page = page(prompts, cursor, pageSize);
+        yield new McpSchema.ListPromptsResult(page.items(), page.nextCursor());
+      }
+      case McpSchema.METHOD_RESOURCES_LIST -> {
+        Page<McpSchema.Resource> page = page(resources, cursor, pageSize);
+        yield new McpSchema.ListResourcesResult(page.items(), page.nextCursor());
+      }
+      case McpSchema.METHOD_RESOURCES_TEMPLATES_LIST -> {
+        Page<McpSchema.ResourceTemplate> page = page(resourceTemplates, cursor, pageSize);
+        yield new McpSchema.ListResourceTemplatesResult(page.items(), page.nextCursor());
+      }
+      default -> throw new IllegalArgumentException("Not a list method: " + method);
+    };
+  }
+
+  /**
+   * Returns a page of the specified sorted map.
+   *
+   * @param listing the sorted map of the listed components
+   * @param cursor the cursor of the page, or null for the first page
+   * @param pageSize the maximum number of components of the page
+   * @param <T> the type of the listed components
+   * @return the page
+   */
+  private static <T> Page<T> page(NavigableMap<String, T> listing, String cursor, int pageSize) {
+    final NavigableMap<String, T> tail =
+        cursor == null ? listing : listing.tailMap(decode(cursor), false);
+    List<T> items = new ArrayList<>(Math.min(pageSize, 64));
+    String lastKey = null;
+    for (Map.Entry<String, T> entry : tail.entrySet()) {
+      if (items.size() == pageSize) {
+        return new Page<>(items, encode(lastKey));
+      }
+      items.add(entry.getValue());
+      lastKey = entry.getKey();
+    }
+    return new Page<>(items, null);
+  }
+
+  /**
+   * Encodes the key of the last component of a page as the cursor of the next page.
+   *
+   * @param key the key of the last component of a page
+   * @return the cursor of the next page
+   */
+  static String encode(String key) {
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(key.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Decodes a cursor to the key of the last component of the previous page.
+   *
+   * @param cursor the cursor of a page
+   * @return the key of the last component of the previous page
+   * @throws McpError if the cursor is invalid
+   */
+  static String decode(String cursor) {
+    try {
+      return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+    } catch (IllegalArgumentException e) {
+      throw McpError.builder(McpSchema.ErrorCodes.INVALID_PARAMS)
+          .message("Invalid cursor: " + cursor)
+          .build();
+    }
+  }
+
+  /**
+   * A page of a listing.
+   *
+   * @param items the components of the page
+   * @param nextCursor the cursor of the next page, or null if this page is the last one
+   * @param <T> the type of the listed components
+   */
+  private record Page<T>(List<T> items, String nextCursor) {}
+}
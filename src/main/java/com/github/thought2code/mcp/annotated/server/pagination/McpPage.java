@@ -0,0 +1,195 @@
+package com.github.thought2code.mcp.annotated.server.pagination;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+
+/**
+ * The paged result of a tool method returning a large collection.
+ *
+ * <p>A tool method returning an {@code McpPage} answers with the first page of its items and an
+ * opaque cursor, kept by the {@link PagedResultStore} of the server, and the MCP client fetches the
+ * next pages by calling the continuation tool with the cursor. The items are pulled page by page,
+ * so the collection is never built in memory:
+ *
+ * <pre>{@code
+ * @McpTool(description = "Lists the orders of a customer")
+ * public McpPage<Order> listOrders(@McpToolParam(name = "customer") String customer) {
+ *     return McpPage.query((offset, limit) -> orders.findByCustomer(customer, offset, limit));
+ * }
+ * }</pre>
+ *
+ * <p>A page backed by an iterator or a stream keeps it open until its last page is served or its
+ * cursor expires, while a page backed by a {@link Query} re-executes the query for each page.
+ *
+ * @param <T> the type of the items
+ * @author codeboyzhou
+ * @see PagedResultStore
+ */
+public abstract class McpPage<T> implements AutoCloseable {
+
+  /** Package-private constructor to restrict the page sources to the ones of this class. */
+  McpPage() {}
+
+  /**
+   * Creates a page of the items of an iterator, closed when the page is closed if it is {@link
+   * AutoCloseable}.
+   *
+   * @param iterator the iterator of the items
+   * @param <T> the type of the items
+   * @return the page of the items
+   */
+  public static <T> McpPage<T> of(Iterator<T> iterator) {
+    return new IteratorPage<>(
+        iterator, iterator instanceof AutoCloseable closeable ? closeable : null);
+  }
+
+  /**
+   * Creates a page of the items of a stream, closed when the page is closed.
+   *
+   * @param stream the stream of the items
+   * @param <T> the type of the items
+   * @return the page of the items
+   */
+  public static <T> McpPage<T> of(Stream<T> stream) {
+    return new IteratorPage<>(Spliterators.iterator(stream.spliterator()), stream);
+  }
+
+  /**
+   * Creates a page of the items of a query, executed once per page.
+   *
+   * @param query the query of the items
+   * @param <T> the type of the items
+   * @return the page of the items
+   */
+  public static <T> McpPage<T> query(Query<T> query) {
+    return new QueryPage<>(query);
+  }
+
+  /**
+   * Pulls the next items of this page.
+   *
+   * @param limit the maximum number of items to pull
+   * @return the items pulled and whether more items remain
+   */
+  abstract Chunk<T> next(int limit);
+
+  /** Releases the resources of this page, the remaining items are not pulled. */
+  @Override
+  public abstract void close();
+
+  /**
+   * A query of the items of a page, executed once per page.
+   *
+   * @param <T> the type of the items
+   */
+  @FunctionalInterface
+  public interface Query<T> {
+
+    /**
+     * Fetches a slice of the items.
+     *
+     * @param offset the number of items to skip
+     * @param limit the maximum number of items to fetch
+     * @return the items fetched, fewer than the limit if no more items remain
+     */
+    List<T> fetch(int offset, int limit);
+  }
+
+  /**
+   * The items pulled from a page.
+   *
+   * @param items the items pulled
+   * @param more whether more items remain
+   * @param <T> the type of the items
+   */
+  record Chunk<T>(List<T> items, boolean more) {}
+
+  /**
+   * The page of the items of an iterator.
+   *
+   * @param <T> the type of the items
+   */
+  private static final class IteratorPage<T> extends McpPage<T> {
+
+    /** The iterator of the items. */
+    private final Iterator<T> iterator;
+
+    /** The resource of the iterator, or null if there is none. */
+    private final AutoCloseable resource;
+
+    /**
+     * Constructs a new {@link IteratorPage}.
+     *
+     * @param iterator the iterator of the items
+     * @param resource the resource of the iterator, may be null
+     */
+    IteratorPage(Iterator<T> iterator, AutoCloseable resource) {
+      this.iterator = iterator;
+      this.resource = resource;
+    }
+
+    @Override
+    Chunk<T> next(int limit) {
+      List<T> items = new ArrayList<>(Math.min(limit, 1024));
+      while (items.size() < limit && iterator.hasNext()) {
+        items.add(iterator.next());
+      }
+      return new Chunk<>(items, iterator.hasNext());
+    }
+
+    @Override
+    public void close() {
+      if (resource == null) {
+        return;
+      }
+      try {
+        resource.close();
+      } catch (Exception e) {
+        throw new IllegalStateException("Failed to close paged result", e);
+      }
+    }
+  }
+
+  /**
+   * The page of the items of a query.
+   *
+   * @param <T> the type of the items
+   */
+  private static final class QueryPage<T> extends McpPage<T> {
+
+    /** The query of the items. */
+    private final Query<T> query;
+
+    /** The number of items already pulled. */
+    private int offset;
+
+    /**
+     * Constructs a new {@link QueryPage}.
+     *
+     * @param query the query of the items
+     */
+    QueryPage(Query<T> query) {
+      this.query = query;
+    }
+
+    @Override
+    Chunk<T> next(int limit) {
+      // one more item tells whether more items remain
+      final List<T> fetched = query.fetch(offset, limit + 1);
+      if (fetched.size() <= limit) {
+        offset += fetched.size();
+        return new Chunk<>(new ArrayList<>(fetched), false);
+      }
+      offset += limit;
+      return new Chunk<>(new ArrayList<>(fetched.subList(0, limit)), true);
+    }
+
+    @Override
+    public void close() {
+      // nothing is held between the pages
+    }
+  }
+}
@@ -0,0 +1,391 @@
+package com.github.thought2code.mcp.annotated.server.pagination;
+
+import com.github.thought2code.mcp.annotated.configuration.McpServerResultPagination;
+import com.github.thought2code.mcp.annotated.context.McpRequestContext;
+import com.github.thought2code.mcp.annotated.metrics.McpServerMetrics;
+import com.github.thought2code.mcp.annotated.reflect.Invocation;
+import com.github.thought2code.mcp.annotated.reflect.MethodCache;
+import com.github.thought2code.mcp.annotated.server.streaming.StreamingResultGatherer;
+import com.github.thought2code.mcp.annotated.util.StringHelper;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded store of the cursors of the paged tool results of an MCP server.
+ *
+ * <p>A tool method returning an {@link McpPage} answers with its first {@code page-size} items. If
+ * more items remain, the page is kept under a new random cursor, returned as the {@code nextCursor}
+ * of the {@code _meta} of the tool result, and the next page is served by the continuation tool
+ * called with the cursor, see {@link ContinuationTool}. A cursor is used once: each page is
+ * answered with the cursor of the next one, and a cursor is only valid in the session which
+ * received it.
+ *
+ * <p>The store keeps at most {@code max-cursors} cursors: the least recently used one is dropped to
+ * make room for a new one. A cursor is dropped {@code ttl} milliseconds after it was issued, when
+ * the store is next used or by a background reaper. The page of a dropped cursor is closed, which
+ * releases its iterator or stream. The number of cursors of an enabled store is exposed as the
+ * {@code mcp.result-pagination.{server}.cursors} gauge, named after the server and unregistered
+ * when the store is cleared, and the pages served, expired and evicted cursors of all servers as
+ * the {@code mcp.result-pagination.*} counters of {@link McpServerMetrics}.
+ *
+ * @author codeboyzhou
+ * @see McpServerResultPagination
+ */
+public final class PagedResultStore {
+
+  private static final Logger log = LoggerFactory.getLogger(PagedResultStore.class);
+
+  /** The number of items pulled at once when a paged result is returned whole. */
+  private static final int GATHER_CHUNK_SIZE = 1000;
+
+  /** The number of random bytes of a cursor. */
+  private static final int CURSOR_BYTES = 18;
+
+  /** The source of the random cursors. */
+  private static final SecureRandom RANDOM = new SecureRandom();
+
+  /** The clock of the expiration of the cursors, in nanoseconds. */
+  private final LongSupplier clock;
+
+  /**
+   * The pages keyed by cursor, in issuing order, guarded by this. A cursor is used once, so the
+   * eldest cursor is also the least recently used one.
+   */
+  private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+  /** The current tool result pagination configuration, or null if disabled. */
+  private volatile McpServerResultPagination configuration;
+
+  /** The reaper of the expired cursors, or null if disabled, guarded by this. */
+  private ScheduledExecutorService reaper;
+
+  /** The name of the gauge of the number of cursors, or null if disabled, guarded by this. */
+  private String gauge;
+
+  /** Constructs a new disabled {@link PagedResultStore}. */
+  public PagedResultStore() {
+    this(System::nanoTime);
+  }
+
+  /**
+   * Constructs a new disabled {@link PagedResultStore} with the specified clock.
+   *
+   * @param clock the clock of the expiration of the cursors, in nanoseconds
+   */
+  PagedResultStore(LongSupplier clock) {
+    this.clock = clock;
+  }
+
+  /**
+   * Configures this store with the specified configuration, starting the reaper of the expired
+   * cursors and registering the gauge of the store if it is enabled.
+   *
+   * @param resultPagination the tool result pagination configuration
+   * @param serverName the name of the server, naming the gauge of the store
+   */
+  public synchronized void configure(
+      McpServerResultPagination resultPagination, String serverName) {
+    clear();
+    if (!Boolean.TRUE.equals(resultPagination.enabled())) {
+      return;
+    }
+
+    configuration = resultPagination;
+    final long period = Math.max(1000, resultPagination.ttl() / 2);
+    reaper =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "mcp-result-pagination-reaper");
+              thread.setDaemon(true);
+              return thread;
+            });
+    reaper.scheduleAtFixedRate(this::expire, period, period, TimeUnit.MILLISECONDS);
+    gauge = "mcp.result-pagination." + serverName + ".cursors";
+    McpServerMetrics.gauge(gauge, this::size);
+    log.info(
+        "Result pagination enabled with {} items per page, at most {} cursors",
+        resultPagination.pageSize(),
+        resultPagination.maxCursors());
+  }
+
+  /**
+   * Serves the first page of the paged result of a tool method invocation.
+   *
+   * <p>The whole result is returned at once if this store is disabled. A failure while the items
+   * are pulled is reported as the error result of the invocation.
+   *
+   * @param methodCache the method cache of the tool method
+   * @param invocation the invocation of the tool method
+   * @return the invocation with the {@link Page} as result, or the invocation itself if it failed
+   *     or its result is not an {@link McpPage}
+   */
+  public Invocation firstPage(MethodCache methodCache, Invocation invocation) {
+    if (invocation.isError() || !(invocation.result() instanceof McpPage<?> page)) {
+      return invocation;
+    }
+    try {
+      McpServerResultPagination resultPagination = configuration;
+      final Page first = resultPagination == null ? gather(page) : serve(page, resultPagination);
+      return Invocation.builder().result(first).build();
+    } catch (RuntimeException e) {
+      final String message = "Error paging result of method: " + methodCache.getMethodSignature();
+      log.error(message, e);
+      return Invocation.builder()
+          .result(message + StringHelper.NewLine + "Caused by: " + e)
+          .isError(true)
+          .build();
+    }
+  }
+
+  /**
+   * Serves the next page of a paged result, consuming its cursor.
+   *
+   * @param cursor the cursor of the page
+   * @return the page, or empty if the cursor is unknown, expired or issued to another session
+   * @throws RuntimeException if the items of the page cannot be pulled
+   */
+  public Optional<Page> next(String cursor) {
+    McpServerResultPagination resultPagination = configuration;
+    if (resultPagination == null) {
+      return Optional.empty();
+    }
+
+    final List<Entry> expired;
+    final Entry entry;
+    synchronized (this) {
+      expired = expire(clock.getAsLong(), resultPagination);
+      Entry found = entries.get(cursor);
+      final boolean owned =
+          found != null && found.sessionId().equals(McpRequestContext.currentSessionId());
+      entry = owned ? entries.remove(cursor) : null;
+    }
+    closeAll(expired);
+    return entry == null ? Optional.empty() : Optional.of(serve(entry.page(), resultPagination));
+  }
+
+  /**
+   * Returns the number of cursors of this store.
+   *
+   * @return the number of cursors
+   */
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * Drops all cursors, closing their pages, and disables this store, unregistering the gauge of the
+   * store.
+   */
+  public void clear() {
+    final List<Entry> dropped;
+    synchronized (this) {
+      dropped = new ArrayList<>(entries.values());
+      entries.clear();
+      if (reaper != null) {
+        reaper.shutdownNow();
+        reaper = null;
+      }
+      if (gauge != null) {
+        McpServerMetrics.remove(gauge);
+        gauge = null;
+      }
+      configuration = null;
+    }
+    closeAll(dropped);
+  }
+
+  /**
+   * Pulls the next page of a paged result, keeping it under a new cursor if more items remain.
+   *
+   * @param page the paged result
+   * @param resultPagination the tool result pagination configuration
+   * @return the page
+   */
+  private Page serve(McpPage<?> page, McpServerResultPagination resultPagination) {
+    final McpPage.Chunk<?> chunk;
+    try {
+      chunk = page.next(resultPagination.pageSize());
+    } catch (RuntimeException e) {
+      close(page);
+      throw e;
+    }
+    McpServerMetrics.counter("mcp.result-pagination.pages").increment();
+
+    StringBuilder text = new StringBuilder();
+    append(text, chunk.items());
+    if (!chunk.more()) {
+      close(page);
+      return new Page(text.toString(), null);
+    }
+
+    final String cursor = newCursor();
+    final List<Entry> evicted = new ArrayList<>();
+    synchronized (this) {
+      final long now = clock.getAsLong();
+      evicted.addAll(expire(now, resultPagination));
+      Iterator<Entry> eldest = entries.values().iterator();
+      while (entries.size() >= resultPagination.maxCursors() && eldest.hasNext()) {
+        evicted.add(eldest.next());
+        eldest.remove();
+        McpServerMetrics.counter("mcp.result-pagination.evictions").increment();
+      }
+      entries.put(cursor, new Entry(page, McpRequestContext.currentSessionId(), now));
+    }
+    closeAll(evicted);
+
+    text.append(StringHelper.NewLine)
+        .append(StringHelper.NewLine)
+        .append("More items are available, call the tool ")
+        .append(resultPagination.continuationToolName())
+        .append(" with the cursor: ")
+        .append(cursor);
+    return new Page(text.toString(), cursor);
+  }
+
+  /**
+   * Pulls all items of a paged result and closes it.
+   *
+   * @param page the paged result
+   * @return the single page holding all items
+   */
+  private static Page gather(McpPage<?> page) {
+    StringBuilder text = new StringBuilder();
+    try {
+      McpPage.Chunk<?> chunk;
+      do {
+        chunk = page.next(GATHER_CHUNK_SIZE);
+        if (!text.isEmpty() && !chunk.items().isEmpty()) {
+          text.append(StringHelper.NewLine);
+        }
+        append(text, chunk.items());
+      } while (chunk.more());
+    } finally {
+      close(page);
+    }
+    return new Page(text.toString(), null);
+  }
+
+  /** Drops the expired cursors, run by the reaper. */
+  private void expire() {
+    McpServerResultPagination resultPagination = configuration;
+    if (resultPagination == null) {
+      return;
+    }
+    final List<Entry> expired;
+    synchronized (this) {
+      expired = expire(clock.getAsLong(), resultPagination);
+    }
+    closeAll(expired);
+  }
+
+  /**
+   * Drops the cursors issued longer than the time to live ago, the lock being held.
+   *
+   * @param now the current time of the clock
+   * @param resultPagination the tool result pagination configuration
+   * @return the pages of the dropped cursors, to be closed once the lock is released
+   */
+  private List<Entry> expire(long now, McpServerResultPagination resultPagination) {
+    final long ttl = TimeUnit.MILLISECONDS.toNanos(resultPagination.ttl());
+    List<Entry> expired = new ArrayList<>();
+    Iterator<Entry> iterator = entries.values().iterator();
+    while (iterator.hasNext()) {
+      final Entry entry = iterator.next();
+      if (now - entry.issuedAt() < ttl) {
+        // the next cursors are issued later and not expired either
+        break;
+      }
+      expired.add(entry);
+      iterator.remove();
+      McpServerMetrics.counter("mcp.result-pagination.expirations").increment();
+    }
+    return expired;
+  }
+
+  /**
+   * Appends the text of the items to a text, each item on its own line.
+   *
+   * @param text the text to append to
+   * @param items the items
+   */
+  private static void append(StringBuilder text, List<?> items) {
+    for (int i = 0; i < items.size(); i++) {
+      if (i > 0) {
+        text.append(StringHelper.NewLine);
+      }
+      text.append(StreamingResultGatherer.textOf(items.get(i)));
+    }
+  }
+
+  /**
+   * Closes the pages of dropped cursors.
+   *
+   * @param entries the dropped cursors
+   */
+  private static void closeAll(List<Entry> entries) {
+    entries.forEach(entry -> close(entry.page()));
+  }
+
+  /**
+   * Closes a paged result, releasing its resources.
+   *
+   * @param page the paged result
+   */
+  private static void close(McpPage<?> page) {
+    try {
+      page.close();
+    } catch (RuntimeException e) {
+      log.warn("Failed to close paged result", e);
+    }
+  }
+
+  /**
+   * Creates a new random cursor.
+   *
+   * @return the URL-safe cursor
+   */
+  private static String newCursor() {
+    byte[] bytes = new byte[CURSOR_BYTES];
+    RANDOM.nextBytes(bytes);
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+  }
+
+  /**
+   * A page of a paged tool result.
+   *
+   * @param text the text content of the page
+   * @param nextCursor the cursor of the next page, or null if this is the last page
+   */
+  public record Page(String text, String nextCursor) {
+
+    /**
+     * Returns the {@code _meta} of the tool result of this page.
+     *
+     * @return the cursor of the next page as {@code nextCursor}, or an empty map
+     */
+    public Map<String, Object> meta() {
+      return nextCursor == null ? Map.of() : Map.of("nextCursor", nextCursor);
+    }
+  }
+
+  /**
+   * A kept page and the session which received its cursor.
+   *
+   * @param page the paged result
+   * @param sessionId the id of the session which received the cursor
+   * @param issuedAt the time the cursor was issued
+   */
+  private record Entry(McpPage<?> page, String sessionId, long issuedAt) {}
+}
@@ -0,0 +1,179 @@
+package com.github.thought2code.mcp.annotated.server.pagination;
+
+import com.github.thought2code.mcp.annotated.util.Immutable;
+import io.modelcontextprotocol.json.TypeRef;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpStreamableServerSession;
+import io.modelcontextprotocol.spec.McpStreamableServerTransport;
+import io.modelcontextprotocol.spec.McpStreamableServerTransportProvider;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Streamable HTTP transport provider decorator paginating the listings of the sessions of another
+ * streamable HTTP transport provider.
+ *
+ * <p>This is the streamable HTTP counterpart of {@link PaginatingTransportProvider}: every session
+ * the MCP SDK starts for the transport provider is wrapped, so that the list requests of the
+ * paginated list methods are answered page by page from a {@link ListingRegistry} on their response
+ * stream, while every other message is handled by the session of the MCP SDK.
+ *
+ * @author codeboyzhou
+ * @see ListingRegistry
+ * @see PaginatingTransportProvider
+ */
+public final class PaginatingStreamableTransportProvider
+    implements McpStreamableServerTransportProvider {
+
+  /** The decorated transport provider. */
+  private final Immutable<McpStreamableServerTransportProvider> delegate;
+
+  /** The pager answering the list requests. */
+  private final ListingPager pager;
+
+  /**
+   * Constructs a new {@link PaginatingStreamableTransportProvider}.
+   *
+   * @param delegate the decorated transport provider
+   * @param registry the ordered registry of the listed components
+   * @param pageSize the maximum number of components of a page
+   * @param methods the paginated list methods
+   */
+  public PaginatingStreamableTransportProvider(
+      McpStreamableServerTransportProvider delegate,
+      ListingRegistry registry,
+      int pageSize,
+      Set<String> methods) {
+    this.delegate = Immutable.of(delegate);
+    this.pager = new ListingPager(registry, pageSize, methods);
+  }
+
+  @Override
+  public void setSessionFactory(McpStreamableServerSession.Factory sessionFactory) {
+    delegate
+        .get()
+        .setSessionFactory(
+            initializeRequest -> {
+              McpStreamableServerSession.McpStreamableServerSessionInit init =
+                  sessionFactory.startSession(initializeRequest);
+              return new McpStreamableServerSession.McpStreamableServerSessionInit(
+                  new PaginatingSession(init.session(), pager), init.initResult());
+            });
+  }
+
+  @Override
+  public Mono<Void> notifyClients(String method, Object params) {
+    return delegate.get().notifyClients(method, params);
+  }
+
+  @Override
+  public void close() {
+    delegate.get().close();
+  }
+
+  @Override
+  public Mono<Void> closeGracefully() {
+    return delegate.get().closeGracefully();
+  }
+
+  @Override
+  public List<String> protocolVersions() {
+    return delegate.get().protocolVersions();
+  }
+
+  /** Session answering the list requests and delegating everything else to an MCP SDK session. */
+  private static final class PaginatingSession extends McpStreamableServerSession {
+
+    /** The session started by the MCP SDK. */
+    private final McpStreamableServerSession session;
+
+    /** The pager answering the list requests. */
+    private final ListingPager pager;
+
+    /**
+     * Constructs a new {@link PaginatingSession}.
+     *
+     * @param session the session started by the MCP SDK
+     * @param pager the pager answering the list requests
+     */
+    PaginatingSession(McpStreamableServerSession session, ListingPager pager) {
+      super(session.getId(), null, null, Duration.ZERO, Map.of(), Map.of());
+      this.session = session;
+      this.pager = pager;
+    }
+
+    @Override
+    public Mono<Void> responseStream(
+        McpSchema.JSONRPCRequest request, McpStreamableServerTransport transport) {
+      if (pager.handles(request)) {
+        return transport.sendMessage(pager.respond(request));
+      }
+      return session.responseStream(request, transport);
+    }
+
+    @Override
+    public String getId() {
+      return session.getId();
+    }
+
+    @Override
+    public void setMinLoggingLevel(McpSchema.LoggingLevel minLoggingLevel) {
+      session.setMinLoggingLevel(minLoggingLevel);
+    }
+
+    @Override
+    public boolean isNotificationForLevelAllowed(McpSchema.LoggingLevel loggingLevel) {
+      return session.isNotificationForLevelAllowed(loggingLevel);
+    }
+
+    @Override
+    public <T> Mono<T> sendRequest(String method, Object requestParams, TypeRef<T> typeRef) {
+      return session.sendRequest(method, requestParams, typeRef);
+    }
+
+    @Override
+    public Mono<Void> sendNotification(String method, Object params) {
+      return session.sendNotification(method, params);
+    }
+
+    @Override
+    public Mono<Void> delete() {
+      return session.delete();
+    }
+
+    @Override
+    public McpStreamableServerSessionStream listeningStream(
+        McpStreamableServerTransport transport) {
+      return session.listeningStream(transport);
+    }
+
+    @Override
+    public Flux<McpSchema.JSONRPCMessage> replay(Object lastEventId) {
+      return session.replay(lastEventId);
+    }
+
+    @Override
+    public Mono<Void> accept(McpSchema.JSONRPCNotification notification) {
+      return session.accept(notification);
+    }
+
+    @Override
+    public Mono<Void> accept(McpSchema.JSONRPCResponse response) {
+      return session.accept(response);
+    }
+
+    @Override
+    public Mono<Void> closeGracefully() {
+      return session.closeGracefully();
+    }
+
+    @Override
+    public void close() {
+      session.close();
+    }
+  }
+}
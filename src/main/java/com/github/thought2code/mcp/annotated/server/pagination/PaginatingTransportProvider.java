@@ -0,0 +1,156 @@
+package com.github.thought2code.mcp.annotated.server.pagination;
+
+import com.github.thought2code.mcp.annotated.util.Immutable;
+import io.modelcontextprotocol.json.TypeRef;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpServerSession;
+import io.modelcontextprotocol.spec.McpServerTransport;
+import io.modelcontextprotocol.spec.McpServerTransportProvider;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import reactor.core.publisher.Mono;
+
+/**
+ * Transport provider decorator paginating the listings of the sessions of another transport
+ * provider.
+ *
+ * <p>The MCP SDK answers the list requests itself, with all the components registered with the
+ * server. This decorator wraps every session the MCP SDK creates for the transport provider, so
+ * that the list requests of the paginated list methods are answered page by page from a {@link
+ * ListingRegistry} instead, while every other message is handled by the session of the MCP SDK.
+ *
+ * @author codeboyzhou
+ * @see ListingRegistry
+ * @see PaginatingStreamableTransportProvider
+ */
+public final class PaginatingTransportProvider implements McpServerTransportProvider {
+
+  /** The decorated transport provider. */
+  private final Immutable<McpServerTransportProvider> delegate;
+
+  /** The pager answering the list requests. */
+  private final ListingPager pager;
+
+  /**
+   * Constructs a new {@link PaginatingTransportProvider}.
+   *
+   * @param delegate the decorated transport provider
+   * @param registry the ordered registry of the listed components
+   * @param pageSize the maximum number of components of a page
+   * @param methods the paginated list methods
+   */
+  public PaginatingTransportProvider(
+      McpServerTransportProvider delegate,
+      ListingRegistry registry,
+      int pageSize,
+      Set<String> methods) {
+    this.delegate = Immutable.of(delegate);
+    this.pager = new ListingPager(registry, pageSize, methods);
+  }
+
+  @Override
+  public void setSessionFactory(McpServerSession.Factory sessionFactory) {
+    delegate
+        .get()
+        .setSessionFactory(
+            transport -> new PaginatingSession(sessionFactory.create(transport), transport, pager));
+  }
+
+  @Override
+  public Mono<Void> notifyClients(String method, Object params) {
+    return delegate.get().notifyClients(method, params);
+  }
+
+  @Override
+  public void close() {
+    delegate.get().close();
+  }
+
+  @Override
+  public Mono<Void> closeGracefully() {
+    return delegate.get().closeGracefully();
+  }
+
+  @Override
+  public List<String> protocolVersions() {
+    return delegate.get().protocolVersions();
+  }
+
+  /** Session answering the list requests and delegating everything else to an MCP SDK session. */
+  private static final class PaginatingSession extends McpServerSession {
+
+    /** The session created by the MCP SDK. */
+    private final McpServerSession session;
+
+    /** The transport of the session. */
+    private final McpServerTransport transport;
+
+    /** The pager answering the list requests. */
+    private final ListingPager pager;
+
+    /**
+     * Constructs a new {@link PaginatingSession}.
+     *
+     * @param session the session created by the MCP SDK
+     * @param transport the transport of the session
+     * @param pager the pager answering the list requests
+     */
+    PaginatingSession(McpServerSession session, McpServerTransport transport, ListingPager pager) {
+      super(session.getId(), Duration.ZERO, transport, null, Map.of(), Map.of());
+      this.session = session;
+      this.transport = transport;
+      this.pager = pager;
+    }
+
+    @Override
+    public Mono<Void> handle(McpSchema.JSONRPCMessage message) {
+      if (pager.handles(message)) {
+        return transport.sendMessage(pager.respond((McpSchema.JSONRPCRequest) message));
+      }
+      return session.handle(message);
+    }
+
+    @Override
+    public String getId() {
+      return session.getId();
+    }
+
+    @Override
+    public void init(
+        McpSchema.ClientCapabilities clientCapabilities, McpSchema.Implementation clientInfo) {
+      session.init(clientCapabilities, clientInfo);
+    }
+
+    @Override
+    public void setMinLoggingLevel(McpSchema.LoggingLevel minLoggingLevel) {
+      session.setMinLoggingLevel(minLoggingLevel);
+    }
+
+    @Override
+    public boolean isNotificationForLevelAllowed(McpSchema.LoggingLevel loggingLevel) {
+      return session.isNotificationForLevelAllowed(loggingLevel);
+    }
+
+    @Override
+    public <T> Mono<T> sendRequest(String method, Object requestParams, TypeRef<T> typeRef) {
+      return session.sendRequest(method, requestParams, typeRef);
+    }
+
+    @Override
+    public Mono<Void> sendNotification(String method, Object params) {
+      return session.sendNotification(method, params);
+    }
+
+    @Override
+    public Mono<Void> closeGracefully() {
+      return session.closeGracefully();
+    }
+
+    @Override
+    public void close() {
+      session.close();
+    }
+  }
+}
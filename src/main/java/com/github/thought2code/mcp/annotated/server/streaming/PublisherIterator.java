@@ -0,0 +1,155 @@
+package com.github.thought2code.mcp.annotated.server.streaming;
+
+import com.github.thought2code.mcp.annotated.exception.McpServerException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pulls the items of a {@link Flow.Publisher} one by one, blocking until the next item is published
+ * or the item timeout elapses.
+ *
+ * <p>At most {@code bufferSize} items are requested ahead from the publisher: one more item is
+ * requested each time an item is taken, so the items buffered never exceed the buffer size. The
+ * subscription is cancelled when the iterator is closed before the publisher completes, or when the
+ * publisher publishes no item within the item timeout, so that a stalled publisher never blocks the
+ * calling thread forever.
+ *
+ * @param <T> the type of the items
+ * @author codeboyzhou
+ */
+final class PublisherIterator<T> implements Iterator<T>, Flow.Subscriber<T>, AutoCloseable {
+
+  /** The signal of the completion of the publisher. */
+  private static final Object COMPLETE = new Object();
+
+  /** The items and the terminal signal of the publisher, in publishing order. */
+  private final BlockingQueue<Object> signals;
+
+  /** The number of items requested ahead from the publisher. */
+  private final int bufferSize;
+
+  /** The maximum time to wait for the next item in nanoseconds. */
+  private final long itemTimeoutNanos;
+
+  /** The subscription to the publisher, null until the publisher subscribes this iterator. */
+  private volatile Flow.Subscription subscription;
+
+  /** The next item, taken from the signals but not returned yet. */
+  private T next;
+
+  /** Whether the terminal signal of the publisher is taken. */
+  private volatile boolean done;
+
+  /**
+   * Constructs a new {@link PublisherIterator} and subscribes it to the specified publisher.
+   *
+   * @param publisher the publisher of the items
+   * @param bufferSize the number of items requested ahead from the publisher
+   * @param itemTimeoutNanos the maximum time to wait for the next item in nanoseconds
+   */
+  PublisherIterator(Flow.Publisher<T> publisher, int bufferSize, long itemTimeoutNanos) {
+    this.bufferSize = bufferSize;
+    this.itemTimeoutNanos = itemTimeoutNanos;
+    // one more slot for the terminal signal
+    this.signals = new ArrayBlockingQueue<>(bufferSize + 1);
+    publisher.subscribe(this);
+  }
+
+  @Override
+  public void onSubscribe(Flow.Subscription subscription) {
+    this.subscription = subscription;
+    subscription.request(bufferSize);
+  }
+
+  @Override
+  public void onNext(T item) {
+    signals.add(item);
+  }
+
+  @Override
+  public void onError(Throwable throwable) {
+    signals.add(new Failure(throwable));
+  }
+
+  @Override
+  public void onComplete() {
+    signals.add(COMPLETE);
+  }
+
+  /**
+   * Returns whether the publisher publishes another item, waiting until it does or completes, at
+   * most the item timeout.
+   *
+   * @return true if there is a next item
+   * @throws McpServerException if the publisher failed, published no item within the item timeout,
+   *     or the thread is interrupted while waiting
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public boolean hasNext() {
+    if (next != null) {
+      return true;
+    }
+    if (done) {
+      return false;
+    }
+
+    final Object signal;
+    try {
+      signal = signals.poll(itemTimeoutNanos, TimeUnit.NANOSECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      close();
+      throw new McpServerException("Interrupted while waiting for the next published item", e);
+    }
+    if (signal == null) {
+      close();
+      throw new McpServerException(
+          String.format(
+              "No item published within %d ms, the subscription is cancelled",
+              TimeUnit.NANOSECONDS.toMillis(itemTimeoutNanos)));
+    }
+    if (signal == COMPLETE) {
+      done = true;
+      return false;
+    }
+    if (signal instanceof Failure failure) {
+      done = true;
+      throw new McpServerException("Publisher of the tool result failed", failure.error());
+    }
+    next = (T) signal;
+    subscription.request(1);
+    return true;
+  }
+
+  @Override
+  public T next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    final T item = next;
+    next = null;
+    return item;
+  }
+
+  /** Cancels the subscription to the publisher if it has not completed yet. */
+  @Override
+  public void close() {
+    final Flow.Subscription current = subscription;
+    if (!done && current != null) {
+      done = true;
+      current.cancel();
+    }
+  }
+
+  /**
+   * The signal of the failure of the publisher.
+   *
+   * @param error the error of the publisher
+   */
+  private record Failure(Throwable error) {}
+}
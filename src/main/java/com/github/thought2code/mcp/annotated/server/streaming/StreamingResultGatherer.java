@@ -0,0 +1,207 @@
+package com.github.thought2code.mcp.annotated.server.streaming;
+
+import com.github.thought2code.mcp.annotated.configuration.McpServerStreaming;
+import com.github.thought2code.mcp.annotated.reflect.Invocation;
+import com.github.thought2code.mcp.annotated.reflect.MethodCache;
+import com.github.thought2code.mcp.annotated.server.McpProgressReporter;
+import com.github.thought2code.mcp.annotated.server.McpStructuredContent;
+import com.github.thought2code.mcp.annotated.util.StringHelper;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Gathers the items of the streaming results of the tool methods into their text content.
+ *
+ * <p>A tool method returning a {@link Stream}, an {@link Iterator} or a {@link Flow.Publisher} does
+ * not build its whole result in memory: its items are pulled lazily, one by one, while the number
+ * of items gathered so far is reported with the {@link McpProgressReporter} of the call. The text
+ * content holds the text of each item on its own line, see {@link
+ * McpStructuredContent#asTextContent()} for the structured items, and at most {@code max-items}
+ * items: the remaining items are not pulled, and the stream is closed or the subscription to the
+ * publisher is cancelled.
+ *
+ * @author codeboyzhou
+ * @see McpServerStreaming
+ */
+public final class StreamingResultGatherer {
+
+  private static final Logger log = LoggerFactory.getLogger(StreamingResultGatherer.class);
+
+  /** The maximum number of items gathered into a tool result. */
+  private final int maxItems;
+
+  /** The number of items of a publisher requested ahead of the gathering. */
+  private final int bufferSize;
+
+  /** The minimum interval between two progress notifications in nanoseconds. */
+  private final long progressIntervalNanos;
+
+  /** The maximum time to wait for the next item of a publisher in nanoseconds. */
+  private final long itemTimeoutNanos;
+
+  /**
+   * Constructs a new {@link StreamingResultGatherer} with the specified configuration.
+   *
+   * @param streaming the streaming tool result configuration
+   */
+  public StreamingResultGatherer(McpServerStreaming streaming) {
+    this.maxItems = streaming.maxItems();
+    this.bufferSize = streaming.bufferSize();
+    this.progressIntervalNanos = TimeUnit.MILLISECONDS.toNanos(streaming.progressInterval());
+    this.itemTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(streaming.itemTimeout());
+  }
+
+  /**
+   * Returns whether the specified result of a tool method is a streaming result.
+   *
+   * @param result the result of a tool method
+   * @return true if the result is a stream, an iterator or a publisher
+   */
+  public static boolean isStreaming(Object result) {
+    return result instanceof Stream<?>
+        || result instanceof Iterator<?>
+        || result instanceof Flow.Publisher<?>;
+  }
+
+  /**
+   * Returns the text of an item of a collection result.
+   *
+   * @param item the item, may be null
+   * @return the text content of a structured item, or the string value of the item
+   */
+  public static String textOf(Object item) {
+    return item instanceof McpStructuredContent sc ? sc.asTextContent() : String.valueOf(item);
+  }
+
+  /**
+   * Gathers the items of the streaming result of a tool method invocation.
+   *
+   * <p>A failure while the items are pulled, or a publisher publishing no item within the item
+   * timeout, is reported as the error result of the invocation.
+   *
+   * @param methodCache the method cache of the tool method
+   * @param invocation the invocation of the tool method
+   * @param reporter the progress reporter of the call
+   * @return the invocation with the gathered text content as result, or the invocation itself if it
+   *     failed or its result is not a streaming result
+   */
+  public Invocation gather(
+      MethodCache methodCache, Invocation invocation, McpProgressReporter reporter) {
+    if (invocation.isError() || !isStreaming(invocation.result())) {
+      return invocation;
+    }
+    try {
+      return Invocation.builder().result(gather(invocation.result(), reporter)).build();
+    } catch (RuntimeException e) {
+      final String message =
+          "Error streaming result of method: " + methodCache.getMethodSignature();
+      log.error(message, e);
+      return Invocation.builder()
+          .result(message + StringHelper.NewLine + "Caused by: " + e)
+          .isError(true)
+          .build();
+    }
+  }
+
+  /**
+   * Gathers the items of a streaming result and closes it.
+   *
+   * @param result the stream, iterator or publisher
+   * @param reporter the progress reporter of the call
+   * @return the text content of the gathered items
+   */
+  String gather(Object result, McpProgressReporter reporter) {
+    final Iterator<?> iterator;
+    final AutoCloseable closeable;
+    long total = -1;
+    if (result instanceof Stream<?> stream) {
+      Spliterator<?> spliterator = stream.spliterator();
+      total = spliterator.getExactSizeIfKnown();
+      iterator = Spliterators.iterator(spliterator);
+      closeable = stream;
+    } else if (result instanceof Flow.Publisher<?> publisher) {
+      PublisherIterator<?> publisherIterator =
+          new PublisherIterator<>(publisher, bufferSize, itemTimeoutNanos);
+      iterator = publisherIterator;
+      closeable = publisherIterator;
+    } else {
+      iterator = (Iterator<?>) result;
+      closeable = result instanceof AutoCloseable autoCloseable ? autoCloseable : null;
+    }
+
+    try {
+      return gather(iterator, total < 0 ? null : (double) total, reporter);
+    } finally {
+      close(closeable);
+    }
+  }
+
+  /**
+   * Pulls and gathers the items of an iterator, reporting the progress.
+   *
+   * @param iterator the iterator of the items
+   * @param total the number of items, or null if it is unknown
+   * @param reporter the progress reporter of the call
+   * @return the text content of the gathered items
+   */
+  private String gather(Iterator<?> iterator, Double total, McpProgressReporter reporter) {
+    StringBuilder text = new StringBuilder();
+    int count = 0;
+    boolean truncated = false;
+    long lastReport = System.nanoTime() - progressIntervalNanos;
+    int lastReported = 0;
+    while (iterator.hasNext()) {
+      if (count == maxItems) {
+        truncated = true;
+        break;
+      }
+      final Object item = iterator.next();
+      if (count > 0) {
+        text.append(StringHelper.NewLine);
+      }
+      text.append(textOf(item));
+      count++;
+
+      final long now = System.nanoTime();
+      if (reporter.isEnabled() && now - lastReport >= progressIntervalNanos) {
+        reporter.report(count, total, count + " items");
+        lastReport = now;
+        lastReported = count;
+      }
+    }
+    if (lastReported < count) {
+      reporter.report(count, total, count + " items");
+    }
+
+    if (truncated) {
+      text.append(StringHelper.NewLine)
+          .append(StringHelper.NewLine)
+          .append("The result is truncated after ")
+          .append(maxItems)
+          .append(" items");
+    }
+    return text.toString();
+  }
+
+  /**
+   * Closes a streaming result, releasing its resources.
+   *
+   * @param closeable the stream, the publisher iterator or the closeable iterator, may be null
+   */
+  private static void close(AutoCloseable closeable) {
+    if (closeable == null) {
+      return;
+    }
+    try {
+      closeable.close();
+    } catch (Exception e) {
+      log.warn("Failed to close streaming result", e);
+    }
+  }
+}
@@ -0,0 +1,58 @@
+package com.github.thought2code.mcp.annotated.server.transport;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Encodes and decodes the JSON-RPC messages in CBOR, the binary encoding negotiated by the clients
+ * of the WebSocket transport with the {@value #SUBPROTOCOL} subprotocol.
+ *
+ * <p>CBOR carries the same data model as JSON, so a message is encoded from and decoded to the same
+ * objects as with the JSON mapper of the MCP SDK, but without formatting and parsing the numbers
+ * and escaping the strings, and in fewer bytes.
+ *
+ * @author codeboyzhou
+ */
+final class CborCodec {
+
+  /** The WebSocket subprotocol negotiating the CBOR encoding. */
+  static final String SUBPROTOCOL = "mcp.cbor";
+
+  /** CBOR ObjectMapper instance, configured like the JSON mapper of the MCP SDK. */
+  private static final ObjectMapper CBOR = new CBORMapper();
+
+  /**
+   * Private constructor to prevent instantiation of the utility class.
+   *
+   * @throws UnsupportedOperationException if instantiation is attempted
+   */
+  private CborCodec() {
+    throw new UnsupportedOperationException("Utility class should not be instantiated");
+  }
+
+  /**
+   * Encodes a message, or the list of responses of a batch, in CBOR.
+   *
+   * @param value the message or the list of messages
+   * @return the CBOR bytes
+   * @throws IOException if the value cannot be encoded
+   */
+  static byte[] encode(Object value) throws IOException {
+    return CBOR.writeValueAsBytes(value);
+  }
+
+  /**
+   * Decodes a message, or a batch, from CBOR.
+   *
+   * @param payload the CBOR bytes, consumed entirely
+   * @return the message as a map, or the batch as a list of maps
+   * @throws IOException if the payload is not valid CBOR
+   */
+  static Object decode(ByteBuffer payload) throws IOException {
+    final byte[] bytes = new byte[payload.remaining()];
+    payload.get(bytes);
+    return CBOR.readValue(bytes, Object.class);
+  }
+}
@@ -0,0 +1,80 @@
+package com.github.thought2code.mcp.annotated.server.transport;
+
+import com.github.thought2code.mcp.annotated.util.Immutable;
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.json.TypeRef;
+import java.io.IOException;
+
+/**
+ * A JSON mapper that returns the values already of the requested type as they are, delegating the
+ * mapping of the other values to another JSON mapper.
+ *
+ * <p>The MCP SDK converts the parameters of every request and the result of every response to their
+ * schema type with the JSON mapper of the transport or of the server, because they are maps read
+ * from JSON text. In process, they are already the schema objects built by the other side, so
+ * converting them would only copy them through an intermediate JSON tree.
+ *
+ * @author codeboyzhou
+ * @see InProcessServerTransportProvider
+ */
+public class InProcessJsonMapper implements McpJsonMapper {
+
+  /** The mapper the mapping is delegated to. */
+  private final Immutable<McpJsonMapper> delegate;
+
+  /**
+   * Creates a new instance of {@code InProcessJsonMapper}.
+   *
+   * @param delegate the mapper the mapping is delegated to
+   */
+  public InProcessJsonMapper(McpJsonMapper delegate) {
+    this.delegate = Immutable.of(delegate);
+  }
+
+  @Override
+  public <T> T readValue(String content, Class<T> type) throws IOException {
+    return delegate.get().readValue(content, type);
+  }
+
+  @Override
+  public <T> T readValue(byte[] content, Class<T> type) throws IOException {
+    return delegate.get().readValue(content, type);
+  }
+
+  @Override
+  public <T> T readValue(String content, TypeRef<T> type) throws IOException {
+    return delegate.get().readValue(content, type);
+  }
+
+  @Override
+  public <T> T readValue(byte[] content, TypeRef<T> type) throws IOException {
+    return delegate.get().readValue(content, type);
+  }
+
+  @Override
+  public <T> T convertValue(Object fromValue, Class<T> type) {
+    if (type.isInstance(fromValue)) {
+      return type.cast(fromValue);
+    }
+    return delegate.get().convertValue(fromValue, type);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T convertValue(Object fromValue, TypeRef<T> type) {
+    if (type.getType() instanceof Class<?> clazz && clazz.isInstance(fromValue)) {
+      return (T) fromValue;
+    }
+    return delegate.get().convertValue(fromValue, type);
+  }
+
+  @Override
+  public String writeValueAsString(Object value) throws IOException {
+    return delegate.get().writeValueAsString(value);
+  }
+
+  @Override
+  public byte[] writeValueAsBytes(Object value) throws IOException {
+    return delegate.get().writeValueAsBytes(value);
+  }
+}
@@ -0,0 +1,261 @@
+package com.github.thought2code.mcp.annotated.server.transport;
+
+import com.github.thought2code.mcp.annotated.util.Immutable;
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.json.TypeRef;
+import io.modelcontextprotocol.spec.McpClientTransport;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpServerSession;
+import io.modelcontextprotocol.spec.McpServerTransport;
+import io.modelcontextprotocol.spec.McpServerTransportProvider;
+import io.modelcontextprotocol.spec.ProtocolVersions;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * An in-process transport provider for an MCP (Model Context Protocol) server embedded in the same
+ * JVM as its clients.
+ *
+ * <p>Each call to {@link #connect()} opens a new session and returns the transport of its client,
+ * to be given to an MCP client of the SDK. The JSON-RPC messages are handed over from one side to
+ * the other as they are: nothing is serialized to JSON text nor read back, and the parameters and
+ * results, such as {@link McpSchema.CallToolRequest} and {@link McpSchema.CallToolResult}, are
+ * passed by reference, see {@link InProcessJsonMapper}. The schema objects are immutable records,
+ * so sharing them is safe; the only mutable part a client hands over is the map of arguments of a
+ * tool call or a prompt request, which is copied into an unmodifiable map at the boundary, so that
+ * the client may reuse its map while the server reads it.
+ *
+ * <p>The server must be built with {@code immediateExecution(true)} and the {@link
+ * InProcessJsonMapper}: a request is then handled on the thread of the client sending it, and its
+ * response is delivered to the client before the send completes, without any thread hop.
+ *
+ * @author codeboyzhou
+ * @see InProcessJsonMapper
+ */
+public class InProcessServerTransportProvider implements McpServerTransportProvider {
+
+  private static final Logger log = LoggerFactory.getLogger(InProcessServerTransportProvider.class);
+
+  /** The protocol versions supported by both sides. */
+  private static final List<String> PROTOCOL_VERSIONS =
+      List.of(
+          ProtocolVersions.MCP_2024_11_05,
+          ProtocolVersions.MCP_2025_03_26,
+          ProtocolVersions.MCP_2025_06_18);
+
+  /** The JSON mapper of the values that are not of the requested type already. */
+  private final Immutable<McpJsonMapper> jsonMapper;
+
+  /** The open sessions. */
+  private final Set<McpServerSession> sessions = ConcurrentHashMap.newKeySet();
+
+  /** The factory of the sessions, set when the server is built. */
+  private volatile McpServerSession.Factory sessionFactory;
+
+  /** Whether the transport provider is closing or closed. */
+  private volatile boolean closing;
+
+  /**
+   * Constructs a new {@link InProcessServerTransportProvider}.
+   *
+   * @param jsonMapper the JSON mapper of the values that are not of the requested type already
+   */
+  public InProcessServerTransportProvider(McpJsonMapper jsonMapper) {
+    this.jsonMapper = Immutable.of(new InProcessJsonMapper(jsonMapper));
+  }
+
+  /**
+   * Returns the JSON mapper to build the server with, passing the schema objects by reference.
+   *
+   * @return the JSON mapper of the server
+   */
+  public McpJsonMapper jsonMapper() {
+    return jsonMapper.get();
+  }
+
+  /**
+   * Opens a new session and returns the transport of its client.
+   *
+   * @return the transport to build an MCP client with
+   * @throws IllegalStateException if the server is not built yet or is closed
+   */
+  public McpClientTransport connect() {
+    final McpServerSession.Factory factory = sessionFactory;
+    if (factory == null || closing) {
+      throw new IllegalStateException("In-process MCP server is not running");
+    }
+    InProcessClientTransport client = new InProcessClientTransport();
+    InProcessSessionTransport server = new InProcessSessionTransport(client);
+    client.session = factory.create(server);
+    server.session = client.session;
+    sessions.add(client.session);
+    return client;
+  }
+
+  @Override
+  public List<String> protocolVersions() {
+    return PROTOCOL_VERSIONS;
+  }
+
+  @Override
+  public void setSessionFactory(McpServerSession.Factory sessionFactory) {
+    this.sessionFactory = sessionFactory;
+  }
+
+  @Override
+  public Mono<Void> notifyClients(String method, Object params) {
+    return Flux.fromIterable(sessions)
+        .flatMap(
+            session ->
+                session
+                    .sendNotification(method, params)
+                    .doOnError(e -> log.error("Failed to send notification: {}", e.getMessage()))
+                    .onErrorComplete())
+        .then();
+  }
+
+  @Override
+  public Mono<Void> closeGracefully() {
+    return Mono.defer(
+        () -> {
+          closing = true;
+          return Flux.fromIterable(List.copyOf(sessions))
+              .flatMap(McpServerSession::closeGracefully)
+              .then();
+        });
+  }
+
+  /**
+   * Copies the mutable map of arguments of a request, which stays owned by the client.
+   *
+   * @param message the JSON-RPC message sent by the client
+   * @return the message to hand over to the server
+   */
+  private static McpSchema.JSONRPCMessage detach(McpSchema.JSONRPCMessage message) {
+    if (!(message instanceof McpSchema.JSONRPCRequest request)) {
+      return message;
+    }
+    final Object params;
+    if (request.params() instanceof McpSchema.CallToolRequest call && call.arguments() != null) {
+      params = new McpSchema.CallToolRequest(call.name(), copy(call.arguments()), call.meta());
+    } else if (request.params() instanceof McpSchema.GetPromptRequest get
+        && get.arguments() != null) {
+      params = new McpSchema.GetPromptRequest(get.name(), copy(get.arguments()), get.meta());
+    } else {
+      return message;
+    }
+    return new McpSchema.JSONRPCRequest(request.jsonrpc(), request.method(), request.id(), params);
+  }
+
+  /**
+   * Returns an unmodifiable shallow copy of the specified map, keeping its null values.
+   *
+   * @param map the map to copy
+   * @return the copy of the map
+   */
+  private static Map<String, Object> copy(Map<String, Object> map) {
+    return Collections.unmodifiableMap(new LinkedHashMap<>(map));
+  }
+
+  /** The transport of a client, handing its messages over to its server session. */
+  private class InProcessClientTransport implements McpClientTransport {
+
+    /** The server session of the client. */
+    private McpServerSession session;
+
+    /** The handler of the messages sent by the server, set when the client connects. */
+    private volatile Function<Mono<McpSchema.JSONRPCMessage>, Mono<McpSchema.JSONRPCMessage>>
+        handler;
+
+    @Override
+    public Mono<Void> connect(
+        Function<Mono<McpSchema.JSONRPCMessage>, Mono<McpSchema.JSONRPCMessage>> handler) {
+      this.handler = handler;
+      return Mono.empty();
+    }
+
+    @Override
+    public Mono<Void> sendMessage(McpSchema.JSONRPCMessage message) {
+      if (closing) {
+        return Mono.error(new IllegalStateException("In-process MCP server is closed"));
+      }
+      return session.handle(detach(message));
+    }
+
+    @Override
+    public <T> T unmarshalFrom(Object data, TypeRef<T> typeRef) {
+      return jsonMapper.get().convertValue(data, typeRef);
+    }
+
+    @Override
+    public Mono<Void> closeGracefully() {
+      return Mono.defer(() -> sessions.remove(session) ? session.closeGracefully() : Mono.empty());
+    }
+
+    @Override
+    public List<String> protocolVersions() {
+      return PROTOCOL_VERSIONS;
+    }
+
+    /**
+     * Delivers a message sent by the server to the client.
+     *
+     * @param message the JSON-RPC message sent by the server
+     * @return a mono completing once the client handled the message
+     */
+    Mono<Void> deliver(McpSchema.JSONRPCMessage message) {
+      if (handler == null) {
+        return Mono.error(new IllegalStateException("In-process MCP client is not connected"));
+      }
+      return handler.apply(Mono.just(message)).then();
+    }
+  }
+
+  /** The transport of a server session, handing its messages over to its client. */
+  private class InProcessSessionTransport implements McpServerTransport {
+
+    /** The client of the session. */
+    private final InProcessClientTransport client;
+
+    /** The server session, set once created. */
+    private McpServerSession session;
+
+    /**
+     * Constructs a new {@link InProcessSessionTransport}.
+     *
+     * @param client the client of the session
+     */
+    InProcessSessionTransport(InProcessClientTransport client) {
+      this.client = client;
+    }
+
+    @Override
+    public Mono<Void> sendMessage(McpSchema.JSONRPCMessage message) {
+      return client.deliver(message);
+    }
+
+    @Override
+    public <T> T unmarshalFrom(Object data, TypeRef<T> typeRef) {
+      return jsonMapper.get().convertValue(data, typeRef);
+    }
+
+    @Override
+    public Mono<Void> closeGracefully() {
+      return Mono.fromRunnable(() -> sessions.remove(session));
+    }
+
+    @Override
+    public List<String> protocolVersions() {
+      return PROTOCOL_VERSIONS;
+    }
+  }
+}
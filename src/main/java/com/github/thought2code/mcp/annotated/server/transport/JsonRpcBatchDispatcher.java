@@ -0,0 +1,253 @@
+package com.github.thought2code.mcp.annotated.server.transport;
+
+import com.github.thought2code.mcp.annotated.configuration.McpServerBatch;
+import com.github.thought2code.mcp.annotated.util.Immutable;
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.json.TypeRef;
+import io.modelcontextprotocol.spec.McpSchema;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Dispatches the JSON-RPC batches of one server session.
+ *
+ * <p>A batch is a JSON array of messages. Its messages are handled in parallel, with at most {@code
+ * max-parallel-calls} of them running at once, and the responses of its requests are collected into
+ * one JSON array, in the order of the requests. The notifications and the responses of the client
+ * have no response, so a batch made of them only has no response either.
+ *
+ * <p>The session writes the response of a request through its transport, like any other message.
+ * While a request of a batch is in flight, the transport passes the messages it is asked to send to
+ * {@link #capture(McpSchema.JSONRPCMessage)} first, which keeps the response of the request for the
+ * batch instead of letting the transport write it. The ids of the requests in flight must therefore
+ * be unique within the session, as JSON-RPC requires anyway: a request reusing the id of a request
+ * in flight is answered with an error.
+ *
+ * @author codeboyzhou
+ * @see McpServerBatch
+ */
+final class JsonRpcBatchDispatcher {
+
+  private static final Logger log = LoggerFactory.getLogger(JsonRpcBatchDispatcher.class);
+
+  /** The type of the messages of a batch before they are converted. */
+  private static final TypeRef<List<Object>> ELEMENTS = new TypeRef<>() {};
+
+  /** The JSON mapper of the messages. */
+  private final Immutable<McpJsonMapper> jsonMapper;
+
+  /** The maximum number of messages of a batch. */
+  private final int maxSize;
+
+  /** The maximum number of messages of a batch handled in parallel. */
+  private final int maxParallelCalls;
+
+  /** The response slots of the requests in flight, keyed by request id. */
+  private final Map<Object, AtomicReference<McpSchema.JSONRPCResponse>> inFlight =
+      new ConcurrentHashMap<>();
+
+  /**
+   * Constructs a new {@link JsonRpcBatchDispatcher}.
+   *
+   * @param jsonMapper the JSON mapper of the messages
+   * @param batch the JSON-RPC batch configuration
+   */
+  JsonRpcBatchDispatcher(McpJsonMapper jsonMapper, McpServerBatch batch) {
+    this.jsonMapper = Immutable.of(jsonMapper);
+    this.maxSize = batch.maxSize();
+    this.maxParallelCalls = batch.maxParallelCalls();
+  }
+
+  /**
+   * Returns whether the specified text is a JSON-RPC batch, i.e. a JSON array.
+   *
+   * @param text the text of a JSON-RPC message or batch
+   * @return true if the first non-whitespace character of the text opens an array
+   */
+  static boolean isBatch(String text) {
+    for (int i = 0; i < text.length(); i++) {
+      final char c = text.charAt(i);
+      if (!Character.isWhitespace(c)) {
+        return c == '[';
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Handles the messages of a batch and collects the responses of its requests.
+   *
+   * <p>An unparsable batch, an empty batch and a batch larger than the maximum size are answered
+   * with a single error response, as JSON-RPC specifies; an invalid message of a batch is answered
+   * with an error response in the array.
+   *
+   * @param text the JSON array of the batch
+   * @param handler the handler of a message, completing once the message is handled
+   * @return a mono emitting the serialized response of the batch, or empty if it has none
+   */
+  Mono<String> dispatch(String text, Function<McpSchema.JSONRPCMessage, Mono<Void>> handler) {
+    return Mono.defer(
+        () -> {
+          final List<Object> elements;
+          try {
+            elements = jsonMapper.get().readValue(text, ELEMENTS);
+          } catch (IOException | IllegalArgumentException e) {
+            return serialize(error(null, McpSchema.ErrorCodes.PARSE_ERROR, "Parse error"));
+          }
+          return dispatch(elements, handler).flatMap(this::serialize);
+        });
+  }
+
+  /**
+   * Handles the messages of a batch already parsed, see {@link #dispatch(String, Function)}.
+   *
+   * @param elements the messages of the batch, as parsed from the batch
+   * @param handler the handler of a message, completing once the message is handled
+   * @return a mono emitting the error response or the list of responses of the batch, or empty if
+   *     it has none
+   */
+  Mono<Object> dispatch(List<?> elements, Function<McpSchema.JSONRPCMessage, Mono<Void>> handler) {
+    if (elements.isEmpty()) {
+      return Mono.just(error(null, McpSchema.ErrorCodes.INVALID_REQUEST, "Empty batch"));
+    }
+    if (elements.size() > maxSize) {
+      final String message =
+          "Batch of " + elements.size() + " messages exceeds the maximum of " + maxSize;
+      return Mono.just(error(null, McpSchema.ErrorCodes.INVALID_REQUEST, message));
+    }
+    return Flux.fromIterable(elements)
+        .flatMapSequential(element -> handle(element, handler), maxParallelCalls)
+        .collectList()
+        .flatMap(responses -> responses.isEmpty() ? Mono.empty() : Mono.just(responses));
+  }
+
+  /**
+   * Keeps the specified message for its batch if it is the response of a request of a batch.
+   *
+   * @param message the message the session sends
+   * @return true if the message is kept for its batch and must not be sent
+   */
+  boolean capture(McpSchema.JSONRPCMessage message) {
+    if (!(message instanceof McpSchema.JSONRPCResponse response) || response.id() == null) {
+      return false;
+    }
+    final AtomicReference<McpSchema.JSONRPCResponse> slot = inFlight.get(response.id());
+    if (slot == null) {
+      return false;
+    }
+    slot.set(response);
+    return true;
+  }
+
+  /**
+   * Handles a message of a batch.
+   *
+   * @param element the message, as parsed from the batch
+   * @param handler the handler of a message
+   * @return a mono emitting the response of the message, or empty if it has none
+   */
+  private Mono<McpSchema.JSONRPCResponse> handle(
+      Object element, Function<McpSchema.JSONRPCMessage, Mono<Void>> handler) {
+    final McpSchema.JSONRPCMessage message = toMessage(jsonMapper.get(), element);
+    if (message == null) {
+      return Mono.just(
+          error(null, McpSchema.ErrorCodes.INVALID_REQUEST, "Invalid JSON-RPC message"));
+    }
+    if (!(message instanceof McpSchema.JSONRPCRequest request)) {
+      return handler
+          .apply(message)
+          .onErrorResume(
+              e -> {
+                log.error("Error handling message of batch: {}", e.getMessage());
+                return Mono.empty();
+              })
+          .then(Mono.empty());
+    }
+
+    final Object id = request.id();
+    final AtomicReference<McpSchema.JSONRPCResponse> slot = new AtomicReference<>();
+    if (inFlight.putIfAbsent(id, slot) != null) {
+      return Mono.just(
+          error(id, McpSchema.ErrorCodes.INVALID_REQUEST, "Request id " + id + " is in flight"));
+    }
+    return handler
+        .apply(request)
+        .then(
+            Mono.fromSupplier(
+                () -> {
+                  final McpSchema.JSONRPCResponse response = slot.get();
+                  return response == null
+                      ? error(id, McpSchema.ErrorCodes.INTERNAL_ERROR, "Request not answered")
+                      : response;
+                }))
+        .onErrorResume(
+            e -> Mono.just(error(id, McpSchema.ErrorCodes.INTERNAL_ERROR, e.getMessage())))
+        .doFinally(signal -> inFlight.remove(id, slot));
+  }
+
+  /**
+   * Converts a parsed message, the way {@link McpSchema#deserializeJsonRpcMessage} converts a
+   * message from its text.
+   *
+   * @param jsonMapper the JSON mapper of the messages
+   * @param element the message, as parsed from a batch or from another encoding than JSON
+   * @return the message, or null if it is not a valid JSON-RPC message
+   */
+  static McpSchema.JSONRPCMessage toMessage(McpJsonMapper jsonMapper, Object element) {
+    if (!(element instanceof Map<?, ?> map)) {
+      return null;
+    }
+    try {
+      if (map.containsKey("method") && map.get("id") != null) {
+        return jsonMapper.convertValue(map, McpSchema.JSONRPCRequest.class);
+      }
+      if (map.containsKey("method") && !map.containsKey("id")) {
+        return jsonMapper.convertValue(map, McpSchema.JSONRPCNotification.class);
+      }
+      if (map.containsKey("result") || map.containsKey("error")) {
+        return jsonMapper.convertValue(map, McpSchema.JSONRPCResponse.class);
+      }
+    } catch (IllegalArgumentException e) {
+      log.warn("Invalid JSON-RPC message: {}", e.getMessage());
+    }
+    return null;
+  }
+
+  /**
+   * Creates an error response.
+   *
+   * @param id the id of the request, or null if it is unknown
+   * @param code the JSON-RPC error code
+   * @param message the error message
+   * @return the error response
+   */
+  private static McpSchema.JSONRPCResponse error(Object id, int code, String message) {
+    return new McpSchema.JSONRPCResponse(
+        McpSchema.JSONRPC_VERSION,
+        id,
+        null,
+        new McpSchema.JSONRPCResponse.JSONRPCError(code, message, null));
+  }
+
+  /**
+   * Serializes a response or the responses of a batch.
+   *
+   * @param value the response or the list of responses
+   * @return a mono emitting the serialized value
+   */
+  private Mono<String> serialize(Object value) {
+    try {
+      return Mono.just(jsonMapper.get().writeValueAsString(value));
+    } catch (IOException e) {
+      return Mono.error(e);
+    }
+  }
+}
@@ -0,0 +1,101 @@
+package com.github.thought2code.mcp.annotated.server.transport;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Splits a byte stream into newline-delimited messages, incrementally.
+ *
+ * <p>The bytes are fed as they are read, in chunks of any size: a message may span several chunks
+ * and a chunk may contain several messages. The bytes of a message are only decoded once the
+ * message is complete, so a multi-byte character split across two chunks is decoded correctly. A
+ * trailing carriage return is stripped and blank lines are skipped.
+ *
+ * @author codeboyzhou
+ */
+final class LineFramer {
+
+  /** The initial capacity of the pending message buffer in bytes. */
+  private static final int INITIAL_CAPACITY = 1024;
+
+  /** The bytes of the message that is not complete yet. */
+  private byte[] pending = new byte[INITIAL_CAPACITY];
+
+  /** The number of bytes of the message that is not complete yet. */
+  private int length;
+
+  /**
+   * Feeds the bytes remaining in the specified buffer, emitting every message they complete.
+   *
+   * @param buffer the bytes read, consumed entirely
+   * @param onMessage the action to run with each complete message
+   */
+  void feed(ByteBuffer buffer, Consumer<String> onMessage) {
+    while (buffer.hasRemaining()) {
+      final int newline = indexOfNewline(buffer);
+      final int end = newline < 0 ? buffer.limit() : newline;
+      append(buffer, end - buffer.position());
+      if (newline < 0) {
+        return;
+      }
+      buffer.get();
+      emit(onMessage);
+    }
+  }
+
+  /**
+   * Returns the number of bytes of the message that is not complete yet.
+   *
+   * @return the number of pending bytes
+   */
+  int pendingLength() {
+    return length;
+  }
+
+  /**
+   * Returns the index of the first newline remaining in the specified buffer.
+   *
+   * @param buffer the bytes read
+   * @return the absolute index of the newline, or -1 if there is none
+   */
+  private static int indexOfNewline(ByteBuffer buffer) {
+    for (int i = buffer.position(); i < buffer.limit(); i++) {
+      if (buffer.get(i) == '\n') {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Appends the next bytes of the specified buffer to the pending message.
+   *
+   * @param buffer the bytes read
+   * @param count the number of bytes to append
+   */
+  private void append(ByteBuffer buffer, int count) {
+    if (length + count > pending.length) {
+      pending = Arrays.copyOf(pending, Math.max(pending.length * 2, length + count));
+    }
+    buffer.get(pending, length, count);
+    length += count;
+  }
+
+  /**
+   * Emits the pending message and starts a new one.
+   *
+   * @param onMessage the action to run with the message
+   */
+  private void emit(Consumer<String> onMessage) {
+    int end = length;
+    if (end > 0 && pending[end - 1] == '\r') {
+      end--;
+    }
+    length = 0;
+    if (end > 0) {
+      onMessage.accept(new String(pending, 0, end, StandardCharsets.UTF_8));
+    }
+  }
+}
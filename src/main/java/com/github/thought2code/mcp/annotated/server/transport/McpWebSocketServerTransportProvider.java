@@ -0,0 +1,582 @@
+package com.github.thought2code.mcp.annotated.server.transport;
+
+import com.github.thought2code.mcp.annotated.configuration.McpServerBatch;
+import com.github.thought2code.mcp.annotated.configuration.McpServerWebSocket;
+import com.github.thought2code.mcp.annotated.util.Immutable;
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.json.TypeRef;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpServerSession;
+import io.modelcontextprotocol.spec.McpServerTransport;
+import io.modelcontextprotocol.spec.McpServerTransportProvider;
+import io.modelcontextprotocol.spec.ProtocolVersions;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.jetty.ee10.websocket.server.JettyServerUpgradeRequest;
+import org.eclipse.jetty.ee10.websocket.server.JettyServerUpgradeResponse;
+import org.eclipse.jetty.ee10.websocket.server.JettyWebSocketServlet;
+import org.eclipse.jetty.ee10.websocket.server.JettyWebSocketServletFactory;
+import org.eclipse.jetty.websocket.api.Callback;
+import org.eclipse.jetty.websocket.api.Session;
+import org.eclipse.jetty.websocket.api.StatusCode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * A WebSocket transport provider for an MCP (Model Context Protocol) server, hosted on the Jetty
+ * HTTP server.
+ *
+ * <p>Each client opens one full-duplex WebSocket connection to the endpoint, which carries all the
+ * JSON-RPC messages of its session in both directions, one message per text frame. The requests of
+ * a connection are handled concurrently and their responses are sent as soon as they are ready, in
+ * any order.
+ *
+ * <p>The frames of a connection are read on demand: once the configured maximum number of requests
+ * of a connection is read but not yet answered, the connection is no longer read until one of them
+ * completes, so that a client sending faster than the server answers is slowed down by TCP flow
+ * control instead of queuing an unbounded amount of work.
+ *
+ * <p>A text frame may also carry a JSON-RPC batch, whose messages are handled in parallel and whose
+ * responses are sent back in one text frame, see {@link JsonRpcBatchDispatcher}. A batch counts as
+ * one pending request of its connection.
+ *
+ * <p>The messages are JSON text frames by default. A client offering the {@value
+ * CborCodec#SUBPROTOCOL} subprotocol when it connects exchanges CBOR binary frames instead, see
+ * {@link CborCodec}, unless the CBOR encoding is disabled by the configuration.
+ *
+ * <p>The liveness of the connections is checked with pings: every ping interval, each connection is
+ * pinged, and a connection that has been waiting for a frame, not even a pong, for two ping
+ * intervals is disconnected. The connections that are not read, because a frame is being handled or
+ * because of the limit above, are pinged to keep them open but never disconnected.
+ *
+ * @author codeboyzhou
+ * @see McpServerWebSocket
+ * @see McpServerBatch
+ */
+public class McpWebSocketServerTransportProvider extends JettyWebSocketServlet
+    implements McpServerTransportProvider {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final Logger log =
+      LoggerFactory.getLogger(McpWebSocketServerTransportProvider.class);
+
+  /** The name of the thread pinging the connections. */
+  private static final String PING_THREAD_NAME = "mcp-websocket-ping";
+
+  /** The protocol versions supported by the transport. */
+  private static final List<String> PROTOCOL_VERSIONS =
+      List.of(
+          ProtocolVersions.MCP_2024_11_05,
+          ProtocolVersions.MCP_2025_03_26,
+          ProtocolVersions.MCP_2025_06_18);
+
+  /** The JSON mapper of the messages. */
+  private final Immutable<McpJsonMapper> jsonMapper;
+
+  /** The WebSocket endpoint. */
+  private final String endpoint;
+
+  /** The maximum number of requests of a connection read but not yet answered. */
+  private final int maxPendingRequests;
+
+  /** The interval between two pings of a connection in milliseconds. */
+  private final long pingInterval;
+
+  /** The maximum size of a message in bytes. */
+  private final long maxMessageSize;
+
+  /** Whether the clients may negotiate the CBOR encoding. */
+  private final boolean cborEncoding;
+
+  /** The JSON-RPC batch configuration. */
+  private final McpServerBatch batch;
+
+  /** The open connections. */
+  private final Set<WebSocketConnection> connections = ConcurrentHashMap.newKeySet();
+
+  /** The factory of the sessions, set when the server is built. */
+  private volatile McpServerSession.Factory sessionFactory;
+
+  /** The scheduler pinging the connections, started when the servlet is initialized. */
+  private volatile ScheduledExecutorService pingScheduler;
+
+  /** Whether the transport provider is closing or closed. */
+  private volatile boolean closing;
+
+  /**
+   * Constructs a new {@link McpWebSocketServerTransportProvider} with the default JSON-RPC batch
+   * configuration.
+   *
+   * @param jsonMapper the JSON mapper of the messages
+   * @param websocket the WebSocket server configuration
+   */
+  public McpWebSocketServerTransportProvider(
+      McpJsonMapper jsonMapper, McpServerWebSocket websocket) {
+    this(jsonMapper, websocket, McpServerBatch.builder().build());
+  }
+
+  /**
+   * Constructs a new {@link McpWebSocketServerTransportProvider}.
+   *
+   * @param jsonMapper the JSON mapper of the messages
+   * @param websocket the WebSocket server configuration
+   * @param batch the JSON-RPC batch configuration
+   */
+  public McpWebSocketServerTransportProvider(
+      McpJsonMapper jsonMapper, McpServerWebSocket websocket, McpServerBatch batch) {
+    this.jsonMapper = Immutable.of(jsonMapper);
+    this.endpoint = websocket.endpoint();
+    this.maxPendingRequests = websocket.maxPendingRequests();
+    this.pingInterval = websocket.pingInterval();
+    this.maxMessageSize = websocket.maxMessageSize();
+    this.cborEncoding = Boolean.TRUE.equals(websocket.cborEncoding());
+    this.batch = batch;
+  }
+
+  /**
+   * Maps the endpoint to the connections and starts pinging them.
+   *
+   * <p>Since the connections are pinged regularly, the idle timeout of a connection is set to three
+   * ping intervals: a connection is only idle that long if its client is gone.
+   *
+   * @param factory the factory of the WebSocket connections
+   */
+  @Override
+  protected void configure(JettyWebSocketServletFactory factory) {
+    factory.setIdleTimeout(Duration.ofMillis(pingInterval * 3));
+    factory.setMaxTextMessageSize(maxMessageSize);
+    factory.setMaxBinaryMessageSize(maxMessageSize);
+    factory.addMapping(endpoint, this::createConnection);
+
+    ScheduledExecutorService scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, PING_THREAD_NAME);
+              thread.setDaemon(true);
+              return thread;
+            });
+    scheduler.scheduleWithFixedDelay(
+        this::pingConnections, pingInterval, pingInterval, TimeUnit.MILLISECONDS);
+    pingScheduler = scheduler;
+  }
+
+  @Override
+  public void destroy() {
+    stopPinging();
+    super.destroy();
+  }
+
+  @Override
+  public List<String> protocolVersions() {
+    return PROTOCOL_VERSIONS;
+  }
+
+  @Override
+  public void setSessionFactory(McpServerSession.Factory sessionFactory) {
+    this.sessionFactory = sessionFactory;
+  }
+
+  @Override
+  public Mono<Void> notifyClients(String method, Object params) {
+    return Flux.fromIterable(connections)
+        .flatMap(
+            connection ->
+                connection
+                    .notifyClient(method, params)
+                    .doOnError(e -> log.error("Failed to send notification: {}", e.getMessage()))
+                    .onErrorComplete())
+        .then();
+  }
+
+  @Override
+  public Mono<Void> closeGracefully() {
+    return Mono.defer(
+        () -> {
+          closing = true;
+          stopPinging();
+          return Flux.fromIterable(List.copyOf(connections))
+              .flatMap(WebSocketConnection::closeGracefully)
+              .then();
+        });
+  }
+
+  /**
+   * Returns the number of open connections.
+   *
+   * @return the number of open connections
+   */
+  public int connectionCount() {
+    return connections.size();
+  }
+
+  /**
+   * Creates the connection of a WebSocket upgrade request, or rejects the request if the server is
+   * not running. The CBOR encoding is negotiated if the request offers its subprotocol.
+   *
+   * @param request the WebSocket upgrade request
+   * @param response the WebSocket upgrade response
+   * @return the new connection, or null if the request is rejected
+   * @throws IOException if the rejection cannot be sent
+   */
+  private WebSocketConnection createConnection(
+      JettyServerUpgradeRequest request, JettyServerUpgradeResponse response) throws IOException {
+    if (sessionFactory == null || closing) {
+      response.sendError(
+          HttpServletResponse.SC_SERVICE_UNAVAILABLE, "MCP WebSocket server is not running");
+      return null;
+    }
+    if (cborEncoding && request.hasSubProtocol(CborCodec.SUBPROTOCOL)) {
+      response.setAcceptedSubProtocol(CborCodec.SUBPROTOCOL);
+      return new WebSocketConnection(true);
+    }
+    return new WebSocketConnection(false);
+  }
+
+  /** Pings the open connections and disconnects those that have been silent for too long. */
+  private void pingConnections() {
+    final long silenceLimitNanos = TimeUnit.MILLISECONDS.toNanos(pingInterval * 2);
+    final long now = System.nanoTime();
+    for (WebSocketConnection connection : connections) {
+      if (connection.waiting && now - connection.waitingSinceNanos > silenceLimitNanos) {
+        log.warn("Disconnecting silent MCP WebSocket session {}", connection.sessionId());
+        connection.disconnect();
+      } else {
+        connection.ping();
+      }
+    }
+  }
+
+  /** Stops the scheduler pinging the connections. */
+  private void stopPinging() {
+    final ScheduledExecutorService scheduler = pingScheduler;
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+    }
+  }
+
+  /**
+   * A WebSocket connection, carrying the messages of one server session.
+   *
+   * <p>This class is public only because Jetty requires the listeners it invokes to be public.
+   */
+  public class WebSocketConnection implements Session.Listener, McpServerTransport {
+
+    /** Whether the messages are exchanged as CBOR binary frames instead of JSON text frames. */
+    private final boolean cbor;
+
+    /** The WebSocket session, set when the connection opens. */
+    private volatile Session webSocketSession;
+
+    /** The server session, set when the connection opens. */
+    private volatile McpServerSession mcpSession;
+
+    /** The number of requests read but not yet answered. */
+    private final AtomicInteger pendingRequests = new AtomicInteger();
+
+    /** The dispatcher of the JSON-RPC batches of the connection. */
+    private final JsonRpcBatchDispatcher batches =
+        new JsonRpcBatchDispatcher(jsonMapper.get(), batch);
+
+    /** Whether reading is suspended until a pending request completes. */
+    private final AtomicBoolean suspended = new AtomicBoolean();
+
+    /** Whether the connection is waiting for the next frame, i.e. a frame is demanded. */
+    private volatile boolean waiting;
+
+    /**
+     * The time the connection started waiting for the next frame at, see {@link System#nanoTime()}.
+     */
+    private volatile long waitingSinceNanos;
+
+    @Override
+    public void onWebSocketOpen(Session session) {
+      webSocketSession = session;
+      mcpSession = sessionFactory.create(this);
+      connections.add(this);
+      log.debug("MCP WebSocket session {} opened", mcpSession.getId());
+      demand();
+    }
+
+    @Override
+    public void onWebSocketText(String text) {
+      waiting = false;
+      if (JsonRpcBatchDispatcher.isBatch(text)) {
+        handleRequest(batches.dispatch(text, mcpSession::handle).flatMap(this::sendText));
+        return;
+      }
+
+      final McpSchema.JSONRPCMessage message;
+      try {
+        message = McpSchema.deserializeJsonRpcMessage(jsonMapper.get(), text);
+      } catch (IOException | IllegalArgumentException e) {
+        log.warn("Ignoring invalid JSON-RPC message of session {}", sessionId(), e);
+        demand();
+        return;
+      }
+      handleMessage(message);
+    }
+
+    @Override
+    public void onWebSocketBinary(ByteBuffer payload, Callback callback) {
+      waiting = false;
+      final Object decoded;
+      try {
+        decoded = CborCodec.decode(payload);
+      } catch (IOException e) {
+        log.warn("Ignoring invalid CBOR message of session {}", sessionId(), e);
+        callback.succeed();
+        demand();
+        return;
+      }
+      callback.succeed();
+
+      if (decoded instanceof List<?> elements) {
+        handleRequest(
+            batches
+                .dispatch(elements, mcpSession::handle)
+                .flatMap(responses -> Mono.fromCallable(() -> CborCodec.encode(responses)))
+                .flatMap(this::sendBinary));
+        return;
+      }
+      final McpSchema.JSONRPCMessage message =
+          JsonRpcBatchDispatcher.toMessage(jsonMapper.get(), decoded);
+      if (message == null) {
+        log.warn("Ignoring invalid JSON-RPC message of session {}", sessionId());
+        demand();
+        return;
+      }
+      handleMessage(message);
+    }
+
+    /**
+     * Handles a message decoded from a frame, the requests as pending requests.
+     *
+     * @param message the JSON-RPC message
+     */
+    private void handleMessage(McpSchema.JSONRPCMessage message) {
+      if (!(message instanceof McpSchema.JSONRPCRequest)) {
+        mcpSession
+            .handle(message)
+            .subscribe(null, e -> log.error("Error handling message: {}", e.getMessage()));
+        demand();
+        return;
+      }
+
+      handleRequest(mcpSession.handle(message));
+    }
+
+    @Override
+    public void onWebSocketPing(ByteBuffer payload) {
+      waiting = false;
+      webSocketSession.sendPong(payload, Callback.NOOP);
+      demand();
+    }
+
+    @Override
+    public void onWebSocketPong(ByteBuffer payload) {
+      waiting = false;
+      demand();
+    }
+
+    @Override
+    public void onWebSocketClose(int statusCode, String reason, Callback callback) {
+      log.debug("MCP WebSocket session {} closed: {} {}", sessionId(), statusCode, reason);
+      try {
+        if (connections.remove(this) && mcpSession != null) {
+          mcpSession.close();
+        }
+      } finally {
+        callback.succeed();
+      }
+    }
+
+    @Override
+    public void onWebSocketError(Throwable cause) {
+      log.warn("Error on MCP WebSocket session {}: {}", sessionId(), cause.getMessage());
+    }
+
+    @Override
+    public Mono<Void> sendMessage(McpSchema.JSONRPCMessage message) {
+      return Mono.defer(
+          () -> {
+            if (batches.capture(message)) {
+              return Mono.empty();
+            }
+            if (cbor) {
+              final byte[] bytes;
+              try {
+                bytes = CborCodec.encode(message);
+              } catch (IOException e) {
+                return Mono.error(e);
+              }
+              return sendBinary(bytes);
+            }
+            final String text;
+            try {
+              text = jsonMapper.get().writeValueAsString(message);
+            } catch (IOException e) {
+              return Mono.error(e);
+            }
+            return sendText(text);
+          });
+    }
+
+    @Override
+    public <T> T unmarshalFrom(Object data, TypeRef<T> typeRef) {
+      return jsonMapper.get().convertValue(data, typeRef);
+    }
+
+    @Override
+    public Mono<Void> closeGracefully() {
+      return Mono.defer(
+          () -> {
+            connections.remove(this);
+            final Session session = webSocketSession;
+            if (session == null || !session.isOpen()) {
+              return Mono.empty();
+            }
+            return Mono.create(
+                sink ->
+                    session.close(
+                        StatusCode.SHUTDOWN,
+                        "MCP server is shutting down",
+                        Callback.from(sink::success, sink::error)));
+          });
+    }
+
+    /**
+     * Sends a notification to the client of this connection.
+     *
+     * @param method the method of the notification
+     * @param params the parameters of the notification
+     * @return a mono completing once the notification is sent
+     */
+    Mono<Void> notifyClient(String method, Object params) {
+      final McpServerSession session = mcpSession;
+      return session == null ? Mono.empty() : session.sendNotification(method, params);
+    }
+
+    /** Sends a ping to the client of this connection. */
+    void ping() {
+      final Session session = webSocketSession;
+      if (session != null && session.isOpen()) {
+        session.sendPing(ByteBuffer.allocate(0), Callback.NOOP);
+      }
+    }
+
+    /** Disconnects this connection without a close handshake. */
+    void disconnect() {
+      final Session session = webSocketSession;
+      if (session != null) {
+        session.disconnect();
+      }
+    }
+
+    /**
+     * Returns the id of the server session, or null if the connection is not open yet.
+     *
+     * @return the id of the server session
+     */
+    String sessionId() {
+      final McpServerSession session = mcpSession;
+      return session == null ? null : session.getId();
+    }
+
+    /**
+     * Handles a request, or a batch, as a pending request, demanding the next frame unless the
+     * connection has reached its maximum number of pending requests.
+     *
+     * @param handling the handling of the request, completing once it is answered
+     */
+    private void handleRequest(Mono<Void> handling) {
+      final int pending = pendingRequests.incrementAndGet();
+      handling
+          .doFinally(signal -> release())
+          .subscribe(null, e -> log.error("Error handling request: {}", e.getMessage()));
+      if (pending < maxPendingRequests) {
+        demand();
+        return;
+      }
+      suspended.set(true);
+      // a request may have completed before reading was marked as suspended
+      if (pendingRequests.get() < maxPendingRequests && suspended.compareAndSet(true, false)) {
+        demand();
+      }
+    }
+
+    /**
+     * Sends a text frame to the client of this connection.
+     *
+     * @param text the text of the frame
+     * @return a mono completing once the frame is sent
+     */
+    private Mono<Void> sendText(String text) {
+      return Mono.defer(
+          () -> {
+            final Session session = webSocketSession;
+            if (session == null || !session.isOpen()) {
+              return Mono.error(new IllegalStateException("MCP WebSocket session is closed"));
+            }
+            return Mono.create(
+                sink -> session.sendText(text, Callback.from(sink::success, sink::error)));
+          });
+    }
+
+    /**
+     * Constructs a new {@link WebSocketConnection}.
+     *
+     * @param cbor whether the messages are exchanged as CBOR binary frames
+     */
+    WebSocketConnection(boolean cbor) {
+      this.cbor = cbor;
+    }
+
+    /**
+     * Sends a binary frame to the client of this connection.
+     *
+     * @param bytes the bytes of the frame
+     * @return a mono completing once the frame is sent
+     */
+    private Mono<Void> sendBinary(byte[] bytes) {
+      return Mono.defer(
+          () -> {
+            final Session session = webSocketSession;
+            if (session == null || !session.isOpen()) {
+              return Mono.error(new IllegalStateException("MCP WebSocket session is closed"));
+            }
+            return Mono.create(
+                sink ->
+                    session.sendBinary(
+                        ByteBuffer.wrap(bytes), Callback.from(sink::success, sink::error)));
+          });
+    }
+
+    /** Demands the next frame, starting to wait for it. */
+    private void demand() {
+      waitingSinceNanos = System.nanoTime();
+      waiting = true;
+      webSocketSession.demand();
+    }
+
+    /** Releases a completed request, resuming reading if it was suspended. */
+    private void release() {
+      if (pendingRequests.decrementAndGet() < maxPendingRequests
+          && suspended.compareAndSet(true, false)) {
+        demand();
+      }
+    }
+  }
+}
@@ -0,0 +1,455 @@
+package com.github.thought2code.mcp.annotated.server.transport;
+
+import com.github.thought2code.mcp.annotated.configuration.McpServerBatch;
+import com.github.thought2code.mcp.annotated.configuration.McpServerStdio;
+import com.github.thought2code.mcp.annotated.util.Immutable;
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.json.TypeRef;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpServerSession;
+import io.modelcontextprotocol.spec.McpServerTransport;
+import io.modelcontextprotocol.spec.McpServerTransportProvider;
+import io.modelcontextprotocol.spec.ProtocolVersions;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * A high-throughput STDIO transport provider for the MCP (Model Context Protocol) server.
+ *
+ * <p>Unlike the STDIO transport of the MCP SDK, which reads and writes one line at a time and
+ * handles the requests one after the other, this transport:
+ *
+ * <ul>
+ *   <li>reads the standard input through a large direct buffer and splits it into newline-delimited
+ *       JSON-RPC messages incrementally
+ *   <li>handles the independent requests concurrently on a bounded pool of worker threads, with at
+ *       most {@code max-pending-requests} requests read but not yet answered; the reader blocks
+ *       beyond that, so a client flooding the pipe is slowed down instead of exhausting the memory
+ *   <li>writes each response as soon as it is ready, batching the responses queued meanwhile into a
+ *       single write of a direct buffer
+ *   <li>accepts JSON-RPC batches, whose messages are handled in parallel on the worker threads and
+ *       whose responses are written back as one array, see {@link JsonRpcBatchDispatcher}; a batch
+ *       counts as one pending request
+ * </ul>
+ *
+ * <p>The {@code initialize} request is handled on the reader thread before any further message is
+ * read, and so are the notifications and the responses of the client, which keep their order. A
+ * response carries the id of its request, so the client correlates the responses written out of
+ * order. The server must be built with {@code immediateExecution(true)} so that the requests are
+ * actually handled by the worker threads.
+ *
+ * @author codeboyzhou
+ * @see McpServerStdio
+ * @see McpServerBatch
+ * @see LineFramer
+ */
+public class NioStdioServerTransportProvider implements McpServerTransportProvider {
+
+  private static final Logger log = LoggerFactory.getLogger(NioStdioServerTransportProvider.class);
+
+  /** The newline delimiting the messages. */
+  private static final byte NEWLINE = '\n';
+
+  /** The maximum time to wait for the queued messages to be written on close in seconds. */
+  private static final long CLOSE_TIMEOUT_SECONDS = 5L;
+
+  /** The message telling the writer thread to stop. */
+  private static final byte[] END_OF_STREAM = new byte[0];
+
+  /** The JSON mapper of the messages. */
+  private final Immutable<McpJsonMapper> jsonMapper;
+
+  /** The channel the messages are read from. */
+  private final Immutable<ReadableByteChannel> input;
+
+  /** The channel the messages are written to. */
+  private final Immutable<WritableByteChannel> output;
+
+  /** The size of the read and write buffers in bytes. */
+  private final int bufferSize;
+
+  /** The number of worker threads handling the requests. */
+  private final int workerThreads;
+
+  /** The permits of the requests read but not yet answered. */
+  private final Semaphore pendingRequests;
+
+  /** The dispatcher of the JSON-RPC batches. */
+  private final JsonRpcBatchDispatcher batches;
+
+  /** The serialized messages waiting to be written. */
+  private final BlockingQueue<byte[]> outbound = new LinkedBlockingQueue<>();
+
+  /** The worker threads handling the requests, created with the session. */
+  private ExecutorService workers;
+
+  /** The writer thread, created with the session. */
+  private Thread writer;
+
+  /** The single session of the transport. */
+  private volatile McpServerSession session;
+
+  /** Whether the transport is closing or closed. */
+  private volatile boolean closing;
+
+  /**
+   * Constructs a new {@link NioStdioServerTransportProvider} on the standard input and output.
+   *
+   * @param jsonMapper the JSON mapper of the messages
+   * @param stdio the STDIO mode configuration
+   * @param batch the JSON-RPC batch configuration
+   */
+  @SuppressWarnings("resource")
+  public NioStdioServerTransportProvider(
+      McpJsonMapper jsonMapper, McpServerStdio stdio, McpServerBatch batch) {
+    this(
+        jsonMapper,
+        new FileInputStream(FileDescriptor.in).getChannel(),
+        new FileOutputStream(FileDescriptor.out).getChannel(),
+        stdio,
+        batch);
+  }
+
+  /**
+   * Constructs a new {@link NioStdioServerTransportProvider} on the specified channels, with the
+   * default JSON-RPC batch configuration.
+   *
+   * @param jsonMapper the JSON mapper of the messages
+   * @param input the channel the messages are read from
+   * @param output the channel the messages are written to
+   * @param stdio the STDIO mode configuration
+   */
+  public NioStdioServerTransportProvider(
+      McpJsonMapper jsonMapper,
+      ReadableByteChannel input,
+      WritableByteChannel output,
+      McpServerStdio stdio) {
+    this(jsonMapper, input, output, stdio, McpServerBatch.builder().build());
+  }
+
+  /**
+   * Constructs a new {@link NioStdioServerTransportProvider} on the specified channels.
+   *
+   * @param jsonMapper the JSON mapper of the messages
+   * @param input the channel the messages are read from
+   * @param output the channel the messages are written to
+   * @param stdio the STDIO mode configuration
+   * @param batch the JSON-RPC batch configuration
+   */
+  public NioStdioServerTransportProvider(
+      McpJsonMapper jsonMapper,
+      ReadableByteChannel input,
+      WritableByteChannel output,
+      McpServerStdio stdio,
+      McpServerBatch batch) {
+    this.jsonMapper = Immutable.of(jsonMapper);
+    this.input = Immutable.of(input);
+    this.output = Immutable.of(output);
+    this.bufferSize = stdio.bufferSize();
+    this.workerThreads = stdio.workerThreads();
+    this.pendingRequests = new Semaphore(stdio.maxPendingRequests());
+    this.batches = new JsonRpcBatchDispatcher(jsonMapper, batch);
+  }
+
+  @Override
+  public List<String> protocolVersions() {
+    return List.of(ProtocolVersions.MCP_2024_11_05);
+  }
+
+  @Override
+  public void setSessionFactory(McpServerSession.Factory sessionFactory) {
+    session = sessionFactory.create(new NioStdioSessionTransport());
+    workers = Executors.newFixedThreadPool(workerThreads, new NamedThreadFactory("worker"));
+    writer = new NamedThreadFactory("writer").newThread(this::writeMessages);
+    writer.start();
+    new NamedThreadFactory("reader").newThread(this::readMessages).start();
+  }
+
+  @Override
+  public Mono<Void> notifyClients(String method, Object params) {
+    final McpServerSession current = session;
+    if (current == null) {
+      return Mono.error(new IllegalStateException("No session to notify"));
+    }
+    return current
+        .sendNotification(method, params)
+        .doOnError(e -> log.error("Failed to send notification: {}", e.getMessage()));
+  }
+
+  @Override
+  public Mono<Void> closeGracefully() {
+    final McpServerSession current = session;
+    return current == null ? Mono.empty() : current.closeGracefully();
+  }
+
+  /** Reads the messages from the input channel until the end of the stream or the close. */
+  private void readMessages() {
+    LineFramer framer = new LineFramer();
+    ByteBuffer buffer = ByteBuffer.allocateDirect(bufferSize);
+    try {
+      while (!closing && !Thread.currentThread().isInterrupted() && input.get().read(buffer) >= 0) {
+        buffer.flip();
+        framer.feed(buffer, this::dispatch);
+        buffer.clear();
+      }
+    } catch (IOException e) {
+      if (!closing) {
+        log.error("Error reading MCP messages from STDIO", e);
+      }
+    } finally {
+      if (!closing) {
+        log.info("STDIO input closed, closing the MCP session");
+        session.closeGracefully().subscribe();
+      }
+    }
+  }
+
+  /**
+   * Handles a message read from the input channel.
+   *
+   * @param line the JSON-RPC message
+   */
+  private void dispatch(String line) {
+    if (JsonRpcBatchDispatcher.isBatch(line)) {
+      dispatchBatch(line);
+      return;
+    }
+
+    final McpSchema.JSONRPCMessage message;
+    try {
+      message = McpSchema.deserializeJsonRpcMessage(jsonMapper.get(), line);
+    } catch (IOException | IllegalArgumentException e) {
+      log.error("Error parsing MCP message from STDIO: {}", line, e);
+      return;
+    }
+
+    if (message instanceof McpSchema.JSONRPCRequest request
+        && !McpSchema.METHOD_INITIALIZE.equals(request.method())) {
+      try {
+        pendingRequests.acquire();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+      try {
+        workers.execute(() -> handleRequest(request));
+      } catch (RuntimeException e) {
+        pendingRequests.release();
+        throw e;
+      }
+      return;
+    }
+
+    try {
+      session.handle(message).block();
+    } catch (RuntimeException e) {
+      log.error("Error handling MCP message from STDIO: {}", line, e);
+    }
+  }
+
+  /**
+   * Handles a batch read from the input channel, its messages on the worker threads, holding one
+   * pending request permit until the response of the batch is queued.
+   *
+   * @param line the JSON-RPC batch
+   */
+  private void dispatchBatch(String line) {
+    try {
+      pendingRequests.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return;
+    }
+    batches
+        .dispatch(
+            line,
+            message ->
+                Mono.defer(() -> session.handle(message))
+                    .subscribeOn(Schedulers.fromExecutor(workers)))
+        .doOnNext(response -> outbound.add(response.getBytes(StandardCharsets.UTF_8)))
+        .doFinally(signal -> pendingRequests.release())
+        .subscribe(null, e -> log.error("Error handling MCP batch from STDIO: {}", line, e));
+  }
+
+  /**
+   * Handles a request on a worker thread, releasing its pending request permit once answered.
+   *
+   * @param request the JSON-RPC request
+   */
+  private void handleRequest(McpSchema.JSONRPCRequest request) {
+    session
+        .handle(request)
+        .doFinally(signal -> pendingRequests.release())
+        .subscribe(null, e -> log.error("Error handling MCP request {}", request.id(), e));
+  }
+
+  /** Writes the queued messages to the output channel, in batches, until the end of stream. */
+  private void writeMessages() {
+    ByteBuffer buffer = ByteBuffer.allocateDirect(bufferSize);
+    List<byte[]> batch = new ArrayList<>();
+    try {
+      while (true) {
+        batch.add(outbound.take());
+        outbound.drainTo(batch);
+        boolean end = false;
+        for (byte[] message : batch) {
+          if (message == END_OF_STREAM) {
+            end = true;
+            break;
+          }
+          write(buffer, message);
+        }
+        batch.clear();
+        flush(buffer);
+        if (end) {
+          return;
+        }
+      }
+    } catch (IOException e) {
+      log.error("Error writing MCP messages to STDIO", e);
+      closing = true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Copies a message and its newline into the write buffer, writing the buffer whenever it is full.
+   *
+   * @param buffer the write buffer
+   * @param message the serialized message
+   * @throws IOException if the buffer cannot be written
+   */
+  private void write(ByteBuffer buffer, byte[] message) throws IOException {
+    int offset = 0;
+    while (offset < message.length) {
+      if (!buffer.hasRemaining()) {
+        flush(buffer);
+      }
+      final int count = Math.min(buffer.remaining(), message.length - offset);
+      buffer.put(message, offset, count);
+      offset += count;
+    }
+    if (!buffer.hasRemaining()) {
+      flush(buffer);
+    }
+    buffer.put(NEWLINE);
+  }
+
+  /**
+   * Writes the content of the write buffer to the output channel.
+   *
+   * @param buffer the write buffer
+   * @throws IOException if the buffer cannot be written
+   */
+  private void flush(ByteBuffer buffer) throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      output.get().write(buffer);
+    }
+    buffer.clear();
+  }
+
+  /** Stops the transport after the queued messages are written. */
+  private void shutdown() {
+    if (closing) {
+      return;
+    }
+    closing = true;
+    if (workers != null) {
+      workers.shutdown();
+    }
+    outbound.add(END_OF_STREAM);
+    try {
+      if (writer != null) {
+        writer.join(TimeUnit.SECONDS.toMillis(CLOSE_TIMEOUT_SECONDS));
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /** The transport of the single session, queuing the messages for the writer thread. */
+  private class NioStdioSessionTransport implements McpServerTransport {
+
+    @Override
+    public Mono<Void> sendMessage(McpSchema.JSONRPCMessage message) {
+      return Mono.fromRunnable(
+          () -> {
+            if (batches.capture(message)) {
+              return;
+            }
+            if (closing) {
+              throw new IllegalStateException("STDIO transport is closed");
+            }
+            try {
+              outbound.add(jsonMapper.get().writeValueAsBytes(message));
+            } catch (IOException e) {
+              throw new UncheckedIOException("Failed to serialize MCP message", e);
+            }
+          });
+    }
+
+    @Override
+    public <T> T unmarshalFrom(Object data, TypeRef<T> typeRef) {
+      return jsonMapper.get().convertValue(data, typeRef);
+    }
+
+    @Override
+    public Mono<Void> closeGracefully() {
+      return Mono.fromRunnable(NioStdioServerTransportProvider.this::shutdown);
+    }
+
+    @Override
+    public List<String> protocolVersions() {
+      return NioStdioServerTransportProvider.this.protocolVersions();
+    }
+  }
+
+  /** Creates the daemon threads of the transport, named after their role. */
+  private static class NamedThreadFactory implements ThreadFactory {
+
+    /** The role of the threads. */
+    private final String role;
+
+    /** The number of threads created. */
+    private final AtomicInteger count = new AtomicInteger();
+
+    /**
+     * Constructs a new {@link NamedThreadFactory}.
+     *
+     * @param role the role of the threads
+     */
+    NamedThreadFactory(String role) {
+      this.role = role;
+    }
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, "mcp-stdio-" + role + "-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
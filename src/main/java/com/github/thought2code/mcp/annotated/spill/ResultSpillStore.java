@@ -0,0 +1,525 @@
+package com.github.thought2code.mcp.annotated.spill;
+
+import com.github.thought2code.mcp.annotated.configuration.McpServerSpill;
+import com.github.thought2code.mcp.annotated.exception.McpServerException;
+import com.github.thought2code.mcp.annotated.metrics.McpServerMetrics;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpSchema;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded local store of the oversized tool results of an MCP server.
+ *
+ * <p>A tool result whose text content is longer than the configured threshold is spilled: its UTF-8
+ * bytes are written to a file of the spill directory, which is memory-mapped, and the tool result
+ * holds a summary of the text and a {@link McpSchema.ResourceLink} to the first page of the spilled
+ * result instead of the text. The pages of at most {@code page-size} bytes are read with {@code
+ * resources/read} from the URIs of the resource template {@code {uri-prefix}/{id}/{page}}, see
+ * {@link #resourceTemplateSpecification()}. A page never splits a UTF-8 character.
+ *
+ * <p>The store keeps at most {@code max-storage} bytes: the least recently read results are evicted
+ * to make room for a new one. A result is dropped {@code ttl} milliseconds after it was last read.
+ * The stored bytes and the number of stored results of an enabled store are exposed as the {@code
+ * mcp.spill.{server}.stored-bytes} and {@code mcp.spill.{server}.entries} gauges, named after the
+ * server and unregistered when the store is cleared, and the spilled, evicted, expired results and
+ * the pages read of all servers as the {@code mcp.spill.*} counters of {@link McpServerMetrics}.
+ *
+ * @author codeboyzhou
+ * @see McpServerSpill
+ */
+public final class ResultSpillStore {
+
+  private static final Logger log = LoggerFactory.getLogger(ResultSpillStore.class);
+
+  /** The MIME type of the spilled results. */
+  private static final String MIME_TYPE = "text/plain";
+
+  /** The name of the URI template variable of the spilled result id. */
+  private static final String ID = "id";
+
+  /** The name of the URI template variable of the page index. */
+  private static final String PAGE = "page";
+
+  /** The clock of the expiration of the spilled results, in nanoseconds. */
+  private final LongSupplier clock;
+
+  /** The spilled results keyed by id, in least recently read first order, guarded by this. */
+  private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+  /** The number of bytes of the spilled results, guarded by this. */
+  private long storedBytes;
+
+  /** The current result spill configuration, or null if disabled. */
+  private volatile McpServerSpill configuration;
+
+  /** The directory of the spill files, or null if disabled. */
+  private volatile Path directory;
+
+  /** Whether the directory of the spill files is a temporary directory created by this store. */
+  private boolean temporaryDirectory;
+
+  /** The names of the gauges of this store, empty if disabled, guarded by this. */
+  private List<String> gauges = List.of();
+
+  /** Constructs a new disabled {@link ResultSpillStore}. */
+  public ResultSpillStore() {
+    this(System::nanoTime);
+  }
+
+  /**
+   * Constructs a new disabled {@link ResultSpillStore} with the specified clock.
+   *
+   * @param clock the clock of the expiration of the spilled results, in nanoseconds
+   */
+  ResultSpillStore(LongSupplier clock) {
+    this.clock = clock;
+  }
+
+  /**
+   * Configures this store with the specified configuration, creating the spill directory and
+   * registering the gauges of the store if it is enabled.
+   *
+   * @param spill the result spill configuration
+   * @param serverName the name of the server, naming the gauges of the store
+   * @throws McpServerException if the spill directory cannot be created
+   */
+  public synchronized void configure(McpServerSpill spill, String serverName) {
+    clear();
+    if (!Boolean.TRUE.equals(spill.enabled())) {
+      return;
+    }
+
+    try {
+      if (spill.directory() == null) {
+        directory = Files.createTempDirectory("mcp-spill");
+        temporaryDirectory = true;
+      } else {
+        directory = Files.createDirectories(Path.of(spill.directory()));
+        temporaryDirectory = false;
+      }
+    } catch (IOException e) {
+      throw new McpServerException("Failed to create spill directory " + spill.directory(), e);
+    }
+    configuration = spill;
+    final String prefix = "mcp.spill." + serverName;
+    gauges = List.of(prefix + ".stored-bytes", prefix + ".entries");
+    McpServerMetrics.gauge(gauges.get(0), this::storedBytes);
+    McpServerMetrics.gauge(gauges.get(1), this::size);
+    log.info(
+        "Result spill enabled above {} characters into {}, at most {} bytes",
+        spill.threshold(),
+        directory,
+        spill.maxStorage());
+  }
+
+  /**
+   * Returns whether the specified text content is spilled.
+   *
+   * @param text the text content of a tool result
+   * @return true if the store is enabled and the text is longer than the threshold
+   */
+  public boolean shouldSpill(String text) {
+    McpServerSpill spill = configuration;
+    return spill != null && text.length() > spill.threshold();
+  }
+
+  /**
+   * Spills the specified text content of a tool result.
+   *
+   * <p>The text is kept inline if it is larger than the whole store or cannot be written.
+   *
+   * @param name the name of the tool
+   * @param text the text content of the tool result
+   * @return the content of the tool result: the summary of the text and the link to its first page,
+   *     or the text itself if it is not spilled
+   */
+  public List<McpSchema.Content> spill(String name, String text) {
+    McpServerSpill spill = configuration;
+    final byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+    if (spill == null || bytes.length > spill.maxStorage()) {
+      log.warn("Result of tool {} with {} bytes is not spilled", name, bytes.length);
+      return List.of(new McpSchema.TextContent(text));
+    }
+
+    final String id = UUID.randomUUID().toString();
+    final Entry entry;
+    try {
+      entry = write(id, bytes);
+    } catch (IOException e) {
+      log.warn("Failed to spill result of tool {}, it is returned inline", name, e);
+      return List.of(new McpSchema.TextContent(text));
+    }
+    synchronized (this) {
+      final long now = clock.getAsLong();
+      expire(now, spill);
+      Iterator<Entry> eldest = entries.values().iterator();
+      while (storedBytes + entry.size() > spill.maxStorage() && eldest.hasNext()) {
+        delete(eldest.next());
+        eldest.remove();
+        McpServerMetrics.counter("mcp.spill.evictions").increment();
+      }
+      entry.lastRead = now;
+      entries.put(id, entry);
+      storedBytes += entry.size();
+    }
+    McpServerMetrics.counter("mcp.spill.spilled").increment();
+    McpServerMetrics.counter("mcp.spill.spilled-bytes").add(bytes.length);
+
+    final int pages = pageCount(entry.size(), spill.pageSize());
+    final String uri = uri(spill, id, 0);
+    final String summary =
+        summarize(text, spill.summaryLength())
+            + "\n\nThe full result of "
+            + bytes.length
+            + " bytes is split into "
+            + pages
+            + " pages, read with resources/read from "
+            + uri(spill, id, null);
+    McpSchema.ResourceLink link =
+        McpSchema.ResourceLink.builder()
+            .name(name + "-result")
+            .title("Full result of " + name)
+            .uri(uri)
+            .description("Page 0 of the " + pages + " pages of the full result of " + name)
+            .mimeType(MIME_TYPE)
+            .size((long) bytes.length)
+            .meta(Map.of("pages", pages))
+            .build();
+    return List.of(new McpSchema.TextContent(summary), link);
+  }
+
+  /**
+   * Reads a page of a spilled result.
+   *
+   * @param uri the URI of the page
+   * @return the text of the page, with the page index, the page count and the URI of the next page
+   *     if any as metadata
+   * @throws McpError if the URI does not denote a page of a stored result
+   */
+  public McpSchema.ReadResourceResult read(String uri) {
+    McpServerSpill spill = configuration;
+    final String prefix = spill == null ? null : spill.uriPrefix() + "/";
+    if (prefix == null || !uri.startsWith(prefix)) {
+      throw notFound(uri);
+    }
+    final String[] parts = uri.substring(prefix.length()).split("/", -1);
+    if (parts.length != 2) {
+      throw notFound(uri);
+    }
+
+    final Entry entry;
+    synchronized (this) {
+      final long now = clock.getAsLong();
+      expire(now, spill);
+      entry = entries.get(parts[0]);
+      if (entry == null) {
+        throw notFound(uri);
+      }
+      entry.lastRead = now;
+    }
+
+    final int pages = pageCount(entry.size(), spill.pageSize());
+    final int page = parsePage(parts[1], pages, uri);
+    final long start = Math.min((long) page * spill.pageSize(), entry.size());
+    final long end = Math.min(start + spill.pageSize(), entry.size());
+    final int from = entry.boundary((int) start);
+    final int to = entry.boundary((int) end);
+    final String text =
+        StandardCharsets.UTF_8.decode(entry.buffer().slice(from, to - from)).toString();
+    McpServerMetrics.counter("mcp.spill.page-reads").increment();
+
+    Map<String, Object> meta = new LinkedHashMap<>();
+    meta.put(PAGE, page);
+    meta.put("pages", pages);
+    if (page + 1 < pages) {
+      meta.put("nextUri", uri(spill, parts[0], page + 1));
+    }
+    return new McpSchema.ReadResourceResult(
+        List.of(new McpSchema.TextResourceContents(uri, MIME_TYPE, text)), meta);
+  }
+
+  /**
+   * Creates the resource template specification of the pages of the spilled results.
+   *
+   * @return the resource template specification reading the pages with {@link #read(String)}
+   * @throws IllegalStateException if the store is disabled
+   */
+  public McpServerFeatures.SyncResourceTemplateSpecification resourceTemplateSpecification() {
+    McpServerSpill spill = configuration;
+    if (spill == null) {
+      throw new IllegalStateException("Result spill is disabled");
+    }
+    McpSchema.ResourceTemplate template =
+        McpSchema.ResourceTemplate.builder()
+            .uriTemplate(uri(spill, "{" + ID + "}", null))
+            .name("spilled-results")
+            .title("Spilled results")
+            .description("Pages of the oversized tool results, linked from the tool results")
+            .mimeType(MIME_TYPE)
+            .build();
+    return new McpServerFeatures.SyncResourceTemplateSpecification(
+        template, (exchange, request) -> read(request.uri()));
+  }
+
+  /**
+   * Returns the number of bytes of the spilled results.
+   *
+   * @return the number of stored bytes
+   */
+  public synchronized long storedBytes() {
+    return storedBytes;
+  }
+
+  /**
+   * Returns the number of spilled results.
+   *
+   * @return the number of stored results
+   */
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * Drops all spilled results and disables this store, deleting the spill directory if it is a
+   * temporary directory and unregistering the gauges of the store.
+   */
+  public synchronized void clear() {
+    gauges.forEach(McpServerMetrics::remove);
+    gauges = List.of();
+    entries.values().forEach(this::delete);
+    entries.clear();
+    storedBytes = 0;
+    if (temporaryDirectory && directory != null) {
+      try {
+        Files.deleteIfExists(directory);
+      } catch (IOException e) {
+        log.warn("Failed to delete spill directory {}", directory, e);
+      }
+    }
+    configuration = null;
+    directory = null;
+    temporaryDirectory = false;
+  }
+
+  /**
+   * Writes the bytes of a spilled result to its file and maps the file.
+   *
+   * @param id the id of the spilled result
+   * @param bytes the bytes of the spilled result
+   * @return the entry of the spilled result
+   * @throws IOException if the file cannot be written or mapped
+   */
+  private Entry write(String id, byte[] bytes) throws IOException {
+    final Path file = directory.resolve(id + ".txt");
+    try (FileChannel channel =
+        FileChannel.open(
+            file,
+            StandardOpenOption.CREATE_NEW,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE)) {
+      ByteBuffer source = ByteBuffer.wrap(bytes);
+      while (source.hasRemaining()) {
+        channel.write(source);
+      }
+      return new Entry(file, channel.map(FileChannel.MapMode.READ_ONLY, 0, bytes.length));
+    } catch (IOException e) {
+      Files.deleteIfExists(file);
+      throw e;
+    }
+  }
+
+  /**
+   * Drops the spilled results not read for longer than the time to live, the lock being held.
+   *
+   * @param now the current time of the clock
+   * @param spill the result spill configuration
+   */
+  private void expire(long now, McpServerSpill spill) {
+    final long ttl = TimeUnit.MILLISECONDS.toNanos(spill.ttl());
+    Iterator<Entry> iterator = entries.values().iterator();
+    while (iterator.hasNext()) {
+      final Entry entry = iterator.next();
+      if (now - entry.lastRead < ttl) {
+        // the entries are in least recently read first order, the next ones are not expired either
+        return;
+      }
+      delete(entry);
+      iterator.remove();
+      McpServerMetrics.counter("mcp.spill.expirations").increment();
+    }
+  }
+
+  /**
+   * Deletes the file of a dropped spilled result, the lock being held. The mapping of the file is
+   * released once the pages being read are decoded.
+   *
+   * @param entry the dropped spilled result
+   */
+  private void delete(Entry entry) {
+    storedBytes -= entry.size();
+    try {
+      Files.deleteIfExists(entry.file());
+    } catch (IOException e) {
+      log.warn("Failed to delete spill file {}", entry.file(), e);
+    }
+  }
+
+  /**
+   * Returns the number of pages of a spilled result.
+   *
+   * @param size the number of bytes of the spilled result
+   * @param pageSize the maximum number of bytes of a page
+   * @return the number of pages
+   */
+  private static int pageCount(long size, int pageSize) {
+    return (int) Math.max(1, (size + pageSize - 1) / pageSize);
+  }
+
+  /**
+   * Parses the page index of a page URI.
+   *
+   * @param page the page index of the URI
+   * @param pages the number of pages of the spilled result
+   * @param uri the URI of the page
+   * @return the page index
+   * @throws McpError if the page index is invalid
+   */
+  private static int parsePage(String page, int pages, String uri) {
+    try {
+      final int index = Integer.parseInt(page);
+      if (index >= 0 && index < pages) {
+        return index;
+      }
+    } catch (NumberFormatException e) {
+      // reported below
+    }
+    throw McpError.builder(McpSchema.ErrorCodes.INVALID_PARAMS)
+        .message("Invalid page of spilled result, expected 0 to " + (pages - 1) + ": " + uri)
+        .build();
+  }
+
+  /**
+   * Returns the URI of a page of a spilled result, or the URI template of its pages.
+   *
+   * @param spill the result spill configuration
+   * @param id the id of the spilled result
+   * @param page the page index, or null for the URI template of the pages
+   * @return the URI of the page or the URI template of the pages
+   */
+  private static String uri(McpServerSpill spill, String id, Integer page) {
+    return spill.uriPrefix() + "/" + id + "/" + (page == null ? "{" + PAGE + "}" : page);
+  }
+
+  /**
+   * Returns the beginning of a text, without splitting a surrogate pair.
+   *
+   * @param text the text
+   * @param maxLength the maximum length of the summary in characters
+   * @return the summary of the text
+   */
+  private static String summarize(String text, int maxLength) {
+    if (text.length() <= maxLength) {
+      return text;
+    }
+    int end = maxLength;
+    if (end > 0 && Character.isHighSurrogate(text.charAt(end - 1))) {
+      end--;
+    }
+    return text.substring(0, end);
+  }
+
+  /**
+   * Creates the error of a URI not denoting a page of a stored result.
+   *
+   * @param uri the URI
+   * @return the resource not found error
+   */
+  private static McpError notFound(String uri) {
+    return McpError.builder(McpSchema.ErrorCodes.RESOURCE_NOT_FOUND)
+        .message("Spilled result not found or expired: " + uri)
+        .data(Map.of("uri", uri))
+        .build();
+  }
+
+  /** A spilled result, its file and the mapping of the file. */
+  private static final class Entry {
+
+    /** The file of the spilled result. */
+    private final Path file;
+
+    /** The read-only mapping of the file. */
+    private final MappedByteBuffer buffer;
+
+    /** The time the spilled result was last read, guarded by the store. */
+    private long lastRead;
+
+    /**
+     * Constructs a new {@link Entry}.
+     *
+     * @param file the file of the spilled result
+     * @param buffer the read-only mapping of the file
+     */
+    Entry(Path file, MappedByteBuffer buffer) {
+      this.file = file;
+      this.buffer = buffer;
+    }
+
+    /**
+     * Returns the file of the spilled result.
+     *
+     * @return the file
+     */
+    Path file() {
+      return file;
+    }
+
+    /**
+     * Returns the mapping of the file, to be sliced.
+     *
+     * @return the read-only mapping of the file
+     */
+    ByteBuffer buffer() {
+      return buffer;
+    }
+
+    /**
+     * Returns the number of bytes of the spilled result.
+     *
+     * @return the size of the file
+     */
+    long size() {
+      return buffer.capacity();
+    }
+
+    /**
+     * Returns the first UTF-8 character boundary at or after the specified offset.
+     *
+     * @param offset the byte offset
+     * @return the offset of the first byte that is not a continuation byte, or the size
+     */
+    int boundary(int offset) {
+      int boundary = offset;
+      while (boundary < buffer.capacity() && (buffer.get(boundary) & 0xC0) == 0x80) {
+        boundary++;
+      }
+      return boundary;
+    }
+  }
+}
@@ -0,0 +1,131 @@
+package com.github.thought2code.mcp.annotated.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hands ended spans to a span exporter in batches, on a background daemon thread.
+ *
+ * <p>Ending a span only offers it to a bounded queue, so the request threads never wait for the
+ * exporter. When the queue is full, new spans are dropped and counted rather than blocking the
+ * request thread.
+ *
+ * @author codeboyzhou
+ */
+final class BatchSpanProcessor {
+
+  private static final Logger log = LoggerFactory.getLogger(BatchSpanProcessor.class);
+
+  /** The maximum number of spans handed to the exporter at once. */
+  private static final int MAX_BATCH_SIZE = 512;
+
+  /** The exporter the spans are handed to. */
+  private final SpanExporter exporter;
+
+  /** The queue of the ended spans waiting for export. */
+  private final BlockingQueue<SpanData> queue;
+
+  /** The interval between two exports in milliseconds. */
+  private final long exportIntervalMillis;
+
+  /** The number of spans dropped because the queue was full. */
+  private final AtomicLong dropped = new AtomicLong();
+
+  /** The background thread exporting the spans. */
+  private final Thread worker;
+
+  /** Whether this processor is shut down. */
+  private volatile boolean shutdown;
+
+  /**
+   * Creates and starts a new instance of {@code BatchSpanProcessor}.
+   *
+   * @param exporter the exporter the spans are handed to
+   * @param queueSize the maximum number of spans waiting for export
+   * @param exportIntervalMillis the interval between two exports in milliseconds
+   */
+  BatchSpanProcessor(SpanExporter exporter, int queueSize, long exportIntervalMillis) {
+    this.exporter = exporter;
+    this.queue = new ArrayBlockingQueue<>(queueSize);
+    this.exportIntervalMillis = exportIntervalMillis;
+    this.worker = new Thread(this::work, "mcp-span-exporter");
+    this.worker.setDaemon(true);
+    this.worker.start();
+  }
+
+  /**
+   * Returns the exporter the spans are handed to.
+   *
+   * @return the exporter the spans are handed to
+   */
+  SpanExporter exporter() {
+    return exporter;
+  }
+
+  /**
+   * Offers an ended span for export, dropping it if the queue is full.
+   *
+   * @param span the ended span
+   */
+  void onEnd(SpanData span) {
+    if (!queue.offer(span)) {
+      final long count = dropped.incrementAndGet();
+      if (count == 1 || count % 1000 == 0) {
+        log.warn("Span export queue is full, {} spans dropped so far", count);
+      }
+    }
+  }
+
+  /** Exports all queued spans on the calling thread. */
+  synchronized void flush() {
+    List<SpanData> batch = new ArrayList<>();
+    while (queue.drainTo(batch, MAX_BATCH_SIZE) > 0) {
+      export(batch);
+      batch.clear();
+    }
+  }
+
+  /** Exports the remaining spans, stops the background thread and shuts down the exporter. */
+  void shutdown() {
+    shutdown = true;
+    worker.interrupt();
+    try {
+      worker.join(TimeUnit.SECONDS.toMillis(5));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    flush();
+    exporter.shutdown();
+  }
+
+  /** The loop of the background thread. */
+  private void work() {
+    while (!shutdown) {
+      try {
+        Thread.sleep(exportIntervalMillis);
+      } catch (InterruptedException e) {
+        return;
+      }
+      flush();
+    }
+  }
+
+  /**
+   * Hands a batch to the exporter, shielding the background thread from exporter failures.
+   *
+   * @param batch the batch to export
+   */
+  private void export(List<SpanData> batch) {
+    try {
+      exporter.export(List.copyOf(batch));
+    } catch (RuntimeException e) {
+      log.error("Span exporter {} failed", exporter.getClass().getName(), e);
+    }
+  }
+}
@@ -0,0 +1,64 @@
+package com.github.thought2code.mcp.annotated.tracing;
+
+import java.util.ArrayDeque;
+import java.util.List;
+
+/**
+ * A span exporter that keeps the most recent ended spans in a bounded in-memory buffer.
+ *
+ * <p>This exporter needs no collector and is suitable for tests and for inspecting recent traces of
+ * a running server. When the buffer is full, the oldest spans are dropped.
+ *
+ * @author codeboyzhou
+ * @see SpanExporter
+ */
+public final class InMemorySpanExporter implements SpanExporter {
+
+  /** The maximum number of spans kept. */
+  private final int capacity;
+
+  /** The kept spans, oldest first, guarded by itself. */
+  private final ArrayDeque<SpanData> spans = new ArrayDeque<>();
+
+  /**
+   * Creates a new instance of {@code InMemorySpanExporter}.
+   *
+   * @param capacity the maximum number of spans kept
+   */
+  public InMemorySpanExporter(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("capacity must be positive");
+    }
+    this.capacity = capacity;
+  }
+
+  @Override
+  public void export(List<SpanData> batch) {
+    synchronized (spans) {
+      for (SpanData span : batch) {
+        if (spans.size() == capacity) {
+          spans.pollFirst();
+        }
+        spans.addLast(span);
+      }
+    }
+  }
+
+  /**
+   * Returns the kept spans, oldest first.
+   *
+   * @return the kept spans, oldest first
+   */
+  public List<SpanData> getFinishedSpans() {
+    synchronized (spans) {
+      return List.copyOf(spans);
+    }
+  }
+
+  /** Clears the kept spans. */
+  public void reset() {
+    synchronized (spans) {
+      spans.clear();
+    }
+  }
+}
@@ -0,0 +1,155 @@
+package com.github.thought2code.mcp.annotated.tracing;
+
+import com.github.thought2code.mcp.annotated.util.JacksonHelper;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A span exporter that appends the ended spans to a local file in OTLP JSON format.
+ *
+ * <p>Each exported batch is written as one line holding an OTLP {@code ExportTraceServiceRequest}
+ * in its JSON encoding, which is the format read by the OpenTelemetry Collector {@code
+ * otlpjsonfile} receiver. This makes it possible to ship traces of a server that cannot reach a
+ * collector, for example a stdio server, by pointing a collector at the file.
+ *
+ * @author codeboyzhou
+ * @see <a href="https://opentelemetry.io/docs/specs/otlp/#json-protobuf-encoding">OTLP JSON</a>
+ */
+public class OtlpJsonFileSpanExporter implements SpanExporter {
+
+  private static final Logger log = LoggerFactory.getLogger(OtlpJsonFileSpanExporter.class);
+
+  /** The OTLP span kind values, indexed by {@link Span.Kind#ordinal()}. */
+  private static final int[] OTLP_SPAN_KINDS = {1, 2};
+
+  /** The OTLP status code of a span that ended with an error. */
+  private static final int OTLP_STATUS_ERROR = 2;
+
+  /** The file to append to. */
+  private final Path file;
+
+  /** The OTLP resource of the exported spans. */
+  private final Map<String, Object> resource;
+
+  /** The writer of the file, opened lazily. */
+  private BufferedWriter writer;
+
+  /**
+   * Creates a new instance of {@code OtlpJsonFileSpanExporter}.
+   *
+   * @param file the file to append to
+   * @param serviceName the {@code service.name} of the exported spans
+   */
+  public OtlpJsonFileSpanExporter(Path file, String serviceName) {
+    this.file = file;
+    this.resource = Map.of("attributes", List.of(attribute("service.name", serviceName)));
+  }
+
+  @Override
+  public void export(List<SpanData> spans) {
+    if (spans.isEmpty()) {
+      return;
+    }
+
+    List<Map<String, Object>> otlpSpans = new ArrayList<>(spans.size());
+    for (SpanData span : spans) {
+      otlpSpans.add(toOtlp(span));
+    }
+    Map<String, Object> scopeSpans =
+        Map.of("scope", Map.of("name", "mcp-annotated-java-sdk"), "spans", otlpSpans);
+    Map<String, Object> resourceSpans =
+        Map.of("resource", resource, "scopeSpans", List.of(scopeSpans));
+    Map<String, Object> request = Map.of("resourceSpans", List.of(resourceSpans));
+
+    try {
+      if (writer == null) {
+        writer =
+            Files.newBufferedWriter(
+                file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+      }
+      writer.write(JacksonHelper.toJsonString(request));
+      writer.newLine();
+      writer.flush();
+    } catch (IOException e) {
+      log.error("Failed to export {} spans to {}", spans.size(), file, e);
+    }
+  }
+
+  @Override
+  public void shutdown() {
+    if (writer == null) {
+      return;
+    }
+    try {
+      writer.close();
+    } catch (IOException e) {
+      log.warn("Failed to close span file {}", file, e);
+    }
+    writer = null;
+  }
+
+  /**
+   * Converts the specified span to its OTLP JSON representation.
+   *
+   * @param span the span to convert
+   * @return the OTLP JSON representation of the span
+   */
+  private static Map<String, Object> toOtlp(SpanData span) {
+    Map<String, Object> otlp = new LinkedHashMap<>();
+    otlp.put("traceId", span.traceId());
+    otlp.put("spanId", span.spanId());
+    if (span.parentSpanId() != null) {
+      otlp.put("parentSpanId", span.parentSpanId());
+    }
+    otlp.put("name", span.name());
+    otlp.put("kind", OTLP_SPAN_KINDS[span.kind().ordinal()]);
+    // OTLP JSON encodes 64-bit integers as strings
+    otlp.put("startTimeUnixNano", String.valueOf(span.startEpochNanos()));
+    otlp.put("endTimeUnixNano", String.valueOf(span.endEpochNanos()));
+
+    List<Map<String, Object>> attributes = new ArrayList<>(span.attributes().size());
+    span.attributes().forEach((key, value) -> attributes.add(attribute(key, value)));
+    otlp.put("attributes", attributes);
+
+    if (span.error()) {
+      Map<String, Object> status = new LinkedHashMap<>();
+      status.put("code", OTLP_STATUS_ERROR);
+      if (span.errorMessage() != null) {
+        status.put("message", span.errorMessage());
+      }
+      otlp.put("status", status);
+    }
+    return otlp;
+  }
+
+  /**
+   * Creates an OTLP JSON key-value attribute.
+   *
+   * @param key the attribute key
+   * @param value the attribute value
+   * @return the OTLP JSON key-value attribute
+   */
+  private static Map<String, Object> attribute(String key, Object value) {
+    final Map<String, Object> anyValue;
+    if (value instanceof Boolean) {
+      anyValue = Map.of("boolValue", value);
+    } else if (value instanceof Integer || value instanceof Long) {
+      anyValue = Map.of("intValue", String.valueOf(value));
+    } else if (value instanceof Number) {
+      anyValue = Map.of("doubleValue", value);
+    } else {
+      anyValue = Map.of("stringValue", String.valueOf(value));
+    }
+    return Map.of("key", key, "value", anyValue);
+  }
+}
@@ -0,0 +1,30 @@
+package com.github.thought2code.mcp.annotated.tracing;
+
+/**
+ * A scope in which a span is the current span of the calling thread.
+ *
+ * <p>Closing the scope restores the span that was current before the scope was opened. Scopes must
+ * be closed on the thread that opened them, preferably with try-with-resources:
+ *
+ * <pre>{@code
+ * Span span = Tracer.startSpan("load-customer");
+ * try (Scope scope = span.makeCurrent()) {
+ *   // spans started here are children of span
+ * } finally {
+ *   span.end();
+ * }
+ * }</pre>
+ *
+ * @author codeboyzhou
+ * @see Span#makeCurrent()
+ */
+@FunctionalInterface
+public interface Scope extends AutoCloseable {
+
+  /** The scope that does nothing when closed. */
+  Scope NOOP = () -> {};
+
+  /** Restores the span that was current before this scope was opened. */
+  @Override
+  void close();
+}
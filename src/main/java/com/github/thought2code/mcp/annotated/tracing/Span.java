@@ -0,0 +1,164 @@
+package com.github.thought2code.mcp.annotated.tracing;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A timed operation in a trace.
+ *
+ * <p>Spans are created by {@link Tracer}. A span that is not sampled does not record anything: its
+ * attribute and error setters are no-ops and it is not exported when it ends, but its context is
+ * still propagated so that its children are not sampled either. This keeps the overhead of
+ * unsampled traces to the allocation of the span itself.
+ *
+ * <p>Spans are not designed to be shared by several threads, except for ending them.
+ *
+ * @author codeboyzhou
+ * @see Tracer
+ * @see Scope
+ */
+public final class Span {
+
+  /** The span returned when tracing is disabled. */
+  static final Span NOOP = new Span(SpanContext.INVALID, null, "", Kind.INTERNAL, 0);
+
+  /** The context of this span. */
+  private final SpanContext context;
+
+  /** The span id of the parent span, or null for a root span. */
+  private final String parentSpanId;
+
+  /** The name of this span. */
+  private final String name;
+
+  /** The kind of this span. */
+  private final Kind kind;
+
+  /** The start time in nanoseconds since the epoch. */
+  private final long startEpochNanos;
+
+  /** The attributes of this span, only allocated for sampled spans. */
+  private final Map<String, Object> attributes;
+
+  /** Whether this span ended with an error. */
+  private boolean error;
+
+  /** The error message of this span. */
+  private String errorMessage;
+
+  /** Whether this span has ended. */
+  private boolean ended;
+
+  /**
+   * Creates a new instance of {@code Span}.
+   *
+   * @param context the context of the span
+   * @param parentSpanId the span id of the parent span, or null for a root span
+   * @param name the name of the span
+   * @param kind the kind of the span
+   * @param startEpochNanos the start time in nanoseconds since the epoch
+   */
+  Span(
+      SpanContext context,
+      @Nullable String parentSpanId,
+      String name,
+      Kind kind,
+      long startEpochNanos) {
+    this.context = context;
+    this.parentSpanId = parentSpanId;
+    this.name = name;
+    this.kind = kind;
+    this.startEpochNanos = startEpochNanos;
+    this.attributes = context.sampled() ? new HashMap<>() : null;
+  }
+
+  /**
+   * Returns the context of this span.
+   *
+   * @return the context of this span
+   */
+  public SpanContext context() {
+    return context;
+  }
+
+  /**
+   * Returns whether this span records its attributes and is exported when it ends.
+   *
+   * @return {@code true} if this span is sampled, {@code false} otherwise
+   */
+  public boolean isRecording() {
+    return attributes != null;
+  }
+
+  /**
+   * Sets an attribute of this span.
+   *
+   * @param key the attribute key
+   * @param value the attribute value, ignored if null
+   * @return this span
+   */
+  public synchronized Span setAttribute(String key, @Nullable Object value) {
+    if (attributes != null && value != null && !ended) {
+      attributes.put(key, value);
+    }
+    return this;
+  }
+
+  /**
+   * Marks this span as ended with an error.
+   *
+   * @param message the error message
+   * @return this span
+   */
+  public synchronized Span setError(String message) {
+    if (attributes != null && !ended) {
+      this.error = true;
+      this.errorMessage = message;
+    }
+    return this;
+  }
+
+  /**
+   * Makes this span the current span of the calling thread until the returned scope is closed.
+   *
+   * @return the scope to close to restore the previous current span
+   */
+  public Scope makeCurrent() {
+    return Tracer.makeCurrent(this);
+  }
+
+  /** Ends this span and hands it to the exporter if it is sampled. Only the first call counts. */
+  public void end() {
+    SpanData data;
+    synchronized (this) {
+      if (attributes == null || ended) {
+        return;
+      }
+      ended = true;
+      data =
+          new SpanData(
+              context.traceId(),
+              context.spanId(),
+              parentSpanId,
+              name,
+              kind,
+              startEpochNanos,
+              Tracer.nowEpochNanos(),
+              attributes,
+              error,
+              errorMessage);
+    }
+    Tracer.export(data);
+  }
+
+  /** The kind of a span, with the same meaning as in OpenTelemetry. */
+  public enum Kind {
+
+    /** An operation internal to the MCP server. */
+    INTERNAL,
+
+    /** The handling of a request received from an MCP client. */
+    SERVER
+  }
+}
@@ -0,0 +1,127 @@
+package com.github.thought2code.mcp.annotated.tracing;
+
+import java.util.concurrent.ThreadLocalRandom;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This record represents the identity of a span that is propagated to its children, in and across
+ * processes.
+ *
+ * <p>The context is propagated across processes in the W3C Trace Context {@code traceparent}
+ * format, see {@link #parse(String)} and {@link #toTraceparent()}.
+ *
+ * @param traceId the trace id as 32 lower-case hex characters
+ * @param spanId the span id as 16 lower-case hex characters
+ * @param sampled whether the trace is sampled
+ * @author codeboyzhou
+ * @see <a href="https://www.w3.org/TR/trace-context/">W3C Trace Context</a>
+ */
+public record SpanContext(String traceId, String spanId, boolean sampled) {
+
+  /** The context of a span that is not part of any trace. */
+  public static final SpanContext INVALID =
+      new SpanContext("00000000000000000000000000000000", "0000000000000000", false);
+
+  /** The only {@code traceparent} version supported. */
+  private static final String VERSION = "00";
+
+  /** The length of a {@code traceparent} header value. */
+  private static final int TRACEPARENT_LENGTH = 55;
+
+  /**
+   * Parses the specified W3C {@code traceparent} value.
+   *
+   * @param traceparent the {@code traceparent} value, may be null
+   * @return the parsed context, or null if the value is missing or malformed
+   */
+  @Nullable
+  public static SpanContext parse(@Nullable String traceparent) {
+    if (traceparent == null || traceparent.length() != TRACEPARENT_LENGTH) {
+      return null;
+    }
+    if (!traceparent.startsWith(VERSION + "-")
+        || traceparent.charAt(35) != '-'
+        || traceparent.charAt(52) != '-') {
+      return null;
+    }
+
+    final String traceId = traceparent.substring(3, 35);
+    final String spanId = traceparent.substring(36, 52);
+    final String flags = traceparent.substring(53);
+    if (!isHex(traceId) || !isHex(spanId) || !isHex(flags)) {
+      return null;
+    }
+    if (traceId.equals(INVALID.traceId()) || spanId.equals(INVALID.spanId())) {
+      return null;
+    }
+
+    final boolean sampled = (Integer.parseInt(flags, 16) & 0x01) == 0x01;
+    return new SpanContext(traceId, spanId, sampled);
+  }
+
+  /**
+   * Formats this context as a W3C {@code traceparent} value.
+   *
+   * @return this context as a W3C {@code traceparent} value
+   */
+  public String toTraceparent() {
+    return VERSION + "-" + traceId + "-" + spanId + "-" + (sampled ? "01" : "00");
+  }
+
+  /**
+   * Creates a new random trace id.
+   *
+   * @return a new random trace id
+   */
+  static String newTraceId() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    long high;
+    long low;
+    do {
+      high = random.nextLong();
+      low = random.nextLong();
+    } while (high == 0 && low == 0);
+    return toHex(high) + toHex(low);
+  }
+
+  /**
+   * Creates a new random span id.
+   *
+   * @return a new random span id
+   */
+  static String newSpanId() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    long id;
+    do {
+      id = random.nextLong();
+    } while (id == 0);
+    return toHex(id);
+  }
+
+  /**
+   * Formats the specified value as 16 lower-case hex characters.
+   *
+   * @param value the value to format
+   * @return the value as 16 lower-case hex characters
+   */
+  private static String toHex(long value) {
+    final String hex = Long.toHexString(value);
+    return "0".repeat(16 - hex.length()) + hex;
+  }
+
+  /**
+   * Returns whether the specified string consists of lower-case hex characters only.
+   *
+   * @param value the string to check
+   * @return {@code true} if the string consists of lower-case hex characters only
+   */
+  private static boolean isHex(String value) {
+    for (int i = 0; i < value.length(); i++) {
+      final char c = value.charAt(i);
+      if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
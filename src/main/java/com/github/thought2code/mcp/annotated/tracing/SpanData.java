@@ -0,0 +1,61 @@
+package com.github.thought2code.mcp.annotated.tracing;
+
+import java.util.Map;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This record represents an ended span, as handed to a {@link SpanExporter}.
+ *
+ * @param traceId the trace id
+ * @param spanId the span id
+ * @param parentSpanId the span id of the parent span, or null for a root span
+ * @param name the name of the span
+ * @param kind the kind of the span
+ * @param startEpochNanos the start time in nanoseconds since the epoch
+ * @param endEpochNanos the end time in nanoseconds since the epoch
+ * @param attributes the attributes of the span
+ * @param error whether the span ended with an error
+ * @param errorMessage the error message, or null if there is none
+ * @author codeboyzhou
+ * @see Span
+ * @see SpanExporter
+ */
+public record SpanData(
+    String traceId,
+    String spanId,
+    @Nullable String parentSpanId,
+    String name,
+    Span.Kind kind,
+    long startEpochNanos,
+    long endEpochNanos,
+    Map<String, Object> attributes,
+    boolean error,
+    @Nullable String errorMessage) {
+
+  /**
+   * Compact constructor that creates a defensive copy of the attributes.
+   *
+   * @param traceId the trace id
+   * @param spanId the span id
+   * @param parentSpanId the span id of the parent span
+   * @param name the name of the span
+   * @param kind the kind of the span
+   * @param startEpochNanos the start time in nanoseconds since the epoch
+   * @param endEpochNanos the end time in nanoseconds since the epoch
+   * @param attributes the attributes of the span
+   * @param error whether the span ended with an error
+   * @param errorMessage the error message
+   */
+  public SpanData {
+    attributes = Map.copyOf(attributes);
+  }
+
+  /**
+   * Returns the duration of the span in nanoseconds.
+   *
+   * @return the duration of the span in nanoseconds
+   */
+  public long durationNanos() {
+    return endEpochNanos - startEpochNanos;
+  }
+}
@@ -0,0 +1,32 @@
+package com.github.thought2code.mcp.annotated.tracing;
+
+import java.util.List;
+
+/**
+ * The extension point for sending ended spans to a tracing backend.
+ *
+ * <p>The exporter is called by a single background thread with batches of ended spans, so
+ * implementations do not need to be thread-safe with respect to {@link #export(List)}, and may
+ * perform blocking I/O. Implementations must not throw: failures should be logged and the batch
+ * dropped, so that tracing never affects the MCP server itself.
+ *
+ * <p>Built-in implementations are {@link InMemorySpanExporter} and {@link
+ * OtlpJsonFileSpanExporter}. A custom exporter is installed with {@link
+ * Tracer#setExporter(SpanExporter)}.
+ *
+ * @author codeboyzhou
+ * @see Tracer
+ * @see SpanData
+ */
+public interface SpanExporter {
+
+  /**
+   * Exports a batch of ended spans.
+   *
+   * @param spans the ended spans to export
+   */
+  void export(List<SpanData> spans);
+
+  /** Releases the resources of this exporter. Called once when the exporter is replaced. */
+  default void shutdown() {}
+}
@@ -0,0 +1,36 @@
+package com.github.thought2code.mcp.annotated.tracing;
+
+import io.modelcontextprotocol.common.McpTransportContext;
+import io.modelcontextprotocol.server.McpTransportContextExtractor;
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Extracts the tracing information of an HTTP request into the MCP transport context.
+ *
+ * <p>The extractor runs on the servlet thread as soon as the request is received, so it records the
+ * receipt time used as the start time of the server span, which then covers the time the request
+ * waited before being handled. It also records the {@code traceparent} header, which is used as the
+ * parent of the server span when the request {@code _meta} has none.
+ *
+ * @author codeboyzhou
+ * @see Tracer#startServerSpan(String, Map, McpTransportContext)
+ */
+public class TraceContextExtractor implements McpTransportContextExtractor<HttpServletRequest> {
+
+  @Override
+  public McpTransportContext extract(HttpServletRequest request) {
+    if (!Tracer.isEnabled()) {
+      return McpTransportContext.EMPTY;
+    }
+
+    Map<String, Object> context = new HashMap<>();
+    context.put(Tracer.RECEIVED_AT, Tracer.nowEpochNanos());
+    final String traceparent = request.getHeader(Tracer.TRACEPARENT);
+    if (traceparent != null) {
+      context.put(Tracer.TRACEPARENT, traceparent);
+    }
+    return McpTransportContext.create(context);
+  }
+}
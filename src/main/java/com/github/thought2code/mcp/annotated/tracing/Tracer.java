@@ -0,0 +1,312 @@
+package com.github.thought2code.mcp.annotated.tracing;
+
+import com.github.thought2code.mcp.annotated.configuration.McpServerTracing;
+import com.github.thought2code.mcp.annotated.enums.SpanExporterType;
+import com.github.thought2code.mcp.annotated.exception.McpServerConfigurationException;
+import io.modelcontextprotocol.common.McpTransportContext;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * In-process tracer of the MCP server.
+ *
+ * <p>When tracing is enabled, the MCP server components record a {@link Span.Kind#SERVER} span for
+ * the handling of each request, with child spans for argument binding, method invocation and result
+ * serialization. The invocation span is the current span while the annotated method runs, so spans
+ * started by the method with {@link #startSpan(String)} become its children.
+ *
+ * <p>The parent of a server span is taken from the W3C {@code traceparent} in the request {@code
+ * _meta}, or from the {@code traceparent} HTTP header of the request when using an HTTP-based
+ * server mode. The sampling decision is made once when the root span of a trace starts, with the
+ * configured ratio, and is inherited by all the spans of the trace, including those of the
+ * processes the context is propagated to.
+ *
+ * <p>When tracing is disabled, all the spans are the same no-op span, so the tracing calls in the
+ * request path cost a volatile read.
+ *
+ * @author codeboyzhou
+ * @see Span
+ * @see SpanExporter
+ * @see McpServerTracing
+ */
+public final class Tracer {
+
+  private static final Logger log = LoggerFactory.getLogger(Tracer.class);
+
+  /** The {@code _meta} key and HTTP header carrying the W3C trace context. */
+  public static final String TRACEPARENT = "traceparent";
+
+  /** The transport context key of the time the request was received, in epoch nanoseconds. */
+  static final String RECEIVED_AT = "mcp.tracing.receivedAt";
+
+  /** The epoch time in nanoseconds at {@link #ANCHOR_NANO_TIME}. */
+  private static final long ANCHOR_EPOCH_NANOS;
+
+  /** The monotonic time the epoch times are derived from. */
+  private static final long ANCHOR_NANO_TIME;
+
+  static {
+    Instant now = Instant.now();
+    ANCHOR_NANO_TIME = System.nanoTime();
+    ANCHOR_EPOCH_NANOS = TimeUnit.SECONDS.toNanos(now.getEpochSecond()) + now.getNano();
+  }
+
+  /** The current span of each thread. */
+  private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+
+  /** The batch processor of the ended spans, or null if tracing is disabled. */
+  private static volatile BatchSpanProcessor processor;
+
+  /** The fraction of the root spans that are sampled. */
+  private static volatile double sampleRatio = 1.0;
+
+  /** The current tracing configuration, used when the exporter is replaced. */
+  private static volatile McpServerTracing configuration;
+
+  /**
+   * Private constructor to prevent instantiation of this utility class.
+   *
+   * @throws UnsupportedOperationException always thrown when attempting to instantiate
+   */
+  private Tracer() {
+    throw new UnsupportedOperationException("Utility class should not be instantiated");
+  }
+
+  /**
+   * Configures tracing with the specified configuration.
+   *
+   * @param tracing the tracing configuration
+   * @param serviceName the service name reported by the exporters, usually the server name
+   * @throws McpServerConfigurationException if the sample ratio is not between 0 and 1
+   */
+  public static synchronized void configure(McpServerTracing tracing, String serviceName) {
+    if (!tracing.enabled()) {
+      shutdown();
+      return;
+    }
+
+    final double ratio = tracing.sampleRatio();
+    if (ratio < 0.0 || ratio > 1.0) {
+      throw new McpServerConfigurationException(
+          "tracing.sample-ratio must be between 0 and 1, but was " + ratio);
+    }
+
+    SpanExporter exporter =
+        tracing.exporter() == SpanExporterType.OTLP_FILE
+            ? new OtlpJsonFileSpanExporter(Path.of(tracing.file()), serviceName)
+            : new InMemorySpanExporter(tracing.memoryCapacity());
+    sampleRatio = ratio;
+    configuration = tracing;
+    replaceProcessor(exporter);
+    log.info("Tracing enabled with {} exporter, sample ratio {}", tracing.exporter(), ratio);
+  }
+
+  /**
+   * Replaces the span exporter. Tracing must be enabled by {@link #configure(McpServerTracing,
+   * String)} first.
+   *
+   * @param exporter the new span exporter
+   * @throws IllegalStateException if tracing is not enabled
+   */
+  public static synchronized void setExporter(SpanExporter exporter) {
+    if (configuration == null) {
+      throw new IllegalStateException("Tracing is not enabled");
+    }
+    replaceProcessor(exporter);
+  }
+
+  /**
+   * Returns the current span exporter.
+   *
+   * @return the current span exporter, or null if tracing is disabled
+   */
+  @Nullable
+  public static SpanExporter exporter() {
+    BatchSpanProcessor current = processor;
+    return current == null ? null : current.exporter();
+  }
+
+  /** Hands all the ended spans to the exporter on the calling thread. */
+  public static void flush() {
+    BatchSpanProcessor current = processor;
+    if (current != null) {
+      current.flush();
+    }
+  }
+
+  /** Disables tracing, exporting the remaining spans first. */
+  public static synchronized void shutdown() {
+    configuration = null;
+    BatchSpanProcessor current = processor;
+    processor = null;
+    if (current != null) {
+      current.shutdown();
+    }
+  }
+
+  /**
+   * Returns whether tracing is enabled.
+   *
+   * @return {@code true} if tracing is enabled, {@code false} otherwise
+   */
+  public static boolean isEnabled() {
+    return processor != null;
+  }
+
+  /**
+   * Starts an internal span that is a child of the current span of the calling thread, or a new
+   * root span if there is none. The span is not made current.
+   *
+   * @param name the name of the span
+   * @return the started span, a no-op span if tracing is disabled
+   */
+  public static Span startSpan(String name) {
+    if (processor == null) {
+      return Span.NOOP;
+    }
+    return newSpan(name, Span.Kind.INTERNAL, CURRENT.get(), null, nowEpochNanos());
+  }
+
+  /**
+   * Starts the server span of an MCP request. The span is not made current.
+   *
+   * @param name the name of the span, such as {@code tools/call add}
+   * @param meta the {@code _meta} of the request, may be null
+   * @param transportContext the transport context of the request, may be null
+   * @return the started span, a no-op span if tracing is disabled
+   */
+  public static Span startServerSpan(
+      String name,
+      @Nullable Map<String, Object> meta,
+      @Nullable McpTransportContext transportContext) {
+
+    if (processor == null) {
+      return Span.NOOP;
+    }
+
+    SpanContext remoteParent = null;
+    long startEpochNanos = 0;
+    if (meta != null && meta.get(TRACEPARENT) instanceof String traceparent) {
+      remoteParent = SpanContext.parse(traceparent);
+    }
+    if (transportContext != null) {
+      if (remoteParent == null && transportContext.get(TRACEPARENT) instanceof String header) {
+        remoteParent = SpanContext.parse(header);
+      }
+      if (transportContext.get(RECEIVED_AT) instanceof Long receivedAt) {
+        startEpochNanos = receivedAt;
+      }
+    }
+    if (startEpochNanos == 0) {
+      startEpochNanos = nowEpochNanos();
+    }
+    return newSpan(name, Span.Kind.SERVER, CURRENT.get(), remoteParent, startEpochNanos);
+  }
+
+  /**
+   * Returns the current span of the calling thread.
+   *
+   * @return the current span of the calling thread, a no-op span if there is none
+   */
+  public static Span currentSpan() {
+    Span span = CURRENT.get();
+    return span == null ? Span.NOOP : span;
+  }
+
+  /**
+   * Returns the current time in nanoseconds since the epoch, with nanosecond precision.
+   *
+   * @return the current time in nanoseconds since the epoch
+   */
+  public static long nowEpochNanos() {
+    return ANCHOR_EPOCH_NANOS + (System.nanoTime() - ANCHOR_NANO_TIME);
+  }
+
+  /**
+   * Makes the specified span the current span of the calling thread.
+   *
+   * @param span the span to make current
+   * @return the scope to close to restore the previous current span
+   */
+  static Scope makeCurrent(Span span) {
+    if (span == Span.NOOP) {
+      return Scope.NOOP;
+    }
+    Span previous = CURRENT.get();
+    CURRENT.set(span);
+    return () -> {
+      if (previous == null) {
+        CURRENT.remove();
+      } else {
+        CURRENT.set(previous);
+      }
+    };
+  }
+
+  /**
+   * Hands an ended span to the batch processor.
+   *
+   * @param span the ended span
+   */
+  static void export(SpanData span) {
+    BatchSpanProcessor current = processor;
+    if (current != null) {
+      current.onEnd(span);
+    }
+  }
+
+  /**
+   * Creates a new span, inheriting the trace and the sampling decision of its parent.
+   *
+   * @param name the name of the span
+   * @param kind the kind of the span
+   * @param localParent the current span of the calling thread, may be null
+   * @param remoteParent the context propagated by the client, may be null
+   * @param startEpochNanos the start time in nanoseconds since the epoch
+   * @return the new span
+   */
+  private static Span newSpan(
+      String name,
+      Span.Kind kind,
+      @Nullable Span localParent,
+      @Nullable SpanContext remoteParent,
+      long startEpochNanos) {
+
+    SpanContext parent = remoteParent;
+    if (parent == null && localParent != null) {
+      parent = localParent.context();
+    }
+
+    final SpanContext context;
+    final String parentSpanId;
+    if (parent == null || parent == SpanContext.INVALID) {
+      final boolean sampled = ThreadLocalRandom.current().nextDouble() < sampleRatio;
+      context = new SpanContext(SpanContext.newTraceId(), SpanContext.newSpanId(), sampled);
+      parentSpanId = null;
+    } else {
+      context = new SpanContext(parent.traceId(), SpanContext.newSpanId(), parent.sampled());
+      parentSpanId = parent.spanId();
+    }
+    return new Span(context, parentSpanId, name, kind, startEpochNanos);
+  }
+
+  /**
+   * Replaces the batch processor with a new one handing the spans to the specified exporter.
+   *
+   * @param exporter the exporter of the new batch processor
+   */
+  private static void replaceProcessor(SpanExporter exporter) {
+    BatchSpanProcessor previous = processor;
+    processor =
+        new BatchSpanProcessor(exporter, configuration.queueSize(), configuration.exportInterval());
+    if (previous != null) {
+      previous.shutdown();
+    }
+  }
+}
@@ -2,12 +2,22 @@ package com.github.thought2code.mcp.annotated.util;
 
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.util.BufferRecycler;
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+import com.fasterxml.jackson.core.util.RecyclerPool;
+import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.github.thought2code.mcp.annotated.cache.ListResultCache;
+import com.github.thought2code.mcp.annotated.configuration.McpServerJson;
 import com.github.thought2code.mcp.annotated.exception.McpServerConfigurationException;
 import com.github.thought2code.mcp.annotated.exception.McpServerJsonProcessingException;
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.json.jackson.JacksonMcpJsonMapper;
 import java.io.File;
 import java.io.IOException;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.VisibleForTesting;
 
 /**
@@ -16,12 +26,20 @@ import org.jetbrains.annotations.VisibleForTesting;
  * <p>This class provides static methods for serializing and deserializing objects to and from JSON
  * and YAML formats using Jackson.
  *
+ * <p>Each server has its own JSON mapper, created with {@link #createMcpJsonMapper(McpServerJson,
+ * ListResultCache)} and held by its context, so that the tuning of its {@code json} configuration
+ * section and its cached list results do not leak into the mappers of the other servers. The JSON
+ * mapper of this class, returned by {@link #mcpJsonMapper()}, serializes the own JSON documents of
+ * the servers and caches no list result.
+ *
  * @author codeboyzhou
  */
 public final class JacksonHelper {
 
-  /** JSON ObjectMapper instance. */
-  private static final ObjectMapper JSON = new ObjectMapper(new JsonFactory());
+  /** JSON mapper instance, wrapping the JSON ObjectMapper for the MCP SDK. */
+  private static final Immutable<JacksonMcpJsonMapper> JSON_MAPPER =
+      Immutable.of(
+          new JacksonMcpJsonMapper(createJsonMapper(McpServerJson.builder().build(), null)));
 
   /** YAML ObjectMapper instance. */
   private static final ObjectMapper YAML = new ObjectMapper(new YAMLFactory());
@@ -36,6 +54,29 @@ public final class JacksonHelper {
     throw new UnsupportedOperationException("Utility class should not be instantiated");
   }
 
+  /**
+   * Creates a new JSON mapper for the MCP SDK with the specified configuration, serving the list
+   * results from the specified cache and leaving the JSON mapper of this class unchanged.
+   *
+   * @param configuration the JSON mapper configuration
+   * @param listResults the cache of the serialized list results of the server
+   * @return the new JSON mapper for the MCP SDK
+   * @throws McpServerConfigurationException if a Jackson module cannot be registered
+   */
+  public static JacksonMcpJsonMapper createMcpJsonMapper(
+      McpServerJson configuration, ListResultCache listResults) {
+    return new JacksonMcpJsonMapper(createJsonMapper(configuration, listResults));
+  }
+
+  /**
+   * Returns the JSON mapper for the MCP SDK, wrapping the JSON ObjectMapper of this class.
+   *
+   * @return the JSON mapper for the MCP SDK
+   */
+  public static McpJsonMapper mcpJsonMapper() {
+    return JSON_MAPPER.get();
+  }
+
   /**
    * Serialize an object to a JSON string.
    *
@@ -44,7 +85,7 @@ public final class JacksonHelper {
    */
   public static String toJsonString(Object object) {
     try {
-      return JSON.writeValueAsString(object);
+      return JSON_MAPPER.get().getObjectMapper().writeValueAsString(object);
     } catch (JsonProcessingException e) {
       throw new McpServerJsonProcessingException("Error converting object to JSON", e);
     }
@@ -60,7 +101,7 @@ public final class JacksonHelper {
    */
   public static <T> T fromJson(String json, Class<T> valueType) {
     try {
-      return JSON.readValue(json, valueType);
+      return JSON_MAPPER.get().getObjectMapper().readValue(json, valueType);
     } catch (JsonProcessingException e) {
       throw new McpServerJsonProcessingException("Error converting JSON to object", e);
     }
@@ -82,4 +123,40 @@ public final class JacksonHelper {
       throw new McpServerConfigurationException("Error reading YAML file: " + path, e);
     }
   }
+
+  /**
+   * Creates a JSON ObjectMapper with the specified configuration.
+   *
+   * @param configuration the JSON mapper configuration
+   * @param listResults the cache of the serialized list results, or null to cache none
+   * @return the JSON ObjectMapper
+   * @throws McpServerConfigurationException if a Jackson module cannot be registered
+   */
+  private static ObjectMapper createJsonMapper(
+      McpServerJson configuration, @Nullable ListResultCache listResults) {
+    final RecyclerPool<BufferRecycler> recyclerPool =
+        switch (configuration.bufferRecycling()) {
+          case THREAD_LOCAL -> JsonRecyclerPools.threadLocalPool();
+          case SHARED -> JsonRecyclerPools.sharedConcurrentDequePool();
+          case NONE -> JsonRecyclerPools.nonRecyclingPool();
+        };
+    ObjectMapper mapper =
+        new ObjectMapper(JsonFactory.builder().recyclerPool(recyclerPool).build());
+    if (listResults != null) {
+      mapper.registerModule(listResults.module());
+    }
+    if (Boolean.TRUE.equals(configuration.blackbird())) {
+      mapper.registerModule(new BlackbirdModule());
+    }
+    for (String moduleClassName : configuration.modules()) {
+      try {
+        final Class<?> moduleClass = Class.forName(moduleClassName);
+        mapper.registerModule((Module) moduleClass.getDeclaredConstructor().newInstance());
+      } catch (ReflectiveOperationException | ClassCastException e) {
+        throw new McpServerConfigurationException(
+            "Failed to register Jackson module: " + moduleClassName, e);
+      }
+    }
+    return mapper;
+  }
 }
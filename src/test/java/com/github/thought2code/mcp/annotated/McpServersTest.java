@@ -5,16 +5,26 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.github.thought2code.mcp.annotated.configuration.McpConfigurationLoader;
 import com.github.thought2code.mcp.annotated.configuration.McpServerConfiguration;
+import com.github.thought2code.mcp.annotated.configuration.McpServerDiscovery;
+import com.github.thought2code.mcp.annotated.configuration.McpServerPagination;
 import com.github.thought2code.mcp.annotated.configuration.McpServerSSE;
 import com.github.thought2code.mcp.annotated.configuration.McpServerStreamable;
+import com.github.thought2code.mcp.annotated.configuration.McpServerWebSocket;
 import com.github.thought2code.mcp.annotated.enums.JavaTypeToJsonSchemaMapper;
 import com.github.thought2code.mcp.annotated.enums.ServerMode;
+import com.github.thought2code.mcp.annotated.enums.ServerState;
 import com.github.thought2code.mcp.annotated.exception.McpServerConfigurationException;
+import com.github.thought2code.mcp.annotated.reflect.MethodInvoker;
+import com.github.thought2code.mcp.annotated.server.McpServerHandle;
+import com.github.thought2code.mcp.annotated.server.McpServerStats;
 import com.github.thought2code.mcp.annotated.server.McpStructuredContent;
+import com.github.thought2code.mcp.annotated.server.transport.WebSocketClientTransport;
 import com.github.thought2code.mcp.annotated.test.TestMcpStdioServer;
+import com.github.thought2code.mcp.annotated.test.TestMcpToolsInDifferentClasses;
 import com.github.thought2code.mcp.annotated.test.TestMcpToolsStructuredContent;
 import com.github.thought2code.mcp.annotated.util.StringHelper;
 import io.modelcontextprotocol.client.McpClient;
@@ -24,13 +34,17 @@ import io.modelcontextprotocol.client.transport.HttpClientStreamableHttpTranspor
 import io.modelcontextprotocol.client.transport.ServerParameters;
 import io.modelcontextprotocol.client.transport.StdioClientTransport;
 import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.json.TypeRef;
 import io.modelcontextprotocol.spec.McpSchema;
+import java.net.URI;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
-import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 class McpServersTest {
@@ -39,11 +53,6 @@ class McpServersTest {
 
   Duration requestTimeout = Duration.ofSeconds(60);
 
-  @BeforeAll
-  static void setup() {
-    System.setProperty("mcp.server.testing", "true");
-  }
-
   @Test
   void testStartStdioServer_shouldSucceed() {
     TestMcpStdioServer.main(new String[] {}); // just for jacoco coverage report
@@ -111,6 +120,196 @@ class McpServersTest {
     }
   }
 
+  @Test
+  void testStartWebSocketServer_shouldSucceed() {
+    final int port = new Random().nextInt(10000, 11000);
+
+    McpServerConfiguration.Builder configuration =
+        McpServerConfiguration.builder()
+            .name("mcp-server")
+            .version("1.0.0")
+            .instructions("test")
+            .requestTimeout(requestTimeout.toMillis())
+            .websocket(McpServerWebSocket.builder().port(port).build());
+
+    WebSocketClientTransport transport =
+        new WebSocketClientTransport(URI.create("ws://localhost:" + port + "/mcp/ws"));
+
+    McpServerHandle handle = servers.startWebSocketServer(configuration);
+    assertTrue(handle.awaitReady(Duration.ofSeconds(10)));
+
+    try (McpSyncClient client = McpClient.sync(transport).requestTimeout(requestTimeout).build()) {
+      verify(client);
+    } finally {
+      handle.stop(Duration.ofSeconds(5));
+    }
+  }
+
+  @Test
+  void testStartInProcessServer_shouldSucceed() {
+    McpServerConfiguration.Builder configuration =
+        McpServerConfiguration.builder()
+            .name("mcp-server")
+            .version("1.0.0")
+            .instructions("test")
+            .requestTimeout(requestTimeout.toMillis());
+
+    McpServerHandle handle = servers.startInProcessServer(configuration);
+    assertTrue(handle.awaitReady(Duration.ofSeconds(10)));
+
+    try (McpSyncClient client =
+        McpClient.sync(handle.connectInProcess()).requestTimeout(requestTimeout).build()) {
+      verify(client);
+    } finally {
+      handle.stop(Duration.ofSeconds(5));
+    }
+    assertThrows(IllegalStateException.class, handle::connectInProcess);
+  }
+
+  @Test
+  void testWithInstanceProvider_shouldSupplyComponentInstances() {
+    Set<Class<?>> provided = ConcurrentHashMap.newKeySet();
+    servers.withInstanceProvider(
+        type -> {
+          provided.add(type);
+          return MethodInvoker.createInstance(type);
+        });
+    McpServerConfiguration.Builder configuration =
+        McpServerConfiguration.builder().name("mcp-server").version("1.0.0").instructions("test");
+
+    McpServerHandle handle = servers.startInProcessServer(configuration);
+    try (McpSyncClient client = McpClient.sync(handle.connectInProcess()).build()) {
+      client.initialize();
+      McpSchema.CallToolResult result =
+          client.callTool(new McpSchema.CallToolRequest("toolWithIntParam", Map.of("param", 1)));
+
+      assertFalse(result.isError());
+      assertTrue(provided.contains(TestMcpToolsInDifferentClasses.class));
+    } finally {
+      handle.stop(Duration.ofSeconds(5));
+    }
+  }
+
+  @Test
+  void testStartInProcessServer_withPagination_shouldPageListings() {
+    McpServerConfiguration.Builder configuration =
+        McpServerConfiguration.builder()
+            .name("mcp-server")
+            .version("1.0.0")
+            .instructions("test")
+            .requestTimeout(requestTimeout.toMillis())
+            .pagination(McpServerPagination.builder().enabled(true).pageSize(4).build());
+
+    McpServerHandle handle = servers.startInProcessServer(configuration);
+    assertTrue(handle.awaitReady(Duration.ofSeconds(10)));
+
+    try (McpSyncClient client =
+        McpClient.sync(handle.connectInProcess()).requestTimeout(requestTimeout).build()) {
+      verify(client);
+      verifyToolsPaged(client, 4);
+    } finally {
+      handle.stop(Duration.ofSeconds(5));
+    }
+  }
+
+  @Test
+  void testStartInProcessServer_withDiscovery_shouldListSearchToolOnly() {
+    McpServerConfiguration.Builder configuration =
+        McpServerConfiguration.builder()
+            .name("mcp-server")
+            .version("1.0.0")
+            .instructions("test")
+            .requestTimeout(requestTimeout.toMillis())
+            .discovery(McpServerDiscovery.builder().enabled(true).build());
+
+    McpServerHandle handle = servers.startInProcessServer(configuration);
+    assertTrue(handle.awaitReady(Duration.ofSeconds(10)));
+
+    try (McpSyncClient client =
+        McpClient.sync(handle.connectInProcess()).requestTimeout(requestTimeout).build()) {
+      client.initialize();
+      List<McpSchema.Tool> tools = client.listTools().tools();
+      assertEquals(List.of("search_tools"), tools.stream().map(McpSchema.Tool::name).toList());
+
+      McpSchema.CallToolResult found =
+          client.callTool(
+              new McpSchema.CallToolRequest(
+                  "search_tools", Map.of("query", "optional param", "limit", 3)));
+      assertFalse(found.isError());
+      Map<?, ?> structuredContent =
+          McpJsonMapper.getDefault().convertValue(found.structuredContent(), Map.class);
+      List<McpSchema.Tool> foundTools =
+          McpJsonMapper.getDefault()
+              .convertValue(structuredContent.get("tools"), new TypeRef<List<McpSchema.Tool>>() {});
+      assertTrue(foundTools.size() <= 3);
+      assertEquals("toolWithOptionalParam", foundTools.get(0).name());
+
+      McpSchema.CallToolResult called =
+          client.callTool(
+              new McpSchema.CallToolRequest("toolWithOptionalParam", Map.of("param", "value")));
+      assertEquals(
+          "toolWithOptionalParam is called with optional param: value",
+          ((McpSchema.TextContent) called.content().get(0)).text());
+    } finally {
+      handle.stop(Duration.ofSeconds(5));
+    }
+  }
+
+  @Test
+  void testStartStreamableServer_withPagination_shouldPageListings() {
+    final int port = new Random().nextInt(11000, 12000);
+
+    McpServerConfiguration.Builder configuration =
+        McpServerConfiguration.builder()
+            .name("mcp-server")
+            .version("1.0.0")
+            .instructions("test")
+            .requestTimeout(requestTimeout.toMillis())
+            .streamable(McpServerStreamable.builder().port(port).build())
+            .pagination(McpServerPagination.builder().enabled(true).pageSize(4).build());
+
+    HttpClientStreamableHttpTransport transport =
+        HttpClientStreamableHttpTransport.builder("http://localhost:" + port)
+            .endpoint("/mcp/message")
+            .build();
+
+    McpServerHandle handle = servers.startStreamableServer(configuration);
+    assertTrue(handle.awaitReady(Duration.ofSeconds(10)));
+
+    try (McpSyncClient client = McpClient.sync(transport).requestTimeout(requestTimeout).build()) {
+      verify(client);
+      verifyToolsPaged(client, 4);
+    } finally {
+      handle.stop(Duration.ofSeconds(5));
+    }
+  }
+
+  @Test
+  void testStartStreamableServer_shouldReturnHandleStoppingServer() {
+    final int port = new Random().nextInt(9000, 10000);
+
+    McpServerConfiguration.Builder configuration =
+        McpServerConfiguration.builder()
+            .name("mcp-server-handle")
+            .version("1.0.0")
+            .instructions("test")
+            .requestTimeout(requestTimeout.toMillis())
+            .streamable(McpServerStreamable.builder().port(port).build());
+
+    McpServerHandle handle = servers.startStreamableServer(configuration);
+    assertTrue(handle.awaitReady(Duration.ofSeconds(10)));
+    assertTrue(handle.isRunning());
+
+    McpServerStats stats = handle.stats();
+    assertEquals("mcp-server-handle", stats.name());
+    assertEquals(ServerState.RUNNING, stats.state());
+    assertEquals(22, stats.tools());
+
+    handle.stop(Duration.ofSeconds(5));
+    assertEquals(ServerState.STOPPED, handle.state());
+    assertFalse(handle.isRunning());
+  }
+
   @Test
   void testStartServer_useDefaultConfigFileName_shouldSucceed() {
     String configFileName = "mcp-server.yml";
@@ -171,6 +370,20 @@ class McpServersTest {
     verifyToolsCalled(client);
   }
 
+  private void verifyToolsPaged(McpSyncClient client, int pageSize) {
+    List<String> names = new ArrayList<>();
+    String cursor = null;
+    do {
+      McpSchema.ListToolsResult page = client.listTools(cursor);
+      assertTrue(page.tools().size() <= pageSize);
+      page.tools().forEach(tool -> names.add(tool.name()));
+      cursor = page.nextCursor();
+    } while (cursor != null);
+
+    assertEquals(22, names.size());
+    assertEquals(names.stream().sorted().toList(), names);
+  }
+
   private void verifyServerInfo(McpSyncClient client) {
     McpSchema.InitializeResult initialized = client.initialize();
     assertEquals("mcp-server", initialized.serverInfo().name());
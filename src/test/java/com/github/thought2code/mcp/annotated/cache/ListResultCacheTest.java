@@ -0,0 +1,107 @@
+package com.github.thought2code.mcp.annotated.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.thought2code.mcp.annotated.configuration.McpServerJson;
+import com.github.thought2code.mcp.annotated.metrics.McpServerMetrics;
+import com.github.thought2code.mcp.annotated.util.JacksonHelper;
+import io.modelcontextprotocol.spec.McpSchema;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class ListResultCacheTest {
+
+  private final McpSchema.Tool tool =
+      McpSchema.Tool.builder()
+          .name("echo")
+          .description("Echoes the message")
+          .inputSchema(
+              new McpSchema.JsonSchema(
+                  "object", Map.of("message", Map.of("type", "string")), null, null, null, null))
+          .build();
+
+  private final ListResultCache cache = new ListResultCache();
+
+  private final ObjectMapper mapper = mapperOf(cache);
+
+  @Test
+  void testSerialize_shouldServeSameComponentsFromCache() throws Exception {
+    final long hits = metric("hits");
+    final long servedBytes = metric("served-bytes");
+    final ObjectMapper plain = new ObjectMapper();
+    final String expected = plain.writeValueAsString(toolsResponse(List.of(tool)));
+    final int size =
+        plain.writeValueAsBytes(new McpSchema.ListToolsResult(List.of(tool), null)).length;
+
+    final String first = mapper.writeValueAsString(toolsResponse(List.of(tool)));
+    final String second = mapper.writeValueAsString(toolsResponse(List.of(tool)));
+
+    assertEquals(expected, first);
+    assertEquals(expected, second);
+    assertEquals(hits + 1, metric("hits"));
+    final String result =
+        mapper.writeValueAsString(new McpSchema.ListToolsResult(List.of(tool), null));
+    assertEquals(servedBytes + 2L * result.length(), metric("served-bytes"));
+  }
+
+  @Test
+  void testSerialize_shouldSerializeAgainWhenComponentsChange() throws Exception {
+    final long misses = metric("misses");
+    McpSchema.Tool other =
+        McpSchema.Tool.builder().name("other").inputSchema(tool.inputSchema()).build();
+
+    mapper.writeValueAsString(new McpSchema.ListToolsResult(List.of(tool), null));
+    final String changed =
+        mapper.writeValueAsString(new McpSchema.ListToolsResult(List.of(tool, other), null));
+    cache.invalidate();
+    mapper.writeValueAsString(new McpSchema.ListToolsResult(List.of(tool, other), null));
+
+    assertEquals(misses + 3, metric("misses"));
+    assertEquals(
+        2, JacksonHelper.fromJson(changed, McpSchema.ListToolsResult.class).tools().size());
+  }
+
+  @Test
+  void testInvalidate_shouldNotAffectOtherCaches() throws Exception {
+    final ObjectMapper other = mapperOf(new ListResultCache());
+    other.writeValueAsString(toolsResponse(List.of(tool)));
+    mapper.writeValueAsString(toolsResponse(List.of(tool)));
+    final long hits = metric("hits");
+    final long misses = metric("misses");
+
+    cache.invalidate();
+    other.writeValueAsString(toolsResponse(List.of(tool)));
+    mapper.writeValueAsString(toolsResponse(List.of(tool)));
+
+    assertEquals(hits + 1, metric("hits"));
+    assertEquals(misses + 1, metric("misses"));
+  }
+
+  @Test
+  void testSerialize_shouldNotCacheWithDefaultMapper() {
+    final long hits = metric("hits");
+    final long misses = metric("misses");
+
+    JacksonHelper.toJsonString(toolsResponse(List.of(tool)));
+    JacksonHelper.toJsonString(toolsResponse(List.of(tool)));
+
+    assertEquals(hits, metric("hits"));
+    assertEquals(misses, metric("misses"));
+  }
+
+  private static ObjectMapper mapperOf(ListResultCache cache) {
+    return JacksonHelper.createMcpJsonMapper(McpServerJson.builder().build(), cache)
+        .getObjectMapper();
+  }
+
+  private static McpSchema.JSONRPCResponse toolsResponse(List<McpSchema.Tool> tools) {
+    return new McpSchema.JSONRPCResponse(
+        McpSchema.JSONRPC_VERSION, 1, new McpSchema.ListToolsResult(tools, null), null);
+  }
+
+  private static long metric(String name) {
+    return McpServerMetrics.snapshot().getOrDefault("mcp.list-cache." + name, 0L);
+  }
+}
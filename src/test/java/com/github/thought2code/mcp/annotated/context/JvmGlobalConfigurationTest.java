@@ -0,0 +1,43 @@
+package com.github.thought2code.mcp.annotated.context;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.github.thought2code.mcp.annotated.exception.McpServerConfigurationException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class JvmGlobalConfigurationTest {
+
+  private final List<String> applied = new ArrayList<>();
+
+  private int resets;
+
+  private final JvmGlobalConfiguration<String> configuration =
+      new JvmGlobalConfiguration<>("test", applied::add, () -> resets++);
+
+  @Test
+  void testAcquire_shouldRefuseDifferentSectionWhileInUse() {
+    configuration.acquire("a");
+    configuration.acquire("a");
+
+    assertThrows(McpServerConfigurationException.class, () -> configuration.acquire("b"));
+    assertEquals(List.of("a"), applied);
+  }
+
+  @Test
+  void testRelease_shouldResetOnceLastServerReleases() {
+    configuration.acquire("a");
+    configuration.acquire("a");
+
+    configuration.release();
+    assertEquals(0, resets);
+    configuration.release();
+    assertEquals(1, resets);
+
+    assertDoesNotThrow(() -> configuration.acquire("b"));
+    assertEquals(List.of("a", "b"), applied);
+  }
+}
@@ -0,0 +1,108 @@
+package com.github.thought2code.mcp.annotated.diagnostics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.thought2code.mcp.annotated.McpServers;
+import com.github.thought2code.mcp.annotated.configuration.McpServerConfiguration;
+import com.github.thought2code.mcp.annotated.configuration.McpServerSlowCall;
+import com.github.thought2code.mcp.annotated.reflect.MethodCache;
+import com.github.thought2code.mcp.annotated.server.McpServerHandle;
+import com.github.thought2code.mcp.annotated.test.TestMcpTools;
+import io.modelcontextprotocol.client.McpClient;
+import io.modelcontextprotocol.client.McpSyncClient;
+import io.modelcontextprotocol.spec.McpSchema;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SlowCallDetectorTest {
+
+  private MethodCache methodCache;
+
+  @BeforeEach
+  void setUp() throws NoSuchMethodException {
+    methodCache =
+        MethodCache.of(TestMcpTools.class.getMethod("toolWithRequiredParam", String.class));
+    SlowCallDetector.reset();
+  }
+
+  @AfterEach
+  void tearDown() {
+    SlowCallDetector.configure(McpServerSlowCall.builder().build());
+    SlowCallDetector.reset();
+  }
+
+  @Test
+  void testEnd_shouldCaptureCallWithRedactedArgumentsWhenOverThreshold() {
+    SlowCallDetector.configure(McpServerSlowCall.builder().enabled(true).threshold(0L).build());
+
+    SlowCallTracker tracker =
+        SlowCallDetector.begin(methodCache, Map.of("param", "value", "password", "secret"));
+    tracker.bound();
+    tracker.invoked();
+    tracker.end(false);
+
+    List<SlowCall> slowCalls = SlowCallDetector.snapshot();
+    assertEquals(1, slowCalls.size());
+    assertEquals("toolWithRequiredParam", slowCalls.get(0).name());
+    assertEquals("value", slowCalls.get(0).arguments().get("param"));
+    assertEquals("***", slowCalls.get(0).arguments().get("password"));
+  }
+
+  @Test
+  void testEnd_shouldNotCaptureCallWhenUnderThreshold() {
+    SlowCallDetector.configure(
+        McpServerSlowCall.builder()
+            .enabled(true)
+            .thresholds(Map.of("toolWithRequiredParam", 60_000L))
+            .build());
+
+    SlowCallTracker tracker = SlowCallDetector.begin(methodCache, Map.of());
+    tracker.end(false);
+
+    assertTrue(SlowCallDetector.snapshot().isEmpty());
+  }
+
+  @Test
+  void testRecord_shouldDropOldestCallWhenBufferIsFull() {
+    SlowCallDetector.configure(
+        McpServerSlowCall.builder().enabled(true).threshold(0L).bufferSize(2).build());
+
+    for (int i = 0; i < 3; i++) {
+      SlowCallDetector.begin(methodCache, Map.of("param", String.valueOf(i))).end(false);
+    }
+
+    List<SlowCall> slowCalls = SlowCallDetector.snapshot();
+    assertEquals(2, slowCalls.size());
+    assertEquals("2", slowCalls.get(0).arguments().get("param"));
+    assertEquals("1", slowCalls.get(1).arguments().get("param"));
+  }
+
+  @Test
+  void testBegin_shouldCancelSamplerWhenArgumentsCannotBeConverted() {
+    McpServers servers = McpServers.run(TestMcpTools.class, new String[] {});
+    McpServerConfiguration.Builder configuration =
+        McpServerConfiguration.builder()
+            .name("mcp-server")
+            .version("1.0.0")
+            .instructions("test")
+            .slowCall(McpServerSlowCall.builder().enabled(true).threshold(60_000L).build());
+    McpServerHandle handle = servers.startInProcessServer(configuration);
+
+    try (McpSyncClient client = McpClient.sync(handle.connectInProcess()).build()) {
+      client.initialize();
+      McpSchema.CallToolRequest request =
+          new McpSchema.CallToolRequest("toolWithIntParam", Map.of("param", "abc"));
+      assertThrows(RuntimeException.class, () -> client.callTool(request));
+
+      assertEquals(0, SlowCallDetector.scheduledSamplers());
+    } finally {
+      handle.stop(Duration.ofSeconds(5));
+    }
+  }
+}
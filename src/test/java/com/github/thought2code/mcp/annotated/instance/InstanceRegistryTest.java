@@ -0,0 +1,152 @@
+package com.github.thought2code.mcp.annotated.instance;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.thought2code.mcp.annotated.annotation.McpComponentScope;
+import com.github.thought2code.mcp.annotated.enums.InstanceScope;
+import com.github.thought2code.mcp.annotated.exception.McpServerException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class InstanceRegistryTest {
+
+  InstanceRegistry registry = new InstanceRegistry();
+
+  @AfterEach
+  void tearDown() {
+    registry.clear();
+  }
+
+  @Test
+  void testInstancesOf_shouldShareSingletonInstanceByDefault() {
+    ComponentInstances instances = registry.instancesOf(SingletonTools.class);
+
+    assertSame(instances, registry.instancesOf(SingletonTools.class));
+    assertEquals(InstanceScope.SINGLETON, instances.scope());
+    assertSame(instances.apply(Function.identity()), instances.apply(Function.identity()));
+  }
+
+  @Test
+  void testApply_shouldCreateAndCloseInstancePerRequest() {
+    ComponentInstances instances = registry.instancesOf(RequestTools.class);
+
+    RequestTools first = (RequestTools) instances.apply(Function.identity());
+    RequestTools second = (RequestTools) instances.apply(Function.identity());
+
+    assertNotSame(first, second);
+    assertTrue(first.closed);
+  }
+
+  @Test
+  void testApply_shouldReusePooledInstance() {
+    ComponentInstances instances = registry.instancesOf(PooledTools.class);
+
+    Object first = instances.apply(Function.identity());
+
+    assertEquals(InstanceScope.POOLED, instances.scope());
+    assertSame(first, instances.apply(Function.identity()));
+  }
+
+  @Test
+  void testApply_shouldFailWhenNoPooledInstanceIsReturnedInTime() {
+    ComponentInstances instances = registry.instancesOf(PooledTools.class);
+
+    assertThrows(
+        McpServerException.class,
+        () -> instances.apply(outer -> instances.apply(Function.identity())));
+    assertTrue(instances.apply(instance -> instance) instanceof PooledTools);
+  }
+
+  @Test
+  void testClose_shouldClosePooledInstanceReturnedAfterwards() {
+    ComponentInstances instances = registry.instancesOf(PooledTools.class);
+
+    PooledTools borrowed =
+        (PooledTools)
+            instances.apply(
+                instance -> {
+                  instances.close();
+                  assertFalse(((PooledTools) instance).closed);
+                  return instance;
+                });
+
+    assertTrue(borrowed.closed);
+  }
+
+  @Test
+  void testInstancesOf_shouldUseInstalledInstanceProvider() {
+    SingletonTools provided = new SingletonTools();
+    registry.setInstanceProvider(type -> provided);
+
+    assertSame(provided, registry.instancesOf(SingletonTools.class).apply(i -> i));
+  }
+
+  @Test
+  void testEvictIdle_shouldKeepBorrowedSessionInstance() {
+    ComponentInstances.PerSession instances =
+        (ComponentInstances.PerSession) registry.instancesOf(SessionTools.class);
+
+    SessionTools borrowed =
+        (SessionTools)
+            instances.apply(
+                instance -> {
+                  sleepPastIdleTimeout();
+                  instances.evictIdle();
+                  return instance;
+                });
+    assertFalse(borrowed.closed);
+    assertEquals(1, instances.size());
+
+    sleepPastIdleTimeout();
+    instances.evictIdle();
+    assertTrue(borrowed.closed);
+    assertEquals(0, instances.size());
+  }
+
+  private static void sleepPastIdleTimeout() {
+    try {
+      TimeUnit.MILLISECONDS.sleep(5);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  public static class SingletonTools {}
+
+  @McpComponentScope(value = InstanceScope.SESSION, sessionIdleTimeout = 1)
+  public static class SessionTools implements AutoCloseable {
+    private volatile boolean closed;
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+  }
+
+  @McpComponentScope(InstanceScope.REQUEST)
+  public static class RequestTools implements AutoCloseable {
+    private boolean closed;
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+  }
+
+  @McpComponentScope(value = InstanceScope.POOLED, maxPoolSize = 1, poolAcquireTimeout = 50)
+  public static class PooledTools implements AutoCloseable {
+    private volatile boolean closed;
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+  }
+}
@@ -0,0 +1,103 @@
+package com.github.thought2code.mcp.annotated.jfr;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import com.github.thought2code.mcp.annotated.McpServers;
+import com.github.thought2code.mcp.annotated.configuration.McpServerConfiguration;
+import com.github.thought2code.mcp.annotated.server.McpServerHandle;
+import com.github.thought2code.mcp.annotated.test.TestMcpTools;
+import io.modelcontextprotocol.client.McpClient;
+import io.modelcontextprotocol.client.McpSyncClient;
+import io.modelcontextprotocol.spec.McpSchema;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class McpJfrEventTest {
+
+  private static final String TOOL = "toolWithRequiredParam";
+
+  private static final String TOOL_WITHOUT_PARAMS = "toolWithAllDefault";
+
+  @TempDir Path directory;
+
+  @Test
+  void testEvents_shouldBeEmittedWithTheirFieldsWhenEnabled() throws Exception {
+    final Path file = directory.resolve("mcp-server.jfr");
+    try (Recording recording = new Recording()) {
+      for (String name :
+          List.of(
+              ComponentRegistrationEvent.NAME,
+              ArgumentBindingEvent.NAME,
+              MethodInvocationEvent.NAME,
+              ResultBuildingEvent.NAME)) {
+        recording.enable(name).withThreshold(Duration.ZERO);
+      }
+      recording.start();
+      callTool();
+      recording.stop();
+      recording.dump(file);
+    }
+    final List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+    RecordedEvent registration = find(events, ComponentRegistrationEvent.NAME, TOOL);
+    assertEquals("TOOL", registration.getString("componentType"));
+    assertEquals("", registration.getString("sessionId"));
+
+    RecordedEvent binding = find(events, ArgumentBindingEvent.NAME, TOOL);
+    assertEquals("TOOL", binding.getString("componentType"));
+    assertEquals(1, binding.getInt("argumentSize"));
+    assertEquals(1, binding.getInt("parameterCount"));
+
+    RecordedEvent emptyBinding = find(events, ArgumentBindingEvent.NAME, TOOL_WITHOUT_PARAMS);
+    assertEquals(0, emptyBinding.getInt("argumentSize"));
+    assertEquals(0, emptyBinding.getInt("parameterCount"));
+
+    RecordedEvent invocation = find(events, MethodInvocationEvent.NAME, TOOL);
+    assertEquals("TOOL", invocation.getString("componentType"));
+    assertEquals(1, invocation.getInt("argumentSize"));
+    assertFalse(invocation.getBoolean("error"));
+    assertFalse(invocation.getString("sessionId").isEmpty());
+
+    RecordedEvent result = find(events, ResultBuildingEvent.NAME, TOOL);
+    assertEquals("TOOL", result.getString("componentType"));
+    assertEquals(
+        "toolWithRequiredParam is called with required param: value".length(),
+        result.getLong("resultSize"));
+    assertFalse(result.getBoolean("error"));
+  }
+
+  private static void callTool() {
+    McpServerHandle handle =
+        McpServers.run(TestMcpTools.class, new String[] {})
+            .startInProcessServer(
+                McpServerConfiguration.builder()
+                    .name("mcp-server")
+                    .version("1.0.0")
+                    .instructions("test"));
+    try (McpSyncClient client = McpClient.sync(handle.connectInProcess()).build()) {
+      client.initialize();
+      McpSchema.CallToolResult result =
+          client.callTool(new McpSchema.CallToolRequest(TOOL, Map.of("param", "value")));
+      assertFalse(Boolean.TRUE.equals(result.isError()));
+      client.callTool(new McpSchema.CallToolRequest(TOOL_WITHOUT_PARAMS, Map.of()));
+    } finally {
+      handle.stop(Duration.ofSeconds(5));
+    }
+  }
+
+  private static RecordedEvent find(List<RecordedEvent> events, String name, String tool) {
+    return events.stream()
+        .filter(event -> event.getEventType().getName().equals(name))
+        .filter(event -> tool.equals(event.getString("componentName")))
+        .findFirst()
+        .orElseThrow(() -> new AssertionError("No " + name + " event for " + tool));
+  }
+}
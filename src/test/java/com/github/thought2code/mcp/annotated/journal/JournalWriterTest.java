@@ -0,0 +1,64 @@
+package com.github.thought2code.mcp.annotated.journal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.github.thought2code.mcp.annotated.enums.MessageDirection;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class JournalWriterTest {
+
+  private static final String REQUEST =
+      "{\"jsonrpc\":\"2.0\",\"method\":\"tools/call\",\"id\":1,\"params\":{\"name\":\"add\"}}";
+
+  private static final String RESPONSE = "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":{}}";
+
+  private Path file;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    file = Files.createTempFile("mcp-journal", ".journal");
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    Files.deleteIfExists(file);
+  }
+
+  @Test
+  void testClose_shouldWriteEntriesReadableByJournalReader() throws IOException {
+    try (JournalWriter writer = new JournalWriter(file, 16, 60_000L)) {
+      writer.append(new JournalEntry(1L, MessageDirection.INBOUND, "session-1", REQUEST));
+      writer.append(new JournalEntry(2L, MessageDirection.OUTBOUND, "session-1", RESPONSE));
+    }
+    try (JournalWriter writer = new JournalWriter(file, 16, 60_000L)) {
+      writer.append(new JournalEntry(3L, MessageDirection.INBOUND, "stdio", REQUEST));
+    }
+
+    List<JournalEntry> entries = JournalReader.readAll(file);
+    assertEquals(3, entries.size());
+    JournalEntry expected = new JournalEntry(1L, MessageDirection.INBOUND, "session-1", REQUEST);
+    assertEquals(expected, entries.get(0));
+    assertEquals(MessageDirection.OUTBOUND, entries.get(1).direction());
+    assertEquals(RESPONSE, entries.get(1).payload());
+    assertEquals("stdio", entries.get(2).sessionId());
+  }
+
+  @Test
+  void testReadAll_shouldIgnoreTruncatedLastEntry() throws IOException {
+    try (JournalWriter writer = new JournalWriter(file, 16, 60_000L)) {
+      writer.append(new JournalEntry(1L, MessageDirection.INBOUND, "session-1", REQUEST));
+    }
+    Files.write(file, new byte[] {0, 0, 0, 42, 1, 2}, StandardOpenOption.APPEND);
+
+    List<JournalEntry> entries = JournalReader.readAll(file);
+    assertEquals(1, entries.size());
+    assertEquals(REQUEST, entries.get(0).payload());
+  }
+}
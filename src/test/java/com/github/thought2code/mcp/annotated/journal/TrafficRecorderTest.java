@@ -0,0 +1,80 @@
+package com.github.thought2code.mcp.annotated.journal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.github.thought2code.mcp.annotated.configuration.McpServerJournal;
+import com.github.thought2code.mcp.annotated.enums.MessageDirection;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TrafficRecorderTest {
+
+  private static final String REQUEST =
+      "{\"jsonrpc\":\"2.0\",\"method\":\"tools/call\",\"id\":1,\"params\":{\"name\":\"add\"}}";
+
+  private static final String RESPONSE = "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":{}}";
+
+  @TempDir Path directory;
+
+  private Path file;
+
+  @BeforeEach
+  void setUp() {
+    file = directory.resolve("mcp-server.journal");
+    TrafficRecorder.configure(
+        McpServerJournal.builder().enabled(true).file(file.toString()).queueSize(20_000).build());
+  }
+
+  @AfterEach
+  void tearDown() {
+    TrafficRecorder.unbindSession();
+    TrafficRecorder.shutdown();
+  }
+
+  @Test
+  void testRecordOutbound_shouldResolveSessionOfRequestWithSameIdInSameSession()
+      throws IOException {
+    TrafficRecorder.bindSession("session-1");
+    TrafficRecorder.recordInbound(REQUEST, 1, "");
+    TrafficRecorder.bindSession("session-2");
+    TrafficRecorder.recordInbound(REQUEST, 1, "");
+    TrafficRecorder.unbindSession();
+
+    TrafficRecorder.bindResponseSession("session-2");
+    TrafficRecorder.recordOutbound(RESPONSE, 1, "");
+    TrafficRecorder.recordOutbound(RESPONSE, 1, "");
+    assertEquals(0, TrafficRecorder.inFlight());
+    TrafficRecorder.shutdown();
+
+    List<String> outbound =
+        JournalReader.readAll(file).stream()
+            .filter(entry -> entry.direction() == MessageDirection.OUTBOUND)
+            .map(JournalEntry::sessionId)
+            .toList();
+    assertEquals(List.of("session-2", "session-1"), outbound);
+  }
+
+  @Test
+  void testRecordInbound_shouldForgetOldestRequestWhenFull() throws IOException {
+    TrafficRecorder.bindSession("session-1");
+    for (int id = 0; id <= 10_000; id++) {
+      TrafficRecorder.recordInbound(REQUEST, id, "");
+    }
+    TrafficRecorder.unbindSession();
+    assertEquals(10_000, TrafficRecorder.inFlight());
+
+    TrafficRecorder.recordOutbound(RESPONSE, 0, "default");
+    TrafficRecorder.recordOutbound(RESPONSE, 10_000, "default");
+    TrafficRecorder.shutdown();
+
+    List<JournalEntry> entries = JournalReader.readAll(file);
+    assertEquals(10_003, entries.size());
+    assertEquals("default", entries.get(10_001).sessionId());
+    assertEquals("session-1", entries.get(10_002).sessionId());
+  }
+}
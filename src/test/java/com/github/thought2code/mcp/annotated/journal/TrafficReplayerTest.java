@@ -0,0 +1,62 @@
+package com.github.thought2code.mcp.annotated.journal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.github.thought2code.mcp.annotated.McpServers;
+import com.github.thought2code.mcp.annotated.configuration.McpServerConfiguration;
+import com.github.thought2code.mcp.annotated.enums.MessageDirection;
+import com.github.thought2code.mcp.annotated.enums.ReplaySpeed;
+import com.github.thought2code.mcp.annotated.server.McpServerHandle;
+import com.github.thought2code.mcp.annotated.test.TestMcpTools;
+import java.nio.file.Path;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TrafficReplayerTest {
+
+  private static final String REQUEST =
+      "{\"jsonrpc\":\"2.0\",\"method\":\"tools/call\",\"id\":1,"
+          + "\"params\":{\"name\":\"toolWithIntParam\",\"arguments\":{\"param\":1}}}";
+
+  private static final String RESPONSE = "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":{}}";
+
+  private static final long MILLIS = 1_000_000L;
+
+  @TempDir Path directory;
+
+  @Test
+  void testReplay_shouldPairResponsesBySessionAndReplayEachRequest() throws Exception {
+    Path file = directory.resolve("mcp-server.journal");
+    try (JournalWriter writer = new JournalWriter(file, 16, 60_000L)) {
+      writer.append(new JournalEntry(0, MessageDirection.INBOUND, "session-1", REQUEST));
+      writer.append(new JournalEntry(MILLIS, MessageDirection.INBOUND, "session-2", REQUEST));
+      writer.append(new JournalEntry(3 * MILLIS, MessageDirection.OUTBOUND, "session-2", RESPONSE));
+      writer.append(new JournalEntry(6 * MILLIS, MessageDirection.OUTBOUND, "session-1", RESPONSE));
+    }
+
+    McpServers servers = McpServers.run(TestMcpTools.class, new String[] {});
+    McpServerConfiguration.Builder configuration =
+        McpServerConfiguration.builder().name("mcp-server").version("1.0.0").instructions("test");
+    McpServerHandle handle = servers.startInProcessServer(configuration);
+    try {
+      ReplayReport report =
+          TrafficReplayer.builder()
+              .journal(file)
+              .transport(handle::connectInProcess)
+              .speed(ReplaySpeed.MAXIMUM)
+              .build()
+              .replay();
+
+      assertEquals(1, report.entries().size());
+      ReplayReport.Entry entry = report.entries().get(0);
+      assertEquals("tools/call toolWithIntParam", entry.operation());
+      assertEquals(2, entry.requests());
+      assertEquals(0, entry.errors());
+      assertEquals(4.0, entry.recordedMeanMillis(), 1e-9);
+      assertEquals(6.0, entry.recordedP95Millis(), 1e-9);
+    } finally {
+      handle.stop(Duration.ofSeconds(5));
+    }
+  }
+}
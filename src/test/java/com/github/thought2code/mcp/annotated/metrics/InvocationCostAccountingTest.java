@@ -0,0 +1,66 @@
+package com.github.thought2code.mcp.annotated.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.thought2code.mcp.annotated.configuration.McpServerCostAccounting;
+import com.github.thought2code.mcp.annotated.enums.ComponentType;
+import com.github.thought2code.mcp.annotated.exception.McpServerConfigurationException;
+import com.github.thought2code.mcp.annotated.reflect.MethodCache;
+import com.github.thought2code.mcp.annotated.reflect.MethodInvoker;
+import com.github.thought2code.mcp.annotated.test.TestMcpTools;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class InvocationCostAccountingTest {
+
+  private MethodCache methodCache;
+
+  @BeforeEach
+  void setUp() throws NoSuchMethodException {
+    methodCache = MethodCache.of(TestMcpTools.class.getMethod("toolWithAllDefault"));
+    InvocationCostAccounting.reset();
+  }
+
+  @AfterEach
+  void tearDown() {
+    InvocationCostAccounting.configure(McpServerCostAccounting.builder().build());
+    InvocationCostAccounting.reset();
+  }
+
+  @Test
+  void testConfigure_shouldThrowExceptionWhenSampleRateIsOutOfRange() {
+    McpServerCostAccounting config = McpServerCostAccounting.builder().sampleRate(0.0).build();
+    assertThrows(
+        McpServerConfigurationException.class, () -> InvocationCostAccounting.configure(config));
+  }
+
+  @Test
+  void testInvoke_shouldRecordCostPerComponentWhenEnabled() {
+    InvocationCostAccounting.configure(McpServerCostAccounting.builder().enabled(true).build());
+
+    Object instance = MethodInvoker.createInstance(TestMcpTools.class);
+    MethodInvoker.invoke(instance, methodCache);
+    MethodInvoker.invoke(instance, methodCache);
+
+    List<ComponentCost.Snapshot> report = InvocationCostReport.create(10).topByCpuTime();
+    assertEquals(1, report.size());
+    ComponentCost.Snapshot snapshot = report.get(0);
+    assertEquals(ComponentType.TOOL, snapshot.type());
+    assertEquals("toolWithAllDefault", snapshot.name());
+    assertEquals(2, snapshot.samples());
+    assertEquals(0, snapshot.errors());
+    assertTrue(McpServerMetrics.snapshot().containsKey("mcp.cost.tool.toolWithAllDefault.samples"));
+  }
+
+  @Test
+  void testInvoke_shouldNotRecordCostWhenDisabled() {
+    Object instance = MethodInvoker.createInstance(TestMcpTools.class);
+    MethodInvoker.invoke(instance, methodCache);
+
+    assertTrue(InvocationCostReport.create(10).topByCpuTime().isEmpty());
+  }
+}
@@ -0,0 +1,108 @@
+package com.github.thought2code.mcp.annotated.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.github.thought2code.mcp.annotated.configuration.McpServerHttp;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Latency benchmarks of the HTTP transports, run with {@code mvn test -Dmcp.benchmark=true}.
+ *
+ * <p>Each benchmark sends sequential requests over a single keep-alive connection after a warmup,
+ * and logs the mean, p50 and p99 round-trip latencies.
+ */
+@EnabledIfSystemProperty(named = "mcp.benchmark", matches = "true")
+class JettyHttpServerBenchmarkTest {
+
+  private static final Logger log = LoggerFactory.getLogger(JettyHttpServerBenchmarkTest.class);
+
+  private static final int WARMUP_REQUESTS = 5_000;
+
+  private static final int MEASURED_REQUESTS = 20_000;
+
+  private final int port = new Random().nextInt(15000, 16000);
+
+  @TempDir Path directory;
+
+  private Path socket;
+
+  private JettyHttpServer httpServer;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    socket = directory.resolve("mcp.sock");
+    httpServer =
+        new JettyHttpServer()
+            .withTransportProvider(new OkServlet())
+            .withHttpConfiguration(
+                McpServerHttp.builder().unixSocketPath(socket.toString()).build())
+            .bind(port);
+    httpServer.start();
+  }
+
+  @AfterEach
+  void tearDown() {
+    httpServer.stop(Duration.ofSeconds(5));
+  }
+
+  @Test
+  void benchmarkUnixDomainSocketAgainstLoopbackTcp() throws IOException {
+    try (RawHttpClient tcp = RawHttpClient.tcp(port);
+        RawHttpClient unix = RawHttpClient.unix(socket)) {
+      final long[] tcpLatencies = measure(tcp);
+      final long[] unixLatencies = measure(unix);
+      report("loopback TCP", tcpLatencies);
+      report("Unix domain socket", unixLatencies);
+    }
+  }
+
+  private static long[] measure(RawHttpClient client) throws IOException {
+    for (int i = 0; i < WARMUP_REQUESTS; i++) {
+      assertEquals("HTTP/1.1 200 OK", client.get("/mcp"));
+    }
+    long[] latencies = new long[MEASURED_REQUESTS];
+    for (int i = 0; i < MEASURED_REQUESTS; i++) {
+      final long start = System.nanoTime();
+      client.get("/mcp");
+      latencies[i] = System.nanoTime() - start;
+    }
+    Arrays.sort(latencies);
+    return latencies;
+  }
+
+  private static void report(String transport, long[] sortedLatencies) {
+    log.info(
+        "{}: mean {} us, p50 {} us, p99 {} us over {} requests",
+        transport,
+        micros(Arrays.stream(sortedLatencies).average().orElse(0)),
+        micros(sortedLatencies[sortedLatencies.length / 2]),
+        micros(sortedLatencies[(int) (sortedLatencies.length * 0.99)]),
+        sortedLatencies.length);
+  }
+
+  private static String micros(double nanos) {
+    return String.format(Locale.ROOT, "%.1f", nanos / 1000);
+  }
+
+  private static class OkServlet extends HttpServlet {
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) {
+      response.setStatus(HttpServletResponse.SC_OK);
+    }
+  }
+}
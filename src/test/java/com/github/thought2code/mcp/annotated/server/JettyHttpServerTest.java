@@ -0,0 +1,231 @@
+package com.github.thought2code.mcp.annotated.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.thought2code.mcp.annotated.configuration.McpServerCompression;
+import com.github.thought2code.mcp.annotated.configuration.McpServerHttp;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class JettyHttpServerTest {
+
+  @TempDir Path directory;
+
+  private final HttpClient client = HttpClient.newHttpClient();
+
+  private final int port = new Random().nextInt(10000, 11000);
+
+  private JettyHttpServer httpServer;
+
+  @BeforeEach
+  void setUp() {
+    httpServer =
+        new JettyHttpServer()
+            .withTransportProvider(new OkServlet())
+            .withHealthEndpoints("/ready", "/live")
+            .bind(port);
+    httpServer.start();
+  }
+
+  @AfterEach
+  void tearDown() {
+    httpServer.stop(Duration.ofSeconds(5));
+  }
+
+  @Test
+  void testStart_shouldReportReadyAndLive() throws Exception {
+    assertTrue(httpServer.isReady());
+    assertEquals(200, get("/ready", null));
+    assertEquals(200, get("/live", null));
+    assertEquals(200, get("/mcp", null));
+  }
+
+  @Test
+  void testDrain_shouldRejectNewSessionsAndReportNotReady() throws Exception {
+    httpServer.drain();
+
+    assertFalse(httpServer.isReady());
+    assertTrue(httpServer.isRunning());
+    assertEquals(503, get("/ready", null));
+    assertEquals(200, get("/live", null));
+    assertEquals(503, get("/mcp", null));
+    assertEquals(200, get("/mcp", "session-1"));
+  }
+
+  @Test
+  void testStart_withHttp2Cleartext_shouldUpgradeToHttp2() throws Exception {
+    final int h2cPort = port + 1000;
+    JettyHttpServer h2cServer =
+        new JettyHttpServer()
+            .withTransportProvider(new OkServlet())
+            .withHttpConfiguration(McpServerHttp.builder().http2Cleartext(true).build())
+            .bind(h2cPort);
+    h2cServer.start();
+    try {
+      HttpClient h2cClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build();
+      URI uri = URI.create("http://localhost:" + h2cPort + "/mcp");
+      HttpRequest request = HttpRequest.newBuilder(uri).build();
+      HttpResponse<Void> response = h2cClient.send(request, HttpResponse.BodyHandlers.discarding());
+      assertEquals(200, response.statusCode());
+      assertEquals(HttpClient.Version.HTTP_2, response.version());
+    } finally {
+      h2cServer.stop(Duration.ofSeconds(5));
+    }
+  }
+
+  @Test
+  void testStart_withCompression_shouldGzipLargeResponsesOnly() throws Exception {
+    final int gzipPort = port + 2000;
+    JettyHttpServer gzipServer =
+        new JettyHttpServer()
+            .withTransportProvider(new JsonServlet())
+            .withHttpConfiguration(compressed())
+            .bind(gzipPort);
+    gzipServer.start();
+    try {
+      HttpResponse<byte[]> large = getCompressed(gzipPort, "/mcp?size=4096");
+      assertEquals("gzip", large.headers().firstValue("Content-Encoding").orElse(null));
+      try (InputStream body = new GZIPInputStream(new ByteArrayInputStream(large.body()))) {
+        assertEquals(4096 + 2, body.readAllBytes().length);
+      }
+
+      HttpResponse<byte[]> small = getCompressed(gzipPort, "/mcp?size=16");
+      assertFalse(small.headers().firstValue("Content-Encoding").isPresent());
+      assertEquals(16 + 2, small.body().length);
+    } finally {
+      gzipServer.stop(Duration.ofSeconds(5));
+    }
+  }
+
+  @Test
+  void testStart_withCompression_shouldFlushEachServerSentEvent() throws Exception {
+    final int ssePort = port + 3000;
+    SseServlet sseServlet = new SseServlet();
+    JettyHttpServer sseServer =
+        new JettyHttpServer()
+            .withTransportProvider(sseServlet)
+            .withHttpConfiguration(compressed())
+            .bind(ssePort);
+    sseServer.start();
+    try {
+      URI uri = URI.create("http://localhost:" + ssePort + "/mcp");
+      HttpRequest request = HttpRequest.newBuilder(uri).header("Accept-Encoding", "gzip").build();
+      HttpResponse<InputStream> response =
+          client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+      assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null));
+      try (InputStream events = new GZIPInputStream(response.body())) {
+        byte[] first =
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> events.readNBytes(11));
+        assertEquals("data: first", new String(first, StandardCharsets.UTF_8));
+      } finally {
+        sseServlet.release.countDown();
+      }
+    } finally {
+      sseServer.stop(Duration.ofSeconds(5));
+    }
+  }
+
+  @Test
+  void testStart_withUnixDomainSocketOnly_shouldServeLocalClientsWithoutTcp() throws Exception {
+    final int unixPort = port + 4000;
+    Path socket = directory.resolve("mcp.sock");
+    JettyHttpServer unixServer =
+        new JettyHttpServer()
+            .withTransportProvider(new OkServlet())
+            .withHttpConfiguration(
+                McpServerHttp.builder().tcpEnabled(false).unixSocketPath(socket.toString()).build())
+            .bind(unixPort);
+    unixServer.start();
+    try {
+      assertTrue(unixServer.isRunning());
+      try (RawHttpClient unixClient = RawHttpClient.unix(socket)) {
+        assertEquals("HTTP/1.1 200 OK", unixClient.get("/mcp"));
+        assertEquals("HTTP/1.1 200 OK", unixClient.get("/mcp"));
+      }
+      assertThrows(IOException.class, () -> RawHttpClient.tcp(unixPort).close());
+    } finally {
+      unixServer.stop(Duration.ofSeconds(5));
+    }
+    assertFalse(Files.exists(socket));
+  }
+
+  private static McpServerHttp compressed() {
+    McpServerCompression compression =
+        McpServerCompression.builder().enabled(true).minSize(1024).build();
+    return McpServerHttp.builder().compression(compression).build();
+  }
+
+  private HttpResponse<byte[]> getCompressed(int port, String path)
+      throws IOException, InterruptedException {
+    URI uri = URI.create("http://localhost:" + port + path);
+    HttpRequest request = HttpRequest.newBuilder(uri).header("Accept-Encoding", "gzip").build();
+    return client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+  }
+
+  private int get(String path, String sessionId) throws IOException, InterruptedException {
+    URI uri = URI.create("http://localhost:" + port + path);
+    HttpRequest.Builder request = HttpRequest.newBuilder(uri);
+    if (sessionId != null) {
+      request.header("Mcp-Session-Id", sessionId);
+    }
+    return client.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+  }
+
+  private static class OkServlet extends HttpServlet {
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) {
+      response.setStatus(HttpServletResponse.SC_OK);
+    }
+  }
+
+  private static class JsonServlet extends HttpServlet {
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+        throws IOException {
+      final int size = Integer.parseInt(request.getParameter("size"));
+      response.setContentType("application/json");
+      response.getWriter().write("\"" + "a".repeat(size) + "\"");
+    }
+  }
+
+  private static class SseServlet extends HttpServlet {
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+        throws IOException {
+      response.setContentType("text/event-stream");
+      response.getWriter().write("data: first\n\n");
+      response.flushBuffer();
+      try {
+        release.await(30, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
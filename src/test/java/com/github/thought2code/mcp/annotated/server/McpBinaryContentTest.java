@@ -0,0 +1,73 @@
+package com.github.thought2code.mcp.annotated.server;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.github.thought2code.mcp.annotated.exception.McpServerException;
+import io.modelcontextprotocol.spec.McpSchema;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class McpBinaryContentTest {
+
+  @TempDir Path directory;
+
+  @Test
+  void testImage_shouldEncodeEverySourceAlike() throws Exception {
+    byte[] bytes = new byte[200_003];
+    new Random(42).nextBytes(bytes);
+    final String expected = Base64.getEncoder().encodeToString(bytes);
+
+    ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length + 10);
+    direct.position(10);
+    direct.put(bytes).position(10);
+    ByteBuffer slice = ByteBuffer.wrap(new byte[bytes.length + 7], 7, bytes.length).slice();
+    slice.put(bytes).flip();
+    Path file = Files.write(directory.resolve("image.png"), bytes);
+
+    assertEquals(expected, data(McpBinaryContent.image(bytes, "image/png")));
+    assertEquals(expected, data(McpBinaryContent.image(direct, "image/png")));
+    assertEquals(10, direct.position());
+    assertEquals(expected, data(McpBinaryContent.image(slice.asReadOnlyBuffer(), "image/png")));
+    assertEquals(expected, data(McpBinaryContent.image(file, "image/png")));
+  }
+
+  @Test
+  void testAudio_shouldConvertIntoAudioContent() {
+    McpBinaryContent audio =
+        McpBinaryContent.audio(ByteBuffer.wrap(new byte[] {1, 2}), "audio/wav");
+
+    McpSchema.AudioContent content =
+        assertInstanceOf(McpSchema.AudioContent.class, audio.toContent());
+    assertArrayEquals(new byte[] {1, 2}, Base64.getDecoder().decode(content.data()));
+    assertEquals("audio/wav", content.mimeType());
+    assertThrows(
+        McpServerException.class,
+        () -> McpBinaryContent.audio(directory.resolve("missing.wav"), "audio/wav"));
+  }
+
+  @Test
+  void testMixedContent_shouldKeepPartsInOrder() {
+    McpMixedContent mixed =
+        McpMixedContent.of("chart", McpBinaryContent.image(new byte[] {1, 2, 3}, "image/png"), 42);
+
+    List<McpSchema.Content> contents = mixed.contents();
+    assertEquals(3, contents.size());
+    assertEquals("chart", ((McpSchema.TextContent) contents.get(0)).text());
+    assertEquals("AQID", ((McpSchema.ImageContent) contents.get(1)).data());
+    assertEquals("42", ((McpSchema.TextContent) contents.get(2)).text());
+    assertEquals(11, mixed.size());
+  }
+
+  private static String data(McpBinaryContent content) {
+    return assertInstanceOf(McpSchema.ImageContent.class, content.toContent()).data();
+  }
+}
@@ -0,0 +1,61 @@
+package com.github.thought2code.mcp.annotated.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.github.thought2code.mcp.annotated.util.JacksonHelper;
+import io.modelcontextprotocol.json.schema.JsonSchemaValidator;
+import io.modelcontextprotocol.spec.McpSchema;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class McpRawJsonTest {
+
+  private static final String JSON = "{\"city\": \"New York\",  \"temperature\": 25}";
+
+  @Test
+  void testSerialize_shouldWriteJsonAsIs() {
+    McpSchema.CallToolResult result =
+        McpSchema.CallToolResult.builder()
+            .content(List.of())
+            .structuredContent(McpRawJson.of(JSON))
+            .build();
+
+    String json = JacksonHelper.toJsonString(result);
+
+    assertTrue(json.contains("\"structuredContent\":" + JSON), json);
+  }
+
+  @Test
+  void testSerialize_shouldWriteTreeToBinaryGenerator() throws IOException {
+    CBORMapper cbor = new CBORMapper();
+
+    byte[] bytes = cbor.writeValueAsBytes(McpRawJson.of(JSON));
+
+    assertEquals(Map.of("city", "New York", "temperature", 25), cbor.readValue(bytes, Map.class));
+  }
+
+  @Test
+  void testValidate_shouldSkipRawJson() {
+    RawJsonSchemaValidator validator = new RawJsonSchemaValidator();
+    Map<String, Object> schema = Map.of("type", "object", "required", List.of("missing"));
+
+    JsonSchemaValidator.ValidationResponse response =
+        validator.validate(schema, McpRawJson.of(JSON));
+
+    assertTrue(response.valid());
+    assertEquals(JSON, response.jsonStructuredOutput());
+  }
+
+  @Test
+  void testAsTextSummary_shouldTruncateTextContent() {
+    McpRawJson rawJson = McpRawJson.of(JSON, "New York: 25°C");
+
+    assertEquals("New York: 25°C", rawJson.asTextContent());
+    assertEquals("New York", rawJson.asTextSummary(8));
+    assertEquals(JSON, McpRawJson.of(JSON).asTextSummary(JSON.length() + 1));
+  }
+}
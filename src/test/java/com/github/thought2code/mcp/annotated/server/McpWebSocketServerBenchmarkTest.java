@@ -0,0 +1,119 @@
+package com.github.thought2code.mcp.annotated.server;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.thought2code.mcp.annotated.McpServers;
+import com.github.thought2code.mcp.annotated.configuration.McpServerConfiguration;
+import com.github.thought2code.mcp.annotated.configuration.McpServerStreamable;
+import com.github.thought2code.mcp.annotated.configuration.McpServerWebSocket;
+import com.github.thought2code.mcp.annotated.server.transport.WebSocketClientTransport;
+import com.github.thought2code.mcp.annotated.test.TestMcpStdioServer;
+import io.modelcontextprotocol.client.McpClient;
+import io.modelcontextprotocol.client.McpSyncClient;
+import io.modelcontextprotocol.client.transport.HttpClientStreamableHttpTransport;
+import io.modelcontextprotocol.spec.McpClientTransport;
+import io.modelcontextprotocol.spec.McpSchema;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Per-call latency benchmark of the WebSocket transport against the Streamable HTTP transport, run
+ * with {@code mvn test -Dmcp.benchmark=true}.
+ *
+ * <p>Each benchmark calls the same tool sequentially with the SDK client after a warmup, and logs
+ * the mean, p50 and p99 round-trip latencies.
+ */
+@EnabledIfSystemProperty(named = "mcp.benchmark", matches = "true")
+class McpWebSocketServerBenchmarkTest {
+
+  private static final Logger log = LoggerFactory.getLogger(McpWebSocketServerBenchmarkTest.class);
+
+  private static final int WARMUP_CALLS = 5_000;
+
+  private static final int MEASURED_CALLS = 20_000;
+
+  private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+  private final McpServers servers = McpServers.run(TestMcpStdioServer.class, new String[] {});
+
+  @Test
+  void benchmarkWebSocketAgainstStreamable() {
+    final int streamablePort = new Random().nextInt(16000, 16500);
+    final int websocketPort = new Random().nextInt(16500, 17000);
+
+    McpServerHandle streamable =
+        servers.startStreamableServer(
+            configuration().streamable(McpServerStreamable.builder().port(streamablePort).build()));
+    McpServerHandle websocket =
+        servers.startWebSocketServer(
+            configuration().websocket(McpServerWebSocket.builder().port(websocketPort).build()));
+    try {
+      assertTrue(streamable.awaitReady(Duration.ofSeconds(10)));
+      assertTrue(websocket.awaitReady(Duration.ofSeconds(10)));
+
+      final long[] streamableLatencies =
+          measure(
+              HttpClientStreamableHttpTransport.builder("http://localhost:" + streamablePort)
+                  .endpoint("/mcp/message")
+                  .build());
+      final long[] websocketLatencies =
+          measure(
+              new WebSocketClientTransport(
+                  URI.create("ws://localhost:" + websocketPort + "/mcp/ws")));
+      report("STREAMABLE", streamableLatencies);
+      report("WEBSOCKET", websocketLatencies);
+    } finally {
+      streamable.stop(Duration.ofSeconds(5));
+      websocket.stop(Duration.ofSeconds(5));
+    }
+  }
+
+  private static McpServerConfiguration.Builder configuration() {
+    return McpServerConfiguration.builder()
+        .name("mcp-server-benchmark")
+        .version("1.0.0")
+        .instructions("benchmark")
+        .requestTimeout(REQUEST_TIMEOUT.toMillis());
+  }
+
+  private static long[] measure(McpClientTransport transport) {
+    McpSchema.CallToolRequest request =
+        new McpSchema.CallToolRequest("toolWithAllDefault", Map.of());
+    try (McpSyncClient client = McpClient.sync(transport).requestTimeout(REQUEST_TIMEOUT).build()) {
+      client.initialize();
+      for (int i = 0; i < WARMUP_CALLS; i++) {
+        client.callTool(request);
+      }
+      long[] latencies = new long[MEASURED_CALLS];
+      for (int i = 0; i < MEASURED_CALLS; i++) {
+        final long start = System.nanoTime();
+        client.callTool(request);
+        latencies[i] = System.nanoTime() - start;
+      }
+      Arrays.sort(latencies);
+      return latencies;
+    }
+  }
+
+  private static void report(String mode, long[] sortedLatencies) {
+    log.info(
+        "{}: mean {} us, p50 {} us, p99 {} us over {} calls",
+        mode,
+        micros(Arrays.stream(sortedLatencies).average().orElse(0)),
+        micros(sortedLatencies[sortedLatencies.length / 2]),
+        micros(sortedLatencies[(int) (sortedLatencies.length * 0.99)]),
+        sortedLatencies.length);
+  }
+
+  private static String micros(double nanos) {
+    return String.format(Locale.ROOT, "%.1f", nanos / 1000);
+  }
+}
@@ -0,0 +1,91 @@
+package com.github.thought2code.mcp.annotated.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * A minimal HTTP/1.1 client over a single keep-alive connection, on TCP or on a Unix domain socket
+ * which the JDK HTTP client does not support.
+ */
+final class RawHttpClient implements AutoCloseable {
+
+  private static final byte[] HEADERS_END = "\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+
+  private final SocketChannel channel;
+
+  private final ByteBuffer buffer = ByteBuffer.allocate(8192);
+
+  private RawHttpClient(SocketAddress address) throws IOException {
+    this.channel = SocketChannel.open(address);
+  }
+
+  static RawHttpClient tcp(int port) throws IOException {
+    return new RawHttpClient(new InetSocketAddress("localhost", port));
+  }
+
+  static RawHttpClient unix(Path path) throws IOException {
+    return new RawHttpClient(UnixDomainSocketAddress.of(path));
+  }
+
+  /** Sends a GET request and returns the status line of the response, consuming its body. */
+  String get(String path) throws IOException {
+    final String request = "GET " + path + " HTTP/1.1\r\nHost: localhost\r\n\r\n";
+    channel.write(ByteBuffer.wrap(request.getBytes(StandardCharsets.US_ASCII)));
+
+    ByteArrayOutputStream response = new ByteArrayOutputStream();
+    int headersEnd;
+    while ((headersEnd = indexOf(response.toByteArray(), HEADERS_END)) < 0) {
+      read(response);
+    }
+    final String headers =
+        response.toString(StandardCharsets.US_ASCII).substring(0, headersEnd + HEADERS_END.length);
+    final int length = headersEnd + HEADERS_END.length + contentLength(headers);
+    while (response.size() < length) {
+      read(response);
+    }
+    return headers.substring(0, headers.indexOf("\r\n"));
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  private void read(ByteArrayOutputStream response) throws IOException {
+    buffer.clear();
+    if (channel.read(buffer) < 0) {
+      throw new IOException("Connection closed by the server");
+    }
+    response.write(buffer.array(), 0, buffer.position());
+  }
+
+  private static int contentLength(String headers) {
+    for (String line : headers.split("\r\n")) {
+      if (line.toLowerCase(Locale.ROOT).startsWith("content-length:")) {
+        return Integer.parseInt(line.substring("content-length:".length()).trim());
+      }
+    }
+    return 0;
+  }
+
+  private static int indexOf(byte[] bytes, byte[] target) {
+    for (int i = 0; i <= bytes.length - target.length; i++) {
+      int j = 0;
+      while (j < target.length && bytes[i + j] == target[j]) {
+        j++;
+      }
+      if (j == target.length) {
+        return i;
+      }
+    }
+    return -1;
+  }
+}
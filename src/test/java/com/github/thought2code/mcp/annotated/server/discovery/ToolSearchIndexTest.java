@@ -0,0 +1,60 @@
+package com.github.thought2code.mcp.annotated.server.discovery;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.modelcontextprotocol.spec.McpSchema;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class ToolSearchIndexTest {
+
+  private final ToolSearchIndex index = new ToolSearchIndex();
+
+  @Test
+  void testSearch_shouldRankMostRelevantToolsFirst() {
+    index.add(tool("get_weather", "Returns the weather forecast of a city", "city"));
+    index.add(tool("send_mail", "Sends a mail to a recipient", "recipient"));
+    index.add(tool("geocode", "Returns the coordinates of a city", "address"));
+
+    assertEquals(List.of("get_weather", "geocode"), names(index.search("city weather", 10)));
+    assertEquals(List.of("get_weather"), names(index.search("city weather", 1)));
+    assertEquals(List.of("send_mail"), names(index.search("recipient", 10)));
+    assertEquals(List.of(), names(index.search("unknown", 10)));
+  }
+
+  @Test
+  void testAddAndRemove_shouldUpdateIndexIncrementally() {
+    index.add(tool("get_weather", "Returns the weather forecast", "city"));
+    index.add(tool("send_mail", "Sends a mail", "recipient"));
+
+    index.add(tool("send_mail", "Sends a weather report", "recipient"));
+    assertEquals(List.of("get_weather", "send_mail"), names(index.search("weather", 10)));
+
+    index.remove("get_weather");
+    assertEquals(1, index.size());
+    assertEquals(List.of("send_mail"), names(index.search("weather", 10)));
+    assertEquals(List.of(), names(index.search("forecast", 10)));
+  }
+
+  @Test
+  void testTokenize_shouldSplitCamelCaseAndIdeographs() {
+    assertEquals(List.of("get", "user", "name", "42"), ToolSearchIndex.tokenize("getUserName_42"));
+    assertEquals(List.of("天", "气", "api"), ToolSearchIndex.tokenize("天气API"));
+  }
+
+  private static McpSchema.Tool tool(String name, String description, String parameter) {
+    McpSchema.JsonSchema inputSchema =
+        new McpSchema.JsonSchema(
+            "object", Map.of(parameter, Map.of("type", "string")), null, null, null, null);
+    return McpSchema.Tool.builder()
+        .name(name)
+        .description(description)
+        .inputSchema(inputSchema)
+        .build();
+  }
+
+  private static List<String> names(List<McpSchema.Tool> tools) {
+    return tools.stream().map(McpSchema.Tool::name).toList();
+  }
+}
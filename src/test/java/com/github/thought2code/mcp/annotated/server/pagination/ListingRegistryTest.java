@@ -0,0 +1,61 @@
+package com.github.thought2code.mcp.annotated.server.pagination;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpSchema;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ListingRegistryTest {
+
+  private final ListingRegistry registry = new ListingRegistry();
+
+  @Test
+  void testPage_shouldServeComponentsInOrderPageByPage() {
+    List.of("e", "c", "a", "d", "b").forEach(name -> registry.add(prompt(name)));
+
+    McpSchema.ListPromptsResult first = page(null);
+    McpSchema.ListPromptsResult second = page(first.nextCursor());
+    McpSchema.ListPromptsResult last = page(second.nextCursor());
+
+    assertEquals(List.of("a", "b"), names(first));
+    assertEquals(List.of("c", "d"), names(second));
+    assertEquals(List.of("e"), names(last));
+    assertNull(last.nextCursor());
+  }
+
+  @Test
+  void testPage_shouldKeepCursorValidWhenComponentsAreRegistered() {
+    List.of("a", "b", "c", "d").forEach(name -> registry.add(prompt(name)));
+
+    McpSchema.ListPromptsResult first = page(null);
+    registry.add(prompt("aa"));
+    registry.add(prompt("bb"));
+
+    assertEquals(List.of("bb", "c"), names(page(first.nextCursor())));
+  }
+
+  @Test
+  void testPage_shouldThrowExceptionForInvalidCursor() {
+    McpError error =
+        assertThrows(
+            McpError.class, () -> registry.page(McpSchema.METHOD_TOOLS_LIST, "not a cursor!", 2));
+
+    assertEquals(McpSchema.ErrorCodes.INVALID_PARAMS, error.getJsonRpcError().code());
+  }
+
+  private McpSchema.ListPromptsResult page(String cursor) {
+    return (McpSchema.ListPromptsResult) registry.page(McpSchema.METHOD_PROMPT_LIST, cursor, 2);
+  }
+
+  private static McpSchema.Prompt prompt(String name) {
+    return new McpSchema.Prompt(name, name, List.of());
+  }
+
+  private static List<String> names(McpSchema.ListPromptsResult result) {
+    return result.prompts().stream().map(McpSchema.Prompt::name).toList();
+  }
+}
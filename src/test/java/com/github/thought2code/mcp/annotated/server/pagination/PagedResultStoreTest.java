@@ -0,0 +1,134 @@
+package com.github.thought2code.mcp.annotated.server.pagination;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.thought2code.mcp.annotated.configuration.McpServerResultPagination;
+import com.github.thought2code.mcp.annotated.metrics.McpServerMetrics;
+import com.github.thought2code.mcp.annotated.reflect.Invocation;
+import com.github.thought2code.mcp.annotated.reflect.MethodCache;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class PagedResultStoreTest {
+
+  private final AtomicLong clock = new AtomicLong();
+
+  private final PagedResultStore store = new PagedResultStore(clock::get);
+
+  @AfterEach
+  void tearDown() {
+    store.clear();
+  }
+
+  @Test
+  void testFirstPage_shouldServeStreamPageByPageWithNewCursors() throws Exception {
+    store.configure(resultPagination(10), "test");
+    AtomicInteger closed = new AtomicInteger();
+    Stream<Integer> items = IntStream.range(0, 25).boxed().onClose(closed::incrementAndGet);
+
+    PagedResultStore.Page page = firstPage(McpPage.of(items));
+    List<String> lines = new ArrayList<>(List.of(page.text().split("\n")).subList(0, 10));
+    List<String> cursors = new ArrayList<>();
+    while (page.nextCursor() != null) {
+      cursors.add(page.nextCursor());
+      assertEquals(page.nextCursor(), page.meta().get("nextCursor"));
+      page = store.next(page.nextCursor()).orElseThrow();
+      List<String> pageLines = List.of(page.text().split("\n"));
+      lines.addAll(pageLines.subList(0, Math.min(10, pageLines.size())));
+    }
+
+    assertEquals(IntStream.range(0, 25).mapToObj(String::valueOf).toList(), lines);
+    assertEquals(2, cursors.size());
+    assertNotEquals(cursors.get(0), cursors.get(1));
+    assertFalse(store.next(cursors.get(0)).isPresent());
+    assertEquals(1, closed.get());
+    assertEquals(0, store.size());
+  }
+
+  @Test
+  void testFirstPage_shouldReexecuteQueryForEachPage() throws Exception {
+    store.configure(resultPagination(2), "test");
+    List<String> calls = new ArrayList<>();
+    McpPage<String> query =
+        McpPage.query(
+            (offset, limit) -> {
+              calls.add(offset + ":" + limit);
+              return List.of("a", "b", "c", "d", "e")
+                  .subList(Math.min(offset, 5), Math.min(offset + limit, 5));
+            });
+
+    PagedResultStore.Page page = firstPage(query);
+    page = store.next(page.nextCursor()).orElseThrow();
+    page = store.next(page.nextCursor()).orElseThrow();
+
+    assertEquals("e", page.text());
+    assertNull(page.nextCursor());
+    assertEquals(List.of("0:3", "2:3", "4:3"), calls);
+  }
+
+  @Test
+  void testNext_shouldCloseExpiredAndEvictedPages() throws Exception {
+    McpServerResultPagination resultPagination =
+        McpServerResultPagination.builder().enabled(true).pageSize(1).maxCursors(2).build();
+    store.configure(resultPagination, "test");
+    AtomicInteger closed = new AtomicInteger();
+
+    String evicted = firstPage(closeable(closed)).nextCursor();
+    firstPage(closeable(closed));
+    firstPage(closeable(closed));
+    assertEquals(2, store.size());
+    assertEquals(1, closed.get());
+    assertFalse(store.next(evicted).isPresent());
+
+    clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(resultPagination.ttl()));
+    assertFalse(store.next("unknown").isPresent());
+    assertEquals(0, store.size());
+    assertEquals(3, closed.get());
+  }
+
+  @Test
+  void testConfigure_shouldRegisterGaugeOfEachServerUntilCleared() throws Exception {
+    final PagedResultStore other = new PagedResultStore(clock::get);
+    store.configure(resultPagination(1), "test");
+    other.configure(resultPagination(1), "other");
+    firstPage(McpPage.of(Stream.of(1, 2, 3)));
+
+    assertEquals(1L, McpServerMetrics.snapshot().get("mcp.result-pagination.test.cursors"));
+    assertEquals(0L, McpServerMetrics.snapshot().get("mcp.result-pagination.other.cursors"));
+    other.clear();
+    assertFalse(McpServerMetrics.snapshot().containsKey("mcp.result-pagination.other.cursors"));
+    store.clear();
+    assertFalse(McpServerMetrics.snapshot().containsKey("mcp.result-pagination.test.cursors"));
+  }
+
+  private PagedResultStore.Page firstPage(McpPage<?> page) throws Exception {
+    MethodCache methodCache =
+        MethodCache.of(PagedResultStoreTest.class.getDeclaredMethod("tearDown"));
+    Invocation invocation = store.firstPage(methodCache, Invocation.builder().result(page).build());
+    assertFalse(invocation.isError());
+    PagedResultStore.Page first =
+        assertInstanceOf(PagedResultStore.Page.class, invocation.result());
+    assertTrue(first.nextCursor() == null || first.text().endsWith(first.nextCursor()));
+    return first;
+  }
+
+  private static McpPage<Integer> closeable(AtomicInteger closed) {
+    return McpPage.of(Stream.of(1, 2, 3).onClose(closed::incrementAndGet));
+  }
+
+  private static McpServerResultPagination resultPagination(int pageSize) {
+    return McpServerResultPagination.builder().enabled(true).pageSize(pageSize).build();
+  }
+}
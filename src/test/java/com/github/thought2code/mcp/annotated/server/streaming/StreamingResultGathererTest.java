@@ -0,0 +1,152 @@
+package com.github.thought2code.mcp.annotated.server.streaming;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.github.thought2code.mcp.annotated.configuration.McpServerStreaming;
+import com.github.thought2code.mcp.annotated.reflect.Invocation;
+import com.github.thought2code.mcp.annotated.reflect.MethodCache;
+import com.github.thought2code.mcp.annotated.server.McpProgressReporter;
+import com.github.thought2code.mcp.annotated.test.TestMcpTools;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import io.modelcontextprotocol.spec.McpSchema;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class StreamingResultGathererTest {
+
+  private final McpProgressReporter noProgress = new McpProgressReporter(null, null);
+
+  @Test
+  void testGather_shouldGatherStreamItemsAndReportProgress() {
+    McpSyncServerExchange exchange = mock(McpSyncServerExchange.class);
+    McpProgressReporter reporter = new McpProgressReporter(exchange, "token");
+    AtomicBoolean closed = new AtomicBoolean();
+
+    String text =
+        gatherer(10, 0L).gather(Stream.of("a", "b", "c").onClose(() -> closed.set(true)), reporter);
+
+    assertEquals("a\nb\nc", text);
+    assertTrue(closed.get());
+    ArgumentCaptor<McpSchema.ProgressNotification> notifications =
+        ArgumentCaptor.forClass(McpSchema.ProgressNotification.class);
+    verify(exchange, times(3)).progressNotification(notifications.capture());
+    McpSchema.ProgressNotification last = notifications.getValue();
+    assertEquals("token", last.progressToken());
+    assertEquals(3.0, last.progress());
+    assertEquals(3.0, last.total());
+  }
+
+  @Test
+  void testGather_shouldPullPublisherItemsLazilyAndTruncate() {
+    AtomicLong requested = new AtomicLong();
+    AtomicBoolean cancelled = new AtomicBoolean();
+    Flow.Publisher<Integer> naturals =
+        subscriber ->
+            subscriber.onSubscribe(
+                new Flow.Subscription() {
+                  private int next;
+
+                  @Override
+                  public void request(long n) {
+                    requested.addAndGet(n);
+                    for (long i = 0; i < n && !cancelled.get(); i++) {
+                      subscriber.onNext(next++);
+                    }
+                  }
+
+                  @Override
+                  public void cancel() {
+                    cancelled.set(true);
+                  }
+                });
+
+    String text = gatherer(5, 100L).gather(naturals, noProgress);
+
+    assertEquals(
+        List.of("0", "1", "2", "3", "4", "", "The result is truncated after 5 items"),
+        text.lines().toList());
+    assertTrue(cancelled.get());
+    assertTrue(requested.get() <= 5 + 1 + 2, "requested " + requested.get());
+  }
+
+  @Test
+  void testGather_shouldReportFailureOfStreamingResultAsError() throws NoSuchMethodException {
+    MethodCache methodCache = MethodCache.of(TestMcpTools.class.getMethod("toolWithAllDefault"));
+    Iterator<String> failing =
+        new Iterator<>() {
+          @Override
+          public boolean hasNext() {
+            return true;
+          }
+
+          @Override
+          public String next() {
+            throw new IllegalStateException("broken");
+          }
+        };
+
+    Invocation invocation =
+        gatherer(10, 100L).gather(methodCache, new Invocation(failing, false), noProgress);
+    Invocation plain =
+        gatherer(10, 100L).gather(methodCache, new Invocation("plain", false), noProgress);
+
+    assertTrue(invocation.isError());
+    assertTrue(invocation.result().toString().contains("broken"));
+    assertFalse(plain.isError());
+    assertEquals("plain", plain.result());
+  }
+
+  @Test
+  void testGather_shouldCancelStalledPublisherAfterItemTimeout() throws NoSuchMethodException {
+    MethodCache methodCache = MethodCache.of(TestMcpTools.class.getMethod("toolWithAllDefault"));
+    AtomicBoolean cancelled = new AtomicBoolean();
+    Flow.Publisher<Integer> stalled =
+        subscriber ->
+            subscriber.onSubscribe(
+                new Flow.Subscription() {
+                  private boolean published;
+
+                  @Override
+                  public void request(long n) {
+                    if (!published) {
+                      published = true;
+                      subscriber.onNext(1);
+                    }
+                  }
+
+                  @Override
+                  public void cancel() {
+                    cancelled.set(true);
+                  }
+                });
+    StreamingResultGatherer gatherer =
+        new StreamingResultGatherer(McpServerStreaming.builder().itemTimeout(50L).build());
+
+    Invocation invocation =
+        gatherer.gather(methodCache, new Invocation(stalled, false), noProgress);
+
+    assertTrue(invocation.isError());
+    assertTrue(invocation.result().toString().contains("No item published within 50 ms"));
+    assertTrue(cancelled.get());
+  }
+
+  private static StreamingResultGatherer gatherer(int maxItems, long progressInterval) {
+    return new StreamingResultGatherer(
+        McpServerStreaming.builder()
+            .maxItems(maxItems)
+            .bufferSize(2)
+            .progressInterval(progressInterval)
+            .build());
+  }
+}
@@ -0,0 +1,133 @@
+package com.github.thought2code.mcp.annotated.server.transport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.spec.McpSchema;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Payload size and encode/decode CPU benchmark of the CBOR encoding against the JSON encoding, run
+ * with {@code mvn test -Dmcp.benchmark=true}.
+ *
+ * <p>Each benchmark encodes and decodes the response of a representative tool call the way the
+ * WebSocket transport does, after a warmup, and logs the payload sizes and the mean times.
+ */
+@EnabledIfSystemProperty(named = "mcp.benchmark", matches = "true")
+class CborCodecBenchmarkTest {
+
+  private static final Logger log = LoggerFactory.getLogger(CborCodecBenchmarkTest.class);
+
+  private static final int WARMUP_ITERATIONS = 2_000;
+
+  private static final int MEASURED_ITERATIONS = 5_000;
+
+  private final McpJsonMapper jsonMapper = McpJsonMapper.getDefault();
+
+  @Test
+  void benchmarkSmallTextResult() throws IOException {
+    benchmark(
+        "small text", McpSchema.CallToolResult.builder().addTextContent("Hello, world!").build());
+  }
+
+  @Test
+  void benchmarkStructuredResult() throws IOException {
+    List<Map<String, Object>> rows = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      Map<String, Object> row = new LinkedHashMap<>();
+      row.put("id", i);
+      row.put("name", "item-" + i);
+      row.put("price", i * 1.25);
+      row.put("quantity", i % 17);
+      row.put("tags", List.of("alpha", "beta", "gamma"));
+      row.put("available", i % 3 == 0);
+      rows.add(row);
+    }
+    benchmark(
+        "structured 500 rows",
+        McpSchema.CallToolResult.builder()
+            .structuredContent(Map.of("rows", rows, "total", rows.size()))
+            .build());
+  }
+
+  @Test
+  void benchmarkLargeTextResult() throws IOException {
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < 2_000; i++) {
+      text.append("line ").append(i).append(": \"quoted\" value\twith escapes\n");
+    }
+    benchmark(
+        "large text 2000 lines",
+        McpSchema.CallToolResult.builder().addTextContent(text.toString()).build());
+  }
+
+  private void benchmark(String name, McpSchema.CallToolResult result) throws IOException {
+    McpSchema.JSONRPCResponse response =
+        new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, 1, result, null);
+
+    final byte[] json = jsonMapper.writeValueAsBytes(response);
+    final byte[] cbor = CborCodec.encode(response);
+    assertEquals(response.id(), decodeJson(json).id());
+    assertEquals(response.id(), decodeCbor(cbor).id());
+
+    for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+      decodeJson(jsonMapper.writeValueAsBytes(response));
+      decodeCbor(CborCodec.encode(response));
+    }
+
+    long jsonEncode = 0;
+    long jsonDecode = 0;
+    long cborEncode = 0;
+    long cborDecode = 0;
+    for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+      long start = System.nanoTime();
+      final byte[] jsonBytes = jsonMapper.writeValueAsBytes(response);
+      jsonEncode += System.nanoTime() - start;
+      start = System.nanoTime();
+      decodeJson(jsonBytes);
+      jsonDecode += System.nanoTime() - start;
+
+      start = System.nanoTime();
+      final byte[] cborBytes = CborCodec.encode(response);
+      cborEncode += System.nanoTime() - start;
+      start = System.nanoTime();
+      decodeCbor(cborBytes);
+      cborDecode += System.nanoTime() - start;
+    }
+
+    log.info(
+        "{}: JSON {} bytes, encode {} us, decode {} us; CBOR {} bytes, encode {} us, decode {} us",
+        name,
+        json.length,
+        micros(jsonEncode),
+        micros(jsonDecode),
+        cbor.length,
+        micros(cborEncode),
+        micros(cborDecode));
+  }
+
+  private McpSchema.JSONRPCResponse decodeJson(byte[] bytes) throws IOException {
+    return (McpSchema.JSONRPCResponse)
+        McpSchema.deserializeJsonRpcMessage(jsonMapper, new String(bytes, StandardCharsets.UTF_8));
+  }
+
+  private McpSchema.JSONRPCResponse decodeCbor(byte[] bytes) throws IOException {
+    return (McpSchema.JSONRPCResponse)
+        JsonRpcBatchDispatcher.toMessage(jsonMapper, CborCodec.decode(ByteBuffer.wrap(bytes)));
+  }
+
+  private static String micros(long totalNanos) {
+    return String.format(Locale.ROOT, "%.1f", totalNanos / 1000.0 / MEASURED_ITERATIONS);
+  }
+}
@@ -0,0 +1,87 @@
+package com.github.thought2code.mcp.annotated.server.transport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.modelcontextprotocol.client.McpClient;
+import io.modelcontextprotocol.client.McpSyncClient;
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.server.McpServer;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.server.McpSyncServer;
+import io.modelcontextprotocol.spec.McpSchema;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class InProcessServerTransportProviderTest {
+
+  private final McpSchema.CallToolResult result =
+      McpSchema.CallToolResult.builder().addTextContent("done").build();
+
+  private final AtomicReference<McpSchema.CallToolRequest> received = new AtomicReference<>();
+
+  private InProcessServerTransportProvider transportProvider;
+
+  private McpSyncServer server;
+
+  @BeforeEach
+  void setUp() {
+    transportProvider = new InProcessServerTransportProvider(McpJsonMapper.getDefault());
+    server =
+        McpServer.sync(transportProvider)
+            .jsonMapper(transportProvider.jsonMapper())
+            .immediateExecution(true)
+            .capabilities(McpSchema.ServerCapabilities.builder().tools(false).build())
+            .tools(echoTool())
+            .build();
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.close();
+  }
+
+  @Test
+  void testConnect_shouldPassResultsByReferenceAndCopyArguments() {
+    Map<String, Object> arguments = new HashMap<>();
+    arguments.put("text", "hello");
+    McpSchema.CallToolRequest request = new McpSchema.CallToolRequest("echo", arguments);
+
+    try (McpSyncClient client = McpClient.sync(transportProvider.connect()).build()) {
+      client.initialize();
+      McpSchema.CallToolResult actual = client.callTool(request);
+
+      assertSame(result, actual);
+      assertEquals(arguments, received.get().arguments());
+      assertNotSame(arguments, received.get().arguments());
+      assertThrows(
+          UnsupportedOperationException.class, () -> received.get().arguments().put("k", "v"));
+    }
+  }
+
+  @Test
+  void testConnect_shouldFailWhenClosed() {
+    server.close();
+    assertThrows(IllegalStateException.class, transportProvider::connect);
+  }
+
+  private McpServerFeatures.SyncToolSpecification echoTool() {
+    McpSchema.JsonSchema inputSchema =
+        new McpSchema.JsonSchema("object", Map.of(), null, null, null, null);
+    McpSchema.Tool tool = McpSchema.Tool.builder().name("echo").inputSchema(inputSchema).build();
+    return McpServerFeatures.SyncToolSpecification.builder()
+        .tool(tool)
+        .callHandler(
+            (exchange, request) -> {
+              received.set(request);
+              return result;
+            })
+        .build();
+  }
+}
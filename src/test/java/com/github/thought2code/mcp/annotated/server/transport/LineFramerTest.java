@@ -0,0 +1,45 @@
+package com.github.thought2code.mcp.annotated.server.transport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class LineFramerTest {
+
+  private final LineFramer framer = new LineFramer();
+
+  private final List<String> messages = new ArrayList<>();
+
+  @Test
+  void testFeed_shouldEmitMessagesSplitAcrossChunks() {
+    final byte[] bytes =
+        "{\"id\":1,\"text\":\"héllo\"}\n{\"id\":2}\r\n\n{\"id\":3".getBytes(StandardCharsets.UTF_8);
+    for (int i = 0; i < bytes.length; i += 5) {
+      byte[] chunk = Arrays.copyOfRange(bytes, i, Math.min(i + 5, bytes.length));
+      framer.feed(ByteBuffer.wrap(chunk), messages::add);
+    }
+
+    assertEquals(List.of("{\"id\":1,\"text\":\"héllo\"}", "{\"id\":2}"), messages);
+    assertEquals("{\"id\":3".length(), framer.pendingLength());
+
+    framer.feed(ByteBuffer.wrap("}\n".getBytes(StandardCharsets.UTF_8)), messages::add);
+    assertEquals("{\"id\":3}", messages.get(2));
+    assertEquals(0, framer.pendingLength());
+  }
+
+  @Test
+  void testFeed_shouldEmitAllMessagesOfOneChunk() {
+    ByteBuffer buffer = ByteBuffer.allocateDirect(64);
+    buffer.put("a\nb\nc\n".getBytes(StandardCharsets.UTF_8)).flip();
+
+    framer.feed(buffer, messages::add);
+
+    assertEquals(List.of("a", "b", "c"), messages);
+    assertEquals(0, buffer.remaining());
+  }
+}
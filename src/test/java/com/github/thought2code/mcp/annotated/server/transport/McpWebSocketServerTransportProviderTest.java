@@ -0,0 +1,238 @@
+package com.github.thought2code.mcp.annotated.server.transport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.thought2code.mcp.annotated.configuration.McpServerWebSocket;
+import com.github.thought2code.mcp.annotated.server.JettyHttpServer;
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.server.McpServer;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.server.McpSyncServer;
+import io.modelcontextprotocol.spec.McpSchema;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class McpWebSocketServerTransportProviderTest {
+
+  private static final int CALLS = 6;
+
+  private static final int MAX_PENDING_REQUESTS = 2;
+
+  private static final long PING_INTERVAL_MILLIS = 200L;
+
+  private final McpJsonMapper jsonMapper = McpJsonMapper.getDefault();
+
+  private final int port = new Random().nextInt(11000, 12000);
+
+  private final AtomicInteger running = new AtomicInteger();
+
+  private final AtomicInteger maxRunning = new AtomicInteger();
+
+  private final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+
+  private final BlockingQueue<ByteBuffer> receivedBinary = new LinkedBlockingQueue<>();
+
+  private McpWebSocketServerTransportProvider transport;
+
+  private McpSyncServer server;
+
+  private JettyHttpServer httpServer;
+
+  private WebSocket webSocket;
+
+  @BeforeEach
+  void setUp() {
+    McpServerWebSocket websocket =
+        McpServerWebSocket.builder()
+            .port(port)
+            .maxPendingRequests(MAX_PENDING_REQUESTS)
+            .pingInterval(PING_INTERVAL_MILLIS)
+            .build();
+    transport = new McpWebSocketServerTransportProvider(jsonMapper, websocket);
+    server =
+        McpServer.sync(transport)
+            .capabilities(McpSchema.ServerCapabilities.builder().tools(false).build())
+            .tools(sleepTool())
+            .build();
+    httpServer = new JettyHttpServer().withTransportProvider(transport).bind(port);
+    httpServer.start();
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (webSocket != null) {
+      webSocket.abort();
+    }
+    server.close();
+    httpServer.stop();
+  }
+
+  @Test
+  void testHandle_shouldLimitPendingRequestsOfConnection() throws Exception {
+    connect();
+    initialize();
+
+    for (int id = 1; id <= CALLS; id++) {
+      send(
+          "{\"jsonrpc\":\"2.0\",\"id\":"
+              + id
+              + ",\"method\":\"tools/call\",\"params\":{\"name\":\"sleep\",\"arguments\":{}}}");
+    }
+
+    Set<Integer> ids = new HashSet<>();
+    for (int i = 0; i < CALLS; i++) {
+      McpSchema.JSONRPCResponse response = read();
+      assertEquals(null, response.error());
+      ids.add(((Number) response.id()).intValue());
+    }
+
+    assertEquals(CALLS, ids.size());
+    assertEquals(MAX_PENDING_REQUESTS, maxRunning.get());
+  }
+
+  @Test
+  void testPing_shouldKeepIdleConnectionOpen() throws Exception {
+    connect();
+    initialize();
+
+    Thread.sleep(PING_INTERVAL_MILLIS * 8);
+
+    assertEquals(1, transport.connectionCount());
+    send("{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"ping\"}");
+    assertEquals(1, ((Number) read().id()).intValue());
+  }
+
+  @Test
+  void testHandle_shouldExchangeCborWhenNegotiated() throws Exception {
+    connect(CborCodec.SUBPROTOCOL);
+    assertEquals(CborCodec.SUBPROTOCOL, webSocket.getSubprotocol());
+
+    sendCbor(
+        Map.of(
+            "jsonrpc",
+            "2.0",
+            "id",
+            0,
+            "method",
+            "initialize",
+            "params",
+            Map.of(
+                "protocolVersion", "2024-11-05",
+                "capabilities", Map.of(),
+                "clientInfo", Map.of("name", "test", "version", "1.0"))));
+    assertEquals(0, ((Number) readCbor().get("id")).intValue());
+    sendCbor(Map.of("jsonrpc", "2.0", "method", "notifications/initialized"));
+
+    sendCbor(
+        Map.of(
+            "jsonrpc",
+            "2.0",
+            "id",
+            1,
+            "method",
+            "tools/call",
+            "params",
+            Map.of("name", "sleep", "arguments", Map.of())));
+    Map<?, ?> response = readCbor();
+
+    assertEquals(1, ((Number) response.get("id")).intValue());
+    assertEquals(null, response.get("error"));
+    assertTrue(received.isEmpty());
+  }
+
+  private void connect(String... subprotocols) {
+    WebSocket.Listener listener =
+        new WebSocket.Listener() {
+          @Override
+          public CompletionStage<?> onText(WebSocket ws, CharSequence data, boolean last) {
+            received.add(data.toString());
+            ws.request(1);
+            return null;
+          }
+
+          @Override
+          public CompletionStage<?> onBinary(WebSocket ws, ByteBuffer data, boolean last) {
+            ByteBuffer copy = ByteBuffer.allocate(data.remaining());
+            copy.put(data).flip();
+            receivedBinary.add(copy);
+            ws.request(1);
+            return null;
+          }
+        };
+    WebSocket.Builder builder = HttpClient.newHttpClient().newWebSocketBuilder();
+    if (subprotocols.length > 0) {
+      builder.subprotocols(
+          subprotocols[0], Arrays.copyOfRange(subprotocols, 1, subprotocols.length));
+    }
+    webSocket =
+        builder.buildAsync(URI.create("ws://localhost:" + port + "/mcp/ws"), listener).join();
+  }
+
+  private void sendCbor(Map<String, Object> message) throws IOException {
+    webSocket.sendBinary(ByteBuffer.wrap(CborCodec.encode(message)), true).join();
+  }
+
+  private Map<?, ?> readCbor() throws InterruptedException, IOException {
+    final ByteBuffer message = receivedBinary.poll(10, TimeUnit.SECONDS);
+    assertNotNull(message, "no message received");
+    return (Map<?, ?>) CborCodec.decode(message);
+  }
+
+  private void initialize() throws Exception {
+    send(
+        "{\"jsonrpc\":\"2.0\",\"id\":0,\"method\":\"initialize\",\"params\":"
+            + "{\"protocolVersion\":\"2024-11-05\",\"capabilities\":{},"
+            + "\"clientInfo\":{\"name\":\"test\",\"version\":\"1.0\"}}}");
+    assertEquals(0, ((Number) read().id()).intValue());
+    send("{\"jsonrpc\":\"2.0\",\"method\":\"notifications/initialized\"}");
+  }
+
+  private void send(String message) {
+    webSocket.sendText(message, true).join();
+  }
+
+  private McpSchema.JSONRPCResponse read() throws InterruptedException, IOException {
+    final String message = received.poll(10, TimeUnit.SECONDS);
+    assertNotNull(message, "no message received");
+    return (McpSchema.JSONRPCResponse) McpSchema.deserializeJsonRpcMessage(jsonMapper, message);
+  }
+
+  private McpServerFeatures.SyncToolSpecification sleepTool() {
+    McpSchema.JsonSchema inputSchema =
+        new McpSchema.JsonSchema("object", Map.of(), null, null, null, null);
+    McpSchema.Tool tool = McpSchema.Tool.builder().name("sleep").inputSchema(inputSchema).build();
+    return McpServerFeatures.SyncToolSpecification.builder()
+        .tool(tool)
+        .callHandler(
+            (exchange, request) -> {
+              maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+              try {
+                Thread.sleep(PING_INTERVAL_MILLIS);
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              } finally {
+                running.decrementAndGet();
+              }
+              return McpSchema.CallToolResult.builder().addTextContent("done").build();
+            })
+        .build();
+  }
+}
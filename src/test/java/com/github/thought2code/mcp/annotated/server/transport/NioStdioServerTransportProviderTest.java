@@ -0,0 +1,163 @@
+package com.github.thought2code.mcp.annotated.server.transport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.thought2code.mcp.annotated.configuration.McpServerStdio;
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.json.TypeRef;
+import io.modelcontextprotocol.server.McpServer;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.server.McpSyncServer;
+import io.modelcontextprotocol.spec.McpSchema;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.Pipe;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class NioStdioServerTransportProviderTest {
+
+  private static final int CALLS = 8;
+
+  private static final long TOOL_DURATION_MILLIS = 300L;
+
+  private final McpJsonMapper jsonMapper = McpJsonMapper.getDefault();
+
+  private Pipe input;
+
+  private BufferedReader output;
+
+  private McpSyncServer server;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    input = Pipe.open();
+    Pipe outputPipe = Pipe.open();
+    output =
+        new BufferedReader(
+            new InputStreamReader(
+                Channels.newInputStream(outputPipe.source()), StandardCharsets.UTF_8));
+
+    McpServerStdio stdio = McpServerStdio.builder().nioTransport(true).workerThreads(CALLS).build();
+    NioStdioServerTransportProvider transport =
+        new NioStdioServerTransportProvider(jsonMapper, input.source(), outputPipe.sink(), stdio);
+    server =
+        McpServer.sync(transport)
+            .immediateExecution(true)
+            .capabilities(McpSchema.ServerCapabilities.builder().tools(false).build())
+            .tools(sleepTool())
+            .build();
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.close();
+  }
+
+  @Test
+  void testHandle_shouldAnswerConcurrentRequestsWithTheirIds() throws Exception {
+    initialize();
+
+    final long start = System.nanoTime();
+    StringBuilder calls = new StringBuilder();
+    for (int id = 1; id <= CALLS; id++) {
+      calls
+          .append("{\"jsonrpc\":\"2.0\",\"id\":")
+          .append(id)
+          .append(",\"method\":\"tools/call\",\"params\":{\"name\":\"sleep\",\"arguments\":{}}}\n");
+    }
+    send(calls.toString());
+
+    Set<Integer> ids = new HashSet<>();
+    for (int i = 0; i < CALLS; i++) {
+      McpSchema.JSONRPCResponse response = read();
+      assertEquals(null, response.error());
+      ids.add(((Number) response.id()).intValue());
+    }
+    final long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+    assertEquals(CALLS, ids.size());
+    assertTrue(elapsedMillis < TOOL_DURATION_MILLIS * CALLS / 2, "took " + elapsedMillis + " ms");
+  }
+
+  @Test
+  void testHandle_shouldAnswerBatchInOneArray() throws Exception {
+    initialize();
+
+    final long start = System.nanoTime();
+    StringJoiner batch = new StringJoiner(",", "[", "]");
+    for (int id = 1; id <= CALLS; id++) {
+      batch.add(
+          "{\"jsonrpc\":\"2.0\",\"id\":"
+              + id
+              + ",\"method\":\"tools/call\",\"params\":{\"name\":\"sleep\",\"arguments\":{}}}");
+    }
+    batch.add("{\"jsonrpc\":\"2.0\",\"method\":\"notifications/test\"}");
+    batch.add("{\"jsonrpc\":\"2.0\"}");
+    send(batch.toString());
+
+    List<McpSchema.JSONRPCResponse> responses =
+        jsonMapper.readValue(output.readLine(), new TypeRef<List<McpSchema.JSONRPCResponse>>() {});
+    final long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+    assertEquals(CALLS + 1, responses.size());
+    for (int i = 0; i < CALLS; i++) {
+      assertEquals(null, responses.get(i).error());
+      assertEquals(i + 1, ((Number) responses.get(i).id()).intValue());
+    }
+    assertEquals(
+        McpSchema.ErrorCodes.INVALID_REQUEST, responses.get(CALLS).error().code().intValue());
+    assertTrue(elapsedMillis < TOOL_DURATION_MILLIS * CALLS / 2, "took " + elapsedMillis + " ms");
+  }
+
+  private void initialize() throws IOException {
+    send(
+        "{\"jsonrpc\":\"2.0\",\"id\":0,\"method\":\"initialize\",\"params\":"
+            + "{\"protocolVersion\":\"2024-11-05\",\"capabilities\":{},"
+            + "\"clientInfo\":{\"name\":\"test\",\"version\":\"1.0\"}}}");
+    assertEquals(0, ((Number) read().id()).intValue());
+    send("{\"jsonrpc\":\"2.0\",\"method\":\"notifications/initialized\"}");
+  }
+
+  private void send(String messages) throws IOException {
+    final String framed = messages.endsWith("\n") ? messages : messages + "\n";
+    ByteBuffer buffer = ByteBuffer.wrap(framed.getBytes(StandardCharsets.UTF_8));
+    while (buffer.hasRemaining()) {
+      input.sink().write(buffer);
+    }
+  }
+
+  private McpSchema.JSONRPCResponse read() throws IOException {
+    return (McpSchema.JSONRPCResponse)
+        McpSchema.deserializeJsonRpcMessage(jsonMapper, output.readLine());
+  }
+
+  private static McpServerFeatures.SyncToolSpecification sleepTool() {
+    McpSchema.JsonSchema inputSchema =
+        new McpSchema.JsonSchema("object", Map.of(), null, null, null, null);
+    McpSchema.Tool tool = McpSchema.Tool.builder().name("sleep").inputSchema(inputSchema).build();
+    return McpServerFeatures.SyncToolSpecification.builder()
+        .tool(tool)
+        .callHandler(
+            (exchange, request) -> {
+              try {
+                Thread.sleep(TOOL_DURATION_MILLIS);
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+              return McpSchema.CallToolResult.builder().addTextContent("done").build();
+            })
+        .build();
+  }
+}
@@ -0,0 +1,114 @@
+package com.github.thought2code.mcp.annotated.server.transport;
+
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.json.TypeRef;
+import io.modelcontextprotocol.spec.McpClientTransport;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.ProtocolVersions;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import reactor.core.publisher.Mono;
+
+/**
+ * A client transport over the JDK WebSocket client, which the MCP SDK does not provide, sending
+ * each JSON-RPC message as one text frame.
+ */
+public final class WebSocketClientTransport implements McpClientTransport {
+
+  private final URI uri;
+
+  private final McpJsonMapper jsonMapper = McpJsonMapper.getDefault();
+
+  private final StringBuilder partialText = new StringBuilder();
+
+  private volatile WebSocket webSocket;
+
+  /** The connection, then the last send: the JDK WebSocket client allows one send at a time. */
+  private CompletableFuture<WebSocket> lastSend;
+
+  public WebSocketClientTransport(URI uri) {
+    this.uri = uri;
+  }
+
+  @Override
+  public Mono<Void> connect(
+      Function<Mono<McpSchema.JSONRPCMessage>, Mono<McpSchema.JSONRPCMessage>> handler) {
+    WebSocket.Listener listener =
+        new WebSocket.Listener() {
+          @Override
+          public CompletionStage<?> onText(WebSocket ws, CharSequence data, boolean last) {
+            partialText.append(data);
+            if (last) {
+              final String text = partialText.toString();
+              partialText.setLength(0);
+              try {
+                handler
+                    .apply(Mono.just(McpSchema.deserializeJsonRpcMessage(jsonMapper, text)))
+                    .subscribe();
+              } catch (IOException e) {
+                throw new UncheckedIOException(e);
+              }
+            }
+            ws.request(1);
+            return null;
+          }
+        };
+    final CompletableFuture<WebSocket> connection =
+        HttpClient.newHttpClient().newWebSocketBuilder().buildAsync(uri, listener);
+    synchronized (this) {
+      lastSend = connection;
+    }
+    return Mono.fromFuture(connection).doOnNext(ws -> webSocket = ws).then();
+  }
+
+  @Override
+  public Mono<Void> sendMessage(McpSchema.JSONRPCMessage message) {
+    return Mono.defer(
+        () -> {
+          final String text;
+          try {
+            text = jsonMapper.writeValueAsString(message);
+          } catch (IOException e) {
+            return Mono.error(e);
+          }
+          final CompletableFuture<WebSocket> send;
+          synchronized (this) {
+            send = lastSend.thenCompose(ws -> ws.sendText(text, true));
+            lastSend = send;
+          }
+          return Mono.fromFuture(send).then();
+        });
+  }
+
+  @Override
+  public <T> T unmarshalFrom(Object data, TypeRef<T> typeRef) {
+    return jsonMapper.convertValue(data, typeRef);
+  }
+
+  @Override
+  public Mono<Void> closeGracefully() {
+    return Mono.defer(
+        () -> {
+          final WebSocket ws = webSocket;
+          if (ws == null || ws.isOutputClosed()) {
+            return Mono.empty();
+          }
+          return Mono.fromFuture(ws.sendClose(WebSocket.NORMAL_CLOSURE, "")).then();
+        });
+  }
+
+  @Override
+  public List<String> protocolVersions() {
+    return List.of(
+        ProtocolVersions.MCP_2024_11_05,
+        ProtocolVersions.MCP_2025_03_26,
+        ProtocolVersions.MCP_2025_06_18);
+  }
+}
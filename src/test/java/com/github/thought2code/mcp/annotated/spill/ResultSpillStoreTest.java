@@ -0,0 +1,123 @@
+package com.github.thought2code.mcp.annotated.spill;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.thought2code.mcp.annotated.configuration.McpServerSpill;
+import com.github.thought2code.mcp.annotated.metrics.McpServerMetrics;
+import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpSchema;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ResultSpillStoreTest {
+
+  @TempDir Path directory;
+
+  private final AtomicLong clock = new AtomicLong();
+
+  private final ResultSpillStore store = new ResultSpillStore(clock::get);
+
+  @AfterEach
+  void tearDown() {
+    store.clear();
+  }
+
+  @Test
+  void testSpill_shouldServeFullResultPageByPage() {
+    store.configure(spill(1_000), "test");
+    final String text = "héllo wörld 你好 ".repeat(20);
+
+    assertFalse(store.shouldSpill("short"));
+    assertTrue(store.shouldSpill(text));
+    List<McpSchema.Content> content = store.spill("tool", text);
+
+    assertEquals(2, content.size());
+    assertTrue(((McpSchema.TextContent) content.get(0)).text().startsWith(text.substring(0, 10)));
+    McpSchema.ResourceLink link = assertInstanceOf(McpSchema.ResourceLink.class, content.get(1));
+    StringBuilder read = new StringBuilder();
+    String uri = link.uri();
+    int pages = 0;
+    while (uri != null) {
+      McpSchema.ReadResourceResult page = store.read(uri);
+      read.append(((McpSchema.TextResourceContents) page.contents().get(0)).text());
+      uri = (String) page.meta().get("nextUri");
+      pages++;
+    }
+    assertEquals(text, read.toString());
+    assertEquals(link.meta().get("pages"), pages);
+    assertTrue(pages > 1);
+  }
+
+  @Test
+  void testSpill_shouldEvictLeastRecentlyReadResults() {
+    store.configure(spill(250), "test");
+    final String text = "x".repeat(100);
+
+    String first = link(store.spill("first", text));
+    String second = link(store.spill("second", text));
+    store.read(first);
+    String third = link(store.spill("third", text));
+
+    assertEquals(2, store.size());
+    assertEquals(200, store.storedBytes());
+    store.read(first);
+    store.read(third);
+    assertThrows(McpError.class, () -> store.read(second));
+  }
+
+  @Test
+  void testRead_shouldDropExpiredResults() {
+    store.configure(spill(1_000), "test");
+    String uri = link(store.spill("tool", "x".repeat(100)));
+
+    clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+    store.read(uri);
+    clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+    store.read(uri);
+    clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1_000));
+
+    assertThrows(McpError.class, () -> store.read(uri));
+    assertEquals(0, store.storedBytes());
+  }
+
+  @Test
+  void testConfigure_shouldRegisterGaugesOfEachServerUntilCleared() {
+    final ResultSpillStore other = new ResultSpillStore(clock::get);
+    store.configure(spill(1_000), "test");
+    other.configure(spill(1_000), "other");
+    store.spill("tool", "x".repeat(100));
+
+    assertEquals(100L, McpServerMetrics.snapshot().get("mcp.spill.test.stored-bytes"));
+    assertEquals(0L, McpServerMetrics.snapshot().get("mcp.spill.other.stored-bytes"));
+    other.clear();
+    assertFalse(McpServerMetrics.snapshot().containsKey("mcp.spill.other.entries"));
+    assertEquals(1L, McpServerMetrics.snapshot().get("mcp.spill.test.entries"));
+    store.clear();
+    assertFalse(McpServerMetrics.snapshot().containsKey("mcp.spill.test.entries"));
+  }
+
+  private McpServerSpill spill(long maxStorage) {
+    return McpServerSpill.builder()
+        .enabled(true)
+        .threshold(50)
+        .summaryLength(20)
+        .pageSize(64)
+        .maxStorage(maxStorage)
+        .ttl(1_000L)
+        .directory(directory.toString())
+        .build();
+  }
+
+  private static String link(List<McpSchema.Content> content) {
+    return ((McpSchema.ResourceLink) content.get(1)).uri();
+  }
+}
@@ -0,0 +1,64 @@
+package com.github.thought2code.mcp.annotated.tracing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.github.thought2code.mcp.annotated.configuration.McpServerTracing;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class TracerTest {
+
+  private static final String TRACEPARENT =
+      "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+  @AfterEach
+  void tearDown() {
+    Tracer.shutdown();
+  }
+
+  @Test
+  void testStartSpan_shouldReturnNoopSpanWhenTracingIsDisabled() {
+    Tracer.configure(McpServerTracing.builder().build(), "test");
+
+    Span span = Tracer.startSpan("test");
+
+    assertSame(Span.NOOP, span);
+    assertFalse(span.isRecording());
+  }
+
+  @Test
+  void testStartServerSpan_shouldContinueTraceFromMetaTraceparent() {
+    Tracer.configure(McpServerTracing.builder().enabled(true).build(), "test");
+
+    Map<String, Object> meta = Map.of("traceparent", TRACEPARENT);
+    Span server = Tracer.startServerSpan("tools/call test", meta, null);
+    try (Scope ignored = server.makeCurrent()) {
+      Tracer.startSpan("invoke test").end();
+    }
+    server.end();
+    Tracer.flush();
+
+    InMemorySpanExporter exporter = (InMemorySpanExporter) Tracer.exporter();
+    List<SpanData> spans = exporter.getFinishedSpans();
+    assertEquals(2, spans.size());
+    SpanData child = spans.get(0);
+    SpanData root = spans.get(1);
+    assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", root.traceId());
+    assertEquals("00f067aa0ba902b7", root.parentSpanId());
+    assertEquals(Span.Kind.SERVER, root.kind());
+    assertEquals(root.traceId(), child.traceId());
+    assertEquals(root.spanId(), child.parentSpanId());
+  }
+
+  @Test
+  void testParse_shouldRejectMalformedTraceparent() {
+    assertNull(SpanContext.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7"));
+    assertNull(SpanContext.parse("00-00000000000000000000000000000000-00f067aa0ba902b7-01"));
+    assertEquals(TRACEPARENT, SpanContext.parse(TRACEPARENT).toTraceparent());
+  }
+}
@@ -1,14 +1,25 @@
 package com.github.thought2code.mcp.annotated.util;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.github.thought2code.mcp.annotated.cache.ListResultCache;
+import com.github.thought2code.mcp.annotated.configuration.McpServerJson;
+import com.github.thought2code.mcp.annotated.enums.BufferRecycling;
 import com.github.thought2code.mcp.annotated.exception.McpServerConfigurationException;
 import com.github.thought2code.mcp.annotated.exception.McpServerJsonProcessingException;
+import io.modelcontextprotocol.json.McpJsonMapper;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
 
@@ -20,6 +31,20 @@ class JacksonHelperTest {
 
   record Person(String name, int age) {}
 
+  public static class UpperCaseNameModule extends SimpleModule {
+    public UpperCaseNameModule() {
+      addSerializer(
+          Person.class,
+          new JsonSerializer<>() {
+            @Override
+            public void serialize(Person person, JsonGenerator generator, SerializerProvider unused)
+                throws IOException {
+              generator.writeString(person.name().toUpperCase(Locale.ROOT));
+            }
+          });
+    }
+  }
+
   @Test
   void testConstructor_shouldThrowException() {
     assertThrows(UnsupportedOperationException.class, JacksonHelper::new);
@@ -72,4 +97,28 @@ class JacksonHelperTest {
     File f = new File("non-existent.yaml");
     assertThrows(McpServerConfigurationException.class, () -> JacksonHelper.fromYaml(f, Map.class));
   }
+
+  @Test
+  void testCreateMcpJsonMapper_shouldRegisterModulesWithoutChangingDefaultMapper()
+      throws IOException {
+    McpServerJson json =
+        McpServerJson.builder()
+            .modules(List.of(UpperCaseNameModule.class.getName()))
+            .bufferRecycling(BufferRecycling.NONE)
+            .build();
+
+    McpJsonMapper mapper = JacksonHelper.createMcpJsonMapper(json, new ListResultCache());
+
+    assertEquals("\"TEST\"", mapper.writeValueAsString(new Person("test", 25)));
+    assertNotEquals(
+        "\"TEST\"", JacksonHelper.mcpJsonMapper().writeValueAsString(new Person("test", 25)));
+  }
+
+  @Test
+  void testCreateMcpJsonMapper_shouldThrowExceptionForUnknownModule() {
+    McpServerJson json = McpServerJson.builder().modules(List.of("com.example.Missing")).build();
+    assertThrows(
+        McpServerConfigurationException.class,
+        () -> JacksonHelper.createMcpJsonMapper(json, new ListResultCache()));
+  }
 }